@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "4.0.0"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "br.com.toolschallenge"
@@ -26,10 +27,14 @@ repositories {
 
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-cache")
+	implementation("com.github.ben-manes.caffeine:caffeine")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-webmvc")
-	implementation("org.flywaydb:flyway-core")
+	implementation("org.springframework.boot:spring-boot-starter-flyway")
+	implementation("tools.jackson.dataformat:jackson-dataformat-smile")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	testImplementation("org.springframework.boot:spring-boot-starter-test") {
         exclude(group = "org.junit.vintage", module = "junit-vintage-engine")
     }
@@ -37,11 +42,15 @@ dependencies {
 	compileOnly("org.projectlombok:lombok")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
 	runtimeOnly("org.postgresql:postgresql")
+	runtimeOnly("org.flywaydb:flyway-database-postgresql")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-actuator-test")
 	testImplementation("org.springframework.boot:spring-boot-starter-data-jpa-test")
 	testImplementation("org.springframework.boot:spring-boot-starter-validation-test")
 	testImplementation("org.springframework.boot:spring-boot-starter-webmvc-test")
+	testImplementation("org.springframework.boot:spring-boot-testcontainers")
+	testImplementation("org.testcontainers:testcontainers-junit-jupiter")
+	testImplementation("org.testcontainers:testcontainers-postgresql")
     testImplementation("org.mockito:mockito-junit-jupiter")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
@@ -50,6 +59,65 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("src/jmh/baseline.json")
+
+jmh {
+	warmupIterations = 3
+	iterations = 5
+	fork = 1
+	resultFormat = "JSON"
+	resultsFile = jmhResults
+	profilers = listOf("gc")
+}
+
+tasks.register<Copy>("jmhSaveBaseline") {
+	group = "benchmark"
+	description = "Promotes the last JMH results to src/jmh/baseline.json."
+	from(jmhResults)
+	into(layout.projectDirectory.dir("src/jmh"))
+	rename { "baseline.json" }
+}
+
+tasks.register("jmhCompareBaseline") {
+	group = "benchmark"
+	description = "Fails when a JMH score regressed more than -PjmhRegressionThreshold (default 0.10) against the baseline."
+	mustRunAfter("jmh")
+	val threshold = providers.gradleProperty("jmhRegressionThreshold").map { it.toDouble() }.orElse(0.10)
+	doLast {
+		val baselineFile = jmhBaseline.asFile
+		val resultsFile = jmhResults.get().asFile
+		if (!baselineFile.exists()) {
+			throw GradleException("No JMH baseline at $baselineFile; run ./gradlew jmh jmhSaveBaseline first")
+		}
+		if (!resultsFile.exists()) {
+			throw GradleException("No JMH results at $resultsFile; run ./gradlew jmh first")
+		}
+
+		@Suppress("UNCHECKED_CAST")
+		fun scores(file: File): Map<String, Pair<String, Double>> =
+			(groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>).associate { result ->
+				val params = (result["params"] as Map<String, Any?>?)?.entries?.joinToString(",", "[", "]").orEmpty()
+				val metric = result["primaryMetric"] as Map<String, Any?>
+				"${result["benchmark"]}$params" to (result["mode"] as String to (metric["score"] as Number).toDouble())
+			}
+
+		val current = scores(resultsFile)
+		val limit = threshold.get()
+		val regressions = scores(baselineFile).mapNotNull { (name, base) ->
+			val (mode, before) = base
+			val after = current[name]?.second ?: return@mapNotNull null
+			// thrpt: quanto maior melhor; avgt, sample e ss: quanto menor melhor
+			val change = if (mode == "thrpt") (before - after) / before else (after - before) / before
+			if (change > limit) "%s (%s): %.3f -> %.3f (%+.1f%%)".format(name, mode, before, after, change * 100) else null
+		}
+		if (regressions.isNotEmpty()) {
+			throw GradleException("JMH regressions above ${limit * 100}%:\n" + regressions.joinToString("\n"))
+		}
+		logger.lifecycle("JMH: ${current.size} benchmarks within ${limit * 100}% of the baseline")
+	}
+}
+
 tasks.withType<JavaCompile> {
     options.compilerArgs.add("-parameters")
 }
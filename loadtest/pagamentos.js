@@ -0,0 +1,77 @@
+// Carga mista de criação + consulta de status, para comparar threads de
+// plataforma e threads virtuais (APP_VIRTUAL_THREADS_ENABLED=false/true) e a
+// gravação síncrona contra o journal write-behind (APP_JOURNAL_ENABLED=false/true).
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 loadtest/pagamentos.js
+//
+// Respostas 503 (limitador saturado) são contadas à parte em `rejected`
+// e não entram como falha: o esperado é que sejam rápidas.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const rejected = new Counter('rejected');
+
+export const options = {
+    scenarios: {
+        pagamentos: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 400) },
+                { duration: '2m', target: Number(__ENV.VUS || 400) },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{expected_response:true}': ['p(99)<500'],
+        // só para o resumo trazer a latência da autorização separada das consultas
+        'http_req_duration{name:POST /pagamentos}': ['p(99)<500'],
+    },
+};
+
+http.setResponseCallback(http.expectedStatuses(200, 201, 503));
+
+function pad(value, size) {
+    return String(value).padStart(size, '0');
+}
+
+export default function () {
+    const id = `${pad(__VU, 6)}${pad(__ITER, 9)}`;
+    const body = JSON.stringify({
+        transacao: {
+            cartao: '4444********1234',
+            id: id,
+            descricao: {
+                valor: 500.5,
+                dataHora: '01/05/2021 18:30:00',
+                estabelecimento: 'PetShop Mundo cão',
+            },
+            formaPagamento: { tipo: 'AVISTA', parcelas: '1' },
+        },
+    });
+
+    const created = http.post(`${BASE_URL}/pagamentos`, body, {
+        headers: { 'Content-Type': 'application/json' },
+        tags: { name: 'POST /pagamentos' },
+    });
+    if (created.status === 503) {
+        rejected.add(1);
+        return;
+    }
+    check(created, { 'created': (r) => r.status === 201 });
+
+    for (let i = 0; i < 5; i++) {
+        const status = http.get(`${BASE_URL}/pagamentos/${id}`, {
+            tags: { name: 'GET /pagamentos/{id}' },
+        });
+        if (status.status === 503) {
+            rejected.add(1);
+            continue;
+        }
+        check(status, { 'found': (r) => r.status === 200 });
+    }
+}
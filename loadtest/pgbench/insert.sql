@@ -0,0 +1,13 @@
+-- Inserção como em POST /pagamentos (registro em tb_transacao_id + tb_transacao).
+\set id 1000000000000 + random(1, 1000000000) * 1000 + :client_id
+WITH registered AS (
+    INSERT INTO tb_transacao_id (id, transaction_date_time)
+    VALUES (:id, date_trunc('second', now()))
+    ON CONFLICT (id) DO NOTHING
+    RETURNING id, transaction_date_time
+)
+INSERT INTO tb_transacao (id, card_token, nsu, transaction_date_time, status, payment_type,
+                          installments, authorization_code, amount, merchant)
+SELECT id, tb_cartao_tokenize('4444********1234'), 1, transaction_date_time, 1, 1,
+       1, '000000001', 50.00, 'PgBench'
+FROM registered;
@@ -0,0 +1,3 @@
+-- Busca só pelo id, sem a chave de partição: consulta o índice de todas as partições.
+\set id 9000000000 + random(1, :rows)
+SELECT * FROM tb_transacao WHERE id = :id;
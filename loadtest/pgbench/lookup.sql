@@ -0,0 +1,6 @@
+-- Busca por id como em GET /pagamentos/{id} (findByIdUsingPartitionKey).
+\set id 9000000000 + random(1, :rows)
+SELECT * FROM tb_transacao
+WHERE id = :id
+  AND transaction_date_time =
+      (SELECT r.transaction_date_time FROM tb_transacao_id r WHERE r.id = :id);
@@ -0,0 +1,15 @@
+-- Popula :rows transações (ids 9000000001 em diante) espalhadas pelos últimos
+-- 24 meses para os scripts de busca.
+-- psql -v rows=1000000 -f loadtest/pgbench/seed.sql
+WITH registered AS (
+    INSERT INTO tb_transacao_id (id, transaction_date_time)
+    SELECT 9000000000 + g, date_trunc('second', now() - (g % 730) * interval '1 day')
+    FROM generate_series(1, :rows) g
+    ON CONFLICT (id) DO NOTHING
+    RETURNING id, transaction_date_time
+)
+INSERT INTO tb_transacao (id, card_token, nsu, transaction_date_time, status, payment_type,
+                          installments, authorization_code, amount, merchant)
+SELECT id, (SELECT tb_cartao_tokenize('4444********1234')), id, transaction_date_time, 1, 1,
+       1, '000000001', 50.00, 'PgBench'
+FROM registered;
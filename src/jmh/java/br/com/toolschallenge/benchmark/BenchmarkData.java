@@ -0,0 +1,94 @@
+package br.com.toolschallenge.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.com.toolschallenge.card.CardTokenizer;
+import br.com.toolschallenge.dto.DescricaoRequestDTO;
+import br.com.toolschallenge.dto.FormaPagamentoDTO;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.dto.TransacaoRequestDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.metrics.impl.MicrometerPaymentMetrics;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Massa fixa usada pelos benchmarks, equivalente ao exemplo do README.
+ */
+final class BenchmarkData {
+
+    static final String TRANSACTION_ID = "100023568900001";
+    static final String CARD_NUMBER = "4444********1234";
+    static final long CARD_TOKEN = 1L;
+
+    /** Tokenizador fixo (um único cartão), para medir sem acesso ao banco. */
+    static final CardTokenizer CARD_TOKENIZER = new CardTokenizer() {
+
+        @Override
+        public long tokenize(String cardNumber) {
+            return CARD_TOKEN;
+        }
+
+        @Override
+        public String detokenize(long token) {
+            return CARD_NUMBER;
+        }
+    };
+
+    /** Métricas reais em um registry em memória: o custo da instrumentação entra na medida. */
+    static final PaymentMetrics PAYMENT_METRICS = new MicrometerPaymentMetrics(new SimpleMeterRegistry());
+
+    private BenchmarkData() {
+    }
+
+    static PagamentoRequestDTO paymentRequest() {
+        return PagamentoRequestDTO.builder()
+                .transacao(TransacaoRequestDTO.builder()
+                        .cartao(CARD_NUMBER)
+                        .id(TRANSACTION_ID)
+                        .descricao(DescricaoRequestDTO.builder()
+                                .valor(new BigDecimal("500.50"))
+                                .dataHora(LocalDateTime.of(2021, 5, 1, 18, 30))
+                                .estabelecimento("PetShop Mundo cão")
+                                .build())
+                        .formaPagamento(FormaPagamentoDTO.builder()
+                                .tipo(TipoFormaPagamento.PARCELADO_LOJA)
+                                .parcelas("3")
+                                .build())
+                        .build())
+                .build();
+    }
+
+    /** O mesmo {@link #paymentRequest()} depois da validação. */
+    static ValidatedPaymentRequest validatedPaymentRequest() {
+        return new ValidatedPaymentRequest(
+                Long.parseLong(TRANSACTION_ID),
+                CARD_NUMBER,
+                50050L,
+                LocalDateTime.of(2021, 5, 1, 18, 30),
+                "PetShop Mundo cão",
+                TipoFormaPagamento.PARCELADO_LOJA,
+                (short) 3,
+                (short) 0,
+                (short) 0);
+    }
+
+    static TransactionEntity transactionEntity() {
+        return TransactionEntity.builder()
+                .id(Long.valueOf(TRANSACTION_ID))
+                .cardToken(CARD_TOKEN)
+                .amountCents(50050L)
+                .dateTime(LocalDateTime.of(2021, 5, 1, 18, 30))
+                .establishment("PetShop Mundo cão")
+                .nsu(1L)
+                .authorizationCode("147258369")
+                .status(StatusTransacao.AUTORIZADO)
+                .paymentType(TipoFormaPagamento.PARCELADO_LOJA)
+                .installments((short) 3)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.toolschallenge.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.toolschallenge.codec.DataHoraCodec;
+
+/**
+ * {@link DataHoraCodec} contra o caminho anterior ({@code @Pattern} +
+ * {@code DateTimeFormatter}). Rodar com o profiler {@code gc} (habilitado no
+ * build) para comparar {@code gc.alloc.rate.norm}, em bytes por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DataHoraCodecBenchmark {
+
+    private static final String DATA_HORA = "01/05/2021 18:30:00";
+    private static final Pattern DATA_HORA_REGEX =
+            Pattern.compile("\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}");
+
+    private DateTimeFormatter formatter;
+    private char[] chars;
+    private char[] buffer;
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setUp() {
+        formatter = DateTimeFormatter.ofPattern(DataHoraCodec.PATTERN);
+        chars = DATA_HORA.toCharArray();
+        buffer = new char[DataHoraCodec.LENGTH];
+        dateTime = LocalDateTime.of(2021, 5, 1, 18, 30);
+    }
+
+    @Benchmark
+    public LocalDateTime regexAndFormatterParse() {
+        if (!DATA_HORA_REGEX.matcher(DATA_HORA).matches()) {
+            throw new IllegalStateException();
+        }
+        return LocalDateTime.parse(DATA_HORA, formatter);
+    }
+
+    @Benchmark
+    public LocalDateTime codecParse() {
+        return DataHoraCodec.parse(chars, 0, DataHoraCodec.LENGTH);
+    }
+
+    @Benchmark
+    public String formatterFormat() {
+        return dateTime.format(formatter);
+    }
+
+    @Benchmark
+    public char[] codecFormatTo() {
+        DataHoraCodec.formatTo(dateTime, buffer, 0);
+        return buffer;
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.toolschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.toolschallenge.converter.StatusTransacaoConverter;
+import br.com.toolschallenge.converter.TipoFormaPagamentoConverter;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+
+/**
+ * Lookups de enum usados no mapeamento e nos converters JPA (por código) e na
+ * desserialização JSON (por descrição, inclusive em minúsculas). Usa o último
+ * valor de cada enum, o pior caso da antiga busca linear. Rodar com o
+ * profiler {@code gc}: {@code gc.alloc.rate.norm} deve ser zero em todos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnumLookupBenchmark {
+
+    private final StatusTransacaoConverter statusConverter = new StatusTransacaoConverter();
+    private final TipoFormaPagamentoConverter tipoConverter = new TipoFormaPagamentoConverter();
+
+    private int statusCodigo;
+    private Short statusColuna;
+    private String statusDescricao;
+    private String statusDescricaoMinuscula;
+    private int tipoCodigo;
+    private Short tipoColuna;
+    private String tipoDescricao;
+    private String tipoDescricaoMinuscula;
+
+    @Setup
+    public void setUp() {
+        statusCodigo = StatusTransacao.CANCELADO.getCodigo();
+        statusColuna = statusConverter.convertToDatabaseColumn(StatusTransacao.CANCELADO);
+        statusDescricao = StatusTransacao.CANCELADO.getDescricao();
+        statusDescricaoMinuscula = statusDescricao.toLowerCase();
+        tipoCodigo = TipoFormaPagamento.PARCELADO_EMISSOR.getCodigo();
+        tipoColuna = tipoConverter.convertToDatabaseColumn(TipoFormaPagamento.PARCELADO_EMISSOR);
+        tipoDescricao = TipoFormaPagamento.PARCELADO_EMISSOR.getDescricao();
+        tipoDescricaoMinuscula = tipoDescricao.toLowerCase();
+    }
+
+    @Benchmark
+    public StatusTransacao statusFromId() {
+        return StatusTransacao.fromId(statusCodigo);
+    }
+
+    @Benchmark
+    public StatusTransacao statusFromValue() {
+        return StatusTransacao.fromValue(statusDescricao);
+    }
+
+    @Benchmark
+    public StatusTransacao statusFromValueIgnoringCase() {
+        return StatusTransacao.fromValue(statusDescricaoMinuscula);
+    }
+
+    @Benchmark
+    public StatusTransacao statusFromColumn() {
+        return statusConverter.convertToEntityAttribute(statusColuna);
+    }
+
+    @Benchmark
+    public Short statusToColumn() {
+        return statusConverter.convertToDatabaseColumn(StatusTransacao.CANCELADO);
+    }
+
+    @Benchmark
+    public TipoFormaPagamento tipoFromId() {
+        return TipoFormaPagamento.fromId(tipoCodigo);
+    }
+
+    @Benchmark
+    public TipoFormaPagamento tipoFromValue() {
+        return TipoFormaPagamento.fromValue(tipoDescricao);
+    }
+
+    @Benchmark
+    public TipoFormaPagamento tipoFromValueIgnoringCase() {
+        return TipoFormaPagamento.fromValue(tipoDescricaoMinuscula);
+    }
+
+    @Benchmark
+    public TipoFormaPagamento tipoFromColumn() {
+        return tipoConverter.convertToEntityAttribute(tipoColuna);
+    }
+
+    @Benchmark
+    public Short tipoToColumn() {
+        return tipoConverter.convertToDatabaseColumn(TipoFormaPagamento.PARCELADO_EMISSOR);
+    }
+}
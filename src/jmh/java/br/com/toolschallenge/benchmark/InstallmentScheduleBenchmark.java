@@ -0,0 +1,67 @@
+package br.com.toolschallenge.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.toolschallenge.installment.InstallmentSchedule;
+import br.com.toolschallenge.money.Money;
+
+/**
+ * Cálculo de um plano de parcelas com {@link InstallmentSchedule} (centavos em
+ * {@code long}, parcela a parcela) contra a forma ingênua com
+ * {@code BigDecimal.divide} e uma lista de parcelas. Rodar com o profiler
+ * {@code gc} para comparar {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstallmentScheduleBenchmark {
+
+    @Param({ "1", "12" })
+    private int installments;
+
+    private BigDecimal amount;
+    private long amountCents;
+    private LocalDate transactionDate;
+
+    @Setup
+    public void setUp() {
+        amount = new BigDecimal("1234.57");
+        amountCents = Money.toCents(amount);
+        transactionDate = LocalDate.of(2021, 5, 1);
+    }
+
+    @Benchmark
+    public void schedule(Blackhole blackhole) {
+        for (int number = 1; number <= installments; number++) {
+            blackhole.consume(InstallmentSchedule.installmentCents(amountCents, installments, number));
+            blackhole.consume(InstallmentSchedule.dueDate(transactionDate, number));
+        }
+    }
+
+    @Benchmark
+    public List<BigDecimal> bigDecimalList() {
+        BigDecimal count = BigDecimal.valueOf(installments);
+        BigDecimal base = amount.divide(count, 2, RoundingMode.DOWN);
+        BigDecimal remainder = amount.subtract(base.multiply(count));
+        List<BigDecimal> plan = new ArrayList<>(installments);
+        for (int number = 1; number <= installments; number++) {
+            plan.add(number == 1 ? base.add(remainder) : base);
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.toolschallenge.benchmark;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.toolschallenge.money.Money;
+
+/**
+ * Valor em centavos ({@link Money}, {@code long}) contra {@code BigDecimal}
+ * nas três operações do caminho quente: ler o texto do {@code valor} do
+ * pedido, escrever o {@code valor} da resposta e somar totais. Rodar com o
+ * profiler {@code gc} para comparar {@code gc.alloc.rate.norm}: o lado em
+ * centavos não deve alocar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    private static final int AMOUNTS = 1024;
+
+    private char[] text;
+    private char[] buffer;
+    private long cents;
+    private long[] centsList;
+    private BigDecimal[] amountList;
+
+    @Setup
+    public void setUp() {
+        text = "500.50".toCharArray();
+        buffer = new char[Money.MAX_FORMATTED_LENGTH];
+        cents = 50050L;
+        SplittableRandom random = new SplittableRandom(42);
+        centsList = new long[AMOUNTS];
+        amountList = new BigDecimal[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            centsList[i] = random.nextLong(1, 1_000_000L);
+            amountList[i] = Money.toBigDecimal(centsList[i]);
+        }
+    }
+
+    @Benchmark
+    public long parseCents() {
+        return Money.parse(text, 0, text.length);
+    }
+
+    @Benchmark
+    public BigDecimal parseBigDecimal() {
+        return new BigDecimal(text, 0, text.length);
+    }
+
+    @Benchmark
+    public int formatCents() {
+        return Money.format(cents, buffer, 0);
+    }
+
+    /**
+     * Um {@code BigDecimal} novo por chamada, como o lido do JDBC para cada
+     * linha: o {@code toString()} de uma mesma instância fica em cache.
+     */
+    @Benchmark
+    public String formatBigDecimal() {
+        return BigDecimal.valueOf(cents, Money.SCALE).toString();
+    }
+
+    @Benchmark
+    public long sumCents() {
+        long total = 0;
+        for (long value : centsList) {
+            total += value;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal value : amountList) {
+            total = total.add(value);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.toolschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Round-trip Jackson (serializa e desserializa) dos DTOs de entrada e saída.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PagamentoRequestDTO request;
+    private PagamentoResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        request = BenchmarkData.paymentRequest();
+        response = new TransactionMapperImpl(() -> 1L, BenchmarkData.CARD_TOKENIZER, BenchmarkData.PAYMENT_METRICS)
+                .toPaymentResponse(BenchmarkData.transactionEntity());
+    }
+
+    @Benchmark
+    public PagamentoRequestDTO requestRoundTrip() {
+        byte[] json = objectMapper.writeValueAsBytes(request);
+        return objectMapper.readValue(json, PagamentoRequestDTO.class);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO responseRoundTrip() {
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        return objectMapper.readValue(json, PagamentoResponseDTO.class);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.toolschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import br.com.toolschallenge.cache.PaymentJsonCache;
+import br.com.toolschallenge.config.CacheConfig;
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Compara o caminho de {@code GET /pagamentos/{id}} com e sem o JSON
+ * pré-serializado: entity → DTO → Jackson contra a leitura dos bytes do
+ * {@link PaymentJsonCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentResponseBenchmark {
+
+    private TransactionEntity entity;
+    private TransactionMapper transactionMapper;
+    private ObjectMapper objectMapper;
+    private PaymentJsonCache paymentJsonCache;
+
+    @Setup
+    public void setUp() {
+        entity = BenchmarkData.transactionEntity();
+        transactionMapper = new TransactionMapperImpl(() -> 1L, BenchmarkData.CARD_TOKENIZER, BenchmarkData.PAYMENT_METRICS);
+        objectMapper = new ObjectMapper();
+        paymentJsonCache = new PaymentJsonCache(
+                new ConcurrentMapCacheManager(CacheConfig.PAYMENTS_JSON_CACHE), objectMapper,
+                transactionMapper, BenchmarkData.PAYMENT_METRICS, true);
+        paymentJsonCache.put(entity);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() {
+        PagamentoResponseDTO response = transactionMapper.toPaymentResponse(entity);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] preSerializedBytes() {
+        return paymentJsonCache.get(BenchmarkData.TRANSACTION_ID, () -> entity);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.toolschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.util.ByteArrayBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Codec em streaming contra o binding dos DTOs: leitura do corpo do
+ * {@code POST /pagamentos} para {@code PagamentoRequestDTO} ou para o
+ * {@link PaymentRequestFields} achatado, e escrita da resposta a partir da
+ * entity via DTO + Jackson ou direto no gerador. Com o profiler {@code gc}
+ * ligado no build, {@code gc.alloc.rate.norm} dá os bytes alocados por
+ * operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentStreamingCodecBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TransactionMapper transactionMapper;
+    private TransactionEntity entity;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        transactionMapper = new TransactionMapperImpl(() -> 1L, BenchmarkData.CARD_TOKENIZER, BenchmarkData.PAYMENT_METRICS);
+        entity = BenchmarkData.transactionEntity();
+        requestJson = objectMapper.writeValueAsBytes(BenchmarkData.paymentRequest());
+    }
+
+    @Benchmark
+    public PagamentoRequestDTO readRequestDto() {
+        return objectMapper.readValue(requestJson, PagamentoRequestDTO.class);
+    }
+
+    @Benchmark
+    public PaymentRequestFields readRequestStreaming() {
+        return objectMapper.readValue(requestJson, PaymentRequestFields.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponseDto() {
+        return objectMapper.writeValueAsBytes(transactionMapper.toPaymentResponse(entity));
+    }
+
+    @Benchmark
+    public byte[] writeResponseStreaming() {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator generator = objectMapper.createGenerator(buffer)) {
+            transactionMapper.writePaymentResponse(entity, generator);
+        }
+        return buffer.toByteArray();
+    }
+}
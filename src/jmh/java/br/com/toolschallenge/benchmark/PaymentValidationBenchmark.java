@@ -0,0 +1,80 @@
+package br.com.toolschallenge.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.validation.PaymentRequestValidator;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+import br.com.toolschallenge.validation.impl.SinglePassPaymentRequestValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Validação de um pedido válido: Bean Validation completa do
+ * {@link PagamentoRequestDTO} (o caminho antigo do {@code @Valid}) contra o
+ * {@link SinglePassPaymentRequestValidator} sobre o {@link PaymentRequestFields}
+ * achatado, sozinhos e somados à leitura do corpo JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private PaymentRequestValidator paymentRequestValidator;
+    private ObjectMapper objectMapper;
+    private byte[] requestJson;
+    private PagamentoRequestDTO request;
+    private PaymentRequestFields fields;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        paymentRequestValidator = new SinglePassPaymentRequestValidator();
+        objectMapper = new ObjectMapper();
+        request = BenchmarkData.paymentRequest();
+        requestJson = objectMapper.writeValueAsBytes(request);
+        fields = objectMapper.readValue(requestJson, PaymentRequestFields.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PagamentoRequestDTO>> validateRequest() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public ValidatedPaymentRequest validateRequestSinglePass() {
+        return paymentRequestValidator.validate(fields);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PagamentoRequestDTO>> readAndValidateRequestDto() {
+        return validator.validate(objectMapper.readValue(requestJson, PagamentoRequestDTO.class));
+    }
+
+    @Benchmark
+    public ValidatedPaymentRequest readAndValidateRequestSinglePass() {
+        return paymentRequestValidator.validate(objectMapper.readValue(requestJson, PaymentRequestFields.class));
+    }
+}
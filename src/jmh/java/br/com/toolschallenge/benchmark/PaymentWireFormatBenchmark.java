@@ -0,0 +1,84 @@
+package br.com.toolschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.toolschallenge.config.SmileConfig;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * JSON x Smile para os mesmos DTOs: custo de codificar e decodificar e, nos
+ * contadores auxiliares, o tamanho em bytes de cada documento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaymentWireFormatBenchmark {
+
+    @Param({ "json", "smile" })
+    private String format;
+
+    private ObjectMapper mapper;
+    private PagamentoRequestDTO request;
+    private PagamentoResponseDTO response;
+    private byte[] requestBytes;
+    private byte[] responseBytes;
+
+    @Setup
+    public void setUp() {
+        mapper = "smile".equals(format) ? SmileConfig.smileMapper() : new ObjectMapper();
+        request = BenchmarkData.paymentRequest();
+        response = new TransactionMapperImpl(() -> 1L, BenchmarkData.CARD_TOKENIZER, BenchmarkData.PAYMENT_METRICS)
+                .toPaymentResponse(BenchmarkData.transactionEntity());
+        requestBytes = mapper.writeValueAsBytes(request);
+        responseBytes = mapper.writeValueAsBytes(response);
+    }
+
+    /** Tamanho dos documentos, reportado uma vez por iteração. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+
+        public long requestBytes;
+        public long responseBytes;
+
+        @Setup(Level.Iteration)
+        public void record(PaymentWireFormatBenchmark benchmark) {
+            requestBytes = benchmark.requestBytes.length;
+            responseBytes = benchmark.responseBytes.length;
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeRequest(Size size) {
+        return mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public PagamentoRequestDTO decodeRequest() {
+        return mapper.readValue(requestBytes, PagamentoRequestDTO.class);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse(Size size) {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO decodeResponse() {
+        return mapper.readValue(responseBytes, PagamentoResponseDTO.class);
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.toolschallenge.benchmark;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.idfilter.TransactionIdFilter;
+import br.com.toolschallenge.journal.impl.MappedTransactionJournal;
+import br.com.toolschallenge.repository.TransactionRepository;
+
+/**
+ * {@code append} no journal com 16 threads concorrentes: mede a latência até
+ * o fsync do lote (o tempo que a requisição espera no modo write-behind),
+ * com p99 no modo {@code SampleTime}. O banco é simulado (toda inserção é
+ * aceita), então a drenagem não interfere na medição. A comparação com o
+ * caminho síncrono, que depende do PostgreSQL, é feita com o k6 (README, 8.1.2).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class TransactionJournalBenchmark {
+
+    private static final TransactionIdFilter NO_ID_FILTER = new TransactionIdFilter() {
+
+        @Override
+        public boolean isRegistered(long id) {
+            return false;
+        }
+
+        @Override
+        public void add(long id) {
+        }
+    };
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private Path directory;
+    private MappedTransactionJournal journal;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = new MappedTransactionJournal(acceptAllRepository(), NO_ID_FILTER, true,
+                directory.toString(), DataSize.ofMegabytes(64), 500, Duration.ofSeconds(5), 5);
+        journal.startDraining();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        TransactionEntity transaction = BenchmarkData.transactionEntity();
+        transaction.setId(ids.incrementAndGet());
+        journal.append(transaction);
+    }
+
+    private static TransactionRepository acceptAllRepository() {
+        return (TransactionRepository) Proxy.newProxyInstance(
+                TransactionRepository.class.getClassLoader(),
+                new Class<?>[] { TransactionRepository.class },
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("insertAllIfAbsent")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    int[] inserted = new int[((List<?>) args[0]).size()];
+                    Arrays.fill(inserted, 1);
+                    return inserted;
+                });
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.toolschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+
+/**
+ * Custo do {@link TransactionMapperImpl} nos dois sentidos. O NSU e o token do
+ * cartão vêm de fontes fixas para medir só o mapeamento, sem acesso ao banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionMapperBenchmark {
+
+    private TransactionMapper transactionMapper;
+    private ValidatedPaymentRequest request;
+    private TransactionEntity entity;
+
+    @Setup
+    public void setUp() {
+        transactionMapper = new TransactionMapperImpl(() -> 1L, BenchmarkData.CARD_TOKENIZER, BenchmarkData.PAYMENT_METRICS);
+        request = BenchmarkData.validatedPaymentRequest();
+        entity = BenchmarkData.transactionEntity();
+    }
+
+    @Benchmark
+    public TransactionEntity toTransactionEntityRequest() {
+        return transactionMapper.toTransactionEntityRequest(request);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO toPaymentResponse() {
+        return transactionMapper.toPaymentResponse(entity);
+    }
+}
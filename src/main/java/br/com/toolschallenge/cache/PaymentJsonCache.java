@@ -0,0 +1,136 @@
+package br.com.toolschallenge.cache;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import br.com.toolschallenge.config.CacheConfig;
+import br.com.toolschallenge.config.SmileConfig;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.metrics.PaymentStage;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.util.ByteArrayBuilder;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Guarda o JSON já serializado de cada pagamento, por id, para que
+ * {@code GET /pagamentos/{id}} escreva os bytes direto na resposta sem montar
+ * o grafo de DTOs nem passar pelo Jackson.
+ * <p>
+ * Os bytes são gerados na criação e no estorno ({@link #put}) e, nas leituras
+ * de registros que ainda não estão no cache, gravados com {@code putIfAbsent}:
+ * uma leitura concorrente com o estorno nunca sobrescreve o JSON cancelado.
+ * Com {@code pagamentos.cache.json.enabled=false} o cache é ignorado e cada
+ * leitura serializa a transação. Cada serialização entra no timer
+ * {@code pagamentos.stage{stage=serialization}}.
+ * <p>
+ * O JSON é escrito a partir da própria entity, em streaming
+ * ({@link TransactionMapper#writePaymentResponse}), com o gerador do
+ * {@code ObjectMapper} da aplicação: mesmos bytes que o DTO serializado, sem
+ * montá-lo.
+ * <p>
+ * Smile não tem cache próprio: {@link #getSmile} converte o JSON desta mesma
+ * entrada, então os dois formatos sempre mostram o mesmo estado do pagamento.
+ * <p>
+ * O cache é local (Caffeine) e a garantia de que o estorno aparece na leitura
+ * seguinte vale só para a instância que estornou. As demais continuam
+ * respondendo o JSON {@code AUTORIZADO} que já tinham até a entrada expirar
+ * ({@code expireAfterWrite} em {@code spring.cache.caffeine.spec}, padrão
+ * {@code 10m}). Com mais de uma instância atrás do balanceador, esse é o
+ * atraso máximo para um estorno ser visto por id; reduza o
+ * {@code expireAfterWrite} ou desligue o cache se ele não for aceitável.
+ */
+@Component
+public class PaymentJsonCache {
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+    private final TransactionMapper transactionMapper;
+    private final PaymentMetrics paymentMetrics;
+    private final SmileMapper smileMapper = SmileConfig.smileMapper();
+
+    public PaymentJsonCache(
+            CacheManager cacheManager,
+            ObjectMapper objectMapper,
+            TransactionMapper transactionMapper,
+            PaymentMetrics paymentMetrics,
+            @Value("${pagamentos.cache.json.enabled:true}") boolean enabled) {
+        this.cache = enabled ? cacheManager.getCache(CacheConfig.PAYMENTS_JSON_CACHE) : null;
+        this.objectMapper = objectMapper;
+        this.transactionMapper = transactionMapper;
+        this.paymentMetrics = paymentMetrics;
+    }
+
+    public byte[] get(String id, Supplier<TransactionEntity> loader) {
+        if (cache == null) {
+            return serialize(loader.get());
+        }
+        byte[] json = cache.get(id, byte[].class);
+        if (json != null) {
+            return json;
+        }
+        json = serialize(loader.get());
+        Cache.ValueWrapper existing = cache.putIfAbsent(id, json);
+        return existing == null ? json : (byte[]) existing.get();
+    }
+
+    /**
+     * Se o JSON do id já está em cache, sem carregar nada e sem contar como
+     * acesso nas estatísticas. O {@code ConcurrencyLimitFilter} usa para não
+     * pedir permissão do pool a leituras que não vão ao banco.
+     */
+    public boolean contains(String id) {
+        return cache != null
+                && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> entries
+                && entries.asMap().containsKey(id);
+    }
+
+    /**
+     * O JSON de {@link #get} reescrito em Smile, token a token. Os decimais
+     * ({@code valor}) passam como {@code BigDecimal}, como no DTO serializado
+     * em Smile.
+     */
+    public byte[] getSmile(String id, Supplier<TransactionEntity> loader) {
+        byte[] json = get(id, loader);
+        long start = paymentMetrics.start();
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonParser parser = objectMapper.createParser(json);
+                JsonGenerator generator = smileMapper.createGenerator(buffer)) {
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT) {
+                    generator.writeNumber(parser.getDecimalValue());
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+            }
+        }
+        byte[] smile = buffer.toByteArray();
+        paymentMetrics.record(PaymentStage.SERIALIZATION, start);
+        return smile;
+    }
+
+    public void put(TransactionEntity payment) {
+        if (cache != null) {
+            cache.put(String.valueOf(payment.getId()), serialize(payment));
+        }
+    }
+
+    private byte[] serialize(TransactionEntity payment) {
+        long start = paymentMetrics.start();
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator generator = objectMapper.createGenerator(buffer)) {
+            transactionMapper.writePaymentResponse(payment, generator);
+        }
+        byte[] json = buffer.toByteArray();
+        paymentMetrics.record(PaymentStage.SERIALIZATION, start);
+        return json;
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.toolschallenge.card;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public interface CardTokenizer {
+
+    long tokenize(String cardNumber);
+
+    String detokenize(long token);
+
+    /**
+     * Número do cartão de cada token, para mapear uma página inteira de
+     * transações com uma única ida ao cofre em vez de uma por linha.
+     */
+    default Map<Long, String> detokenizeAll(Collection<Long> tokens) {
+        Map<Long, String> numbers = new HashMap<>();
+        for (Long token : tokens) {
+            numbers.computeIfAbsent(token, this::detokenize);
+        }
+        return numbers;
+    }
+}
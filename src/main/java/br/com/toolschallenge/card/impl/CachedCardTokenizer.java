@@ -0,0 +1,87 @@
+package br.com.toolschallenge.card.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.toolschallenge.card.CardTokenizer;
+import br.com.toolschallenge.config.CacheConfig;
+
+/**
+ * Troca o número do cartão pelo token {@code BIGINT} gravado em
+ * {@code tb_transacao.card_token} e vice-versa, usando o cofre
+ * {@code tb_cartao} (migração V10).
+ * <p>
+ * O par número/token nunca muda depois de criado, então os dois sentidos
+ * ficam em cache ({@value CacheConfig#CARD_TOKENS_CACHE} e
+ * {@value CacheConfig#CARD_NUMBERS_CACHE}) e o banco só é consultado na
+ * primeira vez que um cartão aparece nesta instância. Listagens resolvem os
+ * tokens fora do cache de uma página de uma vez ({@link #detokenizeAll}),
+ * com um único {@code SELECT ... WHERE token = ANY(?)}.
+ */
+@Component
+public class CachedCardTokenizer implements CardTokenizer {
+
+    private static final String TOKENIZE_SQL = "SELECT tb_cartao_tokenize(?)";
+    private static final String DETOKENIZE_SQL = "SELECT card_number FROM tb_cartao WHERE token = ?";
+    private static final String DETOKENIZE_ALL_SQL = "SELECT token, card_number FROM tb_cartao WHERE token = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache tokens;
+    private final Cache numbers;
+
+    public CachedCardTokenizer(JdbcTemplate jdbcTemplate, CacheManager cacheManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokens = cacheManager.getCache(CacheConfig.CARD_TOKENS_CACHE);
+        this.numbers = cacheManager.getCache(CacheConfig.CARD_NUMBERS_CACHE);
+    }
+
+    @Override
+    public long tokenize(String cardNumber) {
+        Long token = tokens.get(cardNumber,
+                () -> jdbcTemplate.queryForObject(TOKENIZE_SQL, Long.class, cardNumber));
+        numbers.putIfAbsent(token, cardNumber);
+        return token;
+    }
+
+    @Override
+    public String detokenize(long token) {
+        return numbers.get(token,
+                () -> jdbcTemplate.queryForObject(DETOKENIZE_SQL, String.class, token));
+    }
+
+    @Override
+    public Map<Long, String> detokenizeAll(Collection<Long> tokens) {
+        Map<Long, String> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long token : tokens) {
+            if (result.containsKey(token)) {
+                continue;
+            }
+            String cardNumber = numbers.get(token, String.class);
+            if (cardNumber == null) {
+                missing.add(token);
+            }
+            result.put(token, cardNumber);
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query(DETOKENIZE_ALL_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", missing.toArray())),
+                rs -> {
+                    long token = rs.getLong(1);
+                    String cardNumber = rs.getString(2);
+                    numbers.putIfAbsent(token, cardNumber);
+                    result.put(token, cardNumber);
+                });
+        return result;
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.toolschallenge.codec;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Codec de largura fixa para o formato {@value #PATTERN} usado em
+ * {@code dataHora}.
+ * <p>
+ * O parse valida o layout e converte os campos numa única passada pelos 19
+ * caracteres, lidos direto da {@code String} ou do {@code char[]}, sem regex,
+ * sem {@code DateTimeFormatter} e sem objetos intermediários; datas
+ * inexistentes (ex.: 31/02) são rejeitadas pelo próprio
+ * {@link LocalDateTime#of}. A formatação escreve direto num {@code char[]}
+ * fornecido pelo chamador, que pode reaproveitá-lo; {@link #format} usa um
+ * buffer por thread e só aloca a {@code String} devolvida.
+ */
+public final class DataHoraCodec {
+
+    public static final String PATTERN = "dd/MM/yyyy HH:mm:ss";
+    public static final int LENGTH = 19;
+
+    public static final String INVALID_FORMAT_MESSAGE = "dataHora must be in the format " + PATTERN;
+
+    private static final int INVALID = -1;
+    private static final int SEPARATOR = 10;
+
+    private static final ThreadLocal<char[]> BUFFER =
+            ThreadLocal.withInitial(() -> new char[LENGTH]);
+
+    private DataHoraCodec() {
+    }
+
+    public static LocalDateTime parse(String text) {
+        if (text == null || text.length() != LENGTH) {
+            throw invalidFormat(text, 0);
+        }
+        int day = 0;
+        int month = 0;
+        int year = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = digitAt(text.charAt(i), i);
+            if (digit == INVALID) {
+                throw invalidFormat(text, i);
+            }
+            if (digit == SEPARATOR) {
+                continue;
+            }
+            if (i < 2) {
+                day = day * 10 + digit;
+            } else if (i < 5) {
+                month = month * 10 + digit;
+            } else if (i < 10) {
+                year = year * 10 + digit;
+            } else if (i < 13) {
+                hour = hour * 10 + digit;
+            } else if (i < 16) {
+                minute = minute * 10 + digit;
+            } else {
+                second = second * 10 + digit;
+            }
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException ex) {
+            throw invalidDate(text, ex);
+        }
+    }
+
+    public static LocalDateTime parse(char[] chars, int offset, int length) {
+        if (length != LENGTH) {
+            throw invalidFormat(chars, offset, length, 0);
+        }
+        int day = 0;
+        int month = 0;
+        int year = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = digitAt(chars[offset + i], i);
+            if (digit == INVALID) {
+                throw invalidFormat(chars, offset, length, i);
+            }
+            if (digit == SEPARATOR) {
+                continue;
+            }
+            if (i < 2) {
+                day = day * 10 + digit;
+            } else if (i < 5) {
+                month = month * 10 + digit;
+            } else if (i < 10) {
+                year = year * 10 + digit;
+            } else if (i < 13) {
+                hour = hour * 10 + digit;
+            } else if (i < 16) {
+                minute = minute * 10 + digit;
+            } else {
+                second = second * 10 + digit;
+            }
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException ex) {
+            throw invalidDate(new String(chars, offset, length), ex);
+        }
+    }
+
+    /**
+     * Valor do dígito na posição {@code index} do layout; {@link #SEPARATOR}
+     * para o separador esperado ali e {@link #INVALID} para qualquer outro
+     * caractere.
+     */
+    private static int digitAt(char c, int index) {
+        switch (index) {
+            case 2, 5 -> {
+                return c == '/' ? SEPARATOR : INVALID;
+            }
+            case 10 -> {
+                return c == ' ' ? SEPARATOR : INVALID;
+            }
+            case 13, 16 -> {
+                return c == ':' ? SEPARATOR : INVALID;
+            }
+            default -> {
+                int digit = c - '0';
+                return digit < 0 || digit > 9 ? INVALID : digit;
+            }
+        }
+    }
+
+    public static String format(LocalDateTime dateTime) {
+        char[] buffer = BUFFER.get();
+        formatTo(dateTime, buffer, 0);
+        return new String(buffer, 0, LENGTH);
+    }
+
+    /**
+     * Escreve {@code dateTime} em {@code buffer[offset .. offset + 18]}.
+     * Anos fora de {@code 0..9999} não cabem no formato e são rejeitados.
+     */
+    public static void formatTo(LocalDateTime dateTime, char[] buffer, int offset) {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            throw new DateTimeException("Year out of range for " + PATTERN + ": " + year);
+        }
+        writeTwoDigits(dateTime.getDayOfMonth(), buffer, offset);
+        buffer[offset + 2] = '/';
+        writeTwoDigits(dateTime.getMonthValue(), buffer, offset + 3);
+        buffer[offset + 5] = '/';
+        writeTwoDigits(year / 100, buffer, offset + 6);
+        writeTwoDigits(year % 100, buffer, offset + 8);
+        buffer[offset + 10] = ' ';
+        writeTwoDigits(dateTime.getHour(), buffer, offset + 11);
+        buffer[offset + 13] = ':';
+        writeTwoDigits(dateTime.getMinute(), buffer, offset + 14);
+        buffer[offset + 16] = ':';
+        writeTwoDigits(dateTime.getSecond(), buffer, offset + 17);
+    }
+
+    private static void writeTwoDigits(int value, char[] buffer, int offset) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static DateTimeParseException invalidFormat(char[] chars, int offset, int length, int errorIndex) {
+        return invalidFormat(new String(chars, offset, length), errorIndex);
+    }
+
+    private static DateTimeParseException invalidFormat(String text, int errorIndex) {
+        return new DateTimeParseException(INVALID_FORMAT_MESSAGE, String.valueOf(text), errorIndex);
+    }
+
+    private static DateTimeParseException invalidDate(String text, DateTimeException cause) {
+        return new DateTimeParseException("dataHora is not a valid date: " + cause.getMessage(), text, 0, cause);
+    }
+}
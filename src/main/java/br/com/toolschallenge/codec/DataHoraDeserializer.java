@@ -0,0 +1,25 @@
+package br.com.toolschallenge.codec;
+
+import java.time.LocalDateTime;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Lê {@code dataHora} direto do buffer de caracteres do parser, validando e
+ * convertendo numa única passada pelo {@link DataHoraCodec}. Usado ao ler a
+ * resposta ({@code DescricaoResponseDTO}); o pedido não passa por aqui, o
+ * {@code PaymentRequestDeserializer} guarda o texto para o validador.
+ */
+public class DataHoraDeserializer extends ValueDeserializer<LocalDateTime> {
+
+    @Override
+    public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) {
+        if (!p.hasToken(JsonToken.VALUE_STRING)) {
+            return (LocalDateTime) ctxt.handleUnexpectedToken(LocalDateTime.class, p);
+        }
+        return DataHoraCodec.parse(p.getStringCharacters(), p.getStringOffset(), p.getStringLength());
+    }
+}
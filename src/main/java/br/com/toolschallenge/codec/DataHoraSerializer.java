@@ -0,0 +1,24 @@
+package br.com.toolschallenge.codec;
+
+import java.time.LocalDateTime;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Escreve {@code dataHora} no formato {@value DataHoraCodec#PATTERN} a partir
+ * de um buffer por thread, sem criar {@code String} intermediária.
+ */
+public class DataHoraSerializer extends ValueSerializer<LocalDateTime> {
+
+    private static final ThreadLocal<char[]> BUFFER =
+            ThreadLocal.withInitial(() -> new char[DataHoraCodec.LENGTH]);
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializationContext ctxt) {
+        char[] buffer = BUFFER.get();
+        DataHoraCodec.formatTo(value, buffer, 0);
+        gen.writeString(buffer, 0, DataHoraCodec.LENGTH);
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.toolschallenge.codec;
+
+import java.math.BigDecimal;
+
+import br.com.toolschallenge.dto.DescricaoRequestDTO;
+import br.com.toolschallenge.dto.FormaPagamentoDTO;
+import br.com.toolschallenge.dto.TransacaoRequestDTO;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.money.Money;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Lê o corpo de {@code PagamentoRequestDTO} em uma passada pelos tokens do
+ * parser, direto para o {@link PaymentRequestFields}, sem instanciar
+ * {@code TransacaoRequestDTO}, {@code DescricaoRequestDTO} e
+ * {@code FormaPagamentoDTO}.
+ * <p>
+ * Aceita o mesmo que o binding dos DTOs: campos desconhecidos são ignorados,
+ * {@code null} deixa o campo vazio, escalares viram texto nos campos texto e
+ * {@code valor} aceita número ou texto, lido em centavos pelo {@link Money}
+ * direto dos caracteres do token. {@code dataHora} fica como texto e é
+ * convertida pelo validador; {@code tipo} usa o
+ * {@link TipoFormaPagamento#fromValue}. Tipos de token inesperados e valores
+ * inválidos de {@code tipo} viram erro de leitura (400 pelo
+ * {@code GlobalExceptionHandler}).
+ */
+public class PaymentRequestDeserializer extends ValueDeserializer<PaymentRequestFields> {
+
+    @Override
+    public PaymentRequestFields deserialize(JsonParser p, DeserializationContext ctxt) {
+        PaymentRequestFields fields = new PaymentRequestFields();
+        if (!startObject(p, ctxt, PaymentRequestFields.class)) {
+            return fields;
+        }
+        for (String name = p.nextName(); name != null; name = p.nextName()) {
+            p.nextToken();
+            if ("transacao".equals(name)) {
+                readTransacao(p, ctxt, fields);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return fields;
+    }
+
+    private static void readTransacao(JsonParser p, DeserializationContext ctxt, PaymentRequestFields fields) {
+        if (!startObject(p, ctxt, TransacaoRequestDTO.class)) {
+            return;
+        }
+        fields.setTransacaoPresent(true);
+        for (String name = p.nextName(); name != null; name = p.nextName()) {
+            p.nextToken();
+            switch (name) {
+                case "cartao" -> fields.setCartao(readString(p, ctxt));
+                case "id" -> fields.setId(readString(p, ctxt));
+                case "descricao" -> readDescricao(p, ctxt, fields);
+                case "formaPagamento" -> readFormaPagamento(p, ctxt, fields);
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void readDescricao(JsonParser p, DeserializationContext ctxt, PaymentRequestFields fields) {
+        if (!startObject(p, ctxt, DescricaoRequestDTO.class)) {
+            return;
+        }
+        fields.setDescricaoPresent(true);
+        for (String name = p.nextName(); name != null; name = p.nextName()) {
+            p.nextToken();
+            switch (name) {
+                case "valor" -> readValor(p, ctxt, fields);
+                case "dataHora" -> fields.setDataHora(readString(p, ctxt));
+                case "estabelecimento" -> fields.setEstabelecimento(readString(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void readFormaPagamento(JsonParser p, DeserializationContext ctxt, PaymentRequestFields fields) {
+        if (!startObject(p, ctxt, FormaPagamentoDTO.class)) {
+            return;
+        }
+        fields.setFormaPagamentoPresent(true);
+        for (String name = p.nextName(); name != null; name = p.nextName()) {
+            p.nextToken();
+            switch (name) {
+                case "tipo" -> fields.setTipo(readTipo(p, ctxt));
+                case "parcelas" -> fields.setParcelas(readString(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * {@code true} se o token atual abre um objeto; {@code false} para
+     * {@code null}. Qualquer outro token é rejeitado pelo contexto.
+     */
+    private static boolean startObject(JsonParser p, DeserializationContext ctxt, Class<?> type) {
+        if (p.hasToken(JsonToken.START_OBJECT)) {
+            return true;
+        }
+        if (!p.hasToken(JsonToken.VALUE_NULL)) {
+            ctxt.handleUnexpectedToken(type, p);
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt) {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return p.getString();
+        }
+        ctxt.handleUnexpectedToken(String.class, p);
+        p.skipChildren();
+        return null;
+    }
+
+    /**
+     * Na forma simples ({@code 500.50}, {@code "12"}) os centavos saem dos
+     * caracteres do token, sem {@code BigDecimal}; as demais (expoente, sinal,
+     * mais casas) passam pelo {@code BigDecimal} como no binding do DTO.
+     */
+    private static void readValor(JsonParser p, DeserializationContext ctxt, PaymentRequestFields fields) {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (token.isNumeric()) {
+            long cents = Money.parse(p.getStringCharacters(), p.getStringOffset(), p.getStringLength());
+            if (cents != Money.NONE) {
+                fields.setValorCents(cents);
+            } else {
+                fields.setValor(p.getDecimalValue());
+            }
+            return;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            readValorText(p, ctxt, fields);
+            return;
+        }
+        fields.setValor((BigDecimal) ctxt.handleUnexpectedToken(BigDecimal.class, p));
+    }
+
+    /** Texto com espaços nas pontas aparados; vazio é o mesmo que ausente. */
+    private static void readValorText(JsonParser p, DeserializationContext ctxt, PaymentRequestFields fields) {
+        char[] text = p.getStringCharacters();
+        int start = p.getStringOffset();
+        int end = start + p.getStringLength();
+        while (start < end && text[start] <= ' ') {
+            start++;
+        }
+        while (end > start && text[end - 1] <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return;
+        }
+        long cents = Money.parse(text, start, end - start);
+        if (cents != Money.NONE) {
+            fields.setValorCents(cents);
+            return;
+        }
+        try {
+            fields.setValor(new BigDecimal(text, start, end - start));
+        } catch (NumberFormatException ex) {
+            fields.setValor((BigDecimal) ctxt.handleWeirdStringValue(
+                    BigDecimal.class, new String(text, start, end - start), "not a valid representation"));
+        }
+    }
+
+    private static TipoFormaPagamento readTipo(JsonParser p, DeserializationContext ctxt) {
+        String text = readString(p, ctxt);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return TipoFormaPagamento.fromValue(text);
+        } catch (IllegalArgumentException ex) {
+            return (TipoFormaPagamento) ctxt.handleWeirdStringValue(
+                    TipoFormaPagamento.class, text, "%s", ex.getMessage());
+        }
+    }
+}
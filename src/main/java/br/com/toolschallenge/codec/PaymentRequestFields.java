@@ -0,0 +1,54 @@
+package br.com.toolschallenge.codec;
+
+import java.math.BigDecimal;
+
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.money.Money;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tools.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Corpo de {@code PagamentoRequestDTO} achatado num único objeto, como lido
+ * pelo {@link PaymentRequestDeserializer}: os campos de {@code transacao},
+ * {@code descricao} e {@code formaPagamento} ficam lado a lado e a presença de
+ * cada objeto aninhado é guardada num flag, para que a validação consiga
+ * distinguir objeto ausente de campo ausente.
+ * <p>
+ * Os valores ainda não foram validados: textos chegam como vieram no JSON
+ * (inclusive {@code id}, {@code parcelas} e {@code dataHora}, que só é
+ * convertida na validação para que um valor fora do formato vire violação do
+ * campo, e não erro de leitura do corpo).
+ * <p>
+ * {@code valor} fica em centavos ({@link Money}) quando cabe neles; um valor
+ * fora desse formato (negativo, com mais de duas casas ou mais de oito
+ * dígitos inteiros), que nunca é válido, fica como veio em
+ * {@code valorInvalido} para as mensagens da validação. Os dois ausentes
+ * indicam {@code valor} ausente.
+ */
+@Data
+@NoArgsConstructor
+@JsonDeserialize(using = PaymentRequestDeserializer.class)
+public class PaymentRequestFields {
+
+    private boolean transacaoPresent;
+    private String cartao;
+    private String id;
+
+    private boolean descricaoPresent;
+    private long valorCents = Money.NONE;
+    private BigDecimal valorInvalido;
+    private String dataHora;
+    private String estabelecimento;
+
+    private boolean formaPagamentoPresent;
+    private TipoFormaPagamento tipo;
+    private String parcelas;
+
+    /** Guarda {@code valor} em centavos ou, se não couber, como veio. */
+    public void setValor(BigDecimal valor) {
+        long cents = valor == null ? Money.NONE : Money.toCents(valor);
+        this.valorCents = cents;
+        this.valorInvalido = cents == Money.NONE ? valor : null;
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.toolschallenge.codec;
+
+import java.time.LocalDateTime;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.money.Money;
+import tools.jackson.core.JsonGenerator;
+
+/**
+ * Escreve um {@link TransactionEntity} como {@code PagamentoResponseDTO} direto
+ * no {@link JsonGenerator}, sem montar o grafo de DTOs (builders e objetos de
+ * {@code transacao}, {@code descricao} e {@code formaPagamento}) nem passar
+ * pela introspecção do Jackson.
+ * <p>
+ * A saída é byte a byte a mesma do {@code ObjectMapper} para o DTO montado
+ * pelo {@code TransactionMapperImpl}: mesma ordem de campos
+ * ({@code @JsonPropertyOrder}), nulos escritos como {@code null}, id e
+ * parcelas como texto (com os zeros à esquerda recebidos), NSU com 10 dígitos e {@code dataHora} pelo
+ * {@link DataHoraCodec}. Números e datas passam por um buffer de caracteres
+ * por thread, sem {@code String}s intermediárias; o valor sai dos centavos
+ * por {@link Money#format}, sem {@code BigDecimal}.
+ */
+public final class PaymentResponseWriter {
+
+    private static final int BUFFER_LENGTH = 20;
+    private static final int NSU_DIGITS = 10;
+
+    private static final ThreadLocal<char[]> BUFFER =
+            ThreadLocal.withInitial(() -> new char[BUFFER_LENGTH]);
+
+    private PaymentResponseWriter() {
+    }
+
+    /**
+     * {@code cardNumber} é o número já destokenizado; o gerador não é
+     * fechado nem descarregado.
+     */
+    public static void write(JsonGenerator generator, TransactionEntity entity, String cardNumber) {
+        char[] buffer = BUFFER.get();
+
+        generator.writeStartObject();
+        generator.writeName("transacao");
+        generator.writeStartObject();
+        generator.writeStringProperty("cartao", cardNumber);
+        generator.writeName("id");
+        writeDigits(generator, entity.getId(), entity.getIdLeadingZeros(), buffer);
+
+        generator.writeName("descricao");
+        generator.writeStartObject();
+        generator.writeName("valor");
+        writeAmount(generator, entity.getAmountCents(), buffer);
+        generator.writeName("dataHora");
+        writeDataHora(generator, entity.getDateTime(), buffer);
+        generator.writeStringProperty("estabelecimento", entity.getEstablishment());
+        generator.writeName("nsu");
+        writeNsu(generator, entity.getNsu(), buffer);
+        generator.writeStringProperty("codigoAutorizacao", entity.getAuthorizationCode());
+        StatusTransacao status = entity.getStatus();
+        generator.writeStringProperty("status", status == null ? null : status.getDescricao());
+        generator.writeEndObject();
+
+        generator.writeName("formaPagamento");
+        generator.writeStartObject();
+        TipoFormaPagamento paymentType = entity.getPaymentType();
+        generator.writeStringProperty("tipo", paymentType == null ? null : paymentType.getDescricao());
+        generator.writeName("parcelas");
+        writeDigits(generator, entity.getInstallments(), entity.getInstallmentsLeadingZeros(), buffer);
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Id ou parcelas: mesmo texto de {@code String.valueOf(value)} precedido
+     * dos zeros à esquerda recebidos na criação.
+     */
+    private static void writeDigits(JsonGenerator generator, Number value, short leadingZeros, char[] buffer) {
+        if (value == null || value.longValue() < 0) {
+            generator.writeString(String.valueOf(value));
+            return;
+        }
+        long number = value.longValue();
+        int length = digits(number) + leadingZeros;
+        if (length > buffer.length) {
+            generator.writeString("0".repeat(leadingZeros) + number);
+            return;
+        }
+        generator.writeString(buffer, 0, formatDigits(number, length, buffer));
+    }
+
+    /** Mesmo texto de {@code Money.toBigDecimal(cents).toString()}. */
+    private static void writeAmount(JsonGenerator generator, long cents, char[] buffer) {
+        if (cents < 0) {
+            generator.writeNumber(Money.toBigDecimal(cents));
+            return;
+        }
+        generator.writeNumber(buffer, 0, Money.format(cents, buffer, 0));
+    }
+
+    /** Mesmo texto de {@code String.format("%010d", nsu)}. */
+    private static void writeNsu(JsonGenerator generator, Long nsu, char[] buffer) {
+        if (nsu == null) {
+            generator.writeNull();
+        } else if (nsu < 0) {
+            generator.writeString(String.format("%010d", nsu));
+        } else {
+            generator.writeString(buffer, 0, formatDigits(nsu, NSU_DIGITS, buffer));
+        }
+    }
+
+    private static void writeDataHora(JsonGenerator generator, LocalDateTime dateTime, char[] buffer) {
+        if (dateTime == null) {
+            generator.writeNull();
+            return;
+        }
+        DataHoraCodec.formatTo(dateTime, buffer, 0);
+        generator.writeString(buffer, 0, DataHoraCodec.LENGTH);
+    }
+
+    /**
+     * Escreve {@code value} (não negativo) em {@code buffer}, completando com
+     * zeros à esquerda até {@code minDigits}; devolve o número de caracteres.
+     */
+    private static int formatDigits(long value, int minDigits, char[] buffer) {
+        int length = Math.max(digits(value), minDigits);
+        for (int i = length - 1; i >= 0; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return length;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
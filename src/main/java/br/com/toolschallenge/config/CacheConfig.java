@@ -0,0 +1,21 @@
+package br.com.toolschallenge.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita os caches de leitura: JSON pré-serializado dos pagamentos
+ * ({@link #PAYMENTS_JSON_CACHE}, também a fonte do Smile) e tokens de
+ * cartão ({@link #CARD_TOKENS_CACHE} e {@link #CARD_NUMBERS_CACHE}). O provedor (Caffeine),
+ * o tamanho máximo e o TTL ficam em {@code spring.cache.*} no
+ * application.properties; com {@code recordStats} o Spring Boot publica hits,
+ * misses e evictions nas métricas {@code cache.*} do actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PAYMENTS_JSON_CACHE = "pagamentos-json";
+    public static final String CARD_TOKENS_CACHE = "cartoes-token";
+    public static final String CARD_NUMBERS_CACHE = "cartoes-numero";
+}
@@ -0,0 +1,80 @@
+package br.com.toolschallenge.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.toolschallenge.datasource.ReadReplicaRoutingDataSource;
+import br.com.toolschallenge.datasource.ReplicaReadRouter;
+
+/**
+ * Dois pools Hikari, primário e réplica de leitura, atrás de um único
+ * {@code DataSource} ({@code pagamentos.datasource.replica.enabled=true}).
+ * <p>
+ * O primário usa a mesma conexão de sempre ({@code spring.datasource.*}, ou a
+ * do {@code @ServiceConnection} nos testes) e {@code spring.datasource.hikari.*}.
+ * A réplica é configurada inteira em {@code pagamentos.datasource.replica.*}
+ * ({@code jdbc-url}, {@code username}, {@code password} e as propriedades do
+ * Hikari, como {@code maximum-pool-size}), com conexões somente leitura.
+ * <p>
+ * JPA, JDBC e Flyway recebem o {@code DataSource} {@code @Primary}: um
+ * {@link LazyConnectionDataSourceProxy} sobre o
+ * {@link ReadReplicaRoutingDataSource}, para que o pool seja escolhido só
+ * quando a transação já está aberta. Só as leituras do
+ * {@link ReplicaReadRouter} vão para a réplica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "pagamentos.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            DataSourceProperties properties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create().type(HikariDataSource.class);
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        if (details != null) {
+            builder.url(details.getJdbcUrl())
+                    .username(details.getUsername())
+                    .password(details.getPassword())
+                    .driverClassName(details.getDriverClassName());
+        } else {
+            builder.url(properties.getUrl())
+                    .username(properties.getUsername())
+                    .password(properties.getPassword());
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("pagamentos.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica));
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.toolschallenge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as rotinas agendadas (manutenção das partições de
+ * {@code tb_transacao}).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
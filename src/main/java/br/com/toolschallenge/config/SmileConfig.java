@@ -0,0 +1,46 @@
+package br.com.toolschallenge.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+
+import tools.jackson.dataformat.smile.SmileFactory;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+/**
+ * Smile (formato binário do Jackson) como alternativa ao JSON para os
+ * gateways, por negociação de conteúdo: {@code Content-Type} e/ou
+ * {@code Accept} {@value #APPLICATION_SMILE_VALUE}. Os DTOs, as anotações
+ * ({@code @JsonPropertyOrder}, {@code @JsonFormat}, codec de {@code dataHora}),
+ * a validação e os corpos de erro do {@code GlobalExceptionHandler} são os
+ * mesmos do JSON; muda só a codificação.
+ * <p>
+ * Nomes de campo repetidos no mesmo documento (lote, listagem, página) são
+ * escritos uma vez e depois referenciados por um byte (tabela de nomes
+ * compartilhados, padrão do Smile). A tabela de valores compartilhados também
+ * fica ligada, porque status, tipo e estabelecimento se repetem nas listas.
+ */
+@Configuration
+public class SmileConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    /**
+     * Registrado pelo Spring Boot junto aos conversores padrão; o JSON
+     * continua sendo o formato quando o cliente não pede Smile.
+     */
+    @Bean
+    public JacksonSmileHttpMessageConverter smileHttpMessageConverter() {
+        return new JacksonSmileHttpMessageConverter(smileMapper());
+    }
+
+    public static SmileMapper smileMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return SmileMapper.builder(factory).build();
+    }
+}
@@ -1,36 +1,68 @@
 package br.com.toolschallenge.controller;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.config.SmileConfig;
+import br.com.toolschallenge.dto.FiltroPagamentosDTO;
+import br.com.toolschallenge.dto.LotePagamentoItemResponseDTO;
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.dto.PaginaPagamentosResponseDTO;
 import br.com.toolschallenge.service.PaymentService;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/pagamentos")
 @RequiredArgsConstructor
 public class PaymentController {
 
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final int NEW_LINE = '\n';
+
     private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * O corpo é lido em streaming ({@code PaymentRequestDeserializer}) e
+     * validado pelo serviço numa única passada; as violações chegam ao
+     * {@code GlobalExceptionHandler} com o mesmo formato do {@code @Valid}.
+     */
     @PostMapping
     public ResponseEntity<PagamentoResponseDTO> createPayment(
-            @Valid @RequestBody PagamentoRequestDTO request) {
+            @RequestBody PaymentRequestFields request) {
 
         PagamentoResponseDTO response = paymentService.createPayment(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    @PostMapping("/lote")
+    public ResponseEntity<List<LotePagamentoItemResponseDTO>> createPayments(
+            @RequestBody List<PaymentRequestFields> requests) {
+
+        List<LotePagamentoItemResponseDTO> response = paymentService.createPayments(requests);
+        return ResponseEntity.ok(response);
+    }
     
     @GetMapping("/listAllPayments")
     public ResponseEntity<List<PagamentoResponseDTO>> listAllPayments() {
@@ -38,11 +70,64 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<PagamentoResponseDTO> findPaymentById(@PathVariable("id") String id) {
-        PagamentoResponseDTO response = paymentService.findPaymentById(id);
+    @GetMapping
+    public ResponseEntity<PaginaPagamentosResponseDTO> listPayments(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+
+        PaginaPagamentosResponseDTO response = paymentService.listPayments(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Busca por estabelecimento, intervalo de datas ({@code dd/MM/yyyy HH:mm:ss}),
+     * status, tipo e NSU, paginada como a listagem.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<PaginaPagamentosResponseDTO> searchPayments(
+            @ModelAttribute FiltroPagamentosDTO filtro,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+
+        PaginaPagamentosResponseDTO response = paymentService.searchPayments(filtro, cursor, size);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Exporta todas as transações em NDJSON (uma por linha). As linhas são
+     * acumuladas em um buffer fixo e enviadas em blocos conforme ele enche,
+     * então o consumo de memória não depende do tamanho da tabela.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPayments() {
+        StreamingResponseBody body = this::writeNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Devolve o JSON já serializado do pagamento, sem passar pelo Jackson.
+     * Quando o {@code Accept} pede Smile, o mesmo JSON em cache é convertido
+     * para Smile; um único mapeamento evita ambiguidade entre dois handlers
+     * com {@code Accept: *}{@code /*}.
+     */
+    @GetMapping(value = "/{id}", produces = { MediaType.APPLICATION_JSON_VALUE, SmileConfig.APPLICATION_SMILE_VALUE })
+    public ResponseEntity<?> findPaymentById(
+            @PathVariable("id") String id,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        if (acceptsSmile(accept)) {
+            byte[] response = paymentService.findPaymentSmileById(id);
+            return ResponseEntity.ok()
+                    .contentType(SmileConfig.APPLICATION_SMILE)
+                    .body(response);
+        }
+        byte[] response = paymentService.findPaymentJsonById(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
     
     @PostMapping("/{id}/estorno")
     public ResponseEntity<PagamentoResponseDTO> cancelPayment(
@@ -51,4 +136,29 @@ public class PaymentController {
         PagamentoResponseDTO response = paymentService.cancelPayment(id);
         return ResponseEntity.ok(response);
     }
+
+    private static boolean acceptsSmile(String accept) {
+        if (accept == null || accept.indexOf(SmileConfig.APPLICATION_SMILE.getSubtype()) < 0) {
+            return false;
+        }
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (SmileConfig.APPLICATION_SMILE.equalsTypeAndSubtype(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeNdjson(OutputStream outputStream) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+        paymentService.exportPayments(payment -> {
+            try {
+                buffer.write(objectMapper.writeValueAsBytes(payment));
+                buffer.write(NEW_LINE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        buffer.flush();
+    }
 }
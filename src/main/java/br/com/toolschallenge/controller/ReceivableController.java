@@ -0,0 +1,38 @@
+package br.com.toolschallenge.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.toolschallenge.dto.RecebiveisResponseDTO;
+import br.com.toolschallenge.service.ReceivableService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/pagamentos/recebiveis")
+@RequiredArgsConstructor
+public class ReceivableController {
+
+    private final ReceivableService receivableService;
+
+    /**
+     * Parcelas do estabelecimento com vencimento entre {@code inicio} e
+     * {@code fim} ({@code dd/MM/yyyy}, inclusivos), somadas por dia.
+     */
+    @GetMapping
+    public ResponseEntity<RecebiveisResponseDTO> projectReceivables(
+            @RequestParam(name = "estabelecimento") String estabelecimento,
+            @RequestParam(name = "inicio") @DateTimeFormat(pattern = RecebiveisResponseDTO.DATE_PATTERN)
+            LocalDate inicio,
+            @RequestParam(name = "fim") @DateTimeFormat(pattern = RecebiveisResponseDTO.DATE_PATTERN)
+            LocalDate fim) {
+
+        RecebiveisResponseDTO response = receivableService.projectReceivables(estabelecimento, inicio, fim);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.toolschallenge.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.toolschallenge.dto.LiquidacaoDiariaResponseDTO;
+import br.com.toolschallenge.dto.RecalculoLiquidacaoResponseDTO;
+import br.com.toolschallenge.service.SettlementService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/pagamentos/liquidacao")
+@RequiredArgsConstructor
+public class SettlementController {
+
+    private final SettlementService settlementService;
+
+    /**
+     * Totais do estabelecimento no dia ({@code dd/MM/yyyy}) por tipo de
+     * pagamento, lidos da tabela pré-agregada.
+     */
+    @GetMapping
+    public ResponseEntity<LiquidacaoDiariaResponseDTO> findDailyTotals(
+            @RequestParam(name = "estabelecimento") String estabelecimento,
+            @RequestParam(name = "data") @DateTimeFormat(pattern = LiquidacaoDiariaResponseDTO.DATE_PATTERN)
+            LocalDate data) {
+
+        LiquidacaoDiariaResponseDTO response = settlementService.findDailyTotals(estabelecimento, data);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/recalculo")
+    public ResponseEntity<RecalculoLiquidacaoResponseDTO> rebuild() {
+        RecalculoLiquidacaoResponseDTO response = settlementService.rebuild();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.toolschallenge.converter;
+
+import br.com.toolschallenge.enums.StatusTransacao;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * {@link StatusTransacao} gravado como o código {@code SMALLINT} de
+ * {@code tb_transacao.status}. Os códigos cabem no cache de
+ * {@link Short#valueOf(short)}, então a conversão não aloca.
+ */
+@Converter
+public class StatusTransacaoConverter implements AttributeConverter<StatusTransacao, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(StatusTransacao status) {
+        return status == null ? null : status.getCodigo().shortValue();
+    }
+
+    @Override
+    public StatusTransacao convertToEntityAttribute(Short codigo) {
+        return codigo == null ? null : StatusTransacao.fromId(codigo.shortValue());
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.toolschallenge.converter;
+
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * {@link TipoFormaPagamento} gravado como o código {@code SMALLINT} de
+ * {@code tb_transacao.payment_type}.
+ */
+@Converter
+public class TipoFormaPagamentoConverter implements AttributeConverter<TipoFormaPagamento, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TipoFormaPagamento tipo) {
+        return tipo == null ? null : tipo.getCodigo().shortValue();
+    }
+
+    @Override
+    public TipoFormaPagamento convertToEntityAttribute(Short codigo) {
+        return codigo == null ? null : TipoFormaPagamento.fromId(codigo.shortValue());
+    }
+}
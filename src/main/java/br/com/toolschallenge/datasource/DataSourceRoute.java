@@ -0,0 +1,9 @@
+package br.com.toolschallenge.datasource;
+
+/**
+ * Chaves do {@link ReadReplicaRoutingDataSource}: o pool de cada banco.
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
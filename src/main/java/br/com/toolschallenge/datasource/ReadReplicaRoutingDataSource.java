@@ -0,0 +1,69 @@
+package br.com.toolschallenge.datasource;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Escolhe, a cada conexão física, entre o pool do primário e o da réplica
+ * ({@code pagamentos.datasource.replica.enabled}).
+ * <p>
+ * Só vai para a réplica a leitura aberta pelo {@link ReplicaReadRouter}:
+ * transação somente leitura e marcada para a réplica na thread atual. As
+ * demais transações somente leitura (as do Spring Data, a carga do filtro de
+ * ids, a leitura do estorno) continuam no primário, onde não há atraso de
+ * replicação.
+ * <p>
+ * A escolha depende do estado da transação no momento em que a conexão é
+ * obtida; por isso este DataSource fica atrás de um
+ * {@code LazyConnectionDataSourceProxy}, que só pede a conexão no primeiro
+ * comando SQL, com a transação já aberta.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.<Object, Object>of(
+                DataSourceRoute.PRIMARY, primary,
+                DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected DataSourceRoute determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    static DataSourceRoute currentRoute() {
+        return isReplicaRead() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceRoute.REPLICA
+                : DataSourceRoute.PRIMARY;
+    }
+
+    static boolean isReplicaRead() {
+        return REPLICA_READ.get() != null;
+    }
+
+    /**
+     * Executa a consulta com a marca da réplica; chamadas aninhadas mantêm a
+     * marca da mais externa.
+     */
+    static <T> T onReplica(Supplier<T> query) {
+        if (isReplicaRead()) {
+            return query.get();
+        }
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            REPLICA_READ.remove();
+        }
+    }
+}
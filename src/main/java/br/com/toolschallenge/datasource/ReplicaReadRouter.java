@@ -0,0 +1,91 @@
+package br.com.toolschallenge.datasource;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Leituras que podem ir para a réplica ({@code pagamentos.datasource.replica.enabled}).
+ * <p>
+ * Cada leitura roda em uma transação somente leitura marcada para a réplica
+ * ({@link ReadReplicaRoutingDataSource}); dentro de uma transação de escrita
+ * já aberta ela é só mais um comando no primário. Desligado, a consulta é
+ * executada como está, sem transação nem marca.
+ * <p>
+ * Read-your-writes: os ids criados ou estornados nesta instância
+ * ({@link #recordWrite}) são lidos do primário durante
+ * {@code pagamentos.datasource.replica.read-your-writes-window}, o atraso de
+ * replicação tolerado. O registro é local e limitado a
+ * {@code read-your-writes-max-ids}; ids gravados por outra instância, ou
+ * descartados pelo limite antes do fim da janela, podem ser lidos da réplica
+ * ainda sem a gravação. Listagem, busca e exportação não têm id e sempre vão
+ * à réplica.
+ */
+@Component
+public class ReplicaReadRouter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Cache<Long, Boolean> recentWrites;
+
+    @Autowired
+    public ReplicaReadRouter(
+            PlatformTransactionManager transactionManager,
+            @Value("${pagamentos.datasource.replica.enabled:false}") boolean enabled,
+            @Value("${pagamentos.datasource.replica.read-your-writes-window:2s}") Duration readYourWritesWindow,
+            @Value("${pagamentos.datasource.replica.read-your-writes-max-ids:100000}") long maxIds) {
+        this(transactionManager, enabled, readYourWritesWindow, maxIds, Ticker.systemTicker());
+    }
+
+    ReplicaReadRouter(PlatformTransactionManager transactionManager, boolean enabled,
+            Duration readYourWritesWindow, long maxIds, Ticker ticker) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(maxIds)
+                .ticker(ticker)
+                .build();
+    }
+
+    public <T> T read(Supplier<T> query) {
+        if (!enabled) {
+            return query.get();
+        }
+        return transactionTemplate.execute(status -> ReadReplicaRoutingDataSource.onReplica(query));
+    }
+
+    /**
+     * Leitura de um único id: vai ao primário enquanto o id estiver na janela
+     * de read-your-writes.
+     */
+    public <T> T read(long id, Supplier<T> query) {
+        if (enabled && recentWrites.getIfPresent(id) != null) {
+            return query.get();
+        }
+        return read(query);
+    }
+
+    public void run(Runnable query) {
+        read(() -> {
+            query.run();
+            return null;
+        });
+    }
+
+    public void recordWrite(long id) {
+        if (enabled) {
+            recentWrites.put(id, Boolean.TRUE);
+        }
+    }
+}
@@ -1,17 +1,19 @@
 package br.com.toolschallenge.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
+import br.com.toolschallenge.codec.DataHoraSerializer;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 @Data
 @Builder
@@ -24,12 +26,15 @@ public class DescricaoRequestDTO {
 	@Digits(integer = 8, fraction = 2, message = "Amount must have at most 10 digits with 2 decimal places")
     private BigDecimal valor;
 
-	@NotBlank(message = "Date is required")
-    @Pattern(
-        regexp = "\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}",
-        message = "dataHora must be in the format dd/MM/yyyy HH:mm:ss"
-    )
-    private String dataHora;
+	/**
+	 * A API não lê este DTO: o pedido chega pelo {@code PaymentRequestDeserializer}
+	 * e o texto de {@code dataHora} é convertido no validador. O serializer fica
+	 * para que quem monta o pedido a partir do DTO (clientes Java, testes) escreva
+	 * o formato do contrato, e não o ISO-8601 padrão do Jackson.
+	 */
+	@NotNull(message = "Date is required")
+    @JsonSerialize(using = DataHoraSerializer.class)
+    private LocalDateTime dataHora;
 
     @NotBlank(message = "Establishment name is required")
     @Size(max = 100, message = "Establishment name must be at most 100 characters long")
@@ -1,18 +1,22 @@
 package br.com.toolschallenge.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
+import br.com.toolschallenge.codec.DataHoraDeserializer;
+import br.com.toolschallenge.codec.DataHoraSerializer;
 import br.com.toolschallenge.enums.StatusTransacao;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
 
 @Data
 @Builder
@@ -32,12 +36,10 @@ public class DescricaoResponseDTO {
     @DecimalMin("0.01")
     private BigDecimal valor;
 
-    @NotBlank
-    @Pattern(
-        regexp = "\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}",
-        message = "dataHora deve estar no formato dd/MM/yyyy HH:mm:ss"
-    )
-    private String dataHora;
+    @NotNull
+    @JsonSerialize(using = DataHoraSerializer.class)
+    @JsonDeserialize(using = DataHoraDeserializer.class)
+    private LocalDateTime dataHora;
 
     @NotBlank
     private String estabelecimento;
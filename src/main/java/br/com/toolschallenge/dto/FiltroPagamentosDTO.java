@@ -0,0 +1,38 @@
+package br.com.toolschallenge.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import br.com.toolschallenge.codec.DataHoraCodec;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros de {@code GET /pagamentos/busca}; campos nulos não filtram.
+ * O intervalo de datas é {@code [dataHoraInicio, dataHoraFim)}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroPagamentosDTO {
+
+    private String estabelecimento;
+
+    @DateTimeFormat(pattern = DataHoraCodec.PATTERN)
+    private LocalDateTime dataHoraInicio;
+
+    @DateTimeFormat(pattern = DataHoraCodec.PATTERN)
+    private LocalDateTime dataHoraFim;
+
+    private StatusTransacao status;
+
+    private TipoFormaPagamento tipo;
+
+    private Long nsu;
+}
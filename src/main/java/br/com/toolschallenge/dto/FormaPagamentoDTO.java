@@ -3,6 +3,8 @@ package br.com.toolschallenge.dto;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.installment.InstallmentSchedule;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -28,5 +30,6 @@ public class FormaPagamentoDTO {
 	@NotBlank(message = "Installments is required")
     @Pattern(regexp = "\\d+", message = "id must contain only numeric digits")
     @Min(1)
+    @Max(InstallmentSchedule.MAX_INSTALLMENTS)
     private String parcelas;
 }
@@ -0,0 +1,33 @@
+package br.com.toolschallenge.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "estabelecimento", "data", "totais" })
+public class LiquidacaoDiariaResponseDTO {
+
+    public static final String DATE_PATTERN = "dd/MM/yyyy";
+
+    private String estabelecimento;
+
+    @JsonFormat(pattern = DATE_PATTERN)
+    private LocalDate data;
+
+    /**
+     * Um total por {@code TipoFormaPagamento}, na ordem do enum, com zero
+     * para os tipos sem transações no dia.
+     */
+    private List<TotalLiquidacaoDTO> totais;
+}
@@ -0,0 +1,34 @@
+package br.com.toolschallenge.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um item do lote, na mesma posição em que foi enviado.
+ * {@code status} usa os mesmos códigos HTTP do endpoint unitário
+ * (201, 400, 409); em falha, {@code pagamento} vem {@code null}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "indice", "status", "pagamento", "mensagem", "fieldErrors" })
+public class LotePagamentoItemResponseDTO {
+
+    private int indice;
+
+    private int status;
+
+    private PagamentoResponseDTO pagamento;
+
+    private String mensagem;
+
+    private List<Map<String, String>> fieldErrors;
+}
@@ -0,0 +1,25 @@
+package br.com.toolschallenge.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "pagamentos", "proximoCursor" })
+public class PaginaPagamentosResponseDTO {
+
+    private List<PagamentoResponseDTO> pagamentos;
+
+    /**
+     * Token para a próxima página; {@code null} quando não há mais registros.
+     */
+    private String proximoCursor;
+}
@@ -0,0 +1,25 @@
+package br.com.toolschallenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "particoes", "linhas", "duracaoMs" })
+public class RecalculoLiquidacaoResponseDTO {
+
+    private int particoes;
+
+    /**
+     * Linhas gravadas em {@code tb_liquidacao_diaria}.
+     */
+    private long linhas;
+
+    private long duracaoMs;
+}
@@ -0,0 +1,44 @@
+package br.com.toolschallenge.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "estabelecimento", "inicio", "fim", "quantidade", "valor", "recebiveis" })
+public class RecebiveisResponseDTO {
+
+    public static final String DATE_PATTERN = "dd/MM/yyyy";
+
+    private String estabelecimento;
+
+    @JsonFormat(pattern = DATE_PATTERN)
+    private LocalDate inicio;
+
+    @JsonFormat(pattern = DATE_PATTERN)
+    private LocalDate fim;
+
+    /**
+     * Parcelas não estornadas com vencimento no intervalo.
+     */
+    private long quantidade;
+
+    private BigDecimal valor;
+
+    /**
+     * Um total por dia de vencimento, em ordem de data; dias sem parcelas não
+     * aparecem.
+     */
+    private List<RecebivelDiarioDTO> recebiveis;
+}
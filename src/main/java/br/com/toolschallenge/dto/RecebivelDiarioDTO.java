@@ -0,0 +1,27 @@
+package br.com.toolschallenge.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "vencimento", "quantidade", "valor" })
+public class RecebivelDiarioDTO {
+
+    @JsonFormat(pattern = RecebiveisResponseDTO.DATE_PATTERN)
+    private LocalDate vencimento;
+
+    private long quantidade;
+
+    private BigDecimal valor;
+}
@@ -0,0 +1,28 @@
+package br.com.toolschallenge.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "tipo", "quantidade", "valor" })
+public class TotalLiquidacaoDTO {
+
+    private TipoFormaPagamento tipo;
+
+    /**
+     * Transações autorizadas e não estornadas.
+     */
+    private long quantidade;
+
+    private BigDecimal valor;
+}
@@ -1,6 +1,7 @@
 package br.com.toolschallenge.dto;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -22,6 +23,7 @@ public class TransacaoRequestDTO {
     @NotBlank(message = "Id is required")
     @Pattern(regexp = "\\d+", message = "id must contain only numeric digits")
     @Min(1)
+    @Max(Long.MAX_VALUE)
     private String id;
 
     @NotNull(message = "Description is required")
@@ -1,9 +1,15 @@
 package br.com.toolschallenge.entity;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnTransformer;
+
+import br.com.toolschallenge.converter.StatusTransacaoConverter;
+import br.com.toolschallenge.converter.TipoFormaPagamentoConverter;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -13,6 +19,20 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+/**
+ * Linha de {@code tb_transacao} no layout compacto (migrações V10 a V13): ids e
+ * códigos numéricos em vez de texto (com a contagem de zeros à esquerda de id
+ * e parcelas, migração V18) e o cartão como token do cofre
+ * {@code tb_cartao}. Status e tipo de pagamento são os próprios enums,
+ * gravados como código {@code SMALLINT} pelos {@code AttributeConverter}s.
+ * A formatação do contrato da API (id e parcelas como texto, NSU com 10
+ * dígitos, número do cartão) fica no {@code TransactionMapperImpl}.
+ * <p>
+ * O valor é mantido em centavos ({@code Money}) sobre a coluna
+ * {@code NUMERIC(10,2)}: a conversão é feita pelo banco nas queries JPQL
+ * ({@link ColumnTransformer}) e nas nativas (as colunas de
+ * {@code TransactionRepository.SELECT_COLUMNS}).
+ */
 @Entity
 @Table(name = "tb_transacao")
 @Getter
@@ -23,14 +43,15 @@ import lombok.Setter;
 public class TransactionEntity {
 
     @Id
-    @Column(name = "id", nullable = false, length = 20)
-    private String id;
+    @Column(name = "id", nullable = false)
+    private Long id;
 
-    @Column(name = "card_number", nullable = false, length = 20)
-    private String cardNumber;
+    @Column(name = "card_token", nullable = false)
+    private Long cardToken;
 
+    @ColumnTransformer(forColumn = "amount", read = "cast(amount * 100 as bigint)", write = "? / 100.0")
     @Column(name = "amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal amount;
+    private long amountCents;
 
     @Column(name = "transaction_date_time", nullable = false)
     private LocalDateTime dateTime;
@@ -38,18 +59,30 @@ public class TransactionEntity {
     @Column(name = "merchant", nullable = false, length = 100)
     private String establishment;
 
-    @Column(name = "nsu", length = 20)
-    private String nsu;
+    @Column(name = "nsu")
+    private Long nsu;
 
-    @Column(name = "authorization_code", length = 20)
+    @Column(name = "authorization_code", columnDefinition = "char(9)")
     private String authorizationCode;
 
-    @Column(name = "status", length = 20)
-    private Integer status;
+    @Convert(converter = StatusTransacaoConverter.class)
+    @Column(name = "status")
+    private StatusTransacao status;
+
+    @Convert(converter = TipoFormaPagamentoConverter.class)
+    @Column(name = "payment_type")
+    private TipoFormaPagamento paymentType;
+
+    @Column(name = "installments", nullable = false)
+    private Short installments;
 
-    @Column(name = "payment_type", length = 30)
-    private Integer paymentType;
+    /**
+     * Zeros à esquerda com que id e parcelas foram enviados ({@code "007"}
+     * tem 2), para que a resposta devolva o mesmo texto recebido.
+     */
+    @Column(name = "id_leading_zeros", nullable = false)
+    private short idLeadingZeros;
 
-    @Column(name = "installments",nullable = false, length = 20)
-    private String installments;
+    @Column(name = "installments_leading_zeros", nullable = false)
+    private short installmentsLeadingZeros;
 }
@@ -0,0 +1,86 @@
+package br.com.toolschallenge.enums;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Tabelas de busca dos enums de domínio, montadas uma vez por enum.
+ * <p>
+ * Por código: array indexado pelo próprio código. Por descrição: tabela hash
+ * de endereçamento aberto cujo hash ignora maiúsculas/minúsculas caractere a
+ * caractere, com a mesma regra de {@link String#equalsIgnoreCase}. Nenhuma
+ * busca aloca: sem {@code values()} (que clona o array), sem
+ * {@code toUpperCase} e sem boxing.
+ */
+final class CodeLookup<E extends Enum<E>> {
+
+    private final E[] byCode;
+    private final String[] keys;
+    private final E[] byDescricao;
+    private final int mask;
+
+    CodeLookup(E[] values, ToIntFunction<E> codigo, Function<E, String> descricao) {
+        int maxCode = 0;
+        for (E value : values) {
+            maxCode = Math.max(maxCode, codigo.applyAsInt(value));
+        }
+        this.byCode = emptyCopy(values, maxCode + 1);
+        for (E value : values) {
+            byCode[codigo.applyAsInt(value)] = value;
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(1, values.length) * 4 - 1) << 1;
+        this.keys = new String[capacity];
+        this.byDescricao = emptyCopy(values, capacity);
+        this.mask = capacity - 1;
+        for (E value : values) {
+            String key = descricao.apply(value);
+            int slot = hash(key) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            byDescricao[slot] = value;
+        }
+    }
+
+    /** {@code null} quando nenhum valor tem o código. */
+    E byCode(int codigo) {
+        return codigo >= 0 && codigo < byCode.length ? byCode[codigo] : null;
+    }
+
+    /** {@code null} quando nenhuma descrição é igual, ignorando maiúsculas/minúsculas. */
+    E byDescricao(String descricao) {
+        if (descricao == null) {
+            return null;
+        }
+        int slot = hash(descricao) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equalsIgnoreCase(descricao)) {
+                return byDescricao[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Dois caracteres iguais para {@code equalsIgnoreCase} têm o mesmo
+     * {@code toLowerCase(toUpperCase(c))}, então têm o mesmo hash.
+     */
+    private static int hash(String value) {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static <E> E[] emptyCopy(E[] values, int length) {
+        E[] copy = Arrays.copyOf(values, length);
+        Arrays.fill(copy, null);
+        return copy;
+    }
+}
@@ -9,6 +9,9 @@ public enum StatusTransacao {
     NEGADO(2, "NEGADO"),
     CANCELADO(3, "CANCELADO");
 
+    private static final CodeLookup<StatusTransacao> LOOKUP =
+            new CodeLookup<>(values(), status -> status.codigo, status -> status.descricao);
+
     private final Integer codigo;
     private final String descricao;
 
@@ -26,23 +29,35 @@ public enum StatusTransacao {
         return descricao;
     }
 
+    /**
+     * Descrição sem diferenciar maiúsculas de minúsculas, usada pelo Jackson
+     * na leitura do JSON.
+     */
     @JsonCreator
     public static StatusTransacao fromValue(String value) {
-        for (StatusTransacao status : values()) {
-            if (status.descricao.equalsIgnoreCase(value)) {
-                return status;
-            }
+        StatusTransacao status = LOOKUP.byDescricao(value);
+        if (status == null) {
+            throw new IllegalArgumentException("Invalid transaction status: " + value);
         }
-        throw new IllegalArgumentException("Invalid transaction status: " + value);
+        return status;
     }
 
     public static StatusTransacao fromId(Integer codigo) {
-        for (StatusTransacao status : values()) {
-            if (status.codigo.equals(codigo)) {
-                return status;
-            }
+        if (codigo == null) {
+            throw new IllegalArgumentException("Invalid transaction status code: " + codigo);
         }
-        throw new IllegalArgumentException("Invalid transaction status code: " + codigo);
+        return fromId(codigo.intValue());
     }
-}
 
+    /**
+     * Código como gravado em {@code tb_transacao}; busca direta no array, sem
+     * boxing.
+     */
+    public static StatusTransacao fromId(int codigo) {
+        StatusTransacao status = LOOKUP.byCode(codigo);
+        if (status == null) {
+            throw new IllegalArgumentException("Invalid transaction status code: " + codigo);
+        }
+        return status;
+    }
+}
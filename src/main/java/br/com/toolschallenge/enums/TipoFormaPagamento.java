@@ -9,6 +9,9 @@ public enum TipoFormaPagamento {
     PARCELADO_LOJA(2, "PARCELADO LOJA"),
     PARCELADO_EMISSOR(3, "PARCELADO EMISSOR");
 
+    private static final CodeLookup<TipoFormaPagamento> LOOKUP =
+            new CodeLookup<>(values(), tipo -> tipo.codigo, tipo -> tipo.descricao);
+
     private final Integer codigo;
     private final String descricao;
 
@@ -26,22 +29,35 @@ public enum TipoFormaPagamento {
         return descricao;
     }
 
+    /**
+     * Descrição sem diferenciar maiúsculas de minúsculas, usada pelo Jackson
+     * na leitura do JSON.
+     */
     @JsonCreator
     public static TipoFormaPagamento fromValue(String value) {
-        for (TipoFormaPagamento tipo : values()) {
-            if (tipo.descricao.equalsIgnoreCase(value)) {
-                return tipo;
-            }
+        TipoFormaPagamento tipo = LOOKUP.byDescricao(value);
+        if (tipo == null) {
+            throw new IllegalArgumentException("Invalid payment method type: " + value);
         }
-        throw new IllegalArgumentException("Invalid payment method type: " + value);
+        return tipo;
     }
 
     public static TipoFormaPagamento fromId(Integer codigo) {
-        for (TipoFormaPagamento tipo : values()) {
-            if (tipo.codigo.equals(codigo)) {
-                return tipo;
-            }
+        if (codigo == null) {
+            throw new IllegalArgumentException("Invalid payment method type code: " + codigo);
+        }
+        return fromId(codigo.intValue());
+    }
+
+    /**
+     * Código como gravado em {@code tb_transacao}; busca direta no array, sem
+     * boxing.
+     */
+    public static TipoFormaPagamento fromId(int codigo) {
+        TipoFormaPagamento tipo = LOOKUP.byCode(codigo);
+        if (tipo == null) {
+            throw new IllegalArgumentException("Invalid payment method type code: " + codigo);
         }
-        throw new IllegalArgumentException("Invalid payment method type code: " + codigo);
+        return tipo;
     }
 }
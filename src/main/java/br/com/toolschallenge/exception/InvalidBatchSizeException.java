@@ -0,0 +1,13 @@
+package br.com.toolschallenge.exception;
+
+public class InvalidBatchSizeException extends RuntimeException {
+
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public InvalidBatchSizeException(int size, int maxSize) {
+        super("Batch must contain between 1 and " + maxSize + " payments, received " + size);
+    }
+}
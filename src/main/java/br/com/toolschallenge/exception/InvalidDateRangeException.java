@@ -0,0 +1,17 @@
+package br.com.toolschallenge.exception;
+
+public class InvalidDateRangeException extends RuntimeException {
+
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public InvalidDateRangeException() {
+        super("fim must not be before inicio");
+    }
+
+	public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.toolschallenge.exception;
+
+public class InvalidPaymentCursorException extends RuntimeException {
+
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public InvalidPaymentCursorException(String cursor) {
+        super("Invalid pagination cursor: " + cursor);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.toolschallenge.exception;
+
+import java.util.List;
+
+import br.com.toolschallenge.validation.FieldViolation;
+
+public class InvalidPaymentRequestException extends RuntimeException {
+
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+	private static final String DEFAULT_MESSAGE = "Validation failed for one or more fields.";
+
+    private final transient List<FieldViolation> violations;
+
+    public InvalidPaymentRequestException(List<FieldViolation> violations) {
+        super(DEFAULT_MESSAGE);
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<FieldViolation> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.toolschallenge.exception;
+
+public class PaymentPendingException extends RuntimeException {
+
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public PaymentPendingException(String id) {
+        super("Transaction with id '" + id + "' is still being written to the database; retry later");
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.toolschallenge.exception;
+
+public class SettlementRebuildInProgressException extends RuntimeException {
+
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public SettlementRebuildInProgressException() {
+        super("A settlement totals rebuild is already running");
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.toolschallenge.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.toolschallenge.cache.PaymentJsonCache;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Limita quantas requisições de {@code /pagamentos} executam ao mesmo tempo
+ * quando o Tomcat roda em threads virtuais.
+ * <p>
+ * Sem o pool de threads do Tomcat como limite natural, cada requisição vira
+ * uma thread virtual e todas ficariam esperando conexão no Hikari. Há um
+ * semáforo por pool, do tamanho do pool: o do primário
+ * ({@code pagamentos.concurrency.max-in-flight}) e, com a réplica ligada, o
+ * da réplica ({@code replica-max-in-flight}) para as leituras que o
+ * {@code ReplicaReadRouter} manda para lá (listagem, busca e
+ * {@code GET /pagamentos/{id}}). Quem não consegue permissão dentro de
+ * {@code pagamentos.concurrency.acquire-timeout} recebe 503 com
+ * {@code Retry-After} imediatamente, em vez de estourar o
+ * {@code connectionTimeout} do pool.
+ * <p>
+ * Não passam por semáforo as requisições que não usam o pool: a criação
+ * ({@code POST /pagamentos}) no modo journal e o {@code GET /pagamentos/{id}}
+ * cujo JSON já está no {@link PaymentJsonCache}. As poucas que ainda assim
+ * vão ao banco (id sem o JSON no cache por ter sido removido logo depois da
+ * consulta, lote de NSU, id que o filtro de Bloom não descarta) esperam no
+ * próprio Hikari.
+ * <p>
+ * {@code GET /pagamentos/export} tem um semáforo próprio e pequeno
+ * ({@code export-max-in-flight}): a exportação segura a permissão até o fim
+ * da resposta ({@link AsyncListener#onComplete}), não só até o retorno do
+ * primeiro dispatch, porque é nesse intervalo que a conexão do cursor fica
+ * aberta; no semáforo do pool ela tiraria a vez das autorizações por até o
+ * timeout assíncrono.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String PAYMENTS_PATH = "/pagamentos";
+    private static final String PAYMENTS_PATH_PREFIX = PAYMENTS_PATH + "/";
+    private static final String EXPORT_PATH = PAYMENTS_PATH_PREFIX + "export";
+    // Segmentos sob /pagamentos que não são id nem leem da réplica
+    private static final Set<String> PRIMARY_SEGMENTS = Set.of("lote", "recebiveis", "liquidacao");
+    private static final String SATURATED_MESSAGE =
+            "Service is at capacity. Retry after the interval in the Retry-After header.";
+
+    private final Semaphore primaryPermits;
+    private final Semaphore replicaPermits;
+    private final Semaphore exportPermits;
+    private final boolean journalEnabled;
+    private final long acquireTimeoutNanos;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final PaymentJsonCache paymentJsonCache;
+
+    public ConcurrencyLimitFilter(
+            @Value("${pagamentos.concurrency.max-in-flight:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxInFlight,
+            @Value("${pagamentos.concurrency.replica-max-in-flight:${pagamentos.datasource.replica.maximum-pool-size:10}}")
+            int replicaMaxInFlight,
+            @Value("${pagamentos.concurrency.export-max-in-flight:2}") int exportMaxInFlight,
+            @Value("${pagamentos.datasource.replica.enabled:false}") boolean replicaEnabled,
+            @Value("${pagamentos.journal.enabled:false}") boolean journalEnabled,
+            @Value("${pagamentos.concurrency.acquire-timeout:50ms}") Duration acquireTimeout,
+            @Value("${pagamentos.concurrency.retry-after:1s}") Duration retryAfter,
+            ObjectMapper objectMapper,
+            PaymentJsonCache paymentJsonCache) {
+        this.primaryPermits = new Semaphore(maxInFlight);
+        this.replicaPermits = replicaEnabled ? new Semaphore(replicaMaxInFlight) : primaryPermits;
+        this.exportPermits = new Semaphore(exportMaxInFlight);
+        this.journalEnabled = journalEnabled;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.objectMapper = objectMapper;
+        this.paymentJsonCache = paymentJsonCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !path.equals(PAYMENTS_PATH) && !path.startsWith(PAYMENTS_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Semaphore permits = permitsFor(request);
+        if (permits == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!tryAcquire(permits)) {
+            reject(request, response);
+            return;
+        }
+        Permit permit = new Permit(permits);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * O semáforo do pool que a requisição vai usar, ou {@code null} quando
+     * ela não precisa de conexão.
+     */
+    private Semaphore permitsFor(HttpServletRequest request) {
+        String path = path(request);
+        boolean get = HttpMethod.GET.matches(request.getMethod());
+        if (path.equals(EXPORT_PATH)) {
+            return exportPermits;
+        }
+        if (path.equals(PAYMENTS_PATH)) {
+            if (get) {
+                return replicaPermits;
+            }
+            return journalEnabled && HttpMethod.POST.matches(request.getMethod()) ? null : primaryPermits;
+        }
+        String segment = path.substring(PAYMENTS_PATH_PREFIX.length());
+        if (!get || segment.indexOf('/') >= 0 || PRIMARY_SEGMENTS.contains(segment)) {
+            return primaryPermits;
+        }
+        return paymentJsonCache.contains(segment) ? null : replicaPermits;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private boolean tryAcquire(Semaphore permits) {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Devolve a permissão uma única vez, no fim da requisição síncrona ou no
+     * {@code onComplete} da assíncrona (chamado também depois de erro ou
+     * timeout).
+     */
+    private static final class Permit implements AsyncListener {
+
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("message", SATURATED_MESSAGE);
+        body.put("path", request.getRequestURI());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(body));
+    }
+}
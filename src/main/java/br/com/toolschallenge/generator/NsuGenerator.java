@@ -0,0 +1,6 @@
+package br.com.toolschallenge.generator;
+
+public interface NsuGenerator {
+
+    long nextNsu();
+}
@@ -0,0 +1,142 @@
+package br.com.toolschallenge.generator.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.toolschallenge.generator.NsuGenerator;
+import br.com.toolschallenge.repository.TransactionRepository;
+
+/**
+ * Gera NSUs em memória a partir de blocos reservados na {@code seq_nsu}.
+ * <p>
+ * A sequence usa {@code INCREMENT BY n}: cada {@code nextval} devolve o início
+ * de um intervalo {@code [valor, valor + n - 1]} exclusivo desta instância, o
+ * que mantém os NSUs únicos entre várias instâncias da aplicação. Dentro do
+ * bloco os valores saem de um {@link AtomicLong}, sem lock, e o bloco seguinte
+ * é reservado em background quando restam 25% do atual.
+ */
+@Component
+public class BlockNsuGenerator implements NsuGenerator {
+
+    private static final int PREFETCH_DIVISOR = 4;
+
+    private final TransactionRepository transactionRepository;
+    private final Executor executor;
+
+    private final AtomicReference<NsuBlock> current = new AtomicReference<>(NsuBlock.EXHAUSTED);
+    private final AtomicReference<CompletableFuture<NsuBlock>> next = new AtomicReference<>();
+    private volatile long blockSize;
+
+    public BlockNsuGenerator(
+            TransactionRepository transactionRepository,
+            @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.transactionRepository = transactionRepository;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        prefetchNextBlock();
+    }
+
+    @Override
+    public long nextNsu() {
+        while (true) {
+            NsuBlock block = current.get();
+            long value = block.cursor.getAndIncrement();
+            if (value <= block.last) {
+                if (value == block.prefetchAt) {
+                    prefetchNextBlock();
+                }
+                return value;
+            }
+            installNextBlock(block);
+        }
+    }
+
+    private void installNextBlock(NsuBlock exhausted) {
+        CompletableFuture<NsuBlock> pending = prefetchNextBlock();
+        NsuBlock fresh = awaitBlock(pending);
+        if (current.compareAndSet(exhausted, fresh)) {
+            next.compareAndSet(pending, null);
+        }
+    }
+
+    private CompletableFuture<NsuBlock> prefetchNextBlock() {
+        while (true) {
+            CompletableFuture<NsuBlock> pending = next.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<NsuBlock> created = new CompletableFuture<>();
+            if (next.compareAndSet(null, created)) {
+                try {
+                    executor.execute(() -> reserveInto(created));
+                } catch (RejectedExecutionException ex) {
+                    reserveInto(created);
+                }
+                return created;
+            }
+        }
+    }
+
+    private void reserveInto(CompletableFuture<NsuBlock> target) {
+        try {
+            target.complete(reserveBlock());
+        } catch (RuntimeException ex) {
+            next.compareAndSet(target, null);
+            target.completeExceptionally(ex);
+        }
+    }
+
+    private NsuBlock reserveBlock() {
+        long size = blockSize();
+        long first = transactionRepository.getNextNsu();
+        return new NsuBlock(first, size);
+    }
+
+    private long blockSize() {
+        long size = blockSize;
+        if (size == 0) {
+            Long increment = transactionRepository.getNsuIncrement();
+            size = increment == null || increment < 1 ? 1 : increment;
+            blockSize = size;
+        }
+        return size;
+    }
+
+    private static NsuBlock awaitBlock(CompletableFuture<NsuBlock> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class NsuBlock {
+
+        private static final NsuBlock EXHAUSTED = new NsuBlock(0, 0);
+
+        private final AtomicLong cursor;
+        private final long last;
+        private final long prefetchAt;
+
+        private NsuBlock(long first, long size) {
+            this.cursor = new AtomicLong(first);
+            this.last = first + size - 1;
+            this.prefetchAt = last - size / PREFETCH_DIVISOR;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -17,8 +18,14 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import br.com.toolschallenge.exception.DuplicateTransactionIdException;
+import br.com.toolschallenge.exception.InvalidBatchSizeException;
+import br.com.toolschallenge.exception.InvalidDateRangeException;
 import br.com.toolschallenge.exception.InvalidInstallmentsForPaymentTypeException;
+import br.com.toolschallenge.exception.InvalidPaymentCursorException;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
 import br.com.toolschallenge.exception.PaymentNotFoundException;
+import br.com.toolschallenge.exception.PaymentPendingException;
+import br.com.toolschallenge.exception.SettlementRebuildInProgressException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 
@@ -28,6 +35,7 @@ public class GlobalExceptionHandler {
     private static final String PATH = "path";
 	private static final String MESSAGE = "message";
 	private static final String TIMESTAMP = "timestamp";
+	private static final String RETRY_AFTER_SECONDS = "1";
 
 	@ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleMethodArgumentNotValid(
@@ -52,6 +60,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Violações do {@code PaymentRequestValidator}, no mesmo formato de
+     * {@link #handleMethodArgumentNotValid}.
+     */
+    @ExceptionHandler(InvalidPaymentRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPaymentRequest(
+            InvalidPaymentRequestException ex,
+            HttpServletRequest request) {
+
+        List<Map<String, String>> fieldErrors = new ArrayList<>();
+
+        ex.getViolations().forEach(violation -> {
+            Map<String, String> fe = new HashMap<>();
+            fe.put("field", violation.field());
+            fe.put(MESSAGE, violation.message());
+            fieldErrors.add(fe);
+        });
+
+        Map<String, Object> body = createBaseBody(
+                ex.getMessage(),
+                request
+        );
+        body.put("fieldErrors", fieldErrors);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String, Object>> handleConstraintViolation(
             ConstraintViolationException ex,
@@ -170,6 +205,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
     
+    /**
+     * A transação ainda está no journal e não chegou ao banco no prazo:
+     * indisponibilidade temporária, o cliente pode repetir.
+     */
+    @ExceptionHandler(PaymentPendingException.class)
+    public ResponseEntity<Map<String, Object>> handlePaymentPending(
+            PaymentPendingException ex,
+            HttpServletRequest request) {
+
+        Map<String, Object> body = createBaseBody(
+                ex.getMessage(),
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(body);
+    }
+
     @ExceptionHandler(InvalidInstallmentsForPaymentTypeException.class)
     public ResponseEntity<Map<String, Object>> handleInvalidInstallmentsForPaymentType(
             InvalidInstallmentsForPaymentTypeException ex,
@@ -182,6 +236,58 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
+
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidBatchSize(
+            InvalidBatchSizeException ex,
+            HttpServletRequest request) {
+
+        Map<String, Object> body = createBaseBody(
+                ex.getMessage(),
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    @ExceptionHandler(InvalidPaymentCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPaymentCursor(
+            InvalidPaymentCursorException ex,
+            HttpServletRequest request) {
+
+        Map<String, Object> body = createBaseBody(
+                ex.getMessage(),
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+    
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidDateRange(
+            InvalidDateRangeException ex,
+            HttpServletRequest request) {
+
+        Map<String, Object> body = createBaseBody(
+                ex.getMessage(),
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+    
+    @ExceptionHandler(SettlementRebuildInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleSettlementRebuildInProgress(
+            SettlementRebuildInProgressException ex,
+            HttpServletRequest request) {
+
+        Map<String, Object> body = createBaseBody(
+                ex.getMessage(),
+                request
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
     
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleUncaughtException(
@@ -0,0 +1,20 @@
+package br.com.toolschallenge.idfilter;
+
+/**
+ * Pré-filtro em memória dos ids de transação já registrados, para evitar a
+ * consulta ao banco na verificação de id duplicado.
+ */
+public interface TransactionIdFilter {
+
+    /**
+     * {@code true} se o id já está em {@code tb_transacao_id}. O banco só é
+     * consultado quando o filtro não consegue descartar o id.
+     */
+    boolean isRegistered(long id);
+
+    /**
+     * Registra um id aceito por esta instância. Deve ser chamado antes de o id
+     * ficar visível no banco, para que nunca haja falso negativo.
+     */
+    void add(long id);
+}
@@ -0,0 +1,203 @@
+package br.com.toolschallenge.idfilter.impl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.toolschallenge.idfilter.TransactionIdFilter;
+import br.com.toolschallenge.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filtro de Bloom sem lock sobre os ids de {@code tb_transacao_id}
+ * ({@code pagamentos.id-filter.enabled}).
+ * <p>
+ * Os bits ficam em um {@link AtomicLongArray} e são ligados com
+ * {@code getAndAccumulate}, então inserções concorrentes nunca se perdem. Um
+ * filtro de Bloom não tem falso negativo: id ausente do filtro é id novo e
+ * dispensa o banco; só os "talvez" (duplicados de verdade ou falsos positivos)
+ * chegam ao {@link TransactionRepository#isIdRegistered}.
+ * <p>
+ * Na subida todos os ids do registro são carregados em background. Até o fim
+ * da carga o filtro não descarta nada e toda verificação vai ao banco; os ids
+ * aceitos durante a carga entram por {@link #add} e não se perdem. Ids
+ * gravados por outras instâncias não passam por aqui: com mais de uma
+ * instância gravando, o filtro deve ficar desligado.
+ * <p>
+ * Métricas: {@code pagamentos.id.filter.size} (ids estimados),
+ * {@code pagamentos.id.filter.false.positive.rate} (estimada pelo
+ * preenchimento), {@code pagamentos.id.filter.checks} por resultado e
+ * {@code pagamentos.id.filter.false.positives} (talvez que o banco negou).
+ */
+@Slf4j
+@Component
+public class BloomTransactionIdFilter implements TransactionIdFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long SECOND_HASH_SEED = 0x9E37_79B9_7F4A_7C15L;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final boolean enabled;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong bitsSet = new AtomicLong();
+    private volatile boolean ready;
+
+    private final Counter definitelyNew;
+    private final Counter checkedInDatabase;
+    private final Counter falsePositives;
+
+    public BloomTransactionIdFilter(
+            TransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${pagamentos.id-filter.enabled:false}") boolean enabled,
+            @Value("${pagamentos.id-filter.expected-ids:10000000}") long expectedIds,
+            @Value("${pagamentos.id-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.executor = executor;
+        this.enabled = enabled;
+
+        long bits = enabled ? optimalBitCount(expectedIds, falsePositiveRate) : Long.SIZE;
+        this.words = new AtomicLongArray(Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / Math.max(1, expectedIds) * LN2));
+
+        this.definitelyNew = Counter.builder("pagamentos.id.filter.checks")
+                .tag("result", "new")
+                .description("Duplicate-id checks answered by the filter alone")
+                .register(meterRegistry);
+        this.checkedInDatabase = Counter.builder("pagamentos.id.filter.checks")
+                .tag("result", "database")
+                .description("Duplicate-id checks that fell through to tb_transacao_id")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("pagamentos.id.filter.false.positives")
+                .description("Ids the filter reported as possibly registered but the database did not")
+                .register(meterRegistry);
+        Gauge.builder("pagamentos.id.filter.size", this, BloomTransactionIdFilter::estimatedSize)
+                .description("Estimated number of ids in the filter")
+                .register(meterRegistry);
+        Gauge.builder("pagamentos.id.filter.false.positive.rate", this, BloomTransactionIdFilter::estimatedFalsePositiveRate)
+                .description("False-positive rate estimated from the fraction of bits set")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isRegistered(long id) {
+        if (ready && !mightContain(id)) {
+            definitelyNew.increment();
+            return false;
+        }
+        checkedInDatabase.increment();
+        boolean registered = transactionRepository.isIdRegistered(id);
+        if (!registered && ready) {
+            falsePositives.increment();
+        }
+        return registered;
+    }
+
+    @Override
+    public void add(long id) {
+        if (!enabled) {
+            return;
+        }
+        long h1 = mix(id);
+        long h2 = mix(id ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (current, m) -> current | m);
+            if ((previous & mask) == 0) {
+                bitsSet.incrementAndGet();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(this::load);
+        } catch (RejectedExecutionException ex) {
+            load();
+        }
+    }
+
+    void load() {
+        try {
+            long loaded = transactionTemplate.execute(status -> {
+                try (Stream<Long> ids = transactionRepository.streamRegisteredIds()) {
+                    return ids.mapToLong(id -> {
+                        add(id);
+                        return 1;
+                    }).sum();
+                }
+            });
+            ready = true;
+            log.info("Transaction id filter loaded with {} ids ({} bits, {} hashes)", loaded, bitCount, hashCount);
+        } catch (RuntimeException ex) {
+            log.error("Could not load the transaction id filter; duplicate checks keep using the database", ex);
+        }
+    }
+
+    boolean mightContain(long id) {
+        long h1 = mix(id);
+        long h2 = mix(id ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    double estimatedSize() {
+        double fill = (double) bitsSet.get() / bitCount;
+        return fill >= 1 ? Double.POSITIVE_INFINITY : -bitCount / (double) hashCount * Math.log1p(-fill);
+    }
+
+    double estimatedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+    }
+
+    private static long optimalBitCount(long expectedIds, double falsePositiveRate) {
+        return (long) Math.ceil(-Math.max(1, expectedIds) * Math.log(falsePositiveRate) / (LN2 * LN2));
+    }
+
+    /**
+     * Finalizador do MurmurHash3 de 64 bits: espalha ids sequenciais por
+     * todas as posições.
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51_AFD7_ED55_8CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CE_B9FE_1A85_EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
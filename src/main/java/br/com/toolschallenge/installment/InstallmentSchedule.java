@@ -0,0 +1,59 @@
+package br.com.toolschallenge.installment;
+
+import java.time.LocalDate;
+
+/**
+ * Regras do plano de parcelas de uma transação, calculado parcela a parcela a
+ * partir de (valor, quantidade, data), sem montar listas nem objetos por plano.
+ * <p>
+ * Os valores são em centavos ({@code long}, como em {@code Money}): cada
+ * parcela recebe {@code total / n} e o resto da divisão é distribuído um
+ * centavo por parcela a partir da primeira, então a soma das parcelas é sempre
+ * o valor da transação e duas parcelas diferem em no máximo um centavo. A parcela
+ * {@code k} vence {@code k} meses após a data da transação; um dia que não
+ * existe no mês do vencimento (ex.: 31) vira o último dia desse mês. À vista é
+ * um plano de uma parcela.
+ * <p>
+ * A migração V16 aplica as mesmas regras em SQL às transações já existentes.
+ */
+public final class InstallmentSchedule {
+
+    /**
+     * Máximo de parcelas aceito na criação ({@code FormaPagamentoDTO} e
+     * {@code SinglePassPaymentRequestValidator}): cada parcela é uma linha em
+     * {@code tb_parcela}, e o {@code SMALLINT} da coluna não é limite de negócio.
+     */
+    public static final int MAX_INSTALLMENTS = 12;
+
+    private InstallmentSchedule() {
+    }
+
+    /**
+     * Quantidade de parcelas do plano; {@code installments} menor que 1 é
+     * tratado como à vista.
+     */
+    public static int installmentCount(short installments) {
+        return Math.max(1, installments);
+    }
+
+    /**
+     * Valor em centavos da parcela {@code number} (de {@code 1} a
+     * {@code count}).
+     */
+    public static long installmentCents(long totalCents, int count, int number) {
+        checkNumber(count, number);
+        long base = totalCents / count;
+        return number <= totalCents % count ? base + 1 : base;
+    }
+
+    public static LocalDate dueDate(LocalDate transactionDate, int number) {
+        return transactionDate.plusMonths(number);
+    }
+
+    private static void checkNumber(int count, int number) {
+        if (count < 1 || number < 1 || number > count) {
+            throw new IllegalArgumentException(
+                    "Installment number must be between 1 and " + count + ", received " + number);
+        }
+    }
+}
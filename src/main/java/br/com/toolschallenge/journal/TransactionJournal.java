@@ -0,0 +1,59 @@
+package br.com.toolschallenge.journal;
+
+import java.util.Optional;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+
+/**
+ * Journal local de autorizações (write-behind): a transação é gravada de forma
+ * durável em disco, o chamador recebe a resposta e a gravação em
+ * {@code tb_transacao} acontece depois, em lotes.
+ */
+public interface TransactionJournal {
+
+    /**
+     * {@code false} quando {@code pagamentos.journal.enabled} está desligado:
+     * as transações vão direto para o banco e {@link #append} não pode ser usado.
+     */
+    boolean isEnabled();
+
+    /**
+     * Reserva o id para quem vai gravá-lo, antes de conferir
+     * {@code tb_transacao_id}: uma criação a caminho do journal ou um item de
+     * lote a caminho do banco. {@code false} se o id já está reservado, o que
+     * inclui as transações no journal até chegarem ao banco. Um id gravado
+     * com {@link #append} fica reservado até a drenagem; nos demais casos
+     * quem reservou libera com {@link #release} depois do commit (ou da
+     * desistência). Com o journal desligado sempre devolve {@code true}.
+     */
+    boolean reserve(long id);
+
+    /**
+     * Libera um id reservado com {@link #reserve} que não foi para o journal.
+     */
+    void release(long id);
+
+    /**
+     * O id deve ter sido reservado antes com {@link #reserve}.
+     * <p>
+     * Retorna só depois que o registro está no disco (fsync em grupo com as
+     * demais gravações concorrentes). Lança
+     * {@link br.com.toolschallenge.exception.DuplicateTransactionIdException}
+     * se o id ainda está no journal aguardando ir para o banco.
+     */
+    void append(TransactionEntity transaction);
+
+    /**
+     * Transação aceita que ainda não chegou ao banco.
+     */
+    Optional<TransactionEntity> find(long id);
+
+    /**
+     * Bloqueia até que a transação do id, se estiver no journal, tenha sido
+     * gravada em {@code tb_transacao}. Retorna na hora quando não está.
+     * Lança {@link br.com.toolschallenge.exception.PaymentPendingException}
+     * se a drenagem não chegar nela dentro de
+     * {@code pagamentos.journal.drain-wait-timeout} (banco fora, por exemplo).
+     */
+    void awaitDrained(long id);
+}
@@ -0,0 +1,111 @@
+package br.com.toolschallenge.journal.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo de tamanho fixo do journal, mapeado em memória. Os registros são
+ * copiados para o mapeamento e só ficam duráveis depois de {@link #force()}.
+ */
+final class JournalSegment implements AutoCloseable {
+
+    private static final String SUFFIX = ".journal";
+
+    private final long number;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private JournalSegment(long number, FileChannel channel, MappedByteBuffer buffer) {
+        this.number = number;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Cria (ou abre, na recuperação) o segmento {@code number}. Um arquivo
+     * novo é estendido até {@code size}, o que o preenche com zeros.
+     */
+    static JournalSegment open(Path directory, long number, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path(directory, number),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int mappedSize = (int) Math.max(size, channel.size());
+            return new JournalSegment(number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    static Path path(Path directory, long number) {
+        return directory.resolve("%020d%s".formatted(number, SUFFIX));
+    }
+
+    /**
+     * Número do segmento pelo nome do arquivo, ou {@code -1} se não for um segmento.
+     */
+    static long number(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    long number() {
+        return number;
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Visão somente leitura a partir de {@code offset}, para a recuperação.
+     */
+    ByteBuffer readFrom(int offset) {
+        return buffer.asReadOnlyBuffer().position(offset);
+    }
+
+    /**
+     * Copia o registro para o fim do segmento; {@code false} se não couber.
+     * Sempre sobram quatro bytes zerados depois do último registro, que
+     * marcam o fim dos dados na leitura.
+     */
+    boolean tryAppend(ByteBuffer record) {
+        if (buffer.remaining() - Integer.BYTES < record.remaining()) {
+            return false;
+        }
+        buffer.put(record);
+        return true;
+    }
+
+    /**
+     * Apaga os registros a partir de {@code offset} (ainda não confirmados
+     * por {@link #force()}) e volta a posição para lá.
+     */
+    void truncate(int offset) {
+        int end = buffer.position();
+        if (end > offset) {
+            buffer.put(offset, new byte[end - offset]);
+        }
+        buffer.position(offset);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,570 @@
+package br.com.toolschallenge.journal.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.exception.DuplicateTransactionIdException;
+import br.com.toolschallenge.exception.PaymentPendingException;
+import br.com.toolschallenge.idfilter.TransactionIdFilter;
+import br.com.toolschallenge.journal.TransactionJournal;
+import br.com.toolschallenge.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journal append-only em segmentos de tamanho fixo mapeados em memória
+ * ({@link JournalSegment}), com {@code pagamentos.journal.enabled=true}.
+ * <p>
+ * Group commit: as requisições enfileiram seus registros e uma única thread
+ * escritora copia tudo o que estiver na fila para o segmento e faz um só
+ * {@code force} para o lote inteiro; cada requisição só é respondida depois do
+ * {@code force} do seu lote. Outra thread leva os registros para
+ * {@code tb_transacao} em lotes ({@code insertAllIfAbsent}) e grava no arquivo
+ * {@code checkpoint} até onde o journal já está no banco.
+ * <p>
+ * Na subida, os registros depois do checkpoint são lidos de volta (até o
+ * primeiro registro incompleto ou com CRC divergente) e reenviados ao banco; a
+ * gravação é idempotente ({@code ON CONFLICT DO NOTHING}), então um registro
+ * que já tinha chegado ao banco antes da queda é apenas ignorado. Até serem
+ * drenadas, as transações ficam em memória para {@link #find}.
+ * <p>
+ * As reservas ({@link #reserve}) são o que impede outra gravação do mesmo id
+ * entre a verificação em {@code tb_transacao_id} e a drenagem: o id de uma
+ * transação no journal só é liberado depois do commit da drenagem, quando já
+ * está no registro. Se mesmo assim a drenagem encontrar o id gravado por
+ * outra transação (outra instância ou gravação fora da aplicação), o
+ * registro não é descartado: vai para o arquivo {@code conflicts}, no mesmo
+ * formato dos segmentos, com um {@code ERROR} no log para conciliação.
+ * <p>
+ * Um lote que falha {@code pagamentos.journal.drain-max-attempts} vezes é
+ * gravado registro a registro: o registro que o banco recusa por si mesmo
+ * (não por estar fora do ar) também vai para {@code conflicts}, para não
+ * prender a fila atrás dele. Com o banco fora nada é descartado e o lote
+ * continua sendo tentado.
+ */
+@Slf4j
+@Component
+public class MappedTransactionJournal implements TransactionJournal {
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String CHECKPOINT_TMP_FILE = "checkpoint.tmp";
+    private static final String CONFLICTS_FILE = "conflicts";
+    private static final int CHECKPOINT_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int MAX_APPEND_BATCH = 1024;
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final long RETRY_BACKOFF_MS = 1000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionIdFilter transactionIdFilter;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int drainBatchSize;
+    private final long drainWaitTimeoutMs;
+    private final int drainMaxAttempts;
+
+    private final Map<Long, PendingTransaction> pending = new ConcurrentHashMap<>();
+    private final Set<Long> reserved = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final BlockingQueue<JournalEntry> drainQueue = new LinkedBlockingQueue<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(TransactionRecordCodec.MAX_RECORD_SIZE);
+
+    private JournalSegment segment;
+    private long checkpointSegment;
+    private Thread writer;
+    private Thread drainer;
+    private volatile boolean writing;
+    private volatile boolean draining;
+
+    public MappedTransactionJournal(
+            TransactionRepository transactionRepository,
+            TransactionIdFilter transactionIdFilter,
+            @Value("${pagamentos.journal.enabled:false}") boolean enabled,
+            @Value("${pagamentos.journal.directory:journal}") String directory,
+            @Value("${pagamentos.journal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${pagamentos.journal.drain-batch-size:500}") int drainBatchSize,
+            @Value("${pagamentos.journal.drain-wait-timeout:5s}") Duration drainWaitTimeout,
+            @Value("${pagamentos.journal.drain-max-attempts:5}") int drainMaxAttempts) {
+        this.transactionRepository = transactionRepository;
+        this.transactionIdFilter = transactionIdFilter;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.drainBatchSize = drainBatchSize;
+        this.drainWaitTimeoutMs = drainWaitTimeout.toMillis();
+        this.drainMaxAttempts = drainMaxAttempts;
+        if (enabled) {
+            open();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean reserve(long id) {
+        return !enabled || reserved.add(id);
+    }
+
+    @Override
+    public void release(long id) {
+        reserved.remove(id);
+    }
+
+    @Override
+    public void append(TransactionEntity transaction) {
+        if (!writing) {
+            throw new IllegalStateException("Transaction journal is not accepting writes");
+        }
+        PendingTransaction entry = new PendingTransaction(transaction, new CompletableFuture<>());
+        if (pending.putIfAbsent(transaction.getId(), entry) != null) {
+            throw new DuplicateTransactionIdException(String.valueOf(transaction.getId()));
+        }
+        Append append = new Append(entry, new CompletableFuture<>());
+        appends.add(append);
+        try {
+            append.durable().join();
+        } catch (CompletionException ex) {
+            pending.remove(transaction.getId(), entry);
+            throw new IllegalStateException("Transaction journal write failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public Optional<TransactionEntity> find(long id) {
+        PendingTransaction entry = pending.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.transaction());
+    }
+
+    @Override
+    public void awaitDrained(long id) {
+        PendingTransaction entry = pending.get(id);
+        if (entry == null) {
+            return;
+        }
+        try {
+            entry.drained().get(drainWaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new PaymentPendingException(String.valueOf(id));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PaymentPendingException(String.valueOf(id));
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Journal drain failed", ex.getCause());
+        }
+    }
+
+    /**
+     * A drenagem só começa com a aplicação pronta (Flyway aplicado); até lá
+     * as gravações e as transações recuperadas ficam no journal.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDraining() {
+        if (enabled && drainer == null) {
+            draining = true;
+            drainer = Thread.ofPlatform().daemon().name("journal-drainer").start(this::drainLoop);
+        }
+    }
+
+    /**
+     * Para de aceitar gravações, espera a fila de escrita e tenta levar o que
+     * restou ao banco; o que não couber no prazo fica para a próxima subida.
+     */
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        writing = false;
+        draining = false;
+        join(writer);
+        Append orphan;
+        while ((orphan = appends.poll()) != null) {
+            orphan.durable().completeExceptionally(new IllegalStateException("Transaction journal is closed"));
+        }
+        join(drainer);
+        try {
+            segment.close();
+        } catch (IOException ex) {
+            log.warn("Could not close journal segment {}", segment.number(), ex);
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            long[] checkpoint = readCheckpoint();
+            checkpointSegment = checkpoint[0];
+            long lastSegment = recover(checkpoint[0], (int) checkpoint[1]);
+            segment = JournalSegment.open(directory, Math.max(lastSegment + 1, checkpointSegment), segmentSize);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open transaction journal at " + directory, ex);
+        }
+        writing = true;
+        writer = Thread.ofPlatform().daemon().name("journal-writer").start(this::writeLoop);
+    }
+
+    /**
+     * Lê os segmentos a partir do checkpoint e devolve o número do último
+     * existente. Os ids recuperados entram no {@link TransactionIdFilter}, já
+     * que a carga dele a partir do banco pode passar antes da drenagem. As gravações novas vão sempre para um segmento novo, para
+     * nunca escrever depois de um registro incompleto.
+     */
+    private long recover(long fromSegment, int fromOffset) throws IOException {
+        List<Long> segments = segmentNumbers();
+        long last = -1;
+        int recovered = 0;
+        boolean truncated = false;
+        for (long number : segments) {
+            last = number;
+            if (number < fromSegment || truncated) {
+                continue;
+            }
+            try (JournalSegment existing = JournalSegment.open(directory, number, 0)) {
+                ByteBuffer buffer = existing.readFrom(number == fromSegment ? fromOffset : 0);
+                TransactionEntity transaction;
+                while ((transaction = TransactionRecordCodec.decode(buffer)) != null) {
+                    PendingTransaction entry = new PendingTransaction(transaction, new CompletableFuture<>());
+                    pending.put(transaction.getId(), entry);
+                    reserved.add(transaction.getId());
+                    transactionIdFilter.add(transaction.getId());
+                    drainQueue.add(new JournalEntry(entry, number, buffer.position()));
+                    recovered++;
+                }
+                truncated = buffer.remaining() >= TransactionRecordCodec.HEADER_SIZE
+                        && buffer.getInt(buffer.position()) != 0;
+                if (truncated) {
+                    log.warn("Journal segment {} has an incomplete record at offset {}; later records ignored",
+                            number, buffer.position());
+                }
+            }
+        }
+        if (recovered > 0) {
+            log.info("Recovered {} journal records not yet written to tb_transacao", recovered);
+        }
+        return last;
+    }
+
+    private void writeLoop() {
+        List<Append> batch = new ArrayList<>(MAX_APPEND_BATCH);
+        while (writing || !appends.isEmpty()) {
+            try {
+                Append first = appends.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                appends.drainTo(batch, MAX_APPEND_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Copia o lote para o segmento e confirma com um {@code force}. Se o
+     * segmento enche no meio, o que já foi copiado é confirmado antes de
+     * abrir o próximo; assim uma falha só atinge registros depois do último
+     * {@code force}, todos no segmento atual. Esses registros são apagados
+     * (zerados, a marca de fim dos dados) e a posição volta para onde
+     * estava: quem recebeu erro não reaparece na recuperação.
+     */
+    private void write(List<Append> batch) {
+        List<JournalEntry> written = new ArrayList<>(batch.size());
+        int from = 0;
+        int start = segment.position();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Append append = batch.get(i);
+                scratch.clear();
+                TransactionRecordCodec.encode(append.entry().transaction(), scratch);
+                scratch.flip();
+                if (!segment.tryAppend(scratch)) {
+                    commit(batch.subList(from, i), written);
+                    from = i;
+                    start = segment.position();
+                    rollSegment();
+                    start = segment.position();
+                    if (!segment.tryAppend(scratch)) {
+                        throw new IOException("Journal record does not fit in an empty segment");
+                    }
+                }
+                written.add(new JournalEntry(append.entry(), segment.number(), segment.position()));
+            }
+            commit(batch.subList(from, batch.size()), written);
+        } catch (IOException | RuntimeException ex) {
+            List<Append> failed = batch.subList(from, batch.size());
+            log.error("Journal write of {} records failed", failed.size(), ex);
+            discard(start);
+            failed.forEach(append -> append.durable().completeExceptionally(ex));
+        }
+    }
+
+    private void commit(List<Append> appended, List<JournalEntry> written) {
+        segment.force();
+        drainQueue.addAll(written);
+        written.clear();
+        appended.forEach(append -> append.durable().complete(null));
+    }
+
+    private void discard(int start) {
+        try {
+            segment.truncate(start);
+            segment.force();
+        } catch (RuntimeException ex) {
+            // os zeros já estão no mapeamento e vão ao disco no próximo force
+            log.error("Could not discard failed journal records in segment {} from offset {}",
+                    segment.number(), start, ex);
+        }
+    }
+
+    /**
+     * Só é chamado com o segmento atual já confirmado. O próximo é aberto
+     * antes de fechar o atual, para que uma falha deixe o atual em uso.
+     */
+    private void rollSegment() throws IOException {
+        JournalSegment next = JournalSegment.open(directory, segment.number() + 1, segmentSize);
+        segment.close();
+        segment = next;
+    }
+
+    private void drainLoop() {
+        List<JournalEntry> batch = new ArrayList<>(drainBatchSize);
+        while (draining || writer.isAlive() || !drainQueue.isEmpty()) {
+            try {
+                JournalEntry first = drainQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                drainQueue.drainTo(batch, drainBatchSize - 1);
+                int attempts = 0;
+                while (!drain(batch)) {
+                    if (++attempts >= drainMaxAttempts && drainOneByOne(batch)) {
+                        break;
+                    }
+                    if (!draining) {
+                        return;
+                    }
+                    Thread.sleep(RETRY_BACKOFF_MS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em {@code tb_transacao} e avança o checkpoint. Em falha do
+     * banco o lote é mantido e tentado de novo, sem reordenar o journal. Só
+     * depois do commit as transações saem da memória e os ids são liberados.
+     */
+    private boolean drain(List<JournalEntry> batch) {
+        List<TransactionEntity> transactions = batch.stream()
+                .map(entry -> entry.entry().transaction())
+                .toList();
+        int[] inserted;
+        try {
+            inserted = transactionRepository.insertAllIfAbsent(transactions);
+        } catch (RuntimeException ex) {
+            log.error("Journal drain of {} records failed; retrying", batch.size(), ex);
+            return false;
+        }
+        for (int i = 0; i < inserted.length; i++) {
+            if (inserted[i] == 0) {
+                checkAlreadyStored(transactions.get(i));
+            }
+        }
+        completeDrain(batch);
+        return true;
+    }
+
+    /**
+     * Último recurso depois de {@code drainMaxAttempts} falhas do lote: grava
+     * um registro por vez e separa em {@code conflicts} os que o banco recusa.
+     * Uma falha de conexão ou transitória interrompe e devolve {@code false},
+     * para o lote inteiro ser tentado de novo; os registros que já entraram
+     * voltam como reenvio ({@code ON CONFLICT DO NOTHING}).
+     */
+    private boolean drainOneByOne(List<JournalEntry> batch) {
+        for (JournalEntry entry : batch) {
+            TransactionEntity transaction = entry.entry().transaction();
+            try {
+                if (transactionRepository.insertAllIfAbsent(List.of(transaction))[0] == 0) {
+                    checkAlreadyStored(transaction);
+                }
+            } catch (RuntimeException ex) {
+                if (isDatabaseUnavailable(ex)) {
+                    log.error("Journal drain of record {} failed; database unavailable, retrying the batch",
+                            transaction.getId(), ex);
+                    return false;
+                }
+                log.error("Journal record {} (nsu {}, authorization {}) was refused by the database after {} "
+                        + "attempts; saved to {} for reconciliation",
+                        transaction.getId(), transaction.getNsu(), transaction.getAuthorizationCode(),
+                        drainMaxAttempts, directory.resolve(CONFLICTS_FILE), ex);
+                saveConflict(transaction);
+            }
+        }
+        completeDrain(batch);
+        return true;
+    }
+
+    private static boolean isDatabaseUnavailable(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof NonTransientDataAccessResourceException;
+    }
+
+    private void completeDrain(List<JournalEntry> batch) {
+        JournalEntry last = batch.getLast();
+        try {
+            writeCheckpoint(last.segment(), last.end());
+        } catch (IOException ex) {
+            log.warn("Could not write journal checkpoint; records will be replayed on restart", ex);
+        }
+        for (JournalEntry entry : batch) {
+            long id = entry.entry().transaction().getId();
+            pending.remove(id, entry.entry());
+            reserved.remove(id);
+            entry.entry().drained().complete(null);
+        }
+    }
+
+    /**
+     * O id já estava no banco. Com o mesmo NSU é o próprio registro,
+     * reenviado na recuperação depois de ter chegado ao banco antes da queda;
+     * com outro NSU é uma transação diferente com o mesmo id, e a que foi
+     * aceita aqui é guardada em {@code conflicts}.
+     */
+    private void checkAlreadyStored(TransactionEntity transaction) {
+        Optional<TransactionEntity> stored = transactionRepository.findByIdUsingPartitionKey(transaction.getId());
+        if (stored.isPresent() && Objects.equals(stored.get().getNsu(), transaction.getNsu())) {
+            log.info("Journal record {} was already in tb_transacao (replayed after restart)", transaction.getId());
+            return;
+        }
+        log.error("Journal record {} (nsu {}, authorization {}) conflicts with another transaction with the same id "
+                + "in tb_transacao; saved to {} for reconciliation",
+                transaction.getId(), transaction.getNsu(), transaction.getAuthorizationCode(),
+                directory.resolve(CONFLICTS_FILE));
+        saveConflict(transaction);
+    }
+
+    private void saveConflict(TransactionEntity transaction) {
+        ByteBuffer buffer = ByteBuffer.allocate(TransactionRecordCodec.MAX_RECORD_SIZE);
+        TransactionRecordCodec.encode(transaction, buffer);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(directory.resolve(CONFLICTS_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(buffer);
+            channel.force(true);
+        } catch (IOException ex) {
+            log.error("Could not save conflicting journal record {}", transaction.getId(), ex);
+        }
+    }
+
+    private long[] readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return new long[] { 0, 0 };
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new long[] { buffer.getLong(), buffer.getInt() };
+    }
+
+    /**
+     * Grava em arquivo temporário, faz fsync e troca por rename atômico: uma
+     * queda no meio deixa o checkpoint anterior, que só causa reenvio.
+     * Segmentos anteriores ao do checkpoint já estão no banco e são apagados.
+     */
+    private void writeCheckpoint(long segmentNumber, int offset) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT_TMP_FILE);
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(CHECKPOINT_SIZE).putLong(segmentNumber).putInt(offset).flip());
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        if (segmentNumber > checkpointSegment) {
+            checkpointSegment = segmentNumber;
+            for (long number : segmentNumbers()) {
+                if (number < segmentNumber) {
+                    Files.deleteIfExists(JournalSegment.path(directory, number));
+                }
+            }
+        }
+    }
+
+    private List<Long> segmentNumbers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(JournalSegment::number)
+                    .filter(number -> number >= 0)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void join(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PendingTransaction(TransactionEntity transaction, CompletableFuture<Void> drained) {
+    }
+
+    private record Append(PendingTransaction entry, CompletableFuture<Void> durable) {
+    }
+
+    private record JournalEntry(PendingTransaction entry, long segment, int end) {
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.toolschallenge.journal.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+
+/**
+ * Formato binário de um registro do journal:
+ * {@code [int tamanho][int crc32c][payload]}, com o payload nos mesmos tipos
+ * das colunas de {@code tb_transacao} e o valor em centavos, como no
+ * {@link TransactionEntity}. Os zeros à esquerda de id e parcelas vêm por
+ * último: registros gravados antes deles terminam no estabelecimento e são
+ * lidos com zero. Tamanho zero marca o fim dos dados (o
+ * segmento é pré-alocado com zeros); CRC divergente indica escrita
+ * interrompida por queda e encerra a leitura.
+ */
+final class TransactionRecordCodec {
+
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+    static final int MAX_RECORD_SIZE = 4096;
+
+    private TransactionRecordCodec() {
+    }
+
+    /**
+     * Escreve o registro em {@code target} a partir da posição atual.
+     */
+    static void encode(TransactionEntity transaction, ByteBuffer target) {
+        int start = target.position();
+        target.position(start + HEADER_SIZE);
+        target.putLong(transaction.getId());
+        target.putLong(transaction.getCardToken());
+        target.putLong(transaction.getNsu());
+        target.putLong(transaction.getDateTime().toEpochSecond(ZoneOffset.UTC));
+        target.putInt(transaction.getDateTime().getNano());
+        target.putShort(transaction.getStatus().getCodigo().shortValue());
+        target.putShort(transaction.getPaymentType().getCodigo().shortValue());
+        target.putShort(transaction.getInstallments());
+        target.putLong(transaction.getAmountCents());
+        putBytes(target, transaction.getAuthorizationCode().getBytes(StandardCharsets.US_ASCII));
+        putBytes(target, transaction.getEstablishment().getBytes(StandardCharsets.UTF_8));
+        target.putShort(transaction.getIdLeadingZeros());
+        target.putShort(transaction.getInstallmentsLeadingZeros());
+
+        int length = target.position() - start - HEADER_SIZE;
+        target.putInt(start, length);
+        target.putInt(start + Integer.BYTES, checksum(target, start + HEADER_SIZE, length));
+    }
+
+    /**
+     * Lê o registro na posição atual de {@code source} e avança até o próximo.
+     * Retorna {@code null} no fim dos dados ou em registro incompleto.
+     */
+    static TransactionEntity decode(ByteBuffer source) {
+        if (source.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int start = source.position();
+        int length = source.getInt(start);
+        if (length <= 0 || length > MAX_RECORD_SIZE - HEADER_SIZE || length > source.remaining() - HEADER_SIZE) {
+            return null;
+        }
+        if (source.getInt(start + Integer.BYTES) != checksum(source, start + HEADER_SIZE, length)) {
+            return null;
+        }
+        source.position(start + HEADER_SIZE);
+        TransactionEntity transaction = TransactionEntity.builder()
+                .id(source.getLong())
+                .cardToken(source.getLong())
+                .nsu(source.getLong())
+                .dateTime(LocalDateTime.ofEpochSecond(source.getLong(), source.getInt(), ZoneOffset.UTC))
+                .status(StatusTransacao.fromId(source.getShort()))
+                .paymentType(TipoFormaPagamento.fromId(source.getShort()))
+                .installments(source.getShort())
+                .amountCents(source.getLong())
+                .build();
+        transaction.setAuthorizationCode(new String(getBytes(source), StandardCharsets.US_ASCII));
+        transaction.setEstablishment(new String(getBytes(source), StandardCharsets.UTF_8));
+        if (source.position() < start + HEADER_SIZE + length) {
+            transaction.setIdLeadingZeros(source.getShort());
+            transaction.setInstallmentsLeadingZeros(source.getShort());
+        }
+        source.position(start + HEADER_SIZE + length);
+        return transaction;
+    }
+
+    private static void putBytes(ByteBuffer target, byte[] bytes) {
+        target.putShort((short) bytes.length);
+        target.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer source) {
+        byte[] bytes = new byte[source.getShort()];
+        source.get(bytes);
+        return bytes;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
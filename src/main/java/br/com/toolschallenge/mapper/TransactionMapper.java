@@ -1,12 +1,27 @@
 package br.com.toolschallenge.mapper;
 
-import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import java.util.List;
+
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
 import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+import tools.jackson.core.JsonGenerator;
 
 public interface TransactionMapper {
 
     PagamentoResponseDTO toPaymentResponse(TransactionEntity entity);
+
+    /**
+     * {@link #toPaymentResponse} de uma página inteira, resolvendo os cartões
+     * de todas as linhas com uma única consulta ao cofre.
+     */
+    List<PagamentoResponseDTO> toPaymentResponses(List<TransactionEntity> entities);
+
+    /**
+     * Escreve no gerador o mesmo JSON de {@link #toPaymentResponse}, sem
+     * montar o DTO.
+     */
+    void writePaymentResponse(TransactionEntity entity, JsonGenerator generator);
     
-    TransactionEntity toTransactionEntityRequest(PagamentoRequestDTO request);
+    TransactionEntity toTransactionEntityRequest(ValidatedPaymentRequest request);
 }
\ No newline at end of file
@@ -1,58 +1,79 @@
 package br.com.toolschallenge.mapper.impl;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
-import br.com.toolschallenge.dto.DescricaoRequestDTO;
+import br.com.toolschallenge.card.CardTokenizer;
+import br.com.toolschallenge.codec.PaymentResponseWriter;
 import br.com.toolschallenge.dto.DescricaoResponseDTO;
 import br.com.toolschallenge.dto.FormaPagamentoDTO;
-import br.com.toolschallenge.dto.PagamentoRequestDTO;
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
-import br.com.toolschallenge.dto.TransacaoRequestDTO;
 import br.com.toolschallenge.dto.TransacaoResponseDTO;
 import br.com.toolschallenge.entity.TransactionEntity;
 import br.com.toolschallenge.enums.StatusTransacao;
 import br.com.toolschallenge.enums.TipoFormaPagamento;
 import br.com.toolschallenge.exception.InvalidInstallmentsForPaymentTypeException;
+import br.com.toolschallenge.generator.NsuGenerator;
 import br.com.toolschallenge.mapper.TransactionMapper;
-import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.metrics.PaymentStage;
+import br.com.toolschallenge.money.Money;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.core.JsonGenerator;
 
 @Component
 @RequiredArgsConstructor
 public class TransactionMapperImpl implements TransactionMapper {
 	
-	private final TransactionRepository transactionRepository;
-
-    private static final DateTimeFormatter DATE_TIME_FORMATTER =
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+	private final NsuGenerator nsuGenerator;
+	private final CardTokenizer cardTokenizer;
+	private final PaymentMetrics paymentMetrics;
 
     @Override
     public PagamentoResponseDTO toPaymentResponse(TransactionEntity entity) {
         if (entity == null) {
             return null;
         }
+        return toPaymentResponse(entity, cardTokenizer.detokenize(entity.getCardToken()));
+    }
+
+    @Override
+    public List<PagamentoResponseDTO> toPaymentResponses(List<TransactionEntity> entities) {
+        List<Long> tokens = new ArrayList<>(entities.size());
+        for (TransactionEntity entity : entities) {
+            tokens.add(entity.getCardToken());
+        }
+        Map<Long, String> cardNumbers = cardTokenizer.detokenizeAll(tokens);
+        List<PagamentoResponseDTO> responses = new ArrayList<>(entities.size());
+        for (TransactionEntity entity : entities) {
+            responses.add(toPaymentResponse(entity, cardNumbers.get(entity.getCardToken())));
+        }
+        return responses;
+    }
 
+    private PagamentoResponseDTO toPaymentResponse(TransactionEntity entity, String cardNumber) {
         DescricaoResponseDTO descricaoResponse = DescricaoResponseDTO.builder()
-                .valor(entity.getAmount())
-                .dataHora(entity.getDateTime().format(DATE_TIME_FORMATTER))
+                .valor(Money.toBigDecimal(entity.getAmountCents()))
+                .dataHora(entity.getDateTime())
                 .estabelecimento(entity.getEstablishment())
-                .nsu(entity.getNsu())
+                .nsu(formatNsu(entity.getNsu()))
                 .codigoAutorizacao(entity.getAuthorizationCode())
-                .status(StatusTransacao.fromId(entity.getStatus()))
+                .status(entity.getStatus())
                 .build();
 
         FormaPagamentoDTO formaPagamentoDTOResponse = FormaPagamentoDTO.builder()
-                .tipo(TipoFormaPagamento.fromId(entity.getPaymentType()))
-                .parcelas(entity.getInstallments())
+                .tipo(entity.getPaymentType())
+                .parcelas(withLeadingZeros(entity.getInstallmentsLeadingZeros(), entity.getInstallments()))
                 .build();
 
         TransacaoResponseDTO transacaoResponse = TransacaoResponseDTO.builder()
-                .cartao(entity.getCardNumber())
-                .id(entity.getId())
+                .cartao(cardNumber)
+                .id(withLeadingZeros(entity.getIdLeadingZeros(), entity.getId()))
                 .descricao(descricaoResponse)
                 .formaPagamento(formaPagamentoDTOResponse)
                 .build();
@@ -63,44 +84,49 @@ public class TransactionMapperImpl implements TransactionMapper {
     }
     
     @Override
-    public TransactionEntity toTransactionEntityRequest(PagamentoRequestDTO request) {
-        TransacaoRequestDTO transacao = request.getTransacao();
-        DescricaoRequestDTO descricao = transacao.getDescricao();
-        FormaPagamentoDTO formaPagamento = transacao.getFormaPagamento();
-
-        LocalDateTime dateTime =
-                LocalDateTime.parse(descricao.getDataHora(), DATE_TIME_FORMATTER);
+    public void writePaymentResponse(TransactionEntity entity, JsonGenerator generator) {
+        PaymentResponseWriter.write(generator, entity, cardTokenizer.detokenize(entity.getCardToken()));
+    }
 
-        String nsu = generateNsu();
+    @Override
+    public TransactionEntity toTransactionEntityRequest(ValidatedPaymentRequest request) {
+        long start = paymentMetrics.start();
+        long nsu = nsuGenerator.nextNsu();
+        paymentMetrics.record(PaymentStage.NSU, start);
         String authorizationCode = generateAuthorizationCode();
-        String installmentsQtd = formaPagamento.getParcelas();
+        TipoFormaPagamento paymentType = normalizePayment(request.installments(), request.paymentType());
 
         return TransactionEntity.builder()
-                .id(transacao.getId())
-                .cardNumber(transacao.getCartao())
-                .amount(descricao.getValor())
-                .dateTime(dateTime)
-                .establishment(descricao.getEstabelecimento())
+                .id(request.id())
+                .cardToken(cardTokenizer.tokenize(request.cardNumber()))
+                .amountCents(request.amountCents())
+                .dateTime(request.dateTime())
+                .establishment(request.establishment())
                 .nsu(nsu)
                 .authorizationCode(authorizationCode)
-                .status(StatusTransacao.AUTORIZADO.getCodigo())
-                .paymentType(normalizePayment(installmentsQtd, formaPagamento.getTipo().getCodigo()))
-                .installments(installmentsQtd)
+                .status(StatusTransacao.AUTORIZADO)
+                .paymentType(paymentType)
+                .installments(request.installments())
+                .idLeadingZeros(request.idLeadingZeros())
+                .installmentsLeadingZeros(request.installmentsLeadingZeros())
                 .build();
     }
     
-    private Integer normalizePayment(String installmentsQtd, Integer paymentType) {
-    	Integer installmentsQtdInt = Integer.valueOf(installmentsQtd);
-    	Integer avistaCode = TipoFormaPagamento.AVISTA.getCodigo();
-    	if (installmentsQtdInt > 1 && avistaCode.equals(paymentType)) {
+    private TipoFormaPagamento normalizePayment(short installmentsQtd, TipoFormaPagamento paymentType) {
+    	if (installmentsQtd > 1 && paymentType == TipoFormaPagamento.AVISTA) {
             throw new InvalidInstallmentsForPaymentTypeException();
         }
     	return paymentType;
     }
 
-    private String generateNsu() {
-        Long next = transactionRepository.getNextNsu();
-        return String.format("%010d", next);
+    /** O texto como foi recebido na criação: {@code "007"} volta {@code "007"}. */
+    private String withLeadingZeros(short leadingZeros, Number value) {
+        String digits = String.valueOf(value);
+        return leadingZeros == 0 ? digits : "0".repeat(leadingZeros) + digits;
+    }
+
+    private String formatNsu(Long nsu) {
+        return nsu == null ? null : String.format("%010d", nsu);
     }
 
     private String generateAuthorizationCode() {
@@ -0,0 +1,20 @@
+package br.com.toolschallenge.metrics;
+
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+
+/**
+ * Instrumentação do fluxo de pagamentos. A medição de uma etapa é
+ * {@code long start = start(); ...; record(stage, start)}: sem lambda nem
+ * {@code Timer.Sample} por chamada.
+ */
+public interface PaymentMetrics {
+
+    /** Instante de início de uma etapa, só tem significado para {@link #record}. */
+    long start();
+
+    void record(PaymentStage stage, long start);
+
+    /** Conta uma transação pelo status e tipo da entity; {@code null} não é contado. */
+    void countTransaction(StatusTransacao status, TipoFormaPagamento paymentType);
+}
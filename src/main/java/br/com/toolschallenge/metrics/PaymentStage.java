@@ -0,0 +1,25 @@
+package br.com.toolschallenge.metrics;
+
+/**
+ * Etapas do fluxo de autorização medidas por {@link PaymentMetrics}; o valor
+ * de {@link #getTag()} é a tag {@code stage} do timer {@code pagamentos.stage}.
+ */
+public enum PaymentStage {
+
+    VALIDATION("validation"),
+    MAPPING("mapping"),
+    NSU("nsu"),
+    DUPLICATE_CHECK("duplicate_check"),
+    INSERT("insert"),
+    SERIALIZATION("serialization");
+
+    private final String tag;
+
+    PaymentStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
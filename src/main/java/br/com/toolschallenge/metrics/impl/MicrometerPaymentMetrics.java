@@ -0,0 +1,81 @@
+package br.com.toolschallenge.metrics.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.metrics.PaymentStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Todos os meters são registrados no construtor e guardados em arrays
+ * indexados pelo ordinal da etapa, do status e do tipo: no caminho
+ * quente não há montagem de tags nem busca no registry.
+ * <p>
+ * Os timers publicam histograma de percentis (buckets agregáveis no
+ * Prometheus, {@code histogram_quantile}) em vez de percentis calculados na
+ * aplicação, e os buckets ficam limitados entre {@link #MIN_EXPECTED} e
+ * {@link #MAX_EXPECTED}.
+ */
+@Component
+public class MicrometerPaymentMetrics implements PaymentMetrics {
+
+    static final String STAGE_TIMER = "pagamentos.stage";
+    static final String TRANSACTIONS_COUNTER = "pagamentos.transactions";
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(500);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(5);
+
+    private final Timer[] stageTimers;
+    private final Counter[][] transactions;
+
+    public MicrometerPaymentMetrics(MeterRegistry meterRegistry) {
+        PaymentStage[] stages = PaymentStage.values();
+        this.stageTimers = new Timer[stages.length];
+        for (PaymentStage stage : stages) {
+            stageTimers[stage.ordinal()] = Timer.builder(STAGE_TIMER)
+                    .tag("stage", stage.getTag())
+                    .description("Latency of each stage of the payment pipeline")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(meterRegistry);
+        }
+
+        StatusTransacao[] statuses = StatusTransacao.values();
+        TipoFormaPagamento[] tipos = TipoFormaPagamento.values();
+        this.transactions = new Counter[statuses.length][tipos.length];
+        for (StatusTransacao status : statuses) {
+            for (TipoFormaPagamento tipo : tipos) {
+                transactions[status.ordinal()][tipo.ordinal()] = Counter.builder(TRANSACTIONS_COUNTER)
+                        .tag("status", status.name())
+                        .tag("tipo", tipo.name())
+                        .description("Transactions authorized or canceled, by status and payment type")
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void record(PaymentStage stage, long start) {
+        stageTimers[stage.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void countTransaction(StatusTransacao status, TipoFormaPagamento paymentType) {
+        if (status != null && paymentType != null) {
+            transactions[status.ordinal()][paymentType.ordinal()].increment();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.toolschallenge.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Valores monetários como {@code long} de centavos. Um valor válido da API
+ * cabe em {@code NUMERIC(10,2)} (o {@code @Digits(integer = 8, fraction = 2)}
+ * de {@code DescricaoRequestDTO}), então a leitura do pedido, o mapeamento, os
+ * totais e a escrita da resposta trabalham com o primitivo, sem um
+ * {@code BigDecimal} por valor.
+ * <p>
+ * {@code BigDecimal} fica só nas bordas: os DTOs de resposta (contrato da
+ * API) e os valores recebidos fora desse formato, guardados para as mensagens
+ * de validação. No banco as colunas continuam {@code NUMERIC(10,2)}; a
+ * conversão é feita no SQL ({@code ? / 100.0} na escrita e
+ * {@code CAST(amount * 100 AS BIGINT)} na leitura), com parâmetros e colunas
+ * {@code BIGINT} no JDBC.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    /** {@code 99999999.99}, o maior valor de {@code NUMERIC(10,2)}. */
+    public static final long MAX_CENTS = 9_999_999_999L;
+
+    /** Valor ausente ou que não cabe em centavos. */
+    public static final long NONE = -1;
+
+    /** Tamanho máximo de {@link #format} para até {@link #MAX_CENTS}. */
+    public static final int MAX_FORMATTED_LENGTH = 11;
+
+    private static final int MAX_INTEGER_DIGITS = 8;
+
+    private Money() {
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Centavos de {@code amount} se ele for não negativo e tiver no máximo
+     * duas casas decimais e oito dígitos inteiros, contados como no
+     * {@code @Digits} (a escala como está, então {@code 10.500} não cabe);
+     * senão {@link #NONE}.
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount.signum() < 0 || amount.scale() > SCALE
+                || amount.precision() - amount.scale() > MAX_INTEGER_DIGITS) {
+            return NONE;
+        }
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Centavos do texto em {@code [offset, offset + length)} sem alocar,
+     * quando ele está na forma simples: {@code 0} ou até oito dígitos sem
+     * zero à esquerda, seguidos opcionalmente de ponto e uma ou duas casas.
+     * Qualquer outra forma (sinal, expoente, zeros à esquerda, mais casas)
+     * devolve {@link #NONE} e fica para o {@code BigDecimal}.
+     */
+    public static long parse(char[] text, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        long units = 0;
+        while (i < end && isDigit(text[i])) {
+            if (i - offset == MAX_INTEGER_DIGITS) {
+                return NONE;
+            }
+            units = units * 10 + (text[i] - '0');
+            i++;
+        }
+        int integerDigits = i - offset;
+        if (integerDigits == 0 || (integerDigits > 1 && text[offset] == '0')) {
+            return NONE;
+        }
+        long cents = units * 100;
+        if (i == end) {
+            return cents;
+        }
+        int fractionDigits = end - i - 1;
+        if (text[i] != '.' || fractionDigits < 1 || fractionDigits > SCALE) {
+            return NONE;
+        }
+        char tenths = text[i + 1];
+        char hundredths = fractionDigits == SCALE ? text[i + 2] : '0';
+        if (!isDigit(tenths) || !isDigit(hundredths)) {
+            return NONE;
+        }
+        return cents + (tenths - '0') * 10 + (hundredths - '0');
+    }
+
+    /**
+     * Escreve {@code cents} (não negativo) em {@code buffer} a partir de
+     * {@code offset} com o mesmo texto de {@code toBigDecimal(cents).toString()}
+     * ({@code 0.05}, {@code 500.50}) e devolve a posição seguinte ao último
+     * caractere.
+     */
+    public static int format(long cents, char[] buffer, int offset) {
+        long units = cents / 100;
+        int fraction = (int) (cents % 100);
+        int digits = 1;
+        for (long rest = units / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int end = offset + digits + 1 + SCALE;
+        int position = offset + digits;
+        do {
+            buffer[--position] = (char) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0);
+        buffer[offset + digits] = '.';
+        buffer[end - 2] = (char) ('0' + fraction / 10);
+        buffer[end - 1] = (char) ('0' + fraction % 10);
+        return end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.toolschallenge.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.exception.InvalidPaymentCursorException;
+
+/**
+ * Posição de continuação da listagem paginada, ordenada por
+ * {@code (transaction_date_time, id)}.
+ * O token entregue ao cliente é opaco: Base64 URL-safe de {@code dataHora|id}.
+ */
+public record PaymentCursor(LocalDateTime dateTime, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PaymentCursor of(TransactionEntity entity) {
+        return new PaymentCursor(entity.getDateTime(), entity.getId());
+    }
+
+    public String encode() {
+        String raw = dateTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PaymentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == raw.length() - 1) {
+                throw new InvalidPaymentCursorException(token);
+            }
+            LocalDateTime dateTime = LocalDateTime.parse(raw.substring(0, separatorIndex));
+            return new PaymentCursor(dateTime, Long.valueOf(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidPaymentCursorException(token);
+        }
+    }
+}
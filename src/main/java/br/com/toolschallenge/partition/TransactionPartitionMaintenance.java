@@ -0,0 +1,185 @@
+package br.com.toolschallenge.partition;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém as partições mensais de {@code tb_transacao} (criadas pela migração
+ * V9): garante partições para o mês corrente e os
+ * {@code pagamentos.partitions.months-ahead} seguintes e, se
+ * {@code pagamentos.partitions.retention-months} for maior que zero, desanexa
+ * as mais antigas e as move para o schema de arquivo.
+ * <p>
+ * Roda na subida e diariamente. Um advisory lock garante que só uma instância
+ * executa por vez; todo o DDL é idempotente.
+ */
+@Slf4j
+@Component
+public class TransactionPartitionMaintenance {
+
+    private static final long ADVISORY_LOCK_KEY = 0x7462_7472_616EL;
+    private static final String PARENT_TABLE = "tb_transacao";
+    private static final String LEGACY_PARTITION = "tb_transacao_legacy";
+    private static final String PARTITION_PREFIX = "tb_transacao_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("^tb_transacao_p(\\d{6})$");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'tb_transacao'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+
+    public TransactionPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            @Value("${pagamentos.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${pagamentos.partitions.retention-months:0}") int retentionMonths,
+            @Value("${pagamentos.partitions.archive-schema:tb_transacao_archive}") String archiveSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${pagamentos.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                maintain(connection, YearMonth.now());
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.error("Partition maintenance of {} failed", PARENT_TABLE, ex);
+        }
+    }
+
+    void maintain(Connection connection, YearMonth currentMonth) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (!tryLock(statement)) {
+                log.debug("Partition maintenance already running on another instance");
+                return;
+            }
+            try {
+                List<Partition> partitions = listPartitions(statement);
+                createMissing(statement, partitions, currentMonth);
+                if (retentionMonths > 0) {
+                    archiveExpired(statement, partitions, currentMonth.minusMonths(retentionMonths));
+                }
+            } finally {
+                statement.execute("SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+            }
+        }
+    }
+
+    private void createMissing(Statement statement, List<Partition> partitions, YearMonth currentMonth)
+            throws SQLException {
+        YearMonth firstMonth = currentMonth;
+        for (Partition partition : partitions) {
+            if (LEGACY_PARTITION.equals(partition.name()) && partition.upperBound() != null) {
+                YearMonth legacyEnd = YearMonth.from(partition.upperBound());
+                if (legacyEnd.isAfter(firstMonth)) {
+                    firstMonth = legacyEnd;
+                }
+            }
+        }
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth.plusMonths(monthsAhead));
+                month = month.plusMonths(1)) {
+            String name = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+            if (partitions.stream().anyMatch(p -> p.name().equals(name))) {
+                continue;
+            }
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+            try {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + PARENT_TABLE
+                        + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                log.info("Created partition {} [{}, {})", name, from, to);
+            } catch (SQLException ex) {
+                // ex.: a partição DEFAULT já tem linhas desse mês
+                log.warn("Could not create partition {}: {}", name, ex.getMessage());
+            }
+        }
+    }
+
+    private void archiveExpired(Statement statement, List<Partition> partitions, YearMonth oldestKept)
+            throws SQLException {
+        statement.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        for (Partition partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition.name());
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            statement.execute("SET lock_timeout = '5s'");
+            try {
+                // DETACH ... CONCURRENTLY não é permitido com partição DEFAULT
+                statement.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition.name());
+                statement.execute("ALTER TABLE " + partition.name() + " SET SCHEMA " + archiveSchema);
+                log.info("Archived partition {} into schema {}", partition.name(), archiveSchema);
+            } catch (SQLException ex) {
+                log.warn("Could not archive partition {}: {}", partition.name(), ex.getMessage());
+            } finally {
+                statement.execute("RESET lock_timeout");
+            }
+        }
+    }
+
+    private boolean tryLock(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT pg_try_advisory_lock(" + ADVISORY_LOCK_KEY + ")")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private List<Partition> listPartitions(Statement statement) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(PARTITIONS_SQL)) {
+            while (rs.next()) {
+                partitions.add(new Partition(rs.getString(1), upperBound(rs.getString(2))));
+            }
+        }
+        return partitions;
+    }
+
+    private static LocalDateTime upperBound(String boundExpression) {
+        Matcher matcher = UPPER_BOUND.matcher(boundExpression);
+        return matcher.find() ? LocalDateTime.parse(matcher.group(1).replace(' ', 'T')) : null;
+    }
+
+    private record Partition(String name, LocalDateTime upperBound) {
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.toolschallenge.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+
+/**
+ * Planos de parcelas ({@code tb_parcela}, migração V16). Gravação e estorno
+ * são chamados pelos fragmentos de {@link TransactionRepository}, na mesma
+ * transação da escrita em {@code tb_transacao}.
+ */
+public interface InstallmentRepository {
+
+    /**
+     * Grava, em batch JDBC, uma linha por parcela do plano de cada transação,
+     * calculadas por {@code InstallmentSchedule}. Devolve o número de parcelas
+     * gravadas.
+     */
+    int insertPlans(List<TransactionEntity> transactions);
+
+    /**
+     * Marca as parcelas do plano como estornadas; elas deixam de entrar na
+     * projeção de recebíveis.
+     */
+    int cancelPlan(long transactionId);
+
+    /**
+     * Parcelas não estornadas com vencimento em {@code [from, to]}, somadas
+     * por dia em ordem de vencimento; dias sem parcelas não aparecem.
+     */
+    List<ReceivableTotal> projectReceivables(String merchant, LocalDate from, LocalDate to);
+}
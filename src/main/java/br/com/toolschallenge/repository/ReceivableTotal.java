@@ -0,0 +1,10 @@
+package br.com.toolschallenge.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Parcelas não estornadas de um estabelecimento com vencimento em um dia,
+ * com o valor somado em centavos.
+ */
+public record ReceivableTotal(LocalDate dueDate, long count, long amountCents) {
+}
@@ -0,0 +1,15 @@
+package br.com.toolschallenge.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Uma partição de {@code tb_transacao} e o intervalo de dias
+ * {@code [from, to)} que ela cobre; {@code from} nulo é {@code MINVALUE}.
+ * A partição DEFAULT não tem intervalo ({@code from} e {@code to} nulos).
+ */
+public record SettlementChunk(String partition, LocalDate from, LocalDate to) {
+
+    public boolean isDefault() {
+        return from == null && to == null;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.toolschallenge.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Totais diários de liquidação ({@code tb_liquidacao_diaria}), mantidos pelo
+ * trigger da migração V15 a cada autorização e estorno.
+ */
+public interface SettlementRepository {
+
+    /**
+     * Totais por tipo de pagamento; só tipos com linhas no dia aparecem.
+     * Lê no máximo {@code tipos x slots} linhas pela chave primária.
+     */
+    List<SettlementTotal> findDailyTotals(String merchant, LocalDate date);
+
+    /** Uma entrada por partição anexada a {@code tb_transacao}. */
+    List<SettlementChunk> listChunks();
+
+    /**
+     * Recalcula, a partir da partição, os totais dos dias que ela cobre, em
+     * uma transação. Escritas na partição esperam até o fim. Devolve o número
+     * de linhas de totais gravadas.
+     */
+    int rebuildChunk(SettlementChunk chunk);
+}
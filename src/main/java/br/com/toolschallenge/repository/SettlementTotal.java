@@ -0,0 +1,9 @@
+package br.com.toolschallenge.repository;
+
+/**
+ * Total de um estabelecimento em um dia para um tipo de pagamento
+ * ({@code payment_type} como gravado em {@code tb_transacao}), com o valor em
+ * centavos.
+ */
+public record SettlementTotal(short paymentType, long count, long amountCents) {
+}
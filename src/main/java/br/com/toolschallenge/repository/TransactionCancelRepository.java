@@ -0,0 +1,15 @@
+package br.com.toolschallenge.repository;
+
+import java.util.Optional;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+
+public interface TransactionCancelRepository {
+
+    /**
+     * Muda o status para CANCELADO em um único {@code UPDATE} condicional e
+     * devolve a linha atualizada. Vazio quando a transação não existe ou já
+     * estava cancelada: entre estornos concorrentes só um recebe a linha.
+     */
+    Optional<TransactionEntity> cancelIfNotCanceled(long id);
+}
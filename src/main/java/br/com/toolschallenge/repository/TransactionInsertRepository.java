@@ -0,0 +1,22 @@
+package br.com.toolschallenge.repository;
+
+import java.util.List;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+
+public interface TransactionInsertRepository {
+
+    /**
+     * Insere a transação em um único comando. Retorna {@code 0} quando o id já
+     * existe, inclusive se outra requisição concorrente gravou o mesmo id
+     * primeiro: a unicidade é garantida pela PK de {@code tb_transacao_id},
+     * não por uma consulta prévia.
+     */
+    int insertIfAbsent(TransactionEntity transaction);
+
+    /**
+     * Mesma semântica de {@link #insertIfAbsent}, enviada em batch JDBC.
+     * O array retornado segue a ordem da lista: {@code 1} inserido, {@code 0} id duplicado.
+     */
+    int[] insertAllIfAbsent(List<TransactionEntity> transactions);
+}
@@ -1,13 +1,112 @@
 package br.com.toolschallenge.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import br.com.toolschallenge.entity.TransactionEntity;
+import jakarta.persistence.QueryHint;
+
+public interface TransactionRepository
+        extends JpaRepository<TransactionEntity, Long>, TransactionInsertRepository,
+                TransactionSearchRepository, TransactionCancelRepository {
+
+    /**
+     * Colunas de {@code tb_transacao} para as queries nativas que devolvem
+     * {@link TransactionEntity}: o valor vem já em centavos, como no
+     * {@code @ColumnTransformer} do atributo, que o Hibernate não aplica a SQL
+     * nativo.
+     */
+    String SELECT_COLUMNS = """
+            id, card_token, nsu, transaction_date_time, status, payment_type, installments,
+            id_leading_zeros, installments_leading_zeros,
+            authorization_code, CAST(amount * 100 AS BIGINT) AS amount, merchant
+            """;
 
-public interface TransactionRepository extends JpaRepository<TransactionEntity, String> {
-	boolean existsById(String id);
+	boolean existsById(Long id);
 	
     @Query(value = "SELECT nextval('seq_nsu')", nativeQuery = true)
     Long getNextNsu();
-}
\ No newline at end of file
+
+    @Query(value = """
+            SELECT increment_by FROM pg_sequences
+            WHERE schemaname = current_schema() AND sequencename = 'seq_nsu'
+            """, nativeQuery = true)
+    Long getNsuIncrement();
+
+    /**
+     * Consulta só o registro de ids ({@code tb_transacao_id}), sem tocar as
+     * partições de {@code tb_transacao}.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tb_transacao_id WHERE id = :id)", nativeQuery = true)
+    boolean isIdRegistered(@Param("id") Long id);
+
+    /**
+     * Quais dos ids já estão em {@code tb_transacao_id}, numa única consulta
+     * ao registro. A lista não pode ser vazia.
+     */
+    @Query(value = "SELECT id FROM tb_transacao_id WHERE id IN (:ids)", nativeQuery = true)
+    List<Long> findRegisteredIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Todos os ids do registro, por cursor JDBC (mesmas condições de
+     * {@link #streamAll()}: dentro de transação e fechando o {@link Stream}).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT id FROM tb_transacao_id", nativeQuery = true)
+    Stream<Long> streamRegisteredIds();
+
+    /**
+     * Busca por id com a chave de partição vinda de {@code tb_transacao_id},
+     * para que o PostgreSQL leia só a partição do mês da transação.
+     */
+    @Query(value = "SELECT " + SELECT_COLUMNS + """
+            FROM tb_transacao
+            WHERE id = :id
+              AND transaction_date_time =
+                  (SELECT r.transaction_date_time FROM tb_transacao_id r WHERE r.id = :id)
+            """, nativeQuery = true)
+    Optional<TransactionEntity> findByIdUsingPartitionKey(@Param("id") Long id);
+
+    @Query(value = "SELECT " + SELECT_COLUMNS + """
+            FROM tb_transacao
+            ORDER BY transaction_date_time, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TransactionEntity> findFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT " + SELECT_COLUMNS + """
+            FROM tb_transacao
+            WHERE (transaction_date_time, id) > (:dateTime, :id)
+            ORDER BY transaction_date_time, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TransactionEntity> findPageAfter(
+            @Param("dateTime") LocalDateTime dateTime,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+
+    /**
+     * Cursor JDBC forward-only: o driver do PostgreSQL só respeita o fetch size
+     * dentro de uma transação, então o chamador deve estar em
+     * {@code @Transactional(readOnly = true)} e fechar o {@link Stream}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM TransactionEntity t")
+    Stream<TransactionEntity> streamAll();
+}
@@ -0,0 +1,16 @@
+package br.com.toolschallenge.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros da busca em {@code tb_transacao}, já nos tipos das colunas;
+ * campos nulos não filtram. {@code to} é exclusivo.
+ */
+public record TransactionSearchCriteria(
+        String establishment,
+        LocalDateTime from,
+        LocalDateTime to,
+        Short status,
+        Short paymentType,
+        Long nsu) {
+}
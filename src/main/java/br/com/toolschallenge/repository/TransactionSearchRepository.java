@@ -0,0 +1,16 @@
+package br.com.toolschallenge.repository;
+
+import java.util.List;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.pagination.PaymentCursor;
+
+public interface TransactionSearchRepository {
+
+    /**
+     * Busca paginada por keyset em {@code (transaction_date_time, id)}, como a
+     * listagem, com só os filtros informados no SQL. {@code after} nulo
+     * começa da primeira página.
+     */
+    List<TransactionEntity> search(TransactionSearchCriteria criteria, PaymentCursor after, int limit);
+}
@@ -0,0 +1,124 @@
+package br.com.toolschallenge.repository.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.installment.InstallmentSchedule;
+import br.com.toolschallenge.repository.InstallmentRepository;
+import br.com.toolschallenge.repository.ReceivableTotal;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcInstallmentRepository implements InstallmentRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO tb_parcela (transaction_id, installment_number, due_date, amount, merchant)
+            VALUES (?, ?, ?, ? / 100.0, ?)
+            """;
+
+    private static final String CANCEL_SQL =
+            "UPDATE tb_parcela SET canceled = TRUE WHERE transaction_id = ? AND NOT canceled";
+
+    /** Atendida pelo índice parcial {@code idx_tb_parcela_merchant_due_date}. */
+    private static final String RECEIVABLES_SQL = """
+            SELECT due_date, count(*), CAST(sum(amount) * 100 AS BIGINT)
+            FROM tb_parcela
+            WHERE merchant = ? AND due_date >= ? AND due_date <= ? AND NOT canceled
+            GROUP BY due_date
+            ORDER BY due_date
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public int insertPlans(List<TransactionEntity> transactions) {
+        PlanRows rows = new PlanRows(transactions);
+        int written = 0;
+        while (rows.hasNext()) {
+            written += jdbcTemplate.batchUpdate(INSERT_SQL, rows).length;
+        }
+        return written;
+    }
+
+    @Override
+    @Transactional
+    public int cancelPlan(long transactionId) {
+        return jdbcTemplate.update(CANCEL_SQL, transactionId);
+    }
+
+    @Override
+    public List<ReceivableTotal> projectReceivables(String merchant, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(RECEIVABLES_SQL,
+                (rs, rowNum) -> new ReceivableTotal(
+                        rs.getObject(1, LocalDate.class), rs.getLong(2), rs.getLong(3)),
+                merchant, from, to);
+    }
+
+    /**
+     * Percorre as parcelas de todas as transações na ordem (transação, número)
+     * sem materializar os planos: cada {@code batchUpdate} consome até
+     * {@value #BATCH_SIZE} parcelas a partir de onde o anterior parou.
+     */
+    private static final class PlanRows implements BatchPreparedStatementSetter {
+
+        private final List<TransactionEntity> transactions;
+        private long remaining;
+        private int index;
+        private int number;
+        private int count;
+        private long totalCents;
+        private LocalDate transactionDate;
+
+        PlanRows(List<TransactionEntity> transactions) {
+            this.transactions = transactions;
+            for (TransactionEntity transaction : transactions) {
+                remaining += InstallmentSchedule.installmentCount(transaction.getInstallments());
+            }
+        }
+
+        boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int getBatchSize() {
+            return (int) Math.min(BATCH_SIZE, remaining);
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            TransactionEntity transaction = transactions.get(index);
+            if (number == 0) {
+                count = InstallmentSchedule.installmentCount(transaction.getInstallments());
+                totalCents = transaction.getAmountCents();
+                transactionDate = transaction.getDateTime().toLocalDate();
+            }
+            number++;
+            long cents = InstallmentSchedule.installmentCents(totalCents, count, number);
+
+            ps.setLong(1, transaction.getId());
+            ps.setShort(2, (short) number);
+            ps.setObject(3, InstallmentSchedule.dueDate(transactionDate, number));
+            ps.setLong(4, cents);
+            ps.setString(5, transaction.getEstablishment());
+
+            remaining--;
+            if (number == count) {
+                index++;
+                number = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.toolschallenge.repository.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.toolschallenge.repository.SettlementChunk;
+import br.com.toolschallenge.repository.SettlementRepository;
+import br.com.toolschallenge.repository.SettlementTotal;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcSettlementRepository implements SettlementRepository {
+
+    private static final Pattern LOWER_BOUND = Pattern.compile("FROM \\('([^']+)'\\)");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private static final String DAILY_TOTALS_SQL = """
+            SELECT payment_type, sum(transaction_count), CAST(sum(amount) * 100 AS BIGINT)
+            FROM tb_liquidacao_diaria
+            WHERE merchant = ? AND settlement_date = ?
+            GROUP BY payment_type
+            ORDER BY payment_type
+            """;
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'tb_transacao'::regclass
+            ORDER BY c.relname
+            """;
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM tb_liquidacao_diaria WHERE settlement_date >= ? AND settlement_date < ?";
+    private static final String DELETE_BEFORE_SQL =
+            "DELETE FROM tb_liquidacao_diaria WHERE settlement_date < ?";
+    private static final String DELETE_FROM_SQL =
+            "DELETE FROM tb_liquidacao_diaria WHERE settlement_date >= ?";
+    private static final String DELETE_DAYS_OF_SQL = """
+            DELETE FROM tb_liquidacao_diaria
+            WHERE settlement_date IN (SELECT DISTINCT transaction_date_time::DATE FROM %s)
+            """;
+
+    /** Mesma distribuição em slots ({@code id % 16}) do trigger da V15. */
+    private static final String INSERT_TOTALS_SQL = """
+            INSERT INTO tb_liquidacao_diaria (merchant, settlement_date, payment_type, slot, transaction_count, amount)
+            SELECT merchant, transaction_date_time::DATE, payment_type, (id %% 16)::SMALLINT, count(*), sum(amount)
+            FROM %s
+            WHERE status = 1
+              AND payment_type IS NOT NULL
+            GROUP BY 1, 2, 3, 4
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SettlementTotal> findDailyTotals(String merchant, LocalDate date) {
+        return jdbcTemplate.query(DAILY_TOTALS_SQL,
+                (rs, rowNum) -> new SettlementTotal(rs.getShort(1), rs.getLong(2), rs.getLong(3)),
+                merchant, date);
+    }
+
+    @Override
+    public List<SettlementChunk> listChunks() {
+        return jdbcTemplate.query(PARTITIONS_SQL,
+                (rs, rowNum) -> new SettlementChunk(rs.getString(1),
+                        bound(LOWER_BOUND, rs.getString(2)),
+                        bound(UPPER_BOUND, rs.getString(2))));
+    }
+
+    /**
+     * {@code SHARE ROW EXCLUSIVE} na partição bloqueia inserts e estornos
+     * nela (e outro recálculo da mesma partição) até o commit: nenhuma
+     * autorização fica fora do total nem é contada duas vezes. As demais
+     * partições seguem recebendo escritas.
+     */
+    @Override
+    @Transactional
+    public int rebuildChunk(SettlementChunk chunk) {
+        String table = quote(chunk.partition());
+        jdbcTemplate.execute("LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE");
+        if (chunk.isDefault()) {
+            jdbcTemplate.update(DELETE_DAYS_OF_SQL.formatted(table));
+        } else if (chunk.from() == null) {
+            jdbcTemplate.update(DELETE_BEFORE_SQL, chunk.to());
+        } else if (chunk.to() == null) {
+            jdbcTemplate.update(DELETE_FROM_SQL, chunk.from());
+        } else {
+            jdbcTemplate.update(DELETE_RANGE_SQL, chunk.from(), chunk.to());
+        }
+        return jdbcTemplate.update(INSERT_TOTALS_SQL.formatted(table));
+    }
+
+    private static LocalDate bound(Pattern pattern, String boundExpression) {
+        Matcher matcher = pattern.matcher(boundExpression);
+        return matcher.find() ? LocalDateTime.parse(matcher.group(1).replace(' ', 'T')).toLocalDate() : null;
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.toolschallenge.repository.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.toolschallenge.converter.StatusTransacaoConverter;
+import br.com.toolschallenge.converter.TipoFormaPagamentoConverter;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.repository.InstallmentRepository;
+import br.com.toolschallenge.repository.TransactionCancelRepository;
+import br.com.toolschallenge.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class TransactionCancelRepositoryImpl implements TransactionCancelRepository {
+
+    private static final short CANCELED = StatusTransacao.CANCELADO.getCodigo().shortValue();
+    private static final StatusTransacaoConverter STATUS_CONVERTER = new StatusTransacaoConverter();
+    private static final TipoFormaPagamentoConverter PAYMENT_TYPE_CONVERTER = new TipoFormaPagamentoConverter();
+
+    /**
+     * A condição {@code status <> 3} é reavaliada pelo PostgreSQL depois de
+     * obter o lock da linha, então dois estornos simultâneos não atualizam a
+     * mesma transação duas vezes. A data vinda de {@code tb_transacao_id} é a
+     * chave de partição: só a partição do mês é tocada.
+     */
+    private static final String CANCEL_SQL = """
+            UPDATE tb_transacao SET status = ?
+            WHERE id = ?
+              AND status <> ?
+              AND transaction_date_time =
+                  (SELECT r.transaction_date_time FROM tb_transacao_id r WHERE r.id = ?)
+            RETURNING
+            """ + TransactionRepository.SELECT_COLUMNS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InstallmentRepository installmentRepository;
+
+    /**
+     * As parcelas do plano são marcadas como estornadas na mesma transação do
+     * {@code UPDATE}.
+     */
+    @Override
+    @Transactional
+    public Optional<TransactionEntity> cancelIfNotCanceled(long id) {
+        Optional<TransactionEntity> canceled = jdbcTemplate
+                .query(CANCEL_SQL, TransactionCancelRepositoryImpl::mapRow, CANCELED, id, CANCELED, id)
+                .stream()
+                .findFirst();
+        canceled.ifPresent(row -> installmentRepository.cancelPlan(row.getId()));
+        return canceled;
+    }
+
+    private static TransactionEntity mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return TransactionEntity.builder()
+                .id(rs.getLong("id"))
+                .cardToken(rs.getLong("card_token"))
+                .nsu(rs.getObject("nsu", Long.class))
+                .dateTime(rs.getObject("transaction_date_time", LocalDateTime.class))
+                .status(STATUS_CONVERTER.convertToEntityAttribute(rs.getObject("status", Short.class)))
+                .paymentType(PAYMENT_TYPE_CONVERTER.convertToEntityAttribute(rs.getObject("payment_type", Short.class)))
+                .installments(rs.getShort("installments"))
+                .idLeadingZeros(rs.getShort("id_leading_zeros"))
+                .installmentsLeadingZeros(rs.getShort("installments_leading_zeros"))
+                .authorizationCode(rs.getString("authorization_code"))
+                .amountCents(rs.getLong("amount"))
+                .establishment(rs.getString("merchant"))
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.toolschallenge.repository.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.repository.InstallmentRepository;
+import br.com.toolschallenge.repository.TransactionInsertRepository;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class TransactionInsertRepositoryImpl implements TransactionInsertRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * A unicidade do id fica no registro {@code tb_transacao_id} (a tabela
+     * particionada só garante unicidade junto com a chave de partição): a
+     * linha só é gravada em {@code tb_transacao} se o id foi registrado agora.
+     * O valor é enviado em centavos ({@code BIGINT}) e convertido para
+     * {@code NUMERIC} no próprio {@code INSERT}.
+     */
+    private static final String INSERT_IF_ABSENT_SQL = """
+            WITH registered AS (
+                INSERT INTO tb_transacao_id (id, transaction_date_time)
+                VALUES (?, ?)
+                ON CONFLICT (id) DO NOTHING
+                RETURNING id
+            )
+            INSERT INTO tb_transacao (id, card_token, nsu, transaction_date_time, status, payment_type,
+                                      installments, id_leading_zeros, installments_leading_zeros,
+                                      authorization_code, amount, merchant)
+            SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ? / 100.0, ? FROM registered
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InstallmentRepository installmentRepository;
+
+    /**
+     * O plano de parcelas ({@code tb_parcela}) é gravado na mesma transação,
+     * só para o que foi inserido agora.
+     */
+    @Override
+    @Transactional
+    public int insertIfAbsent(TransactionEntity transaction) {
+        int inserted = jdbcTemplate.update(INSERT_IF_ABSENT_SQL, ps -> bind(ps, transaction));
+        if (inserted != 0) {
+            installmentRepository.insertPlans(List.of(transaction));
+        }
+        return inserted;
+    }
+
+    @Override
+    @Transactional
+    public int[] insertAllIfAbsent(List<TransactionEntity> transactions) {
+        if (transactions.isEmpty()) {
+            return new int[0];
+        }
+        int[][] chunks = jdbcTemplate.batchUpdate(
+                INSERT_IF_ABSENT_SQL, transactions, BATCH_SIZE, this::bind);
+        int[] results = Arrays.stream(chunks)
+                .flatMapToInt(Arrays::stream)
+                .toArray();
+
+        List<TransactionEntity> inserted = new ArrayList<>(transactions.size());
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != 0) {
+                inserted.add(transactions.get(i));
+            }
+        }
+        installmentRepository.insertPlans(inserted);
+        return results;
+    }
+
+    private void bind(PreparedStatement ps, TransactionEntity transaction) throws SQLException {
+        ps.setLong(1, transaction.getId());
+        ps.setObject(2, transaction.getDateTime());
+        ps.setLong(3, transaction.getId());
+        ps.setLong(4, transaction.getCardToken());
+        ps.setObject(5, transaction.getNsu(), Types.BIGINT);
+        ps.setObject(6, transaction.getDateTime());
+        ps.setShort(7, transaction.getStatus().getCodigo().shortValue());
+        ps.setShort(8, transaction.getPaymentType().getCodigo().shortValue());
+        ps.setShort(9, transaction.getInstallments());
+        ps.setShort(10, transaction.getIdLeadingZeros());
+        ps.setShort(11, transaction.getInstallmentsLeadingZeros());
+        ps.setString(12, transaction.getAuthorizationCode());
+        ps.setLong(13, transaction.getAmountCents());
+        ps.setString(14, transaction.getEstablishment());
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.toolschallenge.repository.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.pagination.PaymentCursor;
+import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.repository.TransactionSearchCriteria;
+import br.com.toolschallenge.repository.TransactionSearchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    private static final short CANCELED = StatusTransacao.CANCELADO.getCodigo().shortValue();
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TransactionEntity> search(TransactionSearchCriteria criteria, PaymentCursor after, int limit) {
+        SearchQuery searchQuery = buildQuery(criteria, after, limit);
+        Query query = entityManager.createNativeQuery(searchQuery.sql(), TransactionEntity.class);
+        searchQuery.params().forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    /**
+     * Monta o SQL só com os filtros presentes, em vez de
+     * {@code (:x IS NULL OR col = :x)}: assim cada combinação tem um plano
+     * próprio que usa os índices das migrações V14 e V17 (ou o de
+     * {@code (transaction_date_time, id)} para a ordenação).
+     * <p>
+     * O filtro de status ganha também o literal {@code status = 3} (CANCELADO)
+     * ou {@code status <> 3} (demais), que permite usar os índices parciais de
+     * cancelamentos e de transações ativas mesmo em planos genéricos, onde o
+     * valor do parâmetro não é visto.
+     */
+    static SearchQuery buildQuery(TransactionSearchCriteria criteria, PaymentCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(TransactionRepository.SELECT_COLUMNS)
+                .append(" FROM tb_transacao WHERE TRUE");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (criteria.establishment() != null) {
+            sql.append(" AND merchant = :establishment");
+            params.put("establishment", criteria.establishment());
+        }
+        if (criteria.from() != null) {
+            sql.append(" AND transaction_date_time >= :from");
+            params.put("from", criteria.from());
+        }
+        if (criteria.to() != null) {
+            sql.append(" AND transaction_date_time < :to");
+            params.put("to", criteria.to());
+        }
+        if (criteria.status() != null) {
+            sql.append(" AND status = :status");
+            params.put("status", criteria.status());
+            sql.append(criteria.status() == CANCELED ? " AND status = " : " AND status <> ").append(CANCELED);
+        }
+        if (criteria.paymentType() != null) {
+            sql.append(" AND payment_type = :paymentType");
+            params.put("paymentType", criteria.paymentType());
+        }
+        if (criteria.nsu() != null) {
+            sql.append(" AND nsu = :nsu");
+            params.put("nsu", criteria.nsu());
+        }
+        if (after != null) {
+            sql.append(" AND (transaction_date_time, id) > (:afterDateTime, :afterId)");
+            params.put("afterDateTime", after.dateTime());
+            params.put("afterId", after.id());
+        }
+        sql.append(" ORDER BY transaction_date_time, id LIMIT :limit");
+        params.put("limit", limit);
+
+        return new SearchQuery(sql.toString(), params);
+    }
+
+    record SearchQuery(String sql, Map<String, Object> params) {
+    }
+}
@@ -1,17 +1,33 @@
 package br.com.toolschallenge.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
-import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.dto.FiltroPagamentosDTO;
+import br.com.toolschallenge.dto.LotePagamentoItemResponseDTO;
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.dto.PaginaPagamentosResponseDTO;
 
 public interface PaymentService {
 
-    PagamentoResponseDTO createPayment(PagamentoRequestDTO request);
+    PagamentoResponseDTO createPayment(PaymentRequestFields request);
+
+    List<LotePagamentoItemResponseDTO> createPayments(List<PaymentRequestFields> requests);
     
     List<PagamentoResponseDTO> listAllPayments();
 
+    PaginaPagamentosResponseDTO listPayments(String cursor, int size);
+
+    PaginaPagamentosResponseDTO searchPayments(FiltroPagamentosDTO filtro, String cursor, int size);
+
+    void exportPayments(Consumer<PagamentoResponseDTO> consumer);
+
     PagamentoResponseDTO findPaymentById(String id);
+
+    byte[] findPaymentJsonById(String id);
+
+    byte[] findPaymentSmileById(String id);
     
     PagamentoResponseDTO cancelPayment(String id);
 }
\ No newline at end of file
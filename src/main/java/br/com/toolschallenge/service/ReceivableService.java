@@ -0,0 +1,10 @@
+package br.com.toolschallenge.service;
+
+import java.time.LocalDate;
+
+import br.com.toolschallenge.dto.RecebiveisResponseDTO;
+
+public interface ReceivableService {
+
+    RecebiveisResponseDTO projectReceivables(String estabelecimento, LocalDate inicio, LocalDate fim);
+}
@@ -0,0 +1,13 @@
+package br.com.toolschallenge.service;
+
+import java.time.LocalDate;
+
+import br.com.toolschallenge.dto.LiquidacaoDiariaResponseDTO;
+import br.com.toolschallenge.dto.RecalculoLiquidacaoResponseDTO;
+
+public interface SettlementService {
+
+    LiquidacaoDiariaResponseDTO findDailyTotals(String estabelecimento, LocalDate data);
+
+    RecalculoLiquidacaoResponseDTO rebuild();
+}
@@ -1,73 +1,501 @@
 package br.com.toolschallenge.service.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.cache.PaymentJsonCache;
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.datasource.ReplicaReadRouter;
+import br.com.toolschallenge.dto.FiltroPagamentosDTO;
+import br.com.toolschallenge.dto.LotePagamentoItemResponseDTO;
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
-import br.com.toolschallenge.dto.TransacaoRequestDTO;
+import br.com.toolschallenge.dto.PaginaPagamentosResponseDTO;
 import br.com.toolschallenge.entity.TransactionEntity;
-import br.com.toolschallenge.enums.StatusTransacao;
 import br.com.toolschallenge.exception.DuplicateTransactionIdException;
+import br.com.toolschallenge.exception.InvalidBatchSizeException;
+import br.com.toolschallenge.exception.InvalidInstallmentsForPaymentTypeException;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
 import br.com.toolschallenge.exception.PaymentNotFoundException;
+import br.com.toolschallenge.idfilter.TransactionIdFilter;
+import br.com.toolschallenge.journal.TransactionJournal;
 import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.metrics.PaymentStage;
+import br.com.toolschallenge.pagination.PaymentCursor;
 import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.repository.TransactionSearchCriteria;
 import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.validation.FieldViolation;
+import br.com.toolschallenge.validation.PaymentRequestValidator;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_BATCH_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final String PAYMENT_REQUIRED_MESSAGE = "Payment is required";
+
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
+    private final EntityManager entityManager;
+    private final PaymentRequestValidator paymentRequestValidator;
+    private final PaymentJsonCache paymentJsonCache;
+    private final TransactionJournal transactionJournal;
+    private final TransactionIdFilter transactionIdFilter;
+    private final PaymentMetrics paymentMetrics;
+    private final ReplicaReadRouter replicaReadRouter;
 
     /**
      * Esse método pode ser melhorado para que acesse uma outra api para 
      * autenticação e depois verificação de limite.
      * Isso poderia ser feito nas proximas sprints do projeto.
+     * <p>
+     * A detecção de id duplicado é feita pelo próprio INSERT
+     * ({@code ON CONFLICT (id) DO NOTHING}): um único round-trip e sem janela
+     * entre verificação e gravação para requisições concorrentes.
+     * <p>
+     * Com o journal ligado ({@code pagamentos.journal.enabled}), a resposta sai
+     * assim que a transação está no journal em disco e a gravação no banco
+     * acontece depois, em lote. O id é reservado no journal e conferido no
+     * registro {@code tb_transacao_id} (só quando o
+     * {@link TransactionIdFilter} não descarta o id) antes do mapeamento: um
+     * duplicado não consome NSU nem tokeniza o cartão.
+     * <p>
+     * Sem o journal o duplicado só aparece no INSERT, depois do mapeamento, e
+     * custa um NSU do bloco em memória (fica uma lacuna na numeração, como as
+     * que o {@code BlockNsuGenerator} já deixa ao reiniciar) e um tokenize
+     * (quase sempre acerto no cache; numa falta, o cartão é gravado no cofre,
+     * onde numa repetição ele já estava). Verificar antes custaria uma ida ao
+     * banco a mais em toda criação para poupar esse custo só nos duplicados.
+     * <p>
+     * Validação ({@link PaymentRequestValidator}, uma passada pelo corpo já
+     * lido em streaming), mapeamento, verificação de duplicidade (só no modo
+     * journal; sem ele a verificação é o próprio INSERT) e gravação entram nos
+     * timers de {@link PaymentMetrics}.
+     * <p>
+     * O id aceito entra na janela de read-your-writes do
+     * {@link ReplicaReadRouter}: as leituras dele vão ao primário até a réplica
+     * alcançá-lo.
+     */
+    @Override
+    public PagamentoResponseDTO createPayment(PaymentRequestFields request) {
+        ValidatedPaymentRequest payment = validate(request);
+        TransactionEntity entity = transactionJournal.isEnabled()
+                ? appendToJournal(payment)
+                : insert(payment);
+        paymentMetrics.countTransaction(entity.getStatus(), entity.getPaymentType());
+        replicaReadRouter.recordWrite(entity.getId());
+        paymentJsonCache.put(entity);
+        return transactionMapper.toPaymentResponse(entity);
+    }
+
+    private TransactionEntity insert(ValidatedPaymentRequest payment) {
+        long start = paymentMetrics.start();
+        TransactionEntity entity = transactionMapper.toTransactionEntityRequest(payment);
+        paymentMetrics.record(PaymentStage.MAPPING, start);
+        start = paymentMetrics.start();
+        int inserted = transactionRepository.insertIfAbsent(entity);
+        paymentMetrics.record(PaymentStage.INSERT, start);
+        if (inserted == 0) {
+            throw new DuplicateTransactionIdException(String.valueOf(entity.getId()));
+        }
+        return entity;
+    }
+
+    /**
+     * O id é reservado no journal antes de ser conferido em
+     * {@code tb_transacao_id}, e a reserva só cai depois que a transação
+     * chega ao banco: entre a verificação e a drenagem nenhuma outra criação,
+     * lote ou drenagem do mesmo id consegue passar. Se a transação não chegar
+     * ao journal, a reserva é liberada.
+     */
+    private TransactionEntity appendToJournal(ValidatedPaymentRequest payment) {
+        long id = payment.id();
+        long start = paymentMetrics.start();
+        if (!transactionJournal.reserve(id)) {
+            paymentMetrics.record(PaymentStage.DUPLICATE_CHECK, start);
+            throw new DuplicateTransactionIdException(String.valueOf(id));
+        }
+        boolean appended = false;
+        try {
+            boolean registered = transactionIdFilter.isRegistered(id);
+            paymentMetrics.record(PaymentStage.DUPLICATE_CHECK, start);
+            if (registered) {
+                throw new DuplicateTransactionIdException(String.valueOf(id));
+            }
+            start = paymentMetrics.start();
+            TransactionEntity entity = transactionMapper.toTransactionEntityRequest(payment);
+            paymentMetrics.record(PaymentStage.MAPPING, start);
+            transactionIdFilter.add(id);
+            start = paymentMetrics.start();
+            transactionJournal.append(entity);
+            paymentMetrics.record(PaymentStage.INSERT, start);
+            appended = true;
+            return entity;
+        } finally {
+            if (!appended) {
+                transactionJournal.release(id);
+            }
+        }
+    }
+
+    /**
+     * Autoriza um lote de pagamentos. Cada item é validado e mapeado
+     * isoladamente; os aceitos são gravados juntos em batch JDBC e o resultado
+     * de cada posição informa sucesso ou o motivo da falha, sem derrubar o lote.
+     * O lote não passa pelo journal, mas reserva os ids nele
+     * ({@link TransactionJournal#reserve}) até o commit do INSERT: ids ainda
+     * no journal ou sendo criados ao mesmo tempo pelo {@link #createPayment}
+     * recebem {@code 409}.
+     * <p>
+     * Os ids já registrados são procurados numa única consulta ao
+     * {@code tb_transacao_id} para o lote inteiro, antes do mapeamento: um
+     * lote reenviado não consome NSUs nem tokeniza cartões. O INSERT continua
+     * sendo a verificação definitiva para ids gravados entre a consulta e ele.
      */
     @Override
-    public PagamentoResponseDTO createPayment(PagamentoRequestDTO request) {
-    	TransactionEntity entity;
-    	TransactionEntity entityResponse;
-    	TransacaoRequestDTO transacao = request.getTransacao();
-        if (transactionRepository.existsById(transacao.getId())) {
-            throw new DuplicateTransactionIdException(transacao.getId());
+    public List<LotePagamentoItemResponseDTO> createPayments(List<PaymentRequestFields> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchSizeException(requests == null ? 0 : requests.size(), MAX_BATCH_SIZE);
+        }
+
+        LotePagamentoItemResponseDTO[] results = new LotePagamentoItemResponseDTO[requests.size()];
+        List<ValidatedPaymentRequest> candidates = new ArrayList<>(requests.size());
+        List<Integer> candidateIndexes = new ArrayList<>(requests.size());
+        Set<Long> idsInBatch = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            PaymentRequestFields request = requests.get(i);
+            if (request == null) {
+                results[i] = batchFailure(i, HttpStatus.BAD_REQUEST, PAYMENT_REQUIRED_MESSAGE);
+                continue;
+            }
+            ValidatedPaymentRequest payment;
+            try {
+                payment = validate(request);
+            } catch (InvalidPaymentRequestException ex) {
+                results[i] = batchValidationFailure(i, ex);
+                continue;
+            }
+            if (!idsInBatch.add(payment.id()) || !transactionJournal.reserve(payment.id())) {
+                results[i] = batchFailure(i, HttpStatus.CONFLICT,
+                        new DuplicateTransactionIdException(String.valueOf(payment.id())).getMessage());
+                continue;
+            }
+            candidates.add(payment);
+            candidateIndexes.add(i);
+        }
+
+        try {
+            insertCandidates(candidates, candidateIndexes, results);
+        } finally {
+            candidates.forEach(payment -> transactionJournal.release(payment.id()));
+        }
+        return Arrays.asList(results);
+    }
+
+    private void insertCandidates(List<ValidatedPaymentRequest> candidates, List<Integer> candidateIndexes,
+            LotePagamentoItemResponseDTO[] results) {
+        Set<Long> registered = findRegisteredIds(candidates);
+        List<TransactionEntity> accepted = new ArrayList<>(candidates.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(candidates.size());
+        for (int j = 0; j < candidates.size(); j++) {
+            int i = candidateIndexes.get(j);
+            ValidatedPaymentRequest payment = candidates.get(j);
+            if (registered.contains(payment.id())) {
+                results[i] = batchFailure(i, HttpStatus.CONFLICT,
+                        new DuplicateTransactionIdException(String.valueOf(payment.id())).getMessage());
+                continue;
+            }
+            try {
+                long start = paymentMetrics.start();
+                TransactionEntity entity = transactionMapper.toTransactionEntityRequest(payment);
+                paymentMetrics.record(PaymentStage.MAPPING, start);
+                accepted.add(entity);
+                acceptedIndexes.add(i);
+            } catch (InvalidInstallmentsForPaymentTypeException ex) {
+                results[i] = batchFailure(i, HttpStatus.BAD_REQUEST, ex.getMessage());
+            }
+        }
+
+        accepted.forEach(entity -> transactionIdFilter.add(entity.getId()));
+        long start = paymentMetrics.start();
+        int[] inserted = transactionRepository.insertAllIfAbsent(accepted);
+        paymentMetrics.record(PaymentStage.INSERT, start);
+        for (int j = 0; j < accepted.size(); j++) {
+            int index = acceptedIndexes.get(j);
+            TransactionEntity entity = accepted.get(j);
+            if (inserted[j] == 0) {
+                results[index] = batchFailure(index, HttpStatus.CONFLICT,
+                        new DuplicateTransactionIdException(String.valueOf(entity.getId())).getMessage());
+                continue;
+            }
+            paymentMetrics.countTransaction(entity.getStatus(), entity.getPaymentType());
+            replicaReadRouter.recordWrite(entity.getId());
+            paymentJsonCache.put(entity);
+            results[index] = LotePagamentoItemResponseDTO.builder()
+                    .indice(index)
+                    .status(HttpStatus.CREATED.value())
+                    .pagamento(transactionMapper.toPaymentResponse(entity))
+                    .build();
         }
-        entity = transactionMapper.toTransactionEntityRequest(request);
-        entityResponse = transactionRepository.save(entity);
-        return transactionMapper.toPaymentResponse(entityResponse);
+    }
+
+    /**
+     * Ids dos pagamentos já registrados em {@code tb_transacao_id}, com uma
+     * só consulta ao banco. Os ids ainda no journal já foram recusados na
+     * reserva.
+     */
+    private Set<Long> findRegisteredIds(List<ValidatedPaymentRequest> payments) {
+        if (payments.isEmpty()) {
+            return Set.of();
+        }
+        long start = paymentMetrics.start();
+        List<Long> ids = payments.stream().map(ValidatedPaymentRequest::id).toList();
+        Set<Long> registered = new HashSet<>(transactionRepository.findRegisteredIds(ids));
+        paymentMetrics.record(PaymentStage.DUPLICATE_CHECK, start);
+        return registered;
     }
     
+    /**
+     * Listagem, busca e exportação leem da réplica quando ela está ligada
+     * ({@link ReplicaReadRouter}), sem read-your-writes.
+     */
     @Override
     public List<PagamentoResponseDTO> listAllPayments() {
-    	return transactionRepository.findAll()
-                .stream()
-                .map(transactionMapper::toPaymentResponse)
-                .toList();
+    	return transactionMapper.toPaymentResponses(replicaReadRouter.read(transactionRepository::findAll));
     }
 
+    /**
+     * Paginação por keyset em {@code (transaction_date_time, id)}: cada página
+     * é uma busca no índice a partir do cursor, sem OFFSET e sem carregar a
+     * tabela inteira. Busca-se um registro a mais para saber se há próxima página.
+     */
+    @Override
+    public PaginaPagamentosResponseDTO listPayments(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<TransactionEntity> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = replicaReadRouter.read(() -> transactionRepository.findFirstPage(pageSize + 1));
+        } else {
+            PaymentCursor after = PaymentCursor.decode(cursor);
+            rows = replicaReadRouter.read(
+                    () -> transactionRepository.findPageAfter(after.dateTime(), after.id(), pageSize + 1));
+        }
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Mesma paginação por keyset da listagem, restrita aos filtros informados
+     * (estabelecimento, intervalo de datas, status, tipo e NSU).
+     */
+    @Override
+    public PaginaPagamentosResponseDTO searchPayments(FiltroPagamentosDTO filtro, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        PaymentCursor after = cursor == null || cursor.isBlank() ? null : PaymentCursor.decode(cursor);
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                filtro.getEstabelecimento(),
+                filtro.getDataHoraInicio(),
+                filtro.getDataHoraFim(),
+                filtro.getStatus() == null ? null : filtro.getStatus().getCodigo().shortValue(),
+                filtro.getTipo() == null ? null : filtro.getTipo().getCodigo().shortValue(),
+                filtro.getNsu());
+        return toPage(replicaReadRouter.read(() -> transactionRepository.search(criteria, after, pageSize + 1)),
+                pageSize);
+    }
+
+    private PaginaPagamentosResponseDTO toPage(List<TransactionEntity> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<TransactionEntity> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext
+                ? PaymentCursor.of(page.get(pageSize - 1)).encode()
+                : null;
+
+        return PaginaPagamentosResponseDTO.builder()
+                .pagamentos(transactionMapper.toPaymentResponses(page))
+                .proximoCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Percorre a tabela por cursor e entrega um DTO por vez ao consumidor.
+     * As entities são mapeadas em lotes de {@value #EXPORT_BATCH_SIZE} (o
+     * fetch size do cursor), com uma consulta ao cofre de cartões por lote, e
+     * desanexadas logo em seguida para que o contexto de persistência não
+     * cresça com o tamanho da tabela.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPayments(Consumer<PagamentoResponseDTO> consumer) {
+        replicaReadRouter.run(() -> {
+            try (Stream<TransactionEntity> rows = transactionRepository.streamAll()) {
+                List<TransactionEntity> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+                rows.forEach(entity -> {
+                    batch.add(entity);
+                    if (batch.size() == EXPORT_BATCH_SIZE) {
+                        exportBatch(batch, consumer);
+                    }
+                });
+                exportBatch(batch, consumer);
+            }
+        });
+    }
+
+    private void exportBatch(List<TransactionEntity> batch, Consumer<PagamentoResponseDTO> consumer) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionMapper.toPaymentResponses(List.copyOf(batch)).forEach(consumer);
+        batch.forEach(entityManager::detach);
+        batch.clear();
+    }
+
+    /**
+     * O pagamento como DTO, sem cache: o {@code GET /pagamentos/{id}} responde
+     * pelo {@link PaymentJsonCache} ({@link #findPaymentJsonById} e
+     * {@link #findPaymentSmileById}). Transações ainda no journal são
+     * respondidas a partir dele; as demais são lidas da réplica, exceto
+     * dentro da janela de read-your-writes.
+     */
     @Override
     public PagamentoResponseDTO findPaymentById(String id) {
-        TransactionEntity entity = transactionRepository.findById(id)
+        return transactionMapper.toPaymentResponse(findEntity(id));
+    }
+
+    /**
+     * JSON pronto de {@code GET /pagamentos/{id}}: vem do
+     * {@link PaymentJsonCache} e só é montado a partir do banco quando o id
+     * ainda não está em cache, escrito direto da entity, sem DTO. A chave é o
+     * id numérico, a mesma usada no estorno, qualquer que seja a grafia pedida.
+     */
+    @Override
+    public byte[] findPaymentJsonById(String id) {
+        return paymentJsonCache.get(Long.toString(toTransactionId(id)), () -> findEntity(id));
+    }
+
+    /**
+     * Smile de {@code GET /pagamentos/{id}}, convertido da mesma entrada do
+     * {@link PaymentJsonCache}: um estorno aparece nos dois formatos ao mesmo
+     * tempo.
+     */
+    @Override
+    public byte[] findPaymentSmileById(String id) {
+        return paymentJsonCache.getSmile(Long.toString(toTransactionId(id)), () -> findEntity(id));
+    }
+
+    private TransactionEntity findEntity(String id) {
+        long transactionId = toTransactionId(id);
+        return transactionJournal.find(transactionId)
+                .or(() -> replicaReadRouter.read(transactionId,
+                        () -> transactionRepository.findByIdUsingPartitionKey(transactionId)))
                 .orElseThrow(() -> new PaymentNotFoundException(id));
-        return transactionMapper.toPaymentResponse(entity);
     }
     
+    /**
+     * O estorno é um único {@code UPDATE ... WHERE status <> CANCELADO
+     * RETURNING}: sem leitura prévia e sem corrida entre estornos
+     * concorrentes. Só quando nada foi atualizado a transação é lida, para
+     * diferenciar "já cancelada" (resposta idempotente) de inexistente (404).
+     * <p>
+     * O resultado substitui a entrada do {@link PaymentJsonCache} somente
+     * depois que o {@code UPDATE} foi confirmado; se a gravação falhar, o
+     * cache não é tocado. Uma transação ainda no journal é esperada até chegar ao banco,
+     * no máximo por {@code pagamentos.journal.drain-wait-timeout} (depois disso, 503).
+     * Tudo aqui roda no primário; o id estornado entra na janela de
+     * read-your-writes do {@link ReplicaReadRouter}.
+     */
     @Override
     public PagamentoResponseDTO cancelPayment(String id) {
-        TransactionEntity entity = transactionRepository.findById(id)
+        long transactionId = toTransactionId(id);
+        transactionJournal.awaitDrained(transactionId);
+        Optional<TransactionEntity> canceled = transactionRepository.cancelIfNotCanceled(transactionId);
+        canceled.ifPresent(row -> {
+            paymentMetrics.countTransaction(row.getStatus(), row.getPaymentType());
+            replicaReadRouter.recordWrite(transactionId);
+        });
+        TransactionEntity entity = canceled
+                .or(() -> transactionRepository.findByIdUsingPartitionKey(transactionId))
                 .orElseThrow(() -> new PaymentNotFoundException(id));
 
-        if (StatusTransacao.CANCELADO.getCodigo().equals(entity.getStatus())) {
-            return transactionMapper.toPaymentResponse(entity);
+        paymentJsonCache.put(entity);
+        return transactionMapper.toPaymentResponse(entity);
+    }
+
+    /**
+     * O id é {@code BIGINT} no banco. Como na criação, só dígitos são
+     * aceitos, com ou sem zeros à esquerda ({@code "007"} é o pagamento 7);
+     * qualquer outro texto é tratado como pagamento inexistente.
+     */
+    private static long toTransactionId(String id) {
+        int length = id.length();
+        if (length == 0) {
+            throw new PaymentNotFoundException(id);
         }
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new PaymentNotFoundException(id);
+            }
+        }
+        long value;
+        try {
+            value = Long.parseLong(id);
+        } catch (NumberFormatException ex) {
+            throw new PaymentNotFoundException(id);
+        }
+        if (value == 0) {
+            throw new PaymentNotFoundException(id);
+        }
+        return value;
+    }
+
+    private ValidatedPaymentRequest validate(PaymentRequestFields request) {
+        long start = paymentMetrics.start();
+        try {
+            return paymentRequestValidator.validate(request);
+        } finally {
+            paymentMetrics.record(PaymentStage.VALIDATION, start);
+        }
+    }
 
-        entity.setStatus(StatusTransacao.CANCELADO.getCodigo());
-        entity = transactionRepository.save(entity);
+    private LotePagamentoItemResponseDTO batchFailure(int index, HttpStatus status, String message) {
+        return LotePagamentoItemResponseDTO.builder()
+                .indice(index)
+                .status(status.value())
+                .mensagem(message)
+                .build();
+    }
 
-        return transactionMapper.toPaymentResponse(entity);
+    private LotePagamentoItemResponseDTO batchValidationFailure(int index, InvalidPaymentRequestException ex) {
+        List<FieldViolation> violations = ex.getViolations();
+        List<Map<String, String>> fieldErrors = new ArrayList<>(violations.size());
+        violations.forEach(violation -> {
+            Map<String, String> fe = new LinkedHashMap<>();
+            fe.put("field", violation.field());
+            fe.put("message", violation.message());
+            fieldErrors.add(fe);
+        });
+
+        LotePagamentoItemResponseDTO result =
+                batchFailure(index, HttpStatus.BAD_REQUEST, ex.getMessage());
+        result.setFieldErrors(fieldErrors);
+        return result;
     }
-}
\ No newline at end of file
+}
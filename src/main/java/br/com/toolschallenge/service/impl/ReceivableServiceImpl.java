@@ -0,0 +1,68 @@
+package br.com.toolschallenge.service.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import br.com.toolschallenge.dto.RecebiveisResponseDTO;
+import br.com.toolschallenge.dto.RecebivelDiarioDTO;
+import br.com.toolschallenge.exception.InvalidDateRangeException;
+import br.com.toolschallenge.money.Money;
+import br.com.toolschallenge.repository.InstallmentRepository;
+import br.com.toolschallenge.repository.ReceivableTotal;
+import br.com.toolschallenge.service.ReceivableService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Projeção dos recebíveis de um estabelecimento: as parcelas dos planos
+ * gravados em {@code tb_parcela} que vencem no intervalo, somadas por dia pelo
+ * banco. O volume lido não depende do número de transações, só dos dias com
+ * vencimento. O total do período é somado em centavos.
+ * <p>
+ * O intervalo vai até {@value #MAX_RANGE_DAYS} dias, o que cobre um plano de
+ * {@code InstallmentSchedule.MAX_INSTALLMENTS} parcelas mensais; intervalos
+ * maiores são consultados em partes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReceivableServiceImpl implements ReceivableService {
+
+    static final long MAX_RANGE_DAYS = 366;
+
+    private final InstallmentRepository installmentRepository;
+
+    @Override
+    public RecebiveisResponseDTO projectReceivables(String estabelecimento, LocalDate inicio, LocalDate fim) {
+        if (fim.isBefore(inicio)) {
+            throw new InvalidDateRangeException();
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) >= MAX_RANGE_DAYS) {
+            throw new InvalidDateRangeException("The range from inicio to fim must be at most "
+                    + MAX_RANGE_DAYS + " days");
+        }
+        List<ReceivableTotal> rows = installmentRepository.projectReceivables(estabelecimento, inicio, fim);
+        List<RecebivelDiarioDTO> recebiveis = new ArrayList<>(rows.size());
+        long quantidade = 0;
+        long valorCents = 0;
+        for (ReceivableTotal row : rows) {
+            recebiveis.add(RecebivelDiarioDTO.builder()
+                    .vencimento(row.dueDate())
+                    .quantidade(row.count())
+                    .valor(Money.toBigDecimal(row.amountCents()))
+                    .build());
+            quantidade += row.count();
+            valorCents += row.amountCents();
+        }
+        return RecebiveisResponseDTO.builder()
+                .estabelecimento(estabelecimento)
+                .inicio(inicio)
+                .fim(fim)
+                .quantidade(quantidade)
+                .valor(Money.toBigDecimal(valorCents))
+                .recebiveis(recebiveis)
+                .build();
+    }
+}
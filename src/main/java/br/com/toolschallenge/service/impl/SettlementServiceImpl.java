@@ -0,0 +1,153 @@
+package br.com.toolschallenge.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.toolschallenge.dto.LiquidacaoDiariaResponseDTO;
+import br.com.toolschallenge.dto.RecalculoLiquidacaoResponseDTO;
+import br.com.toolschallenge.dto.TotalLiquidacaoDTO;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.exception.SettlementRebuildInProgressException;
+import br.com.toolschallenge.money.Money;
+import br.com.toolschallenge.repository.SettlementChunk;
+import br.com.toolschallenge.repository.SettlementRepository;
+import br.com.toolschallenge.repository.SettlementTotal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Totais diários por estabelecimento e tipo de pagamento. A tabela
+ * {@code tb_liquidacao_diaria} é atualizada pelo trigger de
+ * {@code tb_transacao} na mesma transação da autorização e do estorno, então
+ * a consulta não varre transações.
+ * <p>
+ * O recálculo refaz a tabela a partir de {@code tb_transacao}, uma partição
+ * por vez em cada worker ({@code pagamentos.settlement.rebuild-parallelism}
+ * em paralelo, cada um com sua conexão). Roda sob demanda e, se
+ * {@code pagamentos.settlement.rebuild-cron} for informado, agendado.
+ */
+@Slf4j
+@Service
+public class SettlementServiceImpl implements SettlementService {
+
+    private final SettlementRepository settlementRepository;
+    private final Executor executor;
+    private final int parallelism;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public SettlementServiceImpl(
+            SettlementRepository settlementRepository,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            @Value("${pagamentos.settlement.rebuild-parallelism:4}") int parallelism) {
+        this.settlementRepository = settlementRepository;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public LiquidacaoDiariaResponseDTO findDailyTotals(String estabelecimento, LocalDate data) {
+        List<SettlementTotal> rows = settlementRepository.findDailyTotals(estabelecimento, data);
+        TipoFormaPagamento[] tipos = TipoFormaPagamento.values();
+        List<TotalLiquidacaoDTO> totais = new ArrayList<>(tipos.length);
+        for (TipoFormaPagamento tipo : tipos) {
+            SettlementTotal row = findByPaymentType(rows, tipo.getCodigo());
+            totais.add(TotalLiquidacaoDTO.builder()
+                    .tipo(tipo)
+                    .quantidade(row == null ? 0 : row.count())
+                    .valor(Money.toBigDecimal(row == null ? 0 : row.amountCents()))
+                    .build());
+        }
+        return LiquidacaoDiariaResponseDTO.builder()
+                .estabelecimento(estabelecimento)
+                .data(data)
+                .totais(totais)
+                .build();
+    }
+
+    /**
+     * Cada partição é recalculada na sua própria transação; se uma falhar, os
+     * outros workers seguem com as partições restantes e a falha é relançada
+     * no fim.
+     */
+    @Override
+    public RecalculoLiquidacaoResponseDTO rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new SettlementRebuildInProgressException();
+        }
+        try {
+            long started = System.nanoTime();
+            List<SettlementChunk> chunks = settlementRepository.listChunks();
+            Queue<SettlementChunk> pending = new ConcurrentLinkedQueue<>(chunks);
+            LongAdder rows = new LongAdder();
+
+            int workers = Math.min(parallelism, chunks.size());
+            List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(() -> rebuildPending(pending, rows), executor));
+            }
+            await(futures);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("Rebuilt settlement totals from {} partitions ({} rows) in {} ms",
+                    chunks.size(), rows.sum(), elapsedMs);
+            return RecalculoLiquidacaoResponseDTO.builder()
+                    .particoes(chunks.size())
+                    .linhas(rows.sum())
+                    .duracaoMs(elapsedMs)
+                    .build();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Scheduled(cron = "${pagamentos.settlement.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Scheduled settlement totals rebuild failed", ex);
+        }
+    }
+
+    private void rebuildPending(Queue<SettlementChunk> pending, LongAdder rows) {
+        SettlementChunk chunk;
+        while ((chunk = pending.poll()) != null) {
+            int written = settlementRepository.rebuildChunk(chunk);
+            rows.add(written);
+            log.debug("Rebuilt settlement totals of partition {} ({} rows)", chunk.partition(), written);
+        }
+    }
+
+    private static void await(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static SettlementTotal findByPaymentType(List<SettlementTotal> rows, int code) {
+        for (SettlementTotal row : rows) {
+            if (row.paymentType() == code) {
+                return row;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.toolschallenge.validation;
+
+/**
+ * Campo inválido do corpo, no caminho usado pelo Bean Validation
+ * ({@code transacao.descricao.valor}), com a mensagem da constraint.
+ */
+public record FieldViolation(String field, String message) {
+}
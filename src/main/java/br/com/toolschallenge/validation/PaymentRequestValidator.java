@@ -0,0 +1,19 @@
+package br.com.toolschallenge.validation;
+
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
+
+/**
+ * Validação do corpo de {@code POST /pagamentos} (e de cada item do lote),
+ * com as mesmas regras e mensagens das anotações de
+ * {@code PagamentoRequestDTO} e dos DTOs aninhados.
+ */
+public interface PaymentRequestValidator {
+
+    /**
+     * Valida e converte o pedido numa única passada; lança
+     * {@link InvalidPaymentRequestException} com todas as violações
+     * encontradas.
+     */
+    ValidatedPaymentRequest validate(PaymentRequestFields request);
+}
@@ -0,0 +1,23 @@
+package br.com.toolschallenge.validation;
+
+import java.time.LocalDateTime;
+
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+
+/**
+ * Pedido de pagamento já validado, com id e parcelas convertidos e o valor em
+ * centavos: o mapper usa os valores como estão, sem reler nem converter texto.
+ * Os zeros à esquerda de id e parcelas são guardados à parte para que a
+ * resposta repita o texto recebido ({@code "007"}).
+ */
+public record ValidatedPaymentRequest(
+        long id,
+        String cardNumber,
+        long amountCents,
+        LocalDateTime dateTime,
+        String establishment,
+        TipoFormaPagamento paymentType,
+        short installments,
+        short idLeadingZeros,
+        short installmentsLeadingZeros) {
+}
@@ -0,0 +1,274 @@
+package br.com.toolschallenge.validation.impl;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import br.com.toolschallenge.codec.DataHoraCodec;
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
+import br.com.toolschallenge.installment.InstallmentSchedule;
+import br.com.toolschallenge.money.Money;
+import br.com.toolschallenge.validation.FieldViolation;
+import br.com.toolschallenge.validation.PaymentRequestValidator;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+
+/**
+ * As constraints de {@code PagamentoRequestDTO}, {@code TransacaoRequestDTO},
+ * {@code DescricaoRequestDTO} e {@code FormaPagamentoDTO} escritas como
+ * código: uma passada pelos campos do {@link PaymentRequestFields}, sem
+ * reflexão, sem regex e sem reconverter id e parcelas depois.
+ * <p>
+ * Cada campo produz as mesmas violações (caminho e mensagem) que o Hibernate
+ * Validator produziria para o DTO, inclusive quando mais de uma constraint
+ * falha no mesmo campo ({@code @Pattern}, {@code @Min} e {@code @Max} em
+ * texto numérico). Objeto aninhado ausente gera só a violação do próprio
+ * objeto, como o {@code @NotNull} sem cascata. As mensagens padrão
+ * ({@code @Min}, {@code @Max}, {@code @DecimalMin}) são as do bundle em
+ * inglês, independente do {@code Accept-Language}.
+ * <p>
+ * O caminho comum (texto só com dígitos, valor já em centavos) não aloca
+ * nada além do resultado; {@code BigDecimal}s só são criados para reproduzir
+ * as mensagens de {@code @Min}/{@code @Max} em texto que já falhou no
+ * {@code @Pattern}.
+ */
+@Component
+public class SinglePassPaymentRequestValidator implements PaymentRequestValidator {
+
+    static final String TRANSACAO = "transacao";
+    static final String CARTAO = "transacao.cartao";
+    static final String ID = "transacao.id";
+    static final String DESCRICAO = "transacao.descricao";
+    static final String VALOR = "transacao.descricao.valor";
+    static final String DATA_HORA = "transacao.descricao.dataHora";
+    static final String ESTABELECIMENTO = "transacao.descricao.estabelecimento";
+    static final String FORMA_PAGAMENTO = "transacao.formaPagamento";
+    static final String TIPO = "transacao.formaPagamento.tipo";
+    static final String PARCELAS = "transacao.formaPagamento.parcelas";
+
+    private static final String TRANSACAO_REQUIRED = "Transaction is required";
+    private static final String CARTAO_REQUIRED = "Card number is required";
+    private static final String ID_REQUIRED = "Id is required";
+    private static final String ID_PATTERN = "id must contain only numeric digits";
+    private static final String DESCRICAO_REQUIRED = "Description is required";
+    private static final String VALOR_REQUIRED = "Amount is required";
+    private static final String VALOR_DIGITS = "Amount must have at most 10 digits with 2 decimal places";
+    private static final String DATA_HORA_REQUIRED = "Date is required";
+    private static final String DATA_HORA_FORMAT = DataHoraCodec.INVALID_FORMAT_MESSAGE;
+    private static final String ESTABELECIMENTO_REQUIRED = "Establishment name is required";
+    private static final String ESTABELECIMENTO_SIZE = "Establishment name must be at most 100 characters long";
+    private static final String FORMA_PAGAMENTO_REQUIRED = "payment type is required";
+    private static final String TIPO_REQUIRED = "Type is required";
+    private static final String PARCELAS_REQUIRED = "Installments is required";
+    // Mesmo texto do @Pattern de FormaPagamentoDTO.parcelas, que faz parte do contrato.
+    private static final String PARCELAS_PATTERN = "id must contain only numeric digits";
+
+    private static final String MIN_ONE = "must be greater than or equal to 1";
+    private static final String MAX_PREFIX = "must be less than or equal to ";
+    private static final String VALOR_MIN = "must be greater than or equal to 0.01";
+
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+    private static final long MIN_AMOUNT_CENTS = 1;
+    private static final int AMOUNT_INTEGER_DIGITS = 8;
+    private static final int AMOUNT_FRACTION_DIGITS = 2;
+    private static final int ESTABELECIMENTO_MAX_LENGTH = 100;
+
+    @Override
+    public ValidatedPaymentRequest validate(PaymentRequestFields request) {
+        List<FieldViolation> violations = new ArrayList<>(0);
+        if (!request.isTransacaoPresent()) {
+            violations.add(new FieldViolation(TRANSACAO, TRANSACAO_REQUIRED));
+            throw new InvalidPaymentRequestException(violations);
+        }
+
+        requireNotBlank(request.getCartao(), CARTAO, CARTAO_REQUIRED, violations);
+        long id = parsePositive(request.getId(), Long.MAX_VALUE, ID, ID_REQUIRED, ID_PATTERN, violations);
+
+        LocalDateTime dataHora = null;
+        if (request.isDescricaoPresent()) {
+            checkAmount(request, violations);
+            dataHora = parseDataHora(request.getDataHora(), violations);
+            String estabelecimento = request.getEstabelecimento();
+            requireNotBlank(estabelecimento, ESTABELECIMENTO, ESTABELECIMENTO_REQUIRED, violations);
+            if (estabelecimento != null && estabelecimento.length() > ESTABELECIMENTO_MAX_LENGTH) {
+                violations.add(new FieldViolation(ESTABELECIMENTO, ESTABELECIMENTO_SIZE));
+            }
+        } else {
+            violations.add(new FieldViolation(DESCRICAO, DESCRICAO_REQUIRED));
+        }
+
+        long parcelas = -1;
+        if (request.isFormaPagamentoPresent()) {
+            if (request.getTipo() == null) {
+                violations.add(new FieldViolation(TIPO, TIPO_REQUIRED));
+            }
+            parcelas = parsePositive(request.getParcelas(), InstallmentSchedule.MAX_INSTALLMENTS,
+                    PARCELAS, PARCELAS_REQUIRED, PARCELAS_PATTERN, violations);
+        } else {
+            violations.add(new FieldViolation(FORMA_PAGAMENTO, FORMA_PAGAMENTO_REQUIRED));
+        }
+
+        if (!violations.isEmpty()) {
+            throw new InvalidPaymentRequestException(violations);
+        }
+        return new ValidatedPaymentRequest(
+                id,
+                request.getCartao(),
+                request.getValorCents(),
+                dataHora,
+                request.getEstabelecimento(),
+                request.getTipo(),
+                (short) parcelas,
+                leadingZeros(request.getId()),
+                leadingZeros(request.getParcelas()));
+    }
+
+    /**
+     * {@code @NotNull @DecimalMin("0.01") @Digits(integer = 8, fraction = 2)}.
+     * Em centavos o {@code @Digits} já está garantido e só o mínimo pode
+     * falhar; o {@code BigDecimal} só é examinado quando não coube neles.
+     */
+    private static void checkAmount(PaymentRequestFields request, List<FieldViolation> violations) {
+        if (request.getValorCents() != Money.NONE) {
+            if (request.getValorCents() < MIN_AMOUNT_CENTS) {
+                violations.add(new FieldViolation(VALOR, VALOR_MIN));
+            }
+            return;
+        }
+        BigDecimal valor = request.getValorInvalido();
+        if (valor == null) {
+            violations.add(new FieldViolation(VALOR, VALOR_REQUIRED));
+            return;
+        }
+        if (valor.compareTo(MIN_AMOUNT) < 0) {
+            violations.add(new FieldViolation(VALOR, VALOR_MIN));
+        }
+        // Como no Hibernate Validator para BigDecimal: a escala conta como está,
+        // então 10.500 tem três casas decimais mesmo com os zeros à direita.
+        int integerDigits = valor.precision() - valor.scale();
+        int fractionDigits = Math.max(0, valor.scale());
+        if (integerDigits > AMOUNT_INTEGER_DIGITS || fractionDigits > AMOUNT_FRACTION_DIGITS) {
+            violations.add(new FieldViolation(VALOR, VALOR_DIGITS));
+        }
+    }
+
+    /**
+     * {@code @NotNull} mais o formato do {@link DataHoraCodec}; devolve
+     * {@code null} se alguma das duas falhar.
+     */
+    private static LocalDateTime parseDataHora(String text, List<FieldViolation> violations) {
+        if (text == null) {
+            violations.add(new FieldViolation(DATA_HORA, DATA_HORA_REQUIRED));
+            return null;
+        }
+        try {
+            return DataHoraCodec.parse(text);
+        } catch (DateTimeException ex) {
+            violations.add(new FieldViolation(DATA_HORA, DATA_HORA_FORMAT));
+            return null;
+        }
+    }
+
+    /** {@code @NotBlank}: nulo ou só com caracteres até o espaço. */
+    private static void requireNotBlank(String value, String field, String message,
+            List<FieldViolation> violations) {
+        if (isBlank(value)) {
+            violations.add(new FieldViolation(field, message));
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code @NotBlank @Pattern("\\d+") @Min(1) @Max(max)} sobre texto;
+     * devolve o número ou {@code -1} se alguma constraint falhar. Zeros à
+     * esquerda são aceitos, como sempre foram: {@code "007"} vale 7, e
+     * {@link #leadingZeros} os conta para a resposta.
+     */
+    private static long parsePositive(String text, long max, String field, String requiredMessage,
+            String patternMessage, List<FieldViolation> violations) {
+        if (text == null) {
+            violations.add(new FieldViolation(field, requiredMessage));
+            return -1;
+        }
+        if (isBlank(text)) {
+            violations.add(new FieldViolation(field, requiredMessage));
+        }
+        if (isDigits(text)) {
+            long value = 0;
+            for (int i = 0; i < text.length(); i++) {
+                int digit = text.charAt(i) - '0';
+                if (value > (max - digit) / 10) {
+                    violations.add(new FieldViolation(field, MAX_PREFIX + max));
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            if (value == 0) {
+                violations.add(new FieldViolation(field, MIN_ONE));
+                return -1;
+            }
+            return value;
+        }
+        violations.add(new FieldViolation(field, patternMessage));
+        checkRangeOfInvalidText(text, max, field, violations);
+        return -1;
+    }
+
+    /** Zeros à esquerda de um texto já validado ({@code "007"} tem 2). */
+    private static short leadingZeros(String text) {
+        int zeros = 0;
+        while (zeros < text.length() - 1 && text.charAt(zeros) == '0') {
+            zeros++;
+        }
+        return (short) Math.min(zeros, Short.MAX_VALUE);
+    }
+
+    private static boolean isDigits(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code @Min}/{@code @Max} do Hibernate Validator em texto: comparação
+     * como {@code BigDecimal}, e texto que não é número falha nas duas.
+     */
+    private static void checkRangeOfInvalidText(String text, long max, String field,
+            List<FieldViolation> violations) {
+        BigDecimal value;
+        try {
+            value = new BigDecimal(text);
+        } catch (NumberFormatException ex) {
+            value = null;
+        }
+        if (value == null || value.compareTo(BigDecimal.ONE) < 0) {
+            violations.add(new FieldViolation(field, MIN_ONE));
+        }
+        if (value == null || value.compareTo(BigDecimal.valueOf(max)) > 0) {
+            violations.add(new FieldViolation(field, MAX_PREFIX + max));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criação de índices em {@code tb_transacao} sem bloquear as gravações.
+ * <p>
+ * {@code CREATE INDEX CONCURRENTLY} não é aceito em tabela particionada e não
+ * roda dentro de um bloco {@code DO}, por isso as migrações que usam esta
+ * classe são em Java: o índice é criado só no pai ({@code ON ONLY}, inválido
+ * até ter todas as partições), o de cada partição é construído com
+ * {@code CONCURRENTLY} e anexado. Partições criadas depois pelo
+ * {@code TransactionPartitionMaintenance} herdam os índices do pai. Todos os
+ * passos são idempotentes.
+ */
+final class PartitionedIndexes {
+
+    private static final String PARENT_TABLE = "tb_transacao";
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'tb_transacao'::regclass
+            """;
+
+    private PartitionedIndexes() {
+    }
+
+    /**
+     * Cria {@code idx_tb_transacao_<sufixo>} no pai e
+     * {@code idx_<partição>_<sufixo>} em cada partição existente.
+     */
+    static void create(Connection connection, List<Index> indexes) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            List<String> partitions = partitions(statement);
+            for (Index index : indexes) {
+                String parentIndex = PARENT_TABLE + "_" + index.suffix();
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_" + parentIndex
+                        + " ON ONLY " + PARENT_TABLE + " " + index.definition());
+                for (String partition : partitions) {
+                    String partitionIndex = "idx_" + partition + "_" + index.suffix();
+                    statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partitionIndex
+                            + " ON " + partition + " " + index.definition());
+                    statement.execute("ALTER INDEX idx_" + parentIndex + " ATTACH PARTITION " + partitionIndex);
+                }
+            }
+        }
+    }
+
+    private static List<String> partitions(Statement statement) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery(PARTITIONS_SQL)) {
+            while (rs.next()) {
+                partitions.add(rs.getString(1));
+            }
+        }
+        return partitions;
+    }
+
+    record Index(String suffix, String definition) {
+    }
+}
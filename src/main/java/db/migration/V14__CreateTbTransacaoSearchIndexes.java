@@ -0,0 +1,38 @@
+package db.migration;
+
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import db.migration.PartitionedIndexes.Index;
+
+/**
+ * Índices da busca filtrada ({@code GET /pagamentos/busca}), criados sem
+ * bloquear as gravações (ver {@link PartitionedIndexes}).
+ */
+public class V14__CreateTbTransacaoSearchIndexes extends BaseJavaMigration {
+
+    private static final String CANCELED = "3";
+
+    private static final List<Index> INDEXES = List.of(
+            // estabelecimento, com ou sem intervalo de datas, já na ordem da paginação
+            new Index("merchant_date_time_id", "(merchant, transaction_date_time, id)"),
+            // estabelecimento + status ativo: só as linhas não canceladas
+            new Index("active_merchant_date_time_id",
+                    "(merchant, transaction_date_time, id) WHERE status <> " + CANCELED),
+            // status ativo sem estabelecimento, na ordem da paginação
+            new Index("active_date_time_id",
+                    "(transaction_date_time, id) WHERE status <> " + CANCELED),
+            new Index("nsu", "(nsu)"));
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        PartitionedIndexes.create(context.getConnection(), INDEXES);
+    }
+}
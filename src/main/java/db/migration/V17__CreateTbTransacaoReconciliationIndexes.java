@@ -0,0 +1,35 @@
+package db.migration;
+
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import db.migration.PartitionedIndexes.Index;
+
+/**
+ * Índices das buscas de conciliação que a V14 não cobria: cancelamentos e
+ * forma de pagamento sem estabelecimento. Criados sem bloquear as gravações
+ * (ver {@link PartitionedIndexes}).
+ */
+public class V17__CreateTbTransacaoReconciliationIndexes extends BaseJavaMigration {
+
+    private static final String CANCELED = "3";
+
+    private static final List<Index> INDEXES = List.of(
+            // só os cancelamentos, na ordem da paginação: uma fração pequena da tabela
+            new Index("canceled_date_time_id",
+                    "(transaction_date_time, id) WHERE status = " + CANCELED),
+            // forma de pagamento, com ou sem intervalo de datas, na ordem da paginação
+            new Index("payment_type_date_time_id", "(payment_type, transaction_date_time, id)"));
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        PartitionedIndexes.create(context.getConnection(), INDEXES);
+    }
+}
@@ -0,0 +1,29 @@
+-- Step 1/4 of the compact tb_transacao layout.
+-- Card vault: tb_transacao keeps only the BIGINT token of the card, the card
+-- number itself is stored once here.
+CREATE TABLE IF NOT EXISTS tb_cartao (
+    token       BIGINT      GENERATED ALWAYS AS IDENTITY,
+    card_number VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_tb_cartao PRIMARY KEY (token),
+    CONSTRAINT uq_tb_cartao_card_number UNIQUE (card_number)
+);
+
+-- Returns the token of a card number, creating it on first use. The last
+-- SELECT runs with a fresh snapshot, so it sees a token committed by a
+-- concurrent caller that won the ON CONFLICT race.
+CREATE OR REPLACE FUNCTION tb_cartao_tokenize(number VARCHAR) RETURNS BIGINT AS $$
+DECLARE
+    result BIGINT;
+BEGIN
+    SELECT token INTO result FROM tb_cartao WHERE card_number = number;
+    IF result IS NULL THEN
+        INSERT INTO tb_cartao (card_number) VALUES (number)
+        ON CONFLICT (card_number) DO NOTHING
+        RETURNING token INTO result;
+    END IF;
+    IF result IS NULL THEN
+        SELECT token INTO result FROM tb_cartao WHERE card_number = number;
+    END IF;
+    RETURN result;
+END;
+$$ LANGUAGE plpgsql;
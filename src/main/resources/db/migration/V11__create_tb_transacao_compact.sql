@@ -0,0 +1,82 @@
+-- Step 2/4: compact copies of tb_transacao and tb_transacao_id, filled by a
+-- trigger from now on and by V12 for the existing rows.
+-- Fixed-width columns come first, widest to narrowest, so no alignment
+-- padding is needed between them; variable-width columns go last.
+CREATE TABLE tb_transacao_id_compact (
+    id                    BIGINT    NOT NULL,
+    transaction_date_time TIMESTAMP NOT NULL,
+    CONSTRAINT pk_tb_transacao_id_compact PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_transacao_compact (
+    id                    BIGINT        NOT NULL,
+    card_token            BIGINT        NOT NULL,
+    nsu                   BIGINT,
+    transaction_date_time TIMESTAMP     NOT NULL,
+    status                SMALLINT,
+    payment_type          SMALLINT,
+    installments          SMALLINT      NOT NULL,
+    authorization_code    CHAR(9),
+    amount                NUMERIC(10,2) NOT NULL,
+    merchant              VARCHAR(100)  NOT NULL,
+    CONSTRAINT uq_tb_transacao_compact_id_date_time UNIQUE (id, transaction_date_time)
+) PARTITION BY RANGE (transaction_date_time);
+
+CREATE INDEX idx_tb_transacao_compact_date_time_id ON tb_transacao_compact (transaction_date_time, id);
+
+-- Same partitions as tb_transacao: tb_transacao_<suffix> -> tb_transacao_compact_<suffix>
+DO $$
+DECLARE
+    part RECORD;
+BEGIN
+    FOR part IN
+        SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'tb_transacao'::regclass
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF tb_transacao_compact %s',
+            'tb_transacao_compact_' || substr(part.relname, length('tb_transacao_') + 1), part.bound);
+    END LOOP;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION tb_transacao_sync_compact() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM tb_transacao_compact
+        WHERE id = OLD.id::BIGINT AND transaction_date_time = OLD.transaction_date_time;
+        RETURN NULL;
+    END IF;
+
+    -- A new id can only conflict here with another spelling of the same
+    -- number ('7' and '007'), which the compact layout cannot tell apart.
+    INSERT INTO tb_transacao_id_compact (id, transaction_date_time)
+    VALUES (NEW.id::BIGINT, NEW.transaction_date_time)
+    ON CONFLICT (id) DO NOTHING;
+    IF TG_OP = 'INSERT' AND NOT FOUND THEN
+        RAISE EXCEPTION 'id % collides with an existing id once leading zeros are dropped', NEW.id
+            USING ERRCODE = 'unique_violation';
+    END IF;
+
+    INSERT INTO tb_transacao_compact (id, card_token, nsu, transaction_date_time, status, payment_type,
+                                      installments, authorization_code, amount, merchant)
+    VALUES (NEW.id::BIGINT, tb_cartao_tokenize(NEW.card_number), NEW.nsu::BIGINT,
+            NEW.transaction_date_time, NEW.status, NEW.payment_type, NEW.installments::SMALLINT,
+            NEW.authorization_code, NEW.amount, NEW.merchant)
+    ON CONFLICT (id, transaction_date_time) DO UPDATE SET
+        card_token         = EXCLUDED.card_token,
+        nsu                = EXCLUDED.nsu,
+        status             = EXCLUDED.status,
+        payment_type       = EXCLUDED.payment_type,
+        installments       = EXCLUDED.installments,
+        authorization_code = EXCLUDED.authorization_code,
+        amount             = EXCLUDED.amount,
+        merchant           = EXCLUDED.merchant;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tb_transacao_sync_compact
+    AFTER INSERT OR UPDATE OR DELETE ON tb_transacao
+    FOR EACH ROW EXECUTE FUNCTION tb_transacao_sync_compact();
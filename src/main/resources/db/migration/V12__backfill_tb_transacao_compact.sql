@@ -0,0 +1,75 @@
+-- Step 3/4: copy the existing rows in keyset batches, committing after each
+-- one (see the .conf next to this file), so no long transaction holds locks
+-- or bloats the table. Rows changed meanwhile were already copied by the
+-- trigger and are left alone (ON CONFLICT DO NOTHING).
+-- Ids and installments were always accepted with leading zeros; the cast
+-- keeps the numeric value ('007' becomes 7). Two ids that only differ in
+-- leading zeros would become the same BIGINT, so the precheck refuses them
+-- too and they must be resolved by hand before migrating.
+DO $$
+DECLARE
+    invalid   BIGINT;
+    colliding BIGINT;
+BEGIN
+    SELECT count(*) INTO invalid
+    FROM tb_transacao
+    WHERE CASE WHEN id ~ '^[0-9]+$' THEN id::NUMERIC NOT BETWEEN 1 AND 9223372036854775807 ELSE TRUE END
+       OR nsu !~ '^[0-9]{1,18}$'
+       OR CASE WHEN installments ~ '^[0-9]+$' THEN installments::NUMERIC > 32767 ELSE TRUE END
+       OR length(authorization_code) > 9
+       OR abs(status) > 32767
+       OR abs(payment_type) > 32767;
+
+    IF invalid > 0 THEN
+        RAISE EXCEPTION '% row(s) in tb_transacao cannot be converted to the compact layout', invalid;
+    END IF;
+
+    SELECT count(*) INTO colliding
+    FROM (
+        SELECT id::NUMERIC
+        FROM tb_transacao_id
+        GROUP BY id::NUMERIC
+        HAVING count(*) > 1
+    ) collisions;
+
+    IF colliding > 0 THEN
+        RAISE EXCEPTION '% id(s) in tb_transacao_id are written more than once with different leading zeros',
+            colliding;
+    END IF;
+END;
+$$;
+
+DO $$
+DECLARE
+    last_date_time TIMESTAMP := '-infinity';
+    last_id        VARCHAR(20) := '';
+BEGIN
+    LOOP
+        WITH batch AS (
+            SELECT *
+            FROM tb_transacao
+            WHERE (transaction_date_time, id) > (last_date_time, last_id)
+            ORDER BY transaction_date_time, id
+            LIMIT 5000
+        ), registered AS (
+            INSERT INTO tb_transacao_id_compact (id, transaction_date_time)
+            SELECT id::BIGINT, transaction_date_time FROM batch
+            ON CONFLICT (id) DO NOTHING
+        ), copied AS (
+            INSERT INTO tb_transacao_compact (id, card_token, nsu, transaction_date_time, status,
+                                              payment_type, installments, authorization_code, amount, merchant)
+            SELECT id::BIGINT, tb_cartao_tokenize(card_number), nsu::BIGINT, transaction_date_time, status,
+                   payment_type, installments::SMALLINT, authorization_code, amount, merchant
+            FROM batch
+            ON CONFLICT (id, transaction_date_time) DO NOTHING
+        )
+        SELECT transaction_date_time, id INTO last_date_time, last_id
+        FROM batch
+        ORDER BY transaction_date_time DESC, id DESC
+        LIMIT 1;
+
+        EXIT WHEN NOT FOUND;
+        COMMIT;
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,50 @@
+-- Step 4/4: swap the compact tables in. Catalog-only renames under a short
+-- exclusive lock; the trigger kept both layouts identical up to here.
+-- The VARCHAR tables stay as tb_transacao_varchar / tb_transacao_id_varchar
+-- (detached from the application) and can be dropped once the switch is
+-- validated.
+DO $$
+DECLARE
+    part RECORD;
+BEGIN
+    LOCK TABLE tb_transacao, tb_transacao_id, tb_transacao_compact, tb_transacao_id_compact
+        IN ACCESS EXCLUSIVE MODE;
+
+    DROP TRIGGER trg_tb_transacao_sync_compact ON tb_transacao;
+    DROP FUNCTION tb_transacao_sync_compact();
+
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'tb_transacao'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', part.relname,
+            'tb_transacao_varchar_' || substr(part.relname, length('tb_transacao_') + 1));
+    END LOOP;
+    ALTER TABLE tb_transacao RENAME TO tb_transacao_varchar;
+    ALTER TABLE tb_transacao_varchar
+        RENAME CONSTRAINT uq_tb_transacao_id_date_time TO uq_tb_transacao_varchar_id_date_time;
+    ALTER INDEX idx_tb_transacao_date_time_id RENAME TO idx_tb_transacao_varchar_date_time_id;
+
+    ALTER TABLE tb_transacao_id RENAME TO tb_transacao_id_varchar;
+    ALTER TABLE tb_transacao_id_varchar RENAME CONSTRAINT pk_tb_transacao_id TO pk_tb_transacao_id_varchar;
+
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'tb_transacao_compact'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', part.relname,
+            'tb_transacao_' || substr(part.relname, length('tb_transacao_compact_') + 1));
+    END LOOP;
+    ALTER TABLE tb_transacao_compact RENAME TO tb_transacao;
+    ALTER TABLE tb_transacao
+        RENAME CONSTRAINT uq_tb_transacao_compact_id_date_time TO uq_tb_transacao_id_date_time;
+    ALTER INDEX idx_tb_transacao_compact_date_time_id RENAME TO idx_tb_transacao_date_time_id;
+
+    ALTER TABLE tb_transacao_id_compact RENAME TO tb_transacao_id;
+    ALTER TABLE tb_transacao_id RENAME CONSTRAINT pk_tb_transacao_id_compact TO pk_tb_transacao_id;
+END;
+$$;
@@ -0,0 +1,64 @@
+-- Daily settlement totals per merchant and payment type, kept up to date by a
+-- trigger on tb_transacao in the same transaction as the insert (authorization)
+-- or the status update (cancellation). Only AUTORIZADO rows (status 1) count.
+--
+-- Each (merchant, day, payment type) is split into 16 slots by id % 16, so
+-- concurrent authorizations of a busy merchant update different rows instead
+-- of queuing on one row lock; readers sum at most 3 x 16 rows.
+CREATE TABLE tb_liquidacao_diaria (
+    merchant          VARCHAR(100)  NOT NULL,
+    settlement_date   DATE          NOT NULL,
+    payment_type      SMALLINT      NOT NULL,
+    slot              SMALLINT      NOT NULL,
+    transaction_count BIGINT        NOT NULL,
+    amount            NUMERIC(18,2) NOT NULL,
+    CONSTRAINT pk_tb_liquidacao_diaria PRIMARY KEY (merchant, settlement_date, payment_type, slot)
+);
+
+CREATE OR REPLACE FUNCTION tb_liquidacao_diaria_apply() RETURNS trigger AS $$
+DECLARE
+    delta INTEGER := 0;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.status = 1 THEN
+            delta := 1;
+        END IF;
+    ELSIF OLD.status IS DISTINCT FROM NEW.status THEN
+        IF OLD.status = 1 THEN
+            delta := -1;
+        ELSIF NEW.status = 1 THEN
+            delta := 1;
+        END IF;
+    END IF;
+
+    IF delta = 0 OR NEW.payment_type IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO tb_liquidacao_diaria AS s
+        (merchant, settlement_date, payment_type, slot, transaction_count, amount)
+    VALUES (NEW.merchant, NEW.transaction_date_time::DATE, NEW.payment_type, (NEW.id % 16)::SMALLINT,
+            delta, delta * NEW.amount)
+    ON CONFLICT (merchant, settlement_date, payment_type, slot) DO UPDATE SET
+        transaction_count = s.transaction_count + EXCLUDED.transaction_count,
+        amount            = s.amount + EXCLUDED.amount;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Writers wait while the trigger is created and the existing rows are summed,
+-- so no authorization is missed or counted twice.
+LOCK TABLE tb_transacao IN SHARE ROW EXCLUSIVE MODE;
+
+-- Row triggers on a partitioned table are cloned to every partition,
+-- including the ones TransactionPartitionMaintenance creates later.
+CREATE TRIGGER trg_tb_transacao_liquidacao_diaria
+    AFTER INSERT OR UPDATE OF status ON tb_transacao
+    FOR EACH ROW EXECUTE FUNCTION tb_liquidacao_diaria_apply();
+
+INSERT INTO tb_liquidacao_diaria (merchant, settlement_date, payment_type, slot, transaction_count, amount)
+SELECT merchant, transaction_date_time::DATE, payment_type, (id % 16)::SMALLINT, count(*), sum(amount)
+FROM tb_transacao
+WHERE status = 1
+  AND payment_type IS NOT NULL
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,44 @@
+-- Installment plan of each authorization: one row per installment with its due
+-- date and amount. New plans are written by the application (InstallmentSchedule)
+-- in the same transaction as the insert into tb_transacao; a cancellation flags
+-- the rows of the plan instead of deleting them.
+--
+-- merchant is repeated here so the receivables projection (merchant and due date
+-- range) reads only this index, never tb_transacao.
+CREATE TABLE tb_parcela (
+    transaction_id     BIGINT        NOT NULL,
+    installment_number SMALLINT      NOT NULL,
+    due_date           DATE          NOT NULL,
+    amount             NUMERIC(10,2) NOT NULL,
+    merchant           VARCHAR(100)  NOT NULL,
+    canceled           BOOLEAN       NOT NULL DEFAULT FALSE,
+    CONSTRAINT pk_tb_parcela PRIMARY KEY (transaction_id, installment_number)
+);
+
+CREATE INDEX idx_tb_parcela_merchant_due_date
+    ON tb_parcela (merchant, due_date) INCLUDE (amount)
+    WHERE NOT canceled;
+
+-- Writers wait while the existing plans are created (as in V15), so an
+-- authorization or cancellation committed during the backfill is either in it or
+-- waits for it. Instances of the previous release never write tb_parcela, so they
+-- must be stopped before this migration runs: no rolling deploy across V16.
+LOCK TABLE tb_transacao IN SHARE ROW EXCLUSIVE MODE;
+
+-- Plans of the existing transactions, with the same rules as InstallmentSchedule:
+-- total / n cents per installment, the remainder spread one cent at a time from
+-- the first installment, installment k due k months after the transaction date
+-- (PostgreSQL, like LocalDate.plusMonths, clamps the day to the end of the month).
+INSERT INTO tb_parcela (transaction_id, installment_number, due_date, amount, merchant, canceled)
+SELECT t.id,
+       g.n::SMALLINT,
+       (t.transaction_date_time::DATE + make_interval(months => g.n))::DATE,
+       (p.cents / p.installments + CASE WHEN g.n <= p.cents % p.installments THEN 1 ELSE 0 END) / 100.0,
+       t.merchant,
+       t.status = 3
+FROM tb_transacao t
+CROSS JOIN LATERAL (
+    SELECT (t.amount * 100)::BIGINT AS cents, greatest(t.installments, 1)::INTEGER AS installments
+) p
+CROSS JOIN LATERAL generate_series(1, p.installments) AS g(n)
+WHERE t.status IN (1, 3);
@@ -0,0 +1,24 @@
+-- Leading zeros of id and installments as the client sent them ('007' -> 2),
+-- so responses keep the original text now that both are stored as numbers.
+-- A constant default only touches the catalog: no table rewrite.
+ALTER TABLE tb_transacao
+    ADD COLUMN id_leading_zeros           SMALLINT NOT NULL DEFAULT 0,
+    ADD COLUMN installments_leading_zeros SMALLINT NOT NULL DEFAULT 0;
+
+-- Rows copied by V12 get their zeros back from the VARCHAR table kept by V13,
+-- while it still exists. Only rows written with leading zeros are touched.
+DO $$
+BEGIN
+    IF to_regclass('tb_transacao_varchar') IS NULL THEN
+        RETURN;
+    END IF;
+
+    UPDATE tb_transacao t
+    SET id_leading_zeros           = length(v.id) - length(ltrim(v.id, '0')),
+        installments_leading_zeros = length(v.installments) - length(ltrim(v.installments, '0'))
+    FROM tb_transacao_varchar v
+    WHERE t.id = v.id::BIGINT
+      AND t.transaction_date_time = v.transaction_date_time
+      AND (v.id LIKE '0%' OR v.installments LIKE '0%');
+END;
+$$;
@@ -0,0 +1,3 @@
+-- Supports keyset pagination on GET /pagamentos (ORDER BY transaction_date_time, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tb_transacao_date_time_id
+    ON tb_transacao (transaction_date_time, id);
@@ -0,0 +1,2 @@
+-- BlockNsuGenerator reserves NSUs in blocks: each nextval owns [value, value + 99]
+ALTER SEQUENCE seq_nsu INCREMENT BY 100;
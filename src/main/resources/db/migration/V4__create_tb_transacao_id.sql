@@ -0,0 +1,23 @@
+-- Step 1/6 of the tb_transacao partitioning.
+-- A partitioned table can only enforce uniqueness on keys that include the
+-- partition key, so global id uniqueness moves to this registry, which also
+-- records the partition key of each id for partition-pruned lookups.
+CREATE TABLE IF NOT EXISTS tb_transacao_id (
+    id                    VARCHAR(20) NOT NULL,
+    transaction_date_time TIMESTAMP   NOT NULL,
+    CONSTRAINT pk_tb_transacao_id PRIMARY KEY (id)
+);
+
+-- Keeps the registry complete for rows written before the switch (V9).
+CREATE OR REPLACE FUNCTION tb_transacao_register_id() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO tb_transacao_id (id, transaction_date_time)
+    VALUES (NEW.id, NEW.transaction_date_time)
+    ON CONFLICT (id) DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tb_transacao_register_id
+    AFTER INSERT ON tb_transacao
+    FOR EACH ROW EXECUTE FUNCTION tb_transacao_register_id();
@@ -0,0 +1,6 @@
+-- Step 2/6: backfill the registry. Only reads tb_transacao, so writes keep
+-- flowing; rows inserted meanwhile are registered by the trigger from V4.
+INSERT INTO tb_transacao_id (id, transaction_date_time)
+SELECT id, transaction_date_time
+FROM tb_transacao
+ON CONFLICT (id) DO NOTHING;
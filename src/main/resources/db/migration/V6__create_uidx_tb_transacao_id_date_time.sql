@@ -0,0 +1,6 @@
+-- Step 3/6: unique index matching the key of the future partitioned table
+-- (id, transaction_date_time), built without blocking writes. V7 turns it into
+-- a constraint so ATTACH PARTITION in V9 reuses it instead of building one
+-- under lock.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uidx_tb_transacao_id_date_time
+    ON tb_transacao (id, transaction_date_time);
@@ -0,0 +1,25 @@
+-- Step 4/6: the current table becomes the partition for everything before
+-- the upper bound chosen here: two months past the latest of now() and the
+-- newest row. NOT VALID only takes a brief lock; new rows are checked from
+-- now on. The bound is kept in the constraint comment for V9.
+ALTER TABLE tb_transacao
+    ADD CONSTRAINT uq_tb_transacao_id_date_time UNIQUE USING INDEX uidx_tb_transacao_id_date_time;
+
+DO $$
+DECLARE
+    upper_bound TIMESTAMP;
+BEGIN
+    SELECT GREATEST(date_trunc('month', max(transaction_date_time)), date_trunc('month', now()))
+               + INTERVAL '2 months'
+    INTO upper_bound
+    FROM tb_transacao;
+
+    EXECUTE format(
+        'ALTER TABLE tb_transacao ADD CONSTRAINT chk_tb_transacao_legacy_range '
+            || 'CHECK (transaction_date_time < %L) NOT VALID',
+        upper_bound);
+    EXECUTE format(
+        'COMMENT ON CONSTRAINT chk_tb_transacao_legacy_range ON tb_transacao IS %L',
+        upper_bound);
+END;
+$$;
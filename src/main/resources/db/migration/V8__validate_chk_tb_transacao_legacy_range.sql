@@ -0,0 +1,4 @@
+-- Step 5/6: validation scans the table under SHARE UPDATE EXCLUSIVE, which
+-- does not block reads or writes. A validated constraint lets V9 attach the
+-- table as a partition without scanning it again.
+ALTER TABLE tb_transacao VALIDATE CONSTRAINT chk_tb_transacao_legacy_range;
@@ -0,0 +1,59 @@
+-- Step 6/6: swap in the partitioned table. Every statement here is catalog-only
+-- (no table scans or index builds): the old table is renamed and attached as
+-- partition tb_transacao_legacy [MINVALUE, bound), reusing the range check
+-- from V7/V8 and the indexes from V2/V6. The key is a UNIQUE constraint rather
+-- than a primary key because the legacy partition keeps its PRIMARY KEY (id).
+-- Monthly partitions from the bound onwards are created here and kept ahead
+-- by TransactionPartitionMaintenance.
+DO $$
+DECLARE
+    upper_bound TIMESTAMP;
+    month_start TIMESTAMP;
+BEGIN
+    SELECT obj_description(c.oid, 'pg_constraint')::TIMESTAMP
+    INTO upper_bound
+    FROM pg_constraint c
+    WHERE c.conname = 'chk_tb_transacao_legacy_range'
+      AND c.conrelid = 'tb_transacao'::regclass;
+
+    LOCK TABLE tb_transacao IN ACCESS EXCLUSIVE MODE;
+
+    DROP TRIGGER trg_tb_transacao_register_id ON tb_transacao;
+    ALTER TABLE tb_transacao RENAME TO tb_transacao_legacy;
+    ALTER TABLE tb_transacao_legacy
+        RENAME CONSTRAINT uq_tb_transacao_id_date_time TO uq_tb_transacao_legacy_id_date_time;
+    ALTER INDEX idx_tb_transacao_date_time_id RENAME TO idx_tb_transacao_legacy_date_time_id;
+
+    CREATE TABLE tb_transacao (
+        id                    VARCHAR(20)   NOT NULL,
+        card_number           VARCHAR(20)   NOT NULL,
+        amount                NUMERIC(10,2) NOT NULL,
+        transaction_date_time TIMESTAMP     NOT NULL,
+        merchant              VARCHAR(100)  NOT NULL,
+        nsu                   VARCHAR(20),
+        authorization_code    VARCHAR(20),
+        status                INTEGER,
+        payment_type          INTEGER,
+        installments          VARCHAR(20)   NOT NULL,
+        CONSTRAINT uq_tb_transacao_id_date_time UNIQUE (id, transaction_date_time)
+    ) PARTITION BY RANGE (transaction_date_time);
+
+    CREATE INDEX idx_tb_transacao_date_time_id ON tb_transacao (transaction_date_time, id);
+
+    EXECUTE format(
+        'ALTER TABLE tb_transacao ATTACH PARTITION tb_transacao_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        upper_bound);
+
+    month_start := upper_bound;
+    WHILE month_start < date_trunc('month', now()) + INTERVAL '4 months' LOOP
+        EXECUTE format(
+            'CREATE TABLE tb_transacao_p%s PARTITION OF tb_transacao FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start, 'YYYYMM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+
+    -- Rows beyond the pre-created months (dataHora is client-supplied) land
+    -- here instead of failing; maintenance stays months ahead of now().
+    CREATE TABLE tb_transacao_default PARTITION OF tb_transacao DEFAULT;
+END;
+$$;
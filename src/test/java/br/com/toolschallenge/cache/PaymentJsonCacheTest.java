@@ -0,0 +1,176 @@
+package br.com.toolschallenge.cache;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedPaymentResponse;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledPaymentResponse;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledTransactionEntity;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import br.com.toolschallenge.card.CardTokenizer;
+import br.com.toolschallenge.config.CacheConfig;
+import br.com.toolschallenge.config.SmileConfig;
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.exception.PaymentNotFoundException;
+import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.metrics.impl.MicrometerPaymentMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+class PaymentJsonCacheTest {
+
+    private static final String DISPLAY_GET_LOADS_ONCE =
+            "get should serialize on the first lookup and return the same bytes afterwards";
+    private static final String DISPLAY_PUT_OVERRIDES =
+            "put should replace the cached JSON with the new state";
+    private static final String DISPLAY_GET_DOES_NOT_OVERRIDE_PUT =
+            "get should not overwrite JSON stored by put while it was loading";
+    private static final String DISPLAY_GET_NOT_FOUND =
+            "get should propagate loader exceptions and cache nothing";
+    private static final String DISPLAY_SMILE_FROM_JSON =
+            "getSmile should convert the cached JSON, keeping valor as a decimal, without loading again";
+    private static final String DISPLAY_DISABLED =
+            "get should serialize on every call when the JSON cache is disabled";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PaymentMetrics paymentMetrics = new MicrometerPaymentMetrics(new SimpleMeterRegistry());
+    private final TransactionMapper transactionMapper =
+            new TransactionMapperImpl(() -> 1L, new FixedCardTokenizer(), paymentMetrics);
+    private ConcurrentMapCacheManager cacheManager;
+    private PaymentJsonCache paymentJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.PAYMENTS_JSON_CACHE);
+        paymentJsonCache = new PaymentJsonCache(cacheManager, objectMapper, transactionMapper, paymentMetrics, true);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_GET_LOADS_ONCE)
+    void get_shouldLoadOnlyOnce() {
+        CountingLoader loader = new CountingLoader(createAuthorizedTransactionEntity());
+
+        byte[] first = paymentJsonCache.get(DEFAULT_TRANSACTION_ID, loader);
+        byte[] second = paymentJsonCache.get(DEFAULT_TRANSACTION_ID, loader);
+
+        assertSame(first, second);
+        assertArrayEquals(objectMapper.writeValueAsBytes(createAuthorizedPaymentResponse()), first);
+        assertEquals(1, loader.calls.get());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_PUT_OVERRIDES)
+    void put_shouldReplaceCachedJson() {
+        paymentJsonCache.get(DEFAULT_TRANSACTION_ID, new CountingLoader(createAuthorizedTransactionEntity()));
+
+        paymentJsonCache.put(createCanceledTransactionEntity());
+
+        CountingLoader loader = new CountingLoader(createAuthorizedTransactionEntity());
+        assertArrayEquals(objectMapper.writeValueAsBytes(createCanceledPaymentResponse()),
+                paymentJsonCache.get(DEFAULT_TRANSACTION_ID, loader));
+        assertEquals(0, loader.calls.get());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_GET_DOES_NOT_OVERRIDE_PUT)
+    void get_shouldKeepJsonStoredByConcurrentPut() {
+        Supplier<TransactionEntity> staleLoader = () -> {
+            paymentJsonCache.put(createCanceledTransactionEntity());
+            return createAuthorizedTransactionEntity();
+        };
+
+        byte[] json = paymentJsonCache.get(DEFAULT_TRANSACTION_ID, staleLoader);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(createCanceledPaymentResponse()), json);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_GET_NOT_FOUND)
+    void get_shouldPropagateLoaderException() {
+        Supplier<TransactionEntity> missing = () -> {
+            throw new PaymentNotFoundException(DEFAULT_TRANSACTION_ID);
+        };
+
+        assertThrows(PaymentNotFoundException.class,
+                () -> paymentJsonCache.get(DEFAULT_TRANSACTION_ID, missing));
+        assertNull(cacheManager.getCache(CacheConfig.PAYMENTS_JSON_CACHE).get(DEFAULT_TRANSACTION_ID));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_SMILE_FROM_JSON)
+    void getSmile_shouldConvertCachedJson() {
+        SmileMapper smileMapper = SmileConfig.smileMapper();
+        CountingLoader loader = new CountingLoader(createAuthorizedTransactionEntity());
+        paymentJsonCache.get(DEFAULT_TRANSACTION_ID, loader);
+
+        byte[] smile = paymentJsonCache.getSmile(DEFAULT_TRANSACTION_ID, loader);
+
+        JsonNode valor = smileMapper.readTree(smile).get("transacao").get("descricao").get("valor");
+        assertTrue(valor.isBigDecimal());
+        assertEquals(createAuthorizedPaymentResponse(), smileMapper.readValue(smile, PagamentoResponseDTO.class));
+        assertEquals(1, loader.calls.get());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DISABLED)
+    void get_shouldSerializeEveryTime_whenDisabled() {
+        PaymentJsonCache disabled =
+                new PaymentJsonCache(cacheManager, objectMapper, transactionMapper, paymentMetrics, false);
+        CountingLoader loader = new CountingLoader(createAuthorizedTransactionEntity());
+
+        disabled.get(DEFAULT_TRANSACTION_ID, loader);
+        disabled.get(DEFAULT_TRANSACTION_ID, loader);
+        disabled.put(createCanceledTransactionEntity());
+
+        assertEquals(2, loader.calls.get());
+        assertNull(cacheManager.getCache(CacheConfig.PAYMENTS_JSON_CACHE).get(DEFAULT_TRANSACTION_ID));
+    }
+
+    private static final class CountingLoader implements Supplier<TransactionEntity> {
+
+        private final TransactionEntity payment;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingLoader(TransactionEntity payment) {
+            this.payment = payment;
+        }
+
+        @Override
+        public TransactionEntity get() {
+            calls.incrementAndGet();
+            return payment;
+        }
+    }
+
+    private static final class FixedCardTokenizer implements CardTokenizer {
+
+        @Override
+        public long tokenize(String cardNumber) {
+            return 1L;
+        }
+
+        @Override
+        public String detokenize(long token) {
+            return DEFAULT_CARD_NUMBER;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.toolschallenge.card.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_TOKEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import br.com.toolschallenge.config.CacheConfig;
+
+@ExtendWith(MockitoExtension.class)
+class CachedCardTokenizerTest {
+
+    private static final String DISPLAY_TOKENIZE_ONCE =
+            "tokenize should query the vault only on the first use of a card number";
+    private static final String DISPLAY_DETOKENIZE_AFTER_TOKENIZE =
+            "detokenize should answer from cache for a token returned by tokenize";
+    private static final String DISPLAY_DETOKENIZE_ONCE =
+            "detokenize should query the vault only on the first use of a token";
+    private static final String DISPLAY_DETOKENIZE_ALL =
+            "detokenizeAll should fetch only the uncached tokens, all in one query, and cache them";
+
+    private static final long OTHER_CARD_TOKEN = 2L;
+    private static final String OTHER_CARD_NUMBER = "5555********6789";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private CachedCardTokenizer cardTokenizer;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+                CacheConfig.CARD_TOKENS_CACHE, CacheConfig.CARD_NUMBERS_CACHE);
+        cardTokenizer = new CachedCardTokenizer(jdbcTemplate, cacheManager);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_TOKENIZE_ONCE)
+    void tokenize_shouldQueryVaultOnce() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(DEFAULT_CARD_NUMBER)))
+                .willReturn(DEFAULT_CARD_TOKEN);
+
+        long first = cardTokenizer.tokenize(DEFAULT_CARD_NUMBER);
+        long second = cardTokenizer.tokenize(DEFAULT_CARD_NUMBER);
+
+        assertEquals(DEFAULT_CARD_TOKEN, first);
+        assertEquals(DEFAULT_CARD_TOKEN, second);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), eq(DEFAULT_CARD_NUMBER));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DETOKENIZE_AFTER_TOKENIZE)
+    void detokenize_shouldUseCache_afterTokenize() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(DEFAULT_CARD_NUMBER)))
+                .willReturn(DEFAULT_CARD_TOKEN);
+        cardTokenizer.tokenize(DEFAULT_CARD_NUMBER);
+
+        String cardNumber = cardTokenizer.detokenize(DEFAULT_CARD_TOKEN);
+
+        assertEquals(DEFAULT_CARD_NUMBER, cardNumber);
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class), eq(DEFAULT_CARD_NUMBER));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DETOKENIZE_ONCE)
+    void detokenize_shouldQueryVaultOnce() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(String.class), eq(DEFAULT_CARD_TOKEN)))
+                .willReturn(DEFAULT_CARD_NUMBER);
+
+        String first = cardTokenizer.detokenize(DEFAULT_CARD_TOKEN);
+        String second = cardTokenizer.detokenize(DEFAULT_CARD_TOKEN);
+
+        assertEquals(DEFAULT_CARD_NUMBER, first);
+        assertEquals(DEFAULT_CARD_NUMBER, second);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(String.class), eq(DEFAULT_CARD_TOKEN));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DETOKENIZE_ALL)
+    void detokenizeAll_shouldQueryMissingTokensOnce() throws Exception {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(DEFAULT_CARD_NUMBER)))
+                .willReturn(DEFAULT_CARD_TOKEN);
+        cardTokenizer.tokenize(DEFAULT_CARD_NUMBER);
+        given(resultSet.getLong(1)).willReturn(OTHER_CARD_TOKEN);
+        given(resultSet.getString(2)).willReturn(OTHER_CARD_NUMBER);
+        willAnswer(invocation -> {
+            invocation.getArgument(2, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).given(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        Map<Long, String> first = cardTokenizer.detokenizeAll(
+                List.of(DEFAULT_CARD_TOKEN, OTHER_CARD_TOKEN, OTHER_CARD_TOKEN));
+        Map<Long, String> second = cardTokenizer.detokenizeAll(List.of(DEFAULT_CARD_TOKEN, OTHER_CARD_TOKEN));
+
+        Map<Long, String> expected =
+                Map.of(DEFAULT_CARD_TOKEN, DEFAULT_CARD_NUMBER, OTHER_CARD_TOKEN, OTHER_CARD_NUMBER);
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class), eq(DEFAULT_CARD_NUMBER));
+        verify(jdbcTemplate, times(1))
+                .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
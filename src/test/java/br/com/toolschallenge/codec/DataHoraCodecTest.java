@@ -0,0 +1,139 @@
+package br.com.toolschallenge.codec;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_DATE_TIME;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_LOCAL_DATE_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import br.com.toolschallenge.dto.DescricaoResponseDTO;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.ObjectMapper;
+
+class DataHoraCodecTest {
+
+    private static final String DISPLAY_PARSE_VALID =
+            "parse should read all fields of a dd/MM/yyyy HH:mm:ss value";
+    private static final String DISPLAY_PARSE_CHAR_RANGE =
+            "parse should read a value inside a larger char buffer";
+    private static final String DISPLAY_PARSE_INVALID_LAYOUT =
+            "parse should reject values that do not match the fixed layout";
+    private static final String DISPLAY_PARSE_INVALID_DATE =
+            "parse should reject dates that do not exist in the calendar";
+    private static final String DISPLAY_FORMAT =
+            "format should match DateTimeFormatter output including zero padding";
+    private static final String DISPLAY_FORMAT_YEAR_OUT_OF_RANGE =
+            "formatTo should reject years that do not fit in four digits";
+    private static final String DISPLAY_JSON_ROUND_TRIP =
+            "Jackson should read and write dataHora through the codec";
+    private static final String DISPLAY_JSON_INVALID =
+            "Jackson should fail with the codec message when dataHora is malformed";
+
+    private static final String INVALID_FORMAT_MESSAGE = "dataHora must be in the format dd/MM/yyyy HH:mm:ss";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName(DISPLAY_PARSE_VALID)
+    void parse_shouldReadAllFields() {
+        assertThat(DataHoraCodec.parse(DEFAULT_DATE_TIME)).isEqualTo(DEFAULT_LOCAL_DATE_TIME);
+        assertThat(DataHoraCodec.parse("29/02/2024 23:59:59"))
+                .isEqualTo(LocalDateTime.of(2024, 2, 29, 23, 59, 59));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_PARSE_CHAR_RANGE)
+    void parse_shouldReadRangeOfCharArray() {
+        char[] chars = ("\"" + DEFAULT_DATE_TIME + "\"").toCharArray();
+
+        assertThat(DataHoraCodec.parse(chars, 1, DataHoraCodec.LENGTH)).isEqualTo(DEFAULT_LOCAL_DATE_TIME);
+    }
+
+    @ParameterizedTest
+    @DisplayName(DISPLAY_PARSE_INVALID_LAYOUT)
+    @ValueSource(strings = {
+            "",
+            "01/05/2021",
+            "01/05/2021 18:30:000",
+            "2021-05-01T18:30:00",
+            "01-05-2021 18:30:00",
+            "01/05/2021T18:30:00",
+            "01/05/2021 18.30:00",
+            "0a/05/2021 18:30:00",
+            "01/05/2021 18:30:0 "
+    })
+    void parse_shouldRejectInvalidLayout(String value) {
+        assertThatThrownBy(() -> DataHoraCodec.parse(value))
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessage(INVALID_FORMAT_MESSAGE);
+    }
+
+    @ParameterizedTest
+    @DisplayName(DISPLAY_PARSE_INVALID_DATE)
+    @ValueSource(strings = {
+            "31/02/2021 10:00:00",
+            "01/13/2021 10:00:00",
+            "01/05/2021 24:00:00",
+            "00/05/2021 10:00:00"
+    })
+    void parse_shouldRejectNonExistentDates(String value) {
+        assertThatThrownBy(() -> DataHoraCodec.parse(value))
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessageStartingWith("dataHora is not a valid date");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FORMAT)
+    void format_shouldMatchDateTimeFormatter() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DataHoraCodec.PATTERN);
+        LocalDateTime padded = LocalDateTime.of(987, 1, 2, 3, 4, 5);
+
+        assertThat(DataHoraCodec.format(DEFAULT_LOCAL_DATE_TIME)).isEqualTo(DEFAULT_DATE_TIME);
+        assertThat(DataHoraCodec.format(padded))
+                .isEqualTo(padded.format(formatter))
+                .isEqualTo("02/01/0987 03:04:05");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FORMAT_YEAR_OUT_OF_RANGE)
+    void formatTo_shouldRejectYearOutOfRange() {
+        char[] buffer = new char[DataHoraCodec.LENGTH];
+
+        assertThatThrownBy(() -> DataHoraCodec.formatTo(LocalDateTime.of(10000, 1, 1, 0, 0), buffer, 0))
+                .isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_JSON_ROUND_TRIP)
+    void jackson_shouldUseCodecForDataHora() {
+        DescricaoResponseDTO descricao = DescricaoResponseDTO.builder()
+                .dataHora(DEFAULT_LOCAL_DATE_TIME)
+                .build();
+
+        String json = objectMapper.writeValueAsString(descricao);
+        DescricaoResponseDTO read = objectMapper.readValue(json, DescricaoResponseDTO.class);
+
+        assertThat(json).contains("\"dataHora\":\"" + DEFAULT_DATE_TIME + "\"");
+        assertThat(read.getDataHora()).isEqualTo(DEFAULT_LOCAL_DATE_TIME);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_JSON_INVALID)
+    void jackson_shouldFailWithCodecMessage() {
+        String json = "{\"dataHora\":\"2021-05-01T18:30:00\"}";
+
+        assertThatThrownBy(() -> objectMapper.readValue(json, DescricaoResponseDTO.class))
+                .isInstanceOf(DatabindException.class)
+                .rootCause()
+                .hasMessage(INVALID_FORMAT_MESSAGE);
+    }
+}
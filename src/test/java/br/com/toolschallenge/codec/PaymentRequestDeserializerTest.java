@@ -0,0 +1,185 @@
+package br.com.toolschallenge.codec;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_AMOUNT_CENTS;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_ESTABLISHMENT;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_DATE_TIME;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.money.Money;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+class PaymentRequestDeserializerTest {
+
+    private static final String DISPLAY_READ_ALL_FIELDS =
+            "deserialize should read every field of the nested request into the flat object";
+    private static final String DISPLAY_UNKNOWN_FIELDS =
+            "deserialize should skip unknown fields at any level, including nested values";
+    private static final String DISPLAY_MISSING_OBJECTS =
+            "deserialize should flag absent or null nested objects as not present";
+    private static final String DISPLAY_COERCION =
+            "deserialize should accept scalars in text fields and text in valor, like the DTO binding";
+    private static final String DISPLAY_VALOR_CENTS =
+            "deserialize should read valor in cents from numbers and text in any notation";
+    private static final String DISPLAY_VALOR_OUTSIDE_CENTS =
+            "deserialize should keep valor as it came when it does not fit in cents";
+    private static final String DISPLAY_VALOR_BLANK =
+            "deserialize should treat blank valor text as absent";
+    private static final String DISPLAY_INVALID_TIPO =
+            "deserialize should fail when tipo is not a known payment type";
+    private static final String DISPLAY_RAW_DATA_HORA =
+            "deserialize should keep dataHora as text, even when malformed, for the validator";
+    private static final String DISPLAY_UNEXPECTED_TOKEN =
+            "deserialize should fail when a nested object is not a JSON object";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName(DISPLAY_READ_ALL_FIELDS)
+    void deserialize_shouldReadAllFields() {
+        byte[] json = objectMapper.writeValueAsBytes(createValidPaymentRequest());
+
+        PaymentRequestFields fields = objectMapper.readValue(json, PaymentRequestFields.class);
+
+        assertThat(fields.isTransacaoPresent()).isTrue();
+        assertThat(fields.getCartao()).isEqualTo(DEFAULT_CARD_NUMBER);
+        assertThat(fields.getId()).isEqualTo(DEFAULT_TRANSACTION_ID);
+        assertThat(fields.isDescricaoPresent()).isTrue();
+        assertThat(fields.getValorCents()).isEqualTo(DEFAULT_AMOUNT_CENTS);
+        assertThat(fields.getValorInvalido()).isNull();
+        assertThat(fields.getDataHora()).isEqualTo(DEFAULT_DATE_TIME);
+        assertThat(fields.getEstabelecimento()).isEqualTo(DEFAULT_ESTABLISHMENT);
+        assertThat(fields.isFormaPagamentoPresent()).isTrue();
+        assertThat(fields.getTipo()).isEqualTo(TipoFormaPagamento.AVISTA);
+        assertThat(fields.getParcelas()).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_UNKNOWN_FIELDS)
+    void deserialize_shouldSkipUnknownFields() {
+        String json = """
+                {"versao":{"a":[1,{"b":2}]},"transacao":{"extra":[1,2],"id":"1",
+                "descricao":{"moeda":{"codigo":"BRL"},"valor":10.5},
+                "formaPagamento":{"bandeira":null,"parcelas":"2"}},"fim":true}
+                """;
+
+        PaymentRequestFields fields = objectMapper.readValue(json, PaymentRequestFields.class);
+
+        assertThat(fields.getId()).isEqualTo("1");
+        assertThat(fields.getValorCents()).isEqualTo(1050L);
+        assertThat(fields.getParcelas()).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_MISSING_OBJECTS)
+    void deserialize_shouldFlagMissingObjects() {
+        PaymentRequestFields empty = objectMapper.readValue("{}", PaymentRequestFields.class);
+        PaymentRequestFields nulls = objectMapper.readValue(
+                "{\"transacao\":{\"descricao\":null,\"cartao\":null}}", PaymentRequestFields.class);
+
+        assertThat(empty.isTransacaoPresent()).isFalse();
+        assertThat(nulls.isTransacaoPresent()).isTrue();
+        assertThat(nulls.isDescricaoPresent()).isFalse();
+        assertThat(nulls.isFormaPagamentoPresent()).isFalse();
+        assertThat(nulls.getCartao()).isNull();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_COERCION)
+    void deserialize_shouldCoerceScalars() {
+        String json = """
+                {"transacao":{"id":123,"descricao":{"valor":"50.00"},
+                "formaPagamento":{"tipo":"parcelado loja","parcelas":3}}}
+                """;
+
+        PaymentRequestFields fields = objectMapper.readValue(json, PaymentRequestFields.class);
+
+        assertThat(fields.getId()).isEqualTo("123");
+        assertThat(fields.getValorCents()).isEqualTo(DEFAULT_AMOUNT_CENTS);
+        assertThat(fields.getTipo()).isEqualTo(TipoFormaPagamento.PARCELADO_LOJA);
+        assertThat(fields.getParcelas()).isEqualTo("3");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "0 | 0",
+            "0.5 | 50",
+            "99999999.99 | 9999999999",
+            "1e2 | 10000",
+            "\" 7.05 \" | 705",
+            "\"1.50E1\" | 1500",
+            "-0 | 0",
+            "\"007\" | 700"
+    })
+    @DisplayName(DISPLAY_VALOR_CENTS)
+    void deserialize_shouldReadValorInCents(String valor, long cents) {
+        PaymentRequestFields fields = readValor(valor);
+
+        assertThat(fields.getValorCents()).isEqualTo(cents);
+        assertThat(fields.getValorInvalido()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "10.500", "0.001", "-1", "123456789.00" })
+    @DisplayName(DISPLAY_VALOR_OUTSIDE_CENTS)
+    void deserialize_shouldKeepValorOutsideCents(String valor) {
+        PaymentRequestFields fields = readValor(valor);
+
+        assertThat(fields.getValorCents()).isEqualTo(Money.NONE);
+        assertThat(fields.getValorInvalido()).isEqualTo(new BigDecimal(valor.replace("\"", "")));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_VALOR_BLANK)
+    void deserialize_shouldTreatBlankValorAsAbsent() {
+        PaymentRequestFields fields = readValor("\"  \"");
+
+        assertThat(fields.getValorCents()).isEqualTo(Money.NONE);
+        assertThat(fields.getValorInvalido()).isNull();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_TIPO)
+    void deserialize_shouldRejectUnknownTipo() {
+        String json = "{\"transacao\":{\"formaPagamento\":{\"tipo\":\"BOLETO\"}}}";
+
+        assertThatThrownBy(() -> objectMapper.readValue(json, PaymentRequestFields.class))
+                .isInstanceOf(JacksonException.class)
+                .hasMessageContaining("BOLETO");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_RAW_DATA_HORA)
+    void deserialize_shouldKeepMalformedDataHoraAsText() {
+        String json = "{\"transacao\":{\"descricao\":{\"dataHora\":\"2021-05-01T18:30:00\"}}}";
+
+        PaymentRequestFields fields = objectMapper.readValue(json, PaymentRequestFields.class);
+
+        assertThat(fields.getDataHora()).isEqualTo("2021-05-01T18:30:00");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_UNEXPECTED_TOKEN)
+    void deserialize_shouldRejectNonObjectTransacao() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"transacao\":[]}", PaymentRequestFields.class))
+                .isInstanceOf(JacksonException.class);
+    }
+
+    private PaymentRequestFields readValor(String valor) {
+        return objectMapper.readValue(
+                "{\"transacao\":{\"descricao\":{\"valor\":" + valor + "}}}", PaymentRequestFields.class);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.toolschallenge.codec;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledTransactionEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import br.com.toolschallenge.card.CardTokenizer;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import br.com.toolschallenge.metrics.impl.MicrometerPaymentMetrics;
+import br.com.toolschallenge.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.util.ByteArrayBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+class PaymentResponseWriterTest {
+
+    private static final String DISPLAY_SAME_BYTES =
+            "write should produce the same bytes as serializing the mapped DTO";
+    private static final String DISPLAY_LAYOUT =
+            "write should follow the @JsonPropertyOrder layout of the response DTOs";
+
+    private static final String EXPECTED_JSON = "{\"transacao\":{"
+            + "\"cartao\":\"4444********1234\",\"id\":\"100023568900001\","
+            + "\"descricao\":{\"valor\":50.00,\"dataHora\":\"01/05/2021 18:30:00\","
+            + "\"estabelecimento\":\"PetShop Mundo cão\",\"nsu\":\"0000000001\","
+            + "\"codigoAutorizacao\":\"AUTHCODE1\",\"status\":\"AUTORIZADO\"},"
+            + "\"formaPagamento\":{\"tipo\":\"AVISTA\",\"parcelas\":\"1\"}}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TransactionMapper transactionMapper = new TransactionMapperImpl(
+            () -> 1L, new FixedCardTokenizer(), new MicrometerPaymentMetrics(new SimpleMeterRegistry()));
+
+    static Stream<TransactionEntity> entities() {
+        TransactionEntity parcelado = createCanceledTransactionEntity();
+        parcelado.setPaymentType(TipoFormaPagamento.PARCELADO_EMISSOR);
+        parcelado.setInstallments((short) 12);
+        parcelado.setAmountCents(Money.MAX_CENTS);
+        parcelado.setDateTime(LocalDateTime.of(2024, 12, 31, 23, 59, 59));
+
+        TransactionEntity pending = createAuthorizedTransactionEntity();
+        pending.setNsu(null);
+        pending.setAuthorizationCode(null);
+        pending.setStatus(null);
+        pending.setPaymentType(null);
+
+        TransactionEntity escaped = createAuthorizedTransactionEntity();
+        escaped.setId(1L);
+        escaped.setNsu(12_345_678_901L);
+        escaped.setEstablishment("Loja \"Central\" \\ Ação\t24h");
+        escaped.setAmountCents(1L);
+
+        TransactionEntity padded = createAuthorizedTransactionEntity();
+        padded.setId(7L);
+        padded.setIdLeadingZeros((short) 2);
+        padded.setInstallmentsLeadingZeros((short) 1);
+
+        TransactionEntity overlong = createAuthorizedTransactionEntity();
+        overlong.setId(Long.MAX_VALUE);
+        overlong.setIdLeadingZeros((short) 5);
+
+        TransactionEntity empty = new TransactionEntity();
+        empty.setCardToken(1L);
+
+        return Stream.of(createAuthorizedTransactionEntity(), parcelado, pending, escaped, padded, overlong, empty);
+    }
+
+    @ParameterizedTest
+    @MethodSource("entities")
+    @DisplayName(DISPLAY_SAME_BYTES)
+    void write_shouldMatchDtoSerialization(TransactionEntity entity) {
+        byte[] expected = objectMapper.writeValueAsBytes(transactionMapper.toPaymentResponse(entity));
+
+        assertThat(write(entity)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LAYOUT)
+    void write_shouldFollowPropertyOrder() {
+        byte[] json = write(createAuthorizedTransactionEntity());
+
+        assertThat(new String(json, StandardCharsets.UTF_8)).isEqualTo(EXPECTED_JSON);
+    }
+
+    private byte[] write(TransactionEntity entity) {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator generator = objectMapper.createGenerator(buffer)) {
+            PaymentResponseWriter.write(generator, entity, DEFAULT_CARD_NUMBER);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static final class FixedCardTokenizer implements CardTokenizer {
+
+        @Override
+        public long tokenize(String cardNumber) {
+            return 1L;
+        }
+
+        @Override
+        public String detokenize(long token) {
+            return DEFAULT_CARD_NUMBER;
+        }
+    }
+}
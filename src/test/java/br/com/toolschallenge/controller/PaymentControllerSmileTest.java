@@ -0,0 +1,137 @@
+package br.com.toolschallenge.controller;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedPaymentResponse;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.config.SmileConfig;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
+import br.com.toolschallenge.handler.GlobalExceptionHandler;
+import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.validation.FieldViolation;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentControllerSmileTest {
+
+    private static final String BASE_URL = "/pagamentos";
+    private static final String ID_URL_TEMPLATE = "/pagamentos/{id}";
+    private static final String FIELD_CARD_NUMBER = "transacao.cartao";
+    private static final String MSG_CARD_NUMBER_REQUIRED = "Card number is required";
+
+    private static final String DISPLAY_CREATE_PAYMENT =
+            "POST /pagamentos with Smile body and Accept should return 201 Created with Smile response";
+    private static final String DISPLAY_GET_BY_ID =
+            "GET /pagamentos/{id} with Smile Accept should return the cached payment converted to Smile";
+    private static final String DISPLAY_INVALID_REQUEST =
+            "POST /pagamentos with invalid Smile body should return 400 with field errors in Smile";
+
+    private final SmileMapper smileMapper = SmileConfig.smileMapper();
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @InjectMocks
+    private PaymentController paymentController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(paymentController)
+                .setMessageConverters(
+                        new ByteArrayHttpMessageConverter(),
+                        new JacksonJsonHttpMessageConverter(),
+                        new SmileConfig().smileHttpMessageConverter())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENT)
+    void createPayment_smile() throws Exception {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        when(paymentService.createPayment(any(PaymentRequestFields.class)))
+                .thenReturn(createAuthorizedPaymentResponse());
+
+        byte[] body = mockMvc.perform(post(BASE_URL)
+                        .contentType(SmileConfig.APPLICATION_SMILE)
+                        .accept(SmileConfig.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(SmileConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PagamentoResponseDTO response = smileMapper.readValue(body, PagamentoResponseDTO.class);
+        assertThat(response.getTransacao().getId()).isEqualTo(DEFAULT_TRANSACTION_ID);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_GET_BY_ID)
+    void getPaymentById_smile() throws Exception {
+        when(paymentService.findPaymentSmileById(DEFAULT_TRANSACTION_ID))
+                .thenReturn(smileMapper.writeValueAsBytes(createAuthorizedPaymentResponse()));
+
+        byte[] body = mockMvc.perform(get(ID_URL_TEMPLATE, DEFAULT_TRANSACTION_ID)
+                        .accept(SmileConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SmileConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PagamentoResponseDTO response = smileMapper.readValue(body, PagamentoResponseDTO.class);
+        assertThat(response.getTransacao().getId()).isEqualTo(DEFAULT_TRANSACTION_ID);
+        verify(paymentService, never()).findPaymentJsonById(any());
+        verify(paymentService, never()).findPaymentById(any());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_REQUEST)
+    void createPayment_smile_invalid() throws Exception {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        request.getTransacao().setCartao(null);
+        when(paymentService.createPayment(any(PaymentRequestFields.class)))
+                .thenThrow(new InvalidPaymentRequestException(
+                        List.of(new FieldViolation(FIELD_CARD_NUMBER, MSG_CARD_NUMBER_REQUIRED))));
+
+        byte[] body = mockMvc.perform(post(BASE_URL)
+                        .contentType(SmileConfig.APPLICATION_SMILE)
+                        .accept(SmileConfig.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(SmileConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode error = smileMapper.readTree(body);
+        assertThat(error.get("fieldErrors").isArray()).isTrue();
+        assertThat(error.get("fieldErrors").size()).isEqualTo(1);
+        assertThat(error.get("fieldErrors").get(0).get("field").asString()).isEqualTo(FIELD_CARD_NUMBER);
+    }
+}
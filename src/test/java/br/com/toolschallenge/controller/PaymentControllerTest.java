@@ -6,14 +6,21 @@ import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledPa
 import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,13 +28,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.dto.FiltroPagamentosDTO;
+import br.com.toolschallenge.dto.LotePagamentoItemResponseDTO;
 import br.com.toolschallenge.dto.PagamentoRequestDTO;
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.dto.PaginaPagamentosResponseDTO;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
 import br.com.toolschallenge.service.PaymentService;
 import tools.jackson.databind.ObjectMapper;
 
@@ -36,6 +51,9 @@ class PaymentControllerTest {
 
     private static final String BASE_URL = "/pagamentos";
     private static final String LIST_ALL_URL = "/pagamentos/listAllPayments";
+    private static final String EXPORT_URL = "/pagamentos/export";
+    private static final String BATCH_URL = "/pagamentos/lote";
+    private static final String SEARCH_URL = "/pagamentos/busca";
     private static final String ESTORNO_URL_TEMPLATE = "/pagamentos/{id}/estorno";
     private static final String ID_PATH_TEMPLATE = "/{id}";
 
@@ -47,13 +65,28 @@ class PaymentControllerTest {
     private static final String JSON_TRANSACTION_STATUS_PATH = "$.transacao.descricao.status";
     private static final String JSON_LIST_FIRST_STATUS_PATH = "$[0].transacao.descricao.status";
     private static final String JSON_LIST_SECOND_STATUS_PATH = "$[1].transacao.descricao.status";
+    private static final String JSON_LIST_FIRST_ITEM_STATUS_PATH = "$[0].status";
+    private static final String JSON_LIST_FIRST_ITEM_ID_PATH = "$[0].pagamento.transacao.id";
+    private static final String JSON_PAGE_ITEMS_PATH = "$.pagamentos";
+    private static final String JSON_PAGE_NEXT_CURSOR_PATH = "$.proximoCursor";
+    private static final String NEXT_CURSOR = "next-cursor";
 
     private static final String DISPLAY_CREATE_PAYMENT =
             "POST /pagamentos should return 201 Created with payment response body";
+    private static final String DISPLAY_CREATE_BATCH =
+            "POST /pagamentos/lote should return 200 OK with one result per item";
     private static final String DISPLAY_GET_BY_ID =
             "GET /pagamentos/{id} should return 200 OK with payment";
     private static final String DISPLAY_LIST_ALL =
             "GET /pagamentos should return list of payments";
+    private static final String DISPLAY_LIST_PAGE =
+            "GET /pagamentos?cursor=&size= should return 200 OK with page and next cursor";
+    private static final String DISPLAY_LIST_PAGE_DEFAULT_SIZE =
+            "GET /pagamentos without params should request first page with default size";
+    private static final String DISPLAY_SEARCH =
+            "GET /pagamentos/busca should bind the filter from query params and return 200 OK with page";
+    private static final String DISPLAY_EXPORT =
+            "GET /pagamentos/export should stream one JSON document per line";
     private static final String DISPLAY_CANCEL_PAYMENT =
             "POST /pagamentos/{id}/estorno should return 200 OK with canceled payment";
 
@@ -62,14 +95,14 @@ class PaymentControllerTest {
     @Mock
     private PaymentService paymentService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private PaymentController paymentController;
 
-    private ObjectMapper objectMapper;
-
     @BeforeEach
     void setUp() {
-        objectMapper = new ObjectMapper();
         mockMvc = MockMvcBuilders
                 .standaloneSetup(paymentController)
                 .build();
@@ -81,7 +114,7 @@ class PaymentControllerTest {
         PagamentoRequestDTO request = createValidPaymentRequest();
         PagamentoResponseDTO response = createAuthorizedPaymentResponse();
 
-        when(paymentService.createPayment(any(PagamentoRequestDTO.class))).thenReturn(response);
+        when(paymentService.createPayment(any(PaymentRequestFields.class))).thenReturn(response);
 
         mockMvc.perform(post(BASE_URL)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -91,11 +124,33 @@ class PaymentControllerTest {
                 .andExpect(jsonPath(JSON_TRANSACTION_STATUS_PATH, is(STATUS_AUTORIZADO)));
     }
 
+    @Test
+    @DisplayName(DISPLAY_CREATE_BATCH)
+    void createPayments_endpoint() throws Exception {
+        List<PagamentoRequestDTO> requests = List.of(createValidPaymentRequest());
+        LotePagamentoItemResponseDTO result = LotePagamentoItemResponseDTO.builder()
+                .indice(0)
+                .status(201)
+                .pagamento(createAuthorizedPaymentResponse())
+                .build();
+
+        when(paymentService.createPayments(any())).thenReturn(List.of(result));
+
+        mockMvc.perform(post(BATCH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_ROOT, hasSize(1)))
+                .andExpect(jsonPath(JSON_LIST_FIRST_ITEM_STATUS_PATH, is(201)))
+                .andExpect(jsonPath(JSON_LIST_FIRST_ITEM_ID_PATH, is(DEFAULT_TRANSACTION_ID)));
+    }
+
     @Test
     @DisplayName(DISPLAY_GET_BY_ID)
     void getPaymentById_endpoint() throws Exception {
         PagamentoResponseDTO response = createAuthorizedPaymentResponse();
-        when(paymentService.findPaymentById(DEFAULT_TRANSACTION_ID)).thenReturn(response);
+        when(paymentService.findPaymentJsonById(DEFAULT_TRANSACTION_ID))
+                .thenReturn(objectMapper.writeValueAsBytes(response));
 
         mockMvc.perform(get(BASE_URL + ID_PATH_TEMPLATE, DEFAULT_TRANSACTION_ID))
                 .andExpect(status().isOk())
@@ -117,6 +172,92 @@ class PaymentControllerTest {
                 .andExpect(jsonPath(JSON_LIST_SECOND_STATUS_PATH, is(STATUS_CANCELADO)));
     }
 
+    @Test
+    @DisplayName(DISPLAY_LIST_PAGE)
+    void listPayments_endpoint() throws Exception {
+        PaginaPagamentosResponseDTO page = PaginaPagamentosResponseDTO.builder()
+                .pagamentos(List.of(createAuthorizedPaymentResponse()))
+                .proximoCursor(NEXT_CURSOR)
+                .build();
+
+        when(paymentService.listPayments("abc", 1)).thenReturn(page);
+
+        mockMvc.perform(get(BASE_URL).param("cursor", "abc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_PAGE_ITEMS_PATH, hasSize(1)))
+                .andExpect(jsonPath(JSON_PAGE_NEXT_CURSOR_PATH, is(NEXT_CURSOR)));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LIST_PAGE_DEFAULT_SIZE)
+    void listPayments_endpoint_defaultSize() throws Exception {
+        PaginaPagamentosResponseDTO page = PaginaPagamentosResponseDTO.builder()
+                .pagamentos(List.of())
+                .build();
+
+        when(paymentService.listPayments(null, 50)).thenReturn(page);
+
+        mockMvc.perform(get(BASE_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_PAGE_ITEMS_PATH, hasSize(0)))
+                .andExpect(jsonPath(JSON_PAGE_NEXT_CURSOR_PATH, nullValue()));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_SEARCH)
+    void searchPayments_endpoint() throws Exception {
+        FiltroPagamentosDTO filtro = FiltroPagamentosDTO.builder()
+                .estabelecimento("PetShop Mundo cão")
+                .dataHoraInicio(LocalDateTime.of(2021, 5, 1, 0, 0))
+                .status(StatusTransacao.AUTORIZADO)
+                .tipo(TipoFormaPagamento.AVISTA)
+                .nsu(1L)
+                .build();
+        PaginaPagamentosResponseDTO page = PaginaPagamentosResponseDTO.builder()
+                .pagamentos(List.of(createAuthorizedPaymentResponse()))
+                .proximoCursor(NEXT_CURSOR)
+                .build();
+
+        when(paymentService.searchPayments(filtro, "abc", 50)).thenReturn(page);
+
+        mockMvc.perform(get(SEARCH_URL)
+                        .param("estabelecimento", "PetShop Mundo cão")
+                        .param("dataHoraInicio", "01/05/2021 00:00:00")
+                        .param("status", STATUS_AUTORIZADO)
+                        .param("tipo", "AVISTA")
+                        .param("nsu", "1")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_PAGE_ITEMS_PATH, hasSize(1)))
+                .andExpect(jsonPath(JSON_PAGE_NEXT_CURSOR_PATH, is(NEXT_CURSOR)));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_EXPORT)
+    void exportPayments_endpoint() throws Exception {
+        PagamentoResponseDTO response1 = createAuthorizedPaymentResponse();
+        PagamentoResponseDTO response2 = createCanceledPaymentResponse();
+
+        doAnswer(invocation -> {
+            Consumer<PagamentoResponseDTO> consumer = invocation.getArgument(0);
+            consumer.accept(response1);
+            consumer.accept(response2);
+            return null;
+        }).when(paymentService).exportPayments(any());
+
+        MvcResult result = mockMvc.perform(get(EXPORT_URL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String expected = objectMapper.writeValueAsString(response1) + "\n"
+                + objectMapper.writeValueAsString(response2) + "\n";
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expected));
+    }
+
     @Test
     @DisplayName(DISPLAY_CANCEL_PAYMENT)
     void cancelPayment_endpoint() throws Exception {
@@ -0,0 +1,46 @@
+package br.com.toolschallenge.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.toolschallenge.enums.StatusTransacao;
+
+class StatusTransacaoConverterTest {
+
+    private static final String DISPLAY_ROUND_TRIP =
+            "converter should store every StatusTransacao as its code and read it back";
+    private static final String DISPLAY_NULL =
+            "converter should map null to null in both directions";
+    private static final String DISPLAY_UNKNOWN_CODE =
+            "convertToEntityAttribute should reject codes that do not match any value";
+
+    private final StatusTransacaoConverter converter = new StatusTransacaoConverter();
+
+    @Test
+    @DisplayName(DISPLAY_ROUND_TRIP)
+    void converter_shouldRoundTripEveryValue() {
+        assertThat(converter.convertToDatabaseColumn(StatusTransacao.CANCELADO)).isEqualTo((short) 3);
+        for (StatusTransacao status : StatusTransacao.values()) {
+            Short codigo = converter.convertToDatabaseColumn(status);
+            assertThat(codigo.intValue()).isEqualTo(status.getCodigo());
+            assertThat(converter.convertToEntityAttribute(codigo)).isSameAs(status);
+        }
+    }
+
+    @Test
+    @DisplayName(DISPLAY_NULL)
+    void converter_shouldKeepNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_UNKNOWN_CODE)
+    void convertToEntityAttribute_shouldRejectUnknownCode() {
+        assertThatThrownBy(() -> converter.convertToEntityAttribute((short) 99))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,24 +1,27 @@
 package br.com.toolschallenge.data;
 
+import br.com.toolschallenge.codec.DataHoraCodec;
+import br.com.toolschallenge.codec.PaymentRequestFields;
 import br.com.toolschallenge.dto.*;
 import br.com.toolschallenge.entity.TransactionEntity;
 import br.com.toolschallenge.enums.StatusTransacao;
 import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public final class PaymentTestDataFactory {
 
-    private static final DateTimeFormatter DATE_TIME_FORMATTER =
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-
     public static final String DEFAULT_CARD_NUMBER = "4444********1234";
     public static final String DEFAULT_TRANSACTION_ID = "100023568900001";
+    public static final Long DEFAULT_TRANSACTION_ID_VALUE = 100023568900001L;
+    public static final Long DEFAULT_CARD_TOKEN = 1L;
     public static final String DEFAULT_DATE_TIME = "01/05/2021 18:30:00";
+    public static final LocalDateTime DEFAULT_LOCAL_DATE_TIME = LocalDateTime.of(2021, 5, 1, 18, 30);
     public static final String DEFAULT_ESTABLISHMENT = "PetShop Mundo cão";
     public static final BigDecimal DEFAULT_AMOUNT = new BigDecimal("50.00");
+    public static final long DEFAULT_AMOUNT_CENTS = 5000L;
 
     private PaymentTestDataFactory() {
     }
@@ -29,6 +32,53 @@ public final class PaymentTestDataFactory {
                 .build();
     }
 
+    public static PaymentRequestFields createValidPaymentFields() {
+        return toPaymentFields(createValidPaymentRequest());
+    }
+
+    /**
+     * Mesmo resultado de ler o JSON do DTO com o {@code PaymentRequestDeserializer}.
+     */
+    public static PaymentRequestFields toPaymentFields(PagamentoRequestDTO request) {
+        PaymentRequestFields fields = new PaymentRequestFields();
+        TransacaoRequestDTO transacao = request.getTransacao();
+        if (transacao == null) {
+            return fields;
+        }
+        fields.setTransacaoPresent(true);
+        fields.setCartao(transacao.getCartao());
+        fields.setId(transacao.getId());
+        DescricaoRequestDTO descricao = transacao.getDescricao();
+        if (descricao != null) {
+            fields.setDescricaoPresent(true);
+            fields.setValor(descricao.getValor());
+            fields.setDataHora(descricao.getDataHora() == null
+                    ? null
+                    : DataHoraCodec.format(descricao.getDataHora()));
+            fields.setEstabelecimento(descricao.getEstabelecimento());
+        }
+        FormaPagamentoDTO formaPagamento = transacao.getFormaPagamento();
+        if (formaPagamento != null) {
+            fields.setFormaPagamentoPresent(true);
+            fields.setTipo(formaPagamento.getTipo());
+            fields.setParcelas(formaPagamento.getParcelas());
+        }
+        return fields;
+    }
+
+    public static ValidatedPaymentRequest createValidatedPaymentRequest() {
+        return new ValidatedPaymentRequest(
+                DEFAULT_TRANSACTION_ID_VALUE,
+                DEFAULT_CARD_NUMBER,
+                DEFAULT_AMOUNT_CENTS,
+                DEFAULT_LOCAL_DATE_TIME,
+                DEFAULT_ESTABLISHMENT,
+                TipoFormaPagamento.AVISTA,
+                (short) 1,
+                (short) 0,
+                (short) 0);
+    }
+
     public static TransacaoRequestDTO createValidTransacaoRequest() {
         return TransacaoRequestDTO.builder()
                 .cartao(DEFAULT_CARD_NUMBER)
@@ -41,7 +91,7 @@ public final class PaymentTestDataFactory {
     public static DescricaoRequestDTO createValidDescricaoRequest() {
         return DescricaoRequestDTO.builder()
                 .valor(DEFAULT_AMOUNT)
-                .dataHora(DEFAULT_DATE_TIME)
+                .dataHora(DEFAULT_LOCAL_DATE_TIME)
                 .estabelecimento(DEFAULT_ESTABLISHMENT)
                 .build();
     }
@@ -55,31 +105,31 @@ public final class PaymentTestDataFactory {
 
     public static TransactionEntity createAuthorizedTransactionEntity() {
         return TransactionEntity.builder()
-                .id(DEFAULT_TRANSACTION_ID)
-                .cardNumber(DEFAULT_CARD_NUMBER)
-                .amount(DEFAULT_AMOUNT)
-                .dateTime(LocalDateTime.parse(DEFAULT_DATE_TIME, DATE_TIME_FORMATTER))
+                .id(DEFAULT_TRANSACTION_ID_VALUE)
+                .cardToken(DEFAULT_CARD_TOKEN)
+                .amountCents(DEFAULT_AMOUNT_CENTS)
+                .dateTime(DEFAULT_LOCAL_DATE_TIME)
                 .establishment(DEFAULT_ESTABLISHMENT)
-                .nsu("0000000001")
-                .authorizationCode("AUTHCODE123")
-                .status(StatusTransacao.AUTORIZADO.getCodigo())
-                .paymentType(TipoFormaPagamento.AVISTA.getCodigo())
-                .installments("1")
+                .nsu(1L)
+                .authorizationCode("AUTHCODE1")
+                .status(StatusTransacao.AUTORIZADO)
+                .paymentType(TipoFormaPagamento.AVISTA)
+                .installments((short) 1)
                 .build();
     }
 
     public static TransactionEntity createCanceledTransactionEntity() {
         return TransactionEntity.builder()
-                .id(DEFAULT_TRANSACTION_ID)
-                .cardNumber(DEFAULT_CARD_NUMBER)
-                .amount(DEFAULT_AMOUNT)
-                .dateTime(LocalDateTime.parse(DEFAULT_DATE_TIME, DATE_TIME_FORMATTER))
+                .id(DEFAULT_TRANSACTION_ID_VALUE)
+                .cardToken(DEFAULT_CARD_TOKEN)
+                .amountCents(DEFAULT_AMOUNT_CENTS)
+                .dateTime(DEFAULT_LOCAL_DATE_TIME)
                 .establishment(DEFAULT_ESTABLISHMENT)
-                .nsu("0000000001")
-                .authorizationCode("AUTHCODE123")
-                .status(StatusTransacao.CANCELADO.getCodigo())
-                .paymentType(TipoFormaPagamento.AVISTA.getCodigo())
-                .installments("1")
+                .nsu(1L)
+                .authorizationCode("AUTHCODE1")
+                .status(StatusTransacao.CANCELADO)
+                .paymentType(TipoFormaPagamento.AVISTA)
+                .installments((short) 1)
                 .build();
     }
 
@@ -92,10 +142,10 @@ public final class PaymentTestDataFactory {
                                 .descricao(
                                         DescricaoResponseDTO.builder()
                                                 .valor(DEFAULT_AMOUNT)
-                                                .dataHora(DEFAULT_DATE_TIME)
+                                                .dataHora(DEFAULT_LOCAL_DATE_TIME)
                                                 .estabelecimento(DEFAULT_ESTABLISHMENT)
                                                 .nsu("0000000001")
-                                                .codigoAutorizacao("AUTHCODE123")
+                                                .codigoAutorizacao("AUTHCODE1")
                                                 .status(StatusTransacao.AUTORIZADO)
                                                 .build()
                                 )
@@ -114,10 +164,10 @@ public final class PaymentTestDataFactory {
                                 .descricao(
                                         DescricaoResponseDTO.builder()
                                                 .valor(DEFAULT_AMOUNT)
-                                                .dataHora(DEFAULT_DATE_TIME)
+                                                .dataHora(DEFAULT_LOCAL_DATE_TIME)
                                                 .estabelecimento(DEFAULT_ESTABLISHMENT)
                                                 .nsu("0000000001")
-                                                .codigoAutorizacao("AUTHCODE123")
+                                                .codigoAutorizacao("AUTHCODE1")
                                                 .status(StatusTransacao.CANCELADO)
                                                 .build()
                                 )
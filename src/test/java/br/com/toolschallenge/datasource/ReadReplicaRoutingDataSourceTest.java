@@ -0,0 +1,102 @@
+package br.com.toolschallenge.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final String DISPLAY_REPLICA =
+            "getConnection should use the replica for a read-only transaction marked for the replica";
+    private static final String DISPLAY_WRITE_TRANSACTION =
+            "getConnection should use the primary when the marked read joins a read-write transaction";
+    private static final String DISPLAY_UNMARKED =
+            "getConnection should use the primary for read-only transactions not marked for the replica";
+    private static final String DISPLAY_NESTED =
+            "onReplica should keep the mark for the outer read when nested";
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replica);
+    }
+
+    @AfterEach
+    void clearTransactionState() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_REPLICA)
+    void getConnection_shouldUseReplica_whenReadOnlyAndMarked() throws SQLException {
+        given(replica.getConnection()).willReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(ReadReplicaRoutingDataSource.onReplica(this::connect)).isSameAs(replicaConnection);
+        assertThat(ReadReplicaRoutingDataSource.isReplicaRead()).isFalse();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_WRITE_TRANSACTION)
+    void getConnection_shouldUsePrimary_whenTransactionIsReadWrite() throws SQLException {
+        given(primary.getConnection()).willReturn(primaryConnection);
+
+        assertThat(ReadReplicaRoutingDataSource.onReplica(this::connect)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_UNMARKED)
+    void getConnection_shouldUsePrimary_whenNotMarked() throws SQLException {
+        given(primary.getConnection()).willReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(connect()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_NESTED)
+    void onReplica_shouldKeepOuterMark_whenNested() {
+        boolean markedAfterInner = ReadReplicaRoutingDataSource.onReplica(() -> {
+            ReadReplicaRoutingDataSource.onReplica(() -> null);
+            return ReadReplicaRoutingDataSource.isReplicaRead();
+        });
+
+        assertThat(markedAfterInner).isTrue();
+        assertThat(ReadReplicaRoutingDataSource.isReplicaRead()).isFalse();
+    }
+
+    private Connection connect() {
+        try {
+            return routingDataSource.getConnection();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
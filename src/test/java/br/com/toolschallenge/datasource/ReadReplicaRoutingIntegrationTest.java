@@ -0,0 +1,146 @@
+package br.com.toolschallenge.datasource;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.toPaymentFields;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.exception.PaymentNotFoundException;
+import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.repository.impl.JdbcInstallmentRepository;
+import br.com.toolschallenge.repository.impl.TransactionInsertRepositoryImpl;
+import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.support.PostgresIntegrationTest;
+
+/**
+ * Roteamento entre dois PostgreSQL independentes, sem replicação: o do
+ * {@link PostgresIntegrationTest} como primário e {@link #REPLICA}, com o
+ * mesmo schema. Como nada é copiado de um para o outro, cada leitura mostra de
+ * qual banco veio: linhas gravadas só na réplica aparecem nas leituras
+ * roteadas, e pagamentos criados pelo serviço só aparecem nelas dentro da
+ * janela de read-your-writes.
+ */
+class ReadReplicaRoutingIntegrationTest extends PostgresIntegrationTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(500);
+    private static final long REPLICA_ONLY_ID = 970000000000001L;
+    private static final long REPLICA_ONLY_NSU = 970000001L;
+    private static final String STICKY_ID = "970000000000002";
+    private static final String EXPIRED_ID = "970000000000003";
+    private static final String PRIMARY_ONLY_ID = "970000000000004";
+
+    private static final String DISPLAY_FIND_FROM_REPLICA =
+            "findPaymentById should read a payment that exists only in the replica";
+    private static final String DISPLAY_LIST_FROM_REPLICA =
+            "listPayments should page over the replica, not the primary";
+    private static final String DISPLAY_READ_YOUR_WRITES =
+            "findPaymentById should read a payment just created from the primary within the window";
+    private static final String DISPLAY_AFTER_WINDOW =
+            "findPaymentById should read from the replica once the window has passed";
+
+    @Container
+    static final PostgreSQLContainer REPLICA =
+            new PostgreSQLContainer("postgres:16")
+                    .withInitScript("db/migration/init.sql");
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("pagamentos.datasource.replica.enabled", () -> "true");
+        registry.add("pagamentos.datasource.replica.jdbc-url", REPLICA::getJdbcUrl);
+        registry.add("pagamentos.datasource.replica.username", REPLICA::getUsername);
+        registry.add("pagamentos.datasource.replica.password", REPLICA::getPassword);
+        registry.add("pagamentos.datasource.replica.read-your-writes-window", WINDOW::toString);
+    }
+
+    /**
+     * O Flyway da aplicação roda só no primário; a réplica recebe as mesmas
+     * migrações aqui e uma linha que o primário não tem.
+     */
+    @BeforeAll
+    static void prepareReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(
+                REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword()));
+        TransactionEntity transaction = createAuthorizedTransactionEntity();
+        transaction.setId(REPLICA_ONLY_ID);
+        transaction.setNsu(REPLICA_ONLY_NSU);
+        transaction.setCardToken(replica.queryForObject(
+                "SELECT tb_cartao_tokenize(?)", Long.class, DEFAULT_CARD_NUMBER));
+        new TransactionInsertRepositoryImpl(replica, new JdbcInstallmentRepository(replica))
+                .insertIfAbsent(transaction);
+    }
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName(DISPLAY_FIND_FROM_REPLICA)
+    void findPaymentById_shouldReadFromReplica() {
+        PagamentoResponseDTO response = paymentService.findPaymentById(String.valueOf(REPLICA_ONLY_ID));
+
+        assertThat(response.getTransacao().getId()).isEqualTo(String.valueOf(REPLICA_ONLY_ID));
+        assertThat(transactionRepository.findByIdUsingPartitionKey(REPLICA_ONLY_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LIST_FROM_REPLICA)
+    void listPayments_shouldReadFromReplica() {
+        createPayment(PRIMARY_ONLY_ID);
+
+        assertThat(paymentService.listPayments(null, 500).getPagamentos())
+                .extracting(payment -> payment.getTransacao().getId())
+                .containsExactly(String.valueOf(REPLICA_ONLY_ID));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_READ_YOUR_WRITES)
+    void findPaymentById_shouldReadFromPrimary_withinWindow() {
+        createPayment(STICKY_ID);
+
+        assertThat(paymentService.findPaymentById(STICKY_ID).getTransacao().getId()).isEqualTo(STICKY_ID);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_AFTER_WINDOW)
+    void findPaymentById_shouldReadFromReplica_afterWindow() throws InterruptedException {
+        createPayment(EXPIRED_ID);
+
+        Thread.sleep(WINDOW.multipliedBy(2).toMillis());
+
+        assertThrows(PaymentNotFoundException.class, () -> paymentService.findPaymentById(EXPIRED_ID));
+        assertThat(transactionRepository.findByIdUsingPartitionKey(Long.parseLong(EXPIRED_ID))).isPresent();
+    }
+
+    private void createPayment(String id) {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        request.getTransacao().setId(id);
+        paymentService.createPayment(toPaymentFields(request));
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.toolschallenge.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaReadRouterTest {
+
+    private static final long ID = 42L;
+    private static final Duration WINDOW = Duration.ofSeconds(2);
+    private static final long MAX_IDS = 1_000;
+
+    private static final String DISPLAY_REPLICA =
+            "read should run the query in a read-only transaction marked for the replica";
+    private static final String DISPLAY_WITHIN_WINDOW =
+            "read by id should stay on the primary within the read-your-writes window";
+    private static final String DISPLAY_AFTER_WINDOW =
+            "read by id should go back to the replica once the window has passed";
+    private static final String DISPLAY_FAILURE =
+            "read should clear the replica mark when the query fails";
+    private static final String DISPLAY_DISABLED =
+            "read should run the query as is, without a transaction, when the replica is disabled";
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName(DISPLAY_REPLICA)
+    void read_shouldMarkReplicaInReadOnlyTransaction() {
+        ReplicaReadRouter router = router(true);
+
+        assertThat(router.read(ReadReplicaRoutingDataSource::isReplicaRead)).isTrue();
+        assertThat(router.read(ID, ReadReplicaRoutingDataSource::isReplicaRead)).isTrue();
+
+        assertThat(ReadReplicaRoutingDataSource.isReplicaRead()).isFalse();
+        verify(transactionManager, times(2))
+                .getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_WITHIN_WINDOW)
+    void readById_shouldStayOnPrimary_withinWindow() {
+        ReplicaReadRouter router = router(true);
+        router.recordWrite(ID);
+        nanos.addAndGet(WINDOW.toNanos() - 1);
+
+        assertThat(router.read(ID, ReadReplicaRoutingDataSource::isReplicaRead)).isFalse();
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_AFTER_WINDOW)
+    void readById_shouldUseReplica_afterWindow() {
+        ReplicaReadRouter router = router(true);
+        router.recordWrite(ID);
+        nanos.addAndGet(WINDOW.toNanos());
+
+        assertThat(router.read(ID, ReadReplicaRoutingDataSource::isReplicaRead)).isTrue();
+        assertThat(router.read(ID + 1, ReadReplicaRoutingDataSource::isReplicaRead)).isTrue();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FAILURE)
+    void read_shouldClearMark_whenQueryFails() {
+        ReplicaReadRouter router = router(true);
+        IllegalStateException failure = new IllegalStateException("replica unavailable");
+
+        Throwable thrown = catchThrowable(() -> router.read(() -> {
+            throw failure;
+        }));
+
+        assertThat(thrown).isSameAs(failure);
+        assertThat(ReadReplicaRoutingDataSource.isReplicaRead()).isFalse();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DISABLED)
+    void read_shouldRunQueryAsIs_whenDisabled() {
+        ReplicaReadRouter router = router(false);
+        router.recordWrite(ID);
+        boolean[] ran = new boolean[1];
+
+        assertThat(router.read(ReadReplicaRoutingDataSource::isReplicaRead)).isFalse();
+        assertThat(router.read(ID, ReadReplicaRoutingDataSource::isReplicaRead)).isFalse();
+        router.run(() -> ran[0] = true);
+
+        assertThat(ran[0]).isTrue();
+        verifyNoInteractions(transactionManager);
+    }
+
+    private ReplicaReadRouter router(boolean enabled) {
+        return new ReplicaReadRouter(transactionManager, enabled, WINDOW, MAX_IDS, nanos::get);
+    }
+}
@@ -42,6 +42,11 @@ class StatusTransacaoTest {
     private static final String DISPLAY_FROM_VALUE_INVALID =
             "fromValue should throw IllegalArgumentException for invalid description";
 
+    private static final String DISPLAY_FROM_VALUE_MIXED_CASE =
+            "fromValue should match descriptions in mixed case";
+    private static final String DISPLAY_OUT_OF_RANGE =
+            "fromValue and fromId should throw IllegalArgumentException for null and out-of-range inputs";
+
     private static final String DISPLAY_FROM_ID_VALID =
             "fromId should return correct enum for valid codes";
     private static final String DISPLAY_FROM_ID_INVALID =
@@ -128,4 +133,20 @@ class StatusTransacaoTest {
 
         assertEquals(EXPECTED_INVALID_CODE_MESSAGE, ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName(DISPLAY_FROM_VALUE_MIXED_CASE)
+    void fromValue_shouldMatchMixedCase() {
+        assertEquals(StatusTransacao.AUTORIZADO, StatusTransacao.fromValue("AuToRiZaDo"));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_OUT_OF_RANGE)
+    void lookups_shouldThrowException_forNullAndOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> StatusTransacao.fromValue(null));
+        assertThrows(IllegalArgumentException.class, () -> StatusTransacao.fromValue(""));
+        assertThrows(IllegalArgumentException.class, () -> StatusTransacao.fromId((Integer) null));
+        assertThrows(IllegalArgumentException.class, () -> StatusTransacao.fromId(0));
+        assertThrows(IllegalArgumentException.class, () -> StatusTransacao.fromId(-1));
+    }
+}
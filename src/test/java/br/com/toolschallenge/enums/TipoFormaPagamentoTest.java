@@ -42,6 +42,11 @@ class TipoFormaPagamentoTest {
     private static final String DISPLAY_FROM_VALUE_INVALID =
             "fromValue should throw IllegalArgumentException for invalid description";
 
+    private static final String DISPLAY_FROM_VALUE_MIXED_CASE =
+            "fromValue should match descriptions in mixed case";
+    private static final String DISPLAY_OUT_OF_RANGE =
+            "fromValue and fromId should throw IllegalArgumentException for null and out-of-range inputs";
+
     private static final String DISPLAY_FROM_ID_VALID =
             "fromId should return correct enum for valid codes";
     private static final String DISPLAY_FROM_ID_INVALID =
@@ -128,4 +133,20 @@ class TipoFormaPagamentoTest {
 
         assertEquals(EXPECTED_INVALID_CODE_MESSAGE, ex.getMessage());
     }
+
+    @Test
+    @DisplayName(DISPLAY_FROM_VALUE_MIXED_CASE)
+    void fromValue_shouldMatchMixedCase() {
+        assertEquals(TipoFormaPagamento.PARCELADO_LOJA, TipoFormaPagamento.fromValue("Parcelado Loja"));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_OUT_OF_RANGE)
+    void lookups_shouldThrowException_forNullAndOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> TipoFormaPagamento.fromValue(null));
+        assertThrows(IllegalArgumentException.class, () -> TipoFormaPagamento.fromValue(""));
+        assertThrows(IllegalArgumentException.class, () -> TipoFormaPagamento.fromId((Integer) null));
+        assertThrows(IllegalArgumentException.class, () -> TipoFormaPagamento.fromId(0));
+        assertThrows(IllegalArgumentException.class, () -> TipoFormaPagamento.fromId(-1));
+    }
 }
@@ -0,0 +1,203 @@
+package br.com.toolschallenge.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.toolschallenge.cache.PaymentJsonCache;
+import jakarta.servlet.FilterChain;
+import tools.jackson.databind.ObjectMapper;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final String PAYMENT_ID = "100023568900001";
+    private static final String PAYMENT_URI = "/pagamentos/" + PAYMENT_ID;
+    private static final String PAYMENTS_URI = "/pagamentos";
+    private static final String BATCH_URI = "/pagamentos/lote";
+    private static final String SEARCH_URI = "/pagamentos/busca";
+    private static final String ACTUATOR_URI = "/actuator/health";
+    private static final String EXPORT_URI = "/pagamentos/export";
+    private static final String SIMILAR_PREFIX_URI = "/pagamentosx";
+    private static final String RETRY_AFTER_SECONDS = "2";
+
+    private static final String DISPLAY_PASS_THROUGH =
+            "filter should let requests through and release the permit afterwards";
+    private static final String DISPLAY_SATURATED =
+            "filter should return 503 with Retry-After when no permit is available";
+    private static final String DISPLAY_OTHER_PATHS =
+            "filter should not limit requests outside /pagamentos";
+    private static final String DISPLAY_SIMILAR_PREFIX =
+            "filter should not limit paths that only share the /pagamentos prefix";
+    private static final String DISPLAY_ASYNC =
+            "filter should hold the export permit until the async request completes, apart from the pool permits";
+    private static final String DISPLAY_CACHED =
+            "filter should not take a permit for a payment whose JSON is cached";
+    private static final String DISPLAY_JOURNAL_CREATE =
+            "filter should not take a permit for a create in journal mode";
+    private static final String DISPLAY_REPLICA =
+            "filter should limit replica reads apart from the primary pool";
+
+    private final PaymentJsonCache paymentJsonCache = mock(PaymentJsonCache.class);
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = filter(false, false);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_PASS_THROUGH)
+    void shouldReleasePermitAfterRequest() throws Exception {
+        MockHttpServletResponse first = perform(PAYMENT_URI, new MockFilterChain());
+        MockHttpServletResponse second = perform(PAYMENT_URI, new MockFilterChain());
+
+        assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_SATURATED)
+    void shouldRejectWhenSaturated() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdsPermit = (request, response) -> nested.set(perform(PAYMENT_URI, new MockFilterChain()));
+
+        MockHttpServletResponse outer = perform(PAYMENT_URI, holdsPermit);
+        MockHttpServletResponse rejected = nested.get();
+
+        assertThat(outer.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo(RETRY_AFTER_SECONDS);
+        assertThat(rejected.getContentAsString())
+                .contains("\"path\":\"" + PAYMENT_URI + "\"")
+                .contains("Service is at capacity");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_OTHER_PATHS)
+    void shouldNotLimitOtherPaths() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdsPermit = (request, response) -> nested.set(perform(ACTUATOR_URI, new MockFilterChain()));
+
+        perform(PAYMENT_URI, holdsPermit);
+
+        assertThat(nested.get().getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_SIMILAR_PREFIX)
+    void shouldNotLimitSimilarPrefix() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdsPermit =
+                (request, response) -> nested.set(perform(SIMILAR_PREFIX_URI, new MockFilterChain()));
+
+        perform(PAYMENT_URI, holdsPermit);
+
+        assertThat(nested.get().getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_ASYNC)
+    void shouldHoldExportPermitUntilAsyncCompletes() throws Exception {
+        MockHttpServletRequest export = request(EXPORT_URI);
+        export.setAsyncSupported(true);
+        FilterChain startsAsync = (request, response) -> request.startAsync();
+
+        filter.doFilter(export, new MockHttpServletResponse(), startsAsync);
+        MockHttpServletResponse paymentWhileStreaming = perform(PAYMENT_URI, new MockFilterChain());
+        MockHttpServletResponse exportWhileStreaming = perform(EXPORT_URI, new MockFilterChain());
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        MockHttpServletResponse exportAfterCompletion = perform(EXPORT_URI, new MockFilterChain());
+
+        assertThat(paymentWhileStreaming.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(exportWhileStreaming.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(exportAfterCompletion.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CACHED)
+    void shouldNotLimitCachedPayment() throws Exception {
+        given(paymentJsonCache.contains(PAYMENT_ID)).willReturn(true);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain holdsPermit = (request, response) -> nested.set(perform(PAYMENT_URI, new MockFilterChain()));
+
+        perform(SEARCH_URI, holdsPermit);
+
+        assertThat(nested.get().getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_JOURNAL_CREATE)
+    void shouldNotLimitCreateInJournalMode() throws Exception {
+        filter = filter(false, true);
+        AtomicReference<MockHttpServletResponse> create = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> batch = new AtomicReference<>();
+        FilterChain holdsPermit = (request, response) -> {
+            create.set(perform(HttpMethod.POST, PAYMENTS_URI, new MockFilterChain()));
+            batch.set(perform(HttpMethod.POST, BATCH_URI, new MockFilterChain()));
+        };
+
+        perform(HttpMethod.POST, BATCH_URI, holdsPermit);
+
+        assertThat(create.get().getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(batch.get().getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_REPLICA)
+    void shouldLimitReplicaReadsApart() throws Exception {
+        filter = filter(true, false);
+        AtomicReference<MockHttpServletResponse> read = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> write = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> secondRead = new AtomicReference<>();
+        FilterChain readsWhileWriting = (request, response) -> {
+            write.set(perform(HttpMethod.POST, PAYMENTS_URI, new MockFilterChain()));
+            read.set(perform(SEARCH_URI, (nestedRequest, nestedResponse) ->
+                    secondRead.set(perform(PAYMENT_URI, new MockFilterChain()))));
+        };
+
+        perform(HttpMethod.POST, PAYMENTS_URI, readsWhileWriting);
+
+        assertThat(write.get().getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(read.get().getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(secondRead.get().getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    /** Uma permissão por semáforo e nenhuma espera. */
+    private ConcurrencyLimitFilter filter(boolean replicaEnabled, boolean journalEnabled) {
+        return new ConcurrencyLimitFilter(1, 1, 1, replicaEnabled, journalEnabled,
+                Duration.ZERO, Duration.ofSeconds(2), new ObjectMapper(), paymentJsonCache);
+    }
+
+    private MockHttpServletResponse perform(String uri, FilterChain chain) {
+        return perform(HttpMethod.GET, uri, chain);
+    }
+
+    private MockHttpServletResponse perform(HttpMethod method, String uri, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest(method.name(), uri), response, chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest(HttpMethod.GET.name(), uri);
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.toolschallenge.generator.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.toolschallenge.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BlockNsuGeneratorTest {
+
+    private static final long BLOCK_SIZE = 100L;
+    private static final long FIRST_BLOCK_START = 101L;
+    private static final long SECOND_BLOCK_START = 201L;
+    private static final int THREADS = 8;
+    private static final int ALLOCATIONS_PER_THREAD = 5_000;
+
+    private static final String DISPLAY_SEQUENTIAL_WITHIN_BLOCK =
+            "nextNsu should hand out consecutive values from a single sequence call";
+    private static final String DISPLAY_PREFETCH =
+            "nextNsu should reserve the next block in background before the current one runs out";
+    private static final String DISPLAY_NEXT_BLOCK =
+            "nextNsu should move to the prefetched block once the current one is exhausted";
+    private static final String DISPLAY_CONCURRENT_UNIQUE =
+            "nextNsu should never hand out the same value twice under concurrency";
+    private static final String DISPLAY_FAILURE =
+            "nextNsu should propagate sequence failures and retry on the next call";
+    private static final String DISPLAY_INCREMENT_ONE =
+            "nextNsu should fall back to one value per call when sequence increment is 1";
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName(DISPLAY_SEQUENTIAL_WITHIN_BLOCK)
+    void nextNsu_shouldReturnConsecutiveValuesWithinBlock() {
+        given(transactionRepository.getNsuIncrement()).willReturn(BLOCK_SIZE);
+        given(transactionRepository.getNextNsu()).willReturn(FIRST_BLOCK_START);
+        BlockNsuGenerator generator = new BlockNsuGenerator(transactionRepository, Runnable::run);
+
+        for (long expected = FIRST_BLOCK_START; expected < FIRST_BLOCK_START + 10; expected++) {
+            assertEquals(expected, generator.nextNsu());
+        }
+
+        verify(transactionRepository).getNextNsu();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_PREFETCH)
+    void nextNsu_shouldPrefetchNextBlockAtThreshold() {
+        given(transactionRepository.getNsuIncrement()).willReturn(BLOCK_SIZE);
+        given(transactionRepository.getNextNsu()).willReturn(FIRST_BLOCK_START, SECOND_BLOCK_START);
+        List<Runnable> scheduled = new ArrayList<>();
+        BlockNsuGenerator generator = new BlockNsuGenerator(transactionRepository, scheduled::add);
+
+        generator.warmUp();
+        scheduled.remove(0).run();
+
+        for (int i = 0; i < 74; i++) {
+            generator.nextNsu();
+        }
+        assertThat(scheduled).isEmpty();
+
+        generator.nextNsu();
+        assertThat(scheduled).hasSize(1);
+        verify(transactionRepository, times(1)).getNextNsu();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_NEXT_BLOCK)
+    void nextNsu_shouldSwitchToPrefetchedBlock() {
+        given(transactionRepository.getNsuIncrement()).willReturn(BLOCK_SIZE);
+        given(transactionRepository.getNextNsu()).willReturn(FIRST_BLOCK_START, SECOND_BLOCK_START);
+        BlockNsuGenerator generator = new BlockNsuGenerator(transactionRepository, Runnable::run);
+
+        long last = 0;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            last = generator.nextNsu();
+        }
+
+        assertEquals(FIRST_BLOCK_START + BLOCK_SIZE - 1, last);
+        assertEquals(SECOND_BLOCK_START, generator.nextNsu());
+        verify(transactionRepository, times(2)).getNextNsu();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CONCURRENT_UNIQUE)
+    void nextNsu_shouldBeUniqueUnderConcurrency() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        given(transactionRepository.getNsuIncrement()).willReturn(BLOCK_SIZE);
+        given(transactionRepository.getNextNsu())
+                .willAnswer(invocation -> sequence.getAndAdd(BLOCK_SIZE));
+
+        ExecutorService prefetcher = Executors.newSingleThreadExecutor();
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        try {
+            BlockNsuGenerator generator = new BlockNsuGenerator(transactionRepository, prefetcher);
+            Set<Long> issued = ConcurrentHashMap.newKeySet();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(workers.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ALLOCATIONS_PER_THREAD; i++) {
+                        issued.add(generator.nextNsu());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            assertThat(issued).hasSize(THREADS * ALLOCATIONS_PER_THREAD);
+        } finally {
+            workers.shutdownNow();
+            prefetcher.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FAILURE)
+    void nextNsu_shouldPropagateFailureAndRetry() {
+        given(transactionRepository.getNsuIncrement()).willReturn(BLOCK_SIZE);
+        given(transactionRepository.getNextNsu())
+                .willThrow(new IllegalStateException("db down"))
+                .willReturn(FIRST_BLOCK_START);
+        BlockNsuGenerator generator = new BlockNsuGenerator(transactionRepository, Runnable::run);
+
+        assertThrows(IllegalStateException.class, generator::nextNsu);
+        assertEquals(FIRST_BLOCK_START, generator.nextNsu());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INCREMENT_ONE)
+    void nextNsu_shouldUseSingleValueBlocks_whenIncrementIsOne() {
+        given(transactionRepository.getNsuIncrement()).willReturn(1L);
+        given(transactionRepository.getNextNsu()).willReturn(7L, 8L, 9L);
+        BlockNsuGenerator generator = new BlockNsuGenerator(transactionRepository, Runnable::run);
+
+        assertEquals(7L, generator.nextNsu());
+        assertEquals(8L, generator.nextNsu());
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -23,8 +24,15 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import br.com.toolschallenge.exception.DuplicateTransactionIdException;
+import br.com.toolschallenge.exception.InvalidBatchSizeException;
+import br.com.toolschallenge.exception.InvalidDateRangeException;
 import br.com.toolschallenge.exception.InvalidInstallmentsForPaymentTypeException;
+import br.com.toolschallenge.exception.InvalidPaymentCursorException;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
 import br.com.toolschallenge.exception.PaymentNotFoundException;
+import br.com.toolschallenge.exception.PaymentPendingException;
+import br.com.toolschallenge.exception.SettlementRebuildInProgressException;
+import br.com.toolschallenge.validation.FieldViolation;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -76,6 +84,8 @@ class GlobalExceptionHandlerTest {
             "An unexpected error occurred. Please contact support if the problem persists.";
     private static final String DISPLAY_METHOD_ARGUMENT_NOT_VALID =
             "handleMethodArgumentNotValid should return 400 with fieldErrors list";
+    private static final String DISPLAY_INVALID_PAYMENT_REQUEST =
+            "handleInvalidPaymentRequest should return 400 with every violation in fieldErrors";
     private static final String DISPLAY_CONSTRAINT_VIOLATION =
             "handleConstraintViolation should return 400 with fieldErrors list";
     private static final String DISPLAY_HTTP_MESSAGE_NOT_READABLE =
@@ -104,6 +114,26 @@ class GlobalExceptionHandlerTest {
             "handleHttpMessageNotReadable should return root message when not payment type error";
     private static final String ERROR_MSG_HTTP_BODY_GENERIC =
             "Some generic body parsing error";
+    private static final String DISPLAY_INVALID_PAYMENT_CURSOR =
+            "handleInvalidPaymentCursor should return 400 with exception message";
+    private static final String DISPLAY_INVALID_BATCH_SIZE =
+            "handleInvalidBatchSize should return 400 with exception message";
+    private static final String ERROR_MSG_INVALID_BATCH_SIZE =
+            "Batch must contain between 1 and 500 payments, received 0";
+    private static final String DISPLAY_INVALID_DATE_RANGE =
+            "handleInvalidDateRange should return 400 with exception message";
+    private static final String ERROR_MSG_INVALID_DATE_RANGE = "fim must not be before inicio";
+    private static final String DISPLAY_SETTLEMENT_REBUILD_IN_PROGRESS =
+            "handleSettlementRebuildInProgress should return 409 with exception message";
+    private static final String ERROR_MSG_SETTLEMENT_REBUILD_IN_PROGRESS =
+            "A settlement totals rebuild is already running";
+    private static final String DISPLAY_PAYMENT_PENDING =
+            "handlePaymentPending should return 503 with Retry-After and exception message";
+    private static final String ERROR_MSG_PAYMENT_PENDING =
+            "Transaction with id '1000000000001' is still being written to the database; retry later";
+    private static final String INVALID_CURSOR = "%%%";
+    private static final String ERROR_MSG_INVALID_CURSOR =
+            "Invalid pagination cursor: " + INVALID_CURSOR;
 
 
     private GlobalExceptionHandler handler;
@@ -150,6 +180,37 @@ class GlobalExceptionHandlerTest {
                 .containsEntry(KEY_MESSAGE, MSG_MUST_NOT_BE_BLANK);
     }
 
+    @Test
+    @DisplayName(DISPLAY_INVALID_PAYMENT_REQUEST)
+    void handleInvalidPaymentRequest() {
+        InvalidPaymentRequestException ex = new InvalidPaymentRequestException(List.of(
+                new FieldViolation(FIELD_CARD_NUMBER, MSG_MUST_NOT_BE_BLANK),
+                new FieldViolation(FIELD_AMOUNT, MSG_AMOUNT_MUST_BE_GREATER_THAN_ZERO)));
+
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleInvalidPaymentRequest(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        Map<String, Object> body = response.getBody();
+        assertThat(body).isNotNull()
+                .containsEntry(KEY_MESSAGE, MSG_VALIDATION_FAILED)
+                .containsEntry(KEY_PATH, REQUEST_URI);
+        assertThat(body.get(KEY_TIMESTAMP)).isNotNull();
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, String>> fieldErrors =
+                (List<Map<String, String>>) body.get(KEY_FIELD_ERRORS);
+
+        assertThat(fieldErrors).hasSize(2);
+        assertThat(fieldErrors.get(0))
+                .containsEntry(KEY_FIELD, FIELD_CARD_NUMBER)
+                .containsEntry(KEY_MESSAGE, MSG_MUST_NOT_BE_BLANK);
+        assertThat(fieldErrors.get(1))
+                .containsEntry(KEY_FIELD, FIELD_AMOUNT)
+                .containsEntry(KEY_MESSAGE, MSG_AMOUNT_MUST_BE_GREATER_THAN_ZERO);
+    }
+
     @Test
     @DisplayName(DISPLAY_CONSTRAINT_VIOLATION)
     void handleConstraintViolation() {
@@ -385,4 +446,90 @@ class GlobalExceptionHandlerTest {
                 .containsEntry(KEY_PATH, REQUEST_URI);
         assertThat(body.get(KEY_TIMESTAMP)).isNotNull();
     }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_PAYMENT_CURSOR)
+    void handleInvalidPaymentCursor_shouldReturnBadRequestWithMessage() {
+        InvalidPaymentCursorException ex =
+                new InvalidPaymentCursorException(INVALID_CURSOR);
+
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleInvalidPaymentCursor(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        Map<String, Object> body = response.getBody();
+        assertThat(body).isNotNull()
+                .containsEntry(KEY_MESSAGE, ERROR_MSG_INVALID_CURSOR)
+                .containsEntry(KEY_PATH, REQUEST_URI);
+        assertThat(body.get(KEY_TIMESTAMP)).isNotNull();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_BATCH_SIZE)
+    void handleInvalidBatchSize_shouldReturnBadRequestWithMessage() {
+        InvalidBatchSizeException ex = new InvalidBatchSizeException(0, 500);
+
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleInvalidBatchSize(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        Map<String, Object> body = response.getBody();
+        assertThat(body).isNotNull()
+                .containsEntry(KEY_MESSAGE, ERROR_MSG_INVALID_BATCH_SIZE)
+                .containsEntry(KEY_PATH, REQUEST_URI);
+        assertThat(body.get(KEY_TIMESTAMP)).isNotNull();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_DATE_RANGE)
+    void handleInvalidDateRange_shouldReturnBadRequestWithMessage() {
+        InvalidDateRangeException ex = new InvalidDateRangeException();
+
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleInvalidDateRange(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        Map<String, Object> body = response.getBody();
+        assertThat(body).isNotNull()
+                .containsEntry(KEY_MESSAGE, ERROR_MSG_INVALID_DATE_RANGE)
+                .containsEntry(KEY_PATH, REQUEST_URI);
+        assertThat(body.get(KEY_TIMESTAMP)).isNotNull();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_SETTLEMENT_REBUILD_IN_PROGRESS)
+    void handleSettlementRebuildInProgress_shouldReturnConflictWithMessage() {
+        SettlementRebuildInProgressException ex = new SettlementRebuildInProgressException();
+
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleSettlementRebuildInProgress(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        Map<String, Object> body = response.getBody();
+        assertThat(body).isNotNull()
+                .containsEntry(KEY_MESSAGE, ERROR_MSG_SETTLEMENT_REBUILD_IN_PROGRESS)
+                .containsEntry(KEY_PATH, REQUEST_URI);
+        assertThat(body.get(KEY_TIMESTAMP)).isNotNull();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_PAYMENT_PENDING)
+    void handlePaymentPending_shouldReturnServiceUnavailableWithRetryAfter() {
+        PaymentPendingException ex = new PaymentPendingException(TRANSACTION_ID);
+
+        ResponseEntity<Map<String, Object>> response = handler.handlePaymentPending(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        Map<String, Object> body = response.getBody();
+        assertThat(body).isNotNull()
+                .containsEntry(KEY_MESSAGE, ERROR_MSG_PAYMENT_PENDING)
+                .containsEntry(KEY_PATH, REQUEST_URI);
+        assertThat(body.get(KEY_TIMESTAMP)).isNotNull();
+    }
 }
@@ -0,0 +1,158 @@
+package br.com.toolschallenge.idfilter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.toolschallenge.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BloomTransactionIdFilterTest {
+
+    private static final long EXPECTED_IDS = 100_000L;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 10_000;
+    private static final long REGISTERED_ID = 42L;
+    private static final long NEW_ID = 43L;
+
+    private static final String DISPLAY_NO_FALSE_NEGATIVES =
+            "add should never lose an id under concurrent inserts";
+    private static final String DISPLAY_FALSE_POSITIVE_RATE =
+            "mightContain should stay near the configured false-positive rate at the expected size";
+    private static final String DISPLAY_BEFORE_LOAD =
+            "isRegistered should always ask the database before the filter is loaded";
+    private static final String DISPLAY_AFTER_LOAD =
+            "isRegistered should skip the database for ids the filter rules out after loading";
+    private static final String DISPLAY_LOAD_FAILURE =
+            "isRegistered should keep asking the database when loading fails";
+    private static final String DISPLAY_METRICS =
+            "the filter should publish size, estimated false-positive rate and check counters";
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private BloomTransactionIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new BloomTransactionIdFilter(transactionRepository, transactionManager, Runnable::run,
+                meterRegistry, true, EXPECTED_IDS, FALSE_POSITIVE_RATE);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_NO_FALSE_NEGATIVES)
+    void add_shouldNotLoseIdsUnderConcurrency() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long first = (long) t * IDS_PER_THREAD;
+                futures.add(pool.submit(() -> LongStream.range(first, first + IDS_PER_THREAD).forEach(filter::add)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (long id = 0; id < (long) THREADS * IDS_PER_THREAD; id++) {
+            assertTrue(filter.mightContain(id), "lost id " + id);
+        }
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FALSE_POSITIVE_RATE)
+    void mightContain_shouldStayNearConfiguredRate() {
+        LongStream.range(0, EXPECTED_IDS).forEach(filter::add);
+
+        long probes = 100_000;
+        long falsePositives = LongStream.range(EXPECTED_IDS, EXPECTED_IDS + probes)
+                .filter(filter::mightContain)
+                .count();
+
+        assertThat((double) falsePositives / probes).isLessThan(FALSE_POSITIVE_RATE * 2);
+        assertThat(filter.estimatedFalsePositiveRate()).isLessThan(FALSE_POSITIVE_RATE * 2);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_BEFORE_LOAD)
+    void isRegistered_shouldAskDatabase_beforeLoad() {
+        given(transactionRepository.isIdRegistered(NEW_ID)).willReturn(false);
+
+        assertFalse(filter.isRegistered(NEW_ID));
+
+        verify(transactionRepository).isIdRegistered(NEW_ID);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_AFTER_LOAD)
+    void isRegistered_shouldSkipDatabase_afterLoad() {
+        given(transactionRepository.streamRegisteredIds()).willReturn(LongStream.of(REGISTERED_ID).boxed());
+        given(transactionRepository.isIdRegistered(REGISTERED_ID)).willReturn(true);
+        filter.warmUp();
+
+        assertTrue(filter.isRegistered(REGISTERED_ID));
+        assertFalse(filter.isRegistered(NEW_ID));
+
+        verify(transactionRepository).isIdRegistered(REGISTERED_ID);
+        verify(transactionRepository, never()).isIdRegistered(NEW_ID);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LOAD_FAILURE)
+    void isRegistered_shouldAskDatabase_whenLoadFails() {
+        given(transactionRepository.streamRegisteredIds()).willThrow(new IllegalStateException("database down"));
+        given(transactionRepository.isIdRegistered(anyLong())).willReturn(false);
+        filter.warmUp();
+
+        assertFalse(filter.isRegistered(NEW_ID));
+
+        verify(transactionRepository).isIdRegistered(NEW_ID);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_METRICS)
+    void metrics_shouldReportSizeAndChecks() {
+        given(transactionRepository.streamRegisteredIds()).willReturn(LongStream.range(0, 1000).boxed());
+        given(transactionRepository.isIdRegistered(anyLong())).willReturn(false);
+        filter.warmUp();
+
+        filter.isRegistered(EXPECTED_IDS * 10);
+        filter.isRegistered(1L);
+
+        assertThat(meterRegistry.get("pagamentos.id.filter.size").gauge().value()).isBetween(950.0, 1050.0);
+        assertThat(meterRegistry.get("pagamentos.id.filter.false.positive.rate").gauge().value()).isLessThan(FALSE_POSITIVE_RATE);
+        assertEquals(1.0, meterRegistry.get("pagamentos.id.filter.false.positives").counter().count());
+        assertEquals(1.0, meterRegistry.get("pagamentos.id.filter.checks").tag("result", "database").counter().count());
+        assertEquals(1.0, meterRegistry.get("pagamentos.id.filter.checks").tag("result", "new").counter().count());
+    }
+}
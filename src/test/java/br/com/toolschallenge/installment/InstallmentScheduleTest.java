@@ -0,0 +1,86 @@
+package br.com.toolschallenge.installment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class InstallmentScheduleTest {
+
+    private static final String DISPLAY_REMAINDER =
+            "installmentCents should spread the remainder one cent at a time from the first installment";
+    private static final String DISPLAY_SUM =
+            "installmentCents should add up to the total and differ by at most one cent";
+    private static final String DISPLAY_INVALID_NUMBER =
+            "installmentCents should reject installment numbers outside 1..count";
+    private static final String DISPLAY_DUE_DATE =
+            "dueDate should add one month per installment and clamp to the end of shorter months";
+    private static final String DISPLAY_COUNT =
+            "installmentCount should treat less than one installment as a single installment";
+
+    @Test
+    @DisplayName(DISPLAY_REMAINDER)
+    void installmentCents_shouldSpreadRemainderFromFirstInstallment() {
+        long total = 10000;
+
+        assertThat(InstallmentSchedule.installmentCents(total, 3, 1)).isEqualTo(3334);
+        assertThat(InstallmentSchedule.installmentCents(total, 3, 2)).isEqualTo(3333);
+        assertThat(InstallmentSchedule.installmentCents(total, 3, 3)).isEqualTo(3333);
+        assertThat(InstallmentSchedule.installmentCents(1002, 4, 1)).isEqualTo(251);
+        assertThat(InstallmentSchedule.installmentCents(1002, 4, 2)).isEqualTo(251);
+        assertThat(InstallmentSchedule.installmentCents(1002, 4, 3)).isEqualTo(250);
+        assertThat(InstallmentSchedule.installmentCents(1002, 4, 4)).isEqualTo(250);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "1, 1", "1, 12", "99999999, 7", "50000, 12", "1234567, 32767" })
+    @DisplayName(DISPLAY_SUM)
+    void installmentCents_shouldAddUpToTotal(long total, int count) {
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int number = 1; number <= count; number++) {
+            long cents = InstallmentSchedule.installmentCents(total, count, number);
+            sum += cents;
+            min = Math.min(min, cents);
+            max = Math.max(max, cents);
+        }
+
+        assertThat(sum).isEqualTo(total);
+        assertThat(max - min).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_NUMBER)
+    void installmentCents_shouldRejectNumberOutOfRange() {
+        assertThatThrownBy(() -> InstallmentSchedule.installmentCents(1000, 3, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Installment number must be between 1 and 3, received 0");
+        assertThatThrownBy(() -> InstallmentSchedule.installmentCents(1000, 3, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DUE_DATE)
+    void dueDate_shouldAddMonths() {
+        LocalDate transactionDate = LocalDate.of(2024, 1, 31);
+
+        assertThat(InstallmentSchedule.dueDate(transactionDate, 1)).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(InstallmentSchedule.dueDate(transactionDate, 2)).isEqualTo(LocalDate.of(2024, 3, 31));
+        assertThat(InstallmentSchedule.dueDate(transactionDate, 3)).isEqualTo(LocalDate.of(2024, 4, 30));
+        assertThat(InstallmentSchedule.dueDate(transactionDate, 12)).isEqualTo(LocalDate.of(2025, 1, 31));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_COUNT)
+    void installmentCount_shouldBeAtLeastOne() {
+        assertThat(InstallmentSchedule.installmentCount((short) 0)).isEqualTo(1);
+        assertThat(InstallmentSchedule.installmentCount((short) 1)).isEqualTo(1);
+        assertThat(InstallmentSchedule.installmentCount((short) 12)).isEqualTo(12);
+    }
+}
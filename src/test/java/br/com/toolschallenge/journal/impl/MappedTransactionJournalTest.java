@@ -0,0 +1,396 @@
+package br.com.toolschallenge.journal.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.util.unit.DataSize;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.exception.DuplicateTransactionIdException;
+import br.com.toolschallenge.exception.PaymentPendingException;
+import br.com.toolschallenge.idfilter.TransactionIdFilter;
+import br.com.toolschallenge.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MappedTransactionJournalTest {
+
+    private static final DataSize SEGMENT_SIZE = DataSize.ofKilobytes(64);
+    private static final int DRAIN_BATCH_SIZE = 100;
+    private static final long DRAIN_TIMEOUT_MS = 5_000;
+    private static final Duration DRAIN_WAIT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration SHORT_DRAIN_WAIT_TIMEOUT = Duration.ofMillis(200);
+    private static final int DRAIN_MAX_ATTEMPTS = 1;
+    private static final long FIRST_ID = 1L;
+    private static final long SECOND_ID = 2L;
+
+    private static final String DISPLAY_APPEND_FIND =
+            "append should make the transaction visible to find before it reaches the database";
+    private static final String DISPLAY_APPEND_DUPLICATE =
+            "append should throw DuplicateTransactionIdException when the id is still in the journal";
+    private static final String DISPLAY_DRAIN =
+            "startDraining should insert journal entries in batches and release them from memory";
+    private static final String DISPLAY_RECOVERY =
+            "a new journal should replay entries written before a crash and not again after they drained";
+    private static final String DISPLAY_TORN_RECORD =
+            "recovery should stop at a record whose checksum does not match";
+    private static final String DISPLAY_RESERVE =
+            "reserve should refuse an id already reserved until it is released";
+    private static final String DISPLAY_RESERVED_UNTIL_DRAINED =
+            "an appended id should stay reserved until it is drained, and recovered ids should be reserved";
+    private static final String DISPLAY_DRAIN_REPLAYED =
+            "drain should accept a record already in the database with the same NSU without saving a conflict";
+    private static final String DISPLAY_DRAIN_CONFLICT =
+            "drain should save a record whose id belongs to another transaction in the conflicts file";
+    private static final String DISPLAY_AWAIT_TIMEOUT =
+            "awaitDrained should throw PaymentPendingException when the database stays unavailable";
+    private static final String DISPLAY_DRAIN_REFUSED =
+            "drain should move a record the database keeps refusing to the conflicts file and drain the rest";
+    private static final String DISPLAY_FAILED_WRITE_NOT_REPLAYED =
+            "a record whose append failed should not be replayed by recovery, even when batched with others";
+    private static final String DISPLAY_DISABLED =
+            "a disabled journal should not touch the disk or the database";
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionIdFilter transactionIdFilter;
+
+    private final List<MappedTransactionJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() {
+        opened.forEach(MappedTransactionJournal::close);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_APPEND_FIND)
+    void append_shouldMakeTransactionVisibleToFind() {
+        MappedTransactionJournal journal = open();
+        TransactionEntity transaction = transaction(FIRST_ID);
+
+        journal.append(transaction);
+
+        assertThat(journal.find(FIRST_ID)).containsSame(transaction);
+        assertThat(journal.find(SECOND_ID)).isEmpty();
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_APPEND_DUPLICATE)
+    void append_shouldRejectIdStillInJournal() {
+        MappedTransactionJournal journal = open();
+        journal.append(transaction(FIRST_ID));
+
+        assertThrows(DuplicateTransactionIdException.class,
+                () -> journal.append(transaction(FIRST_ID)));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DRAIN)
+    void startDraining_shouldInsertEntriesAndReleaseThem() {
+        insertAllSucceeds();
+        MappedTransactionJournal journal = open();
+        journal.append(transaction(FIRST_ID));
+        journal.append(transaction(SECOND_ID));
+
+        journal.startDraining();
+        journal.awaitDrained(FIRST_ID);
+        journal.awaitDrained(SECOND_ID);
+
+        verify(transactionRepository, timeout(DRAIN_TIMEOUT_MS).atLeastOnce()).insertAllIfAbsent(anyList());
+        assertThat(journal.find(FIRST_ID)).isEmpty();
+        assertThat(journal.find(SECOND_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_RESERVE)
+    void reserve_shouldRefuseReservedId_untilReleased() {
+        MappedTransactionJournal journal = open();
+
+        assertTrue(journal.reserve(FIRST_ID));
+        assertFalse(journal.reserve(FIRST_ID));
+        assertTrue(journal.reserve(SECOND_ID));
+
+        journal.release(FIRST_ID);
+
+        assertTrue(journal.reserve(FIRST_ID));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_RESERVED_UNTIL_DRAINED)
+    void appendedId_shouldStayReserved_untilDrained() {
+        insertAllSucceeds();
+        MappedTransactionJournal crashed = open();
+        assertTrue(crashed.reserve(FIRST_ID));
+        crashed.append(transaction(FIRST_ID));
+        crashed.close();
+
+        MappedTransactionJournal recovered = open();
+        assertFalse(recovered.reserve(FIRST_ID));
+
+        recovered.startDraining();
+        recovered.awaitDrained(FIRST_ID);
+
+        assertTrue(recovered.reserve(FIRST_ID));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DRAIN_REPLAYED)
+    void drain_shouldAcceptReplayedRecord() {
+        TransactionEntity appended = transaction(FIRST_ID);
+        insertAllFindsStored(appended.getNsu());
+        MappedTransactionJournal journal = open();
+        journal.append(appended);
+
+        journal.startDraining();
+        journal.awaitDrained(FIRST_ID);
+
+        assertThat(journal.find(FIRST_ID)).isEmpty();
+        assertFalse(Files.exists(directory.resolve("conflicts")));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DRAIN_CONFLICT)
+    void drain_shouldSaveConflictingRecord() throws IOException {
+        TransactionEntity appended = transaction(FIRST_ID);
+        insertAllFindsStored(appended.getNsu() + 1);
+        MappedTransactionJournal journal = open();
+        journal.append(appended);
+
+        journal.startDraining();
+        journal.awaitDrained(FIRST_ID);
+
+        ByteBuffer conflicts = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("conflicts")));
+        TransactionEntity saved = TransactionRecordCodec.decode(conflicts);
+        assertEquals(FIRST_ID, saved.getId());
+        assertEquals(appended.getNsu(), saved.getNsu());
+        assertThat(journal.find(FIRST_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_AWAIT_TIMEOUT)
+    void awaitDrained_shouldThrow_whenDatabaseUnavailable() {
+        given(transactionRepository.insertAllIfAbsent(anyList()))
+                .willThrow(new CannotGetJdbcConnectionException("database unavailable"));
+        MappedTransactionJournal journal = open(SHORT_DRAIN_WAIT_TIMEOUT);
+        journal.append(transaction(FIRST_ID));
+
+        journal.startDraining();
+
+        assertThrows(PaymentPendingException.class, () -> journal.awaitDrained(FIRST_ID));
+        assertTrue(journal.find(FIRST_ID).isPresent());
+        assertFalse(Files.exists(directory.resolve("conflicts")));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DRAIN_REFUSED)
+    void drain_shouldSaveRefusedRecord_andDrainTheRest() throws IOException {
+        List<Long> inserted = new ArrayList<>();
+        given(transactionRepository.insertAllIfAbsent(anyList())).willAnswer(invocation -> {
+            List<TransactionEntity> transactions = invocation.getArgument(0);
+            if (transactions.stream().anyMatch(transaction -> transaction.getId() == SECOND_ID)) {
+                throw new DataIntegrityViolationException("value out of range");
+            }
+            transactions.forEach(transaction -> inserted.add(transaction.getId()));
+            int[] result = new int[transactions.size()];
+            Arrays.fill(result, 1);
+            return result;
+        });
+        MappedTransactionJournal journal = open();
+        journal.append(transaction(FIRST_ID));
+        journal.append(transaction(SECOND_ID));
+
+        journal.startDraining();
+        journal.awaitDrained(FIRST_ID);
+        journal.awaitDrained(SECOND_ID);
+
+        assertEquals(List.of(FIRST_ID), inserted);
+        ByteBuffer conflicts = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("conflicts")));
+        assertEquals(SECOND_ID, TransactionRecordCodec.decode(conflicts).getId());
+        assertThat(journal.find(SECOND_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_RECOVERY)
+    void open_shouldReplayEntriesWrittenBeforeCrash() {
+        List<Long> inserted = insertAllSucceeds();
+        MappedTransactionJournal crashed = open();
+        crashed.append(transaction(FIRST_ID));
+        TransactionEntity padded = transaction(SECOND_ID);
+        padded.setIdLeadingZeros((short) 2);
+        padded.setInstallmentsLeadingZeros((short) 1);
+        crashed.append(padded);
+        crashed.close();
+
+        MappedTransactionJournal recovered = open();
+        verify(transactionIdFilter).add(FIRST_ID);
+        verify(transactionIdFilter).add(SECOND_ID);
+        TransactionEntity replayed = recovered.find(SECOND_ID).orElseThrow();
+        assertEquals(transaction(SECOND_ID).getAmountCents(), replayed.getAmountCents());
+        assertEquals(transaction(SECOND_ID).getDateTime(), replayed.getDateTime());
+        assertEquals(transaction(SECOND_ID).getEstablishment(), replayed.getEstablishment());
+        assertEquals((short) 2, replayed.getIdLeadingZeros());
+        assertEquals((short) 1, replayed.getInstallmentsLeadingZeros());
+
+        recovered.startDraining();
+        recovered.awaitDrained(FIRST_ID);
+        recovered.awaitDrained(SECOND_ID);
+        recovered.close();
+        assertEquals(List.of(FIRST_ID, SECOND_ID), inserted);
+
+        MappedTransactionJournal restarted = open();
+        assertThat(restarted.find(FIRST_ID)).isEmpty();
+        assertThat(restarted.find(SECOND_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FAILED_WRITE_NOT_REPLAYED)
+    void open_shouldNotReplayFailedAppends() throws InterruptedException {
+        int appends = 32;
+        long unwritableId = appends / 2;
+        MappedTransactionJournal crashed = open();
+        Set<Long> acknowledged = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(appends);
+        for (long id = 1; id <= appends; id++) {
+            TransactionEntity transaction = transaction(id);
+            if (id == unwritableId) {
+                transaction.setEstablishment(null);
+            }
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    crashed.append(transaction);
+                    acknowledged.add(transaction.getId());
+                } catch (InterruptedException | RuntimeException ex) {
+                    // append recusado: não pode voltar na recuperação
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        crashed.close();
+
+        MappedTransactionJournal recovered = open();
+        for (long id = 1; id <= appends; id++) {
+            assertEquals(acknowledged.contains(id), recovered.find(id).isPresent(), "id " + id);
+        }
+        assertFalse(acknowledged.contains(unwritableId));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_TORN_RECORD)
+    void open_shouldStopAtCorruptedRecord() throws IOException {
+        MappedTransactionJournal crashed = open();
+        crashed.append(transaction(FIRST_ID));
+        crashed.append(transaction(SECOND_ID));
+        crashed.close();
+
+        try (RandomAccessFile segment = new RandomAccessFile(JournalSegment.path(directory, 0).toFile(), "rw")) {
+            int secondRecord = TransactionRecordCodec.HEADER_SIZE + segment.readInt();
+            segment.seek(secondRecord + TransactionRecordCodec.HEADER_SIZE);
+            segment.write(0xFF);
+        }
+
+        MappedTransactionJournal recovered = open();
+        assertTrue(recovered.find(FIRST_ID).isPresent());
+        assertFalse(recovered.find(SECOND_ID).isPresent());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DISABLED)
+    void disabledJournal_shouldDoNothing() {
+        Path disabledDirectory = directory.resolve("disabled");
+        MappedTransactionJournal journal = new MappedTransactionJournal(transactionRepository, transactionIdFilter, false,
+                disabledDirectory.toString(), SEGMENT_SIZE, DRAIN_BATCH_SIZE, DRAIN_WAIT_TIMEOUT, DRAIN_MAX_ATTEMPTS);
+
+        journal.startDraining();
+
+        assertFalse(journal.isEnabled());
+        assertTrue(journal.reserve(FIRST_ID));
+        assertTrue(journal.reserve(FIRST_ID));
+        assertThat(journal.find(FIRST_ID)).isEmpty();
+        assertFalse(Files.exists(disabledDirectory));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    private MappedTransactionJournal open() {
+        return open(DRAIN_WAIT_TIMEOUT);
+    }
+
+    private MappedTransactionJournal open(Duration drainWaitTimeout) {
+        MappedTransactionJournal journal = new MappedTransactionJournal(transactionRepository, transactionIdFilter, true,
+                directory.toString(), SEGMENT_SIZE, DRAIN_BATCH_SIZE, drainWaitTimeout, DRAIN_MAX_ATTEMPTS);
+        opened.add(journal);
+        return journal;
+    }
+
+    private List<Long> insertAllSucceeds() {
+        List<Long> inserted = new ArrayList<>();
+        given(transactionRepository.insertAllIfAbsent(anyList())).willAnswer(invocation -> {
+            List<TransactionEntity> transactions = invocation.getArgument(0);
+            transactions.forEach(transaction -> inserted.add(transaction.getId()));
+            int[] result = new int[transactions.size()];
+            Arrays.fill(result, 1);
+            return result;
+        });
+        return inserted;
+    }
+
+    /**
+     * O INSERT não grava nada: o id já está no banco, com o NSU informado.
+     */
+    private void insertAllFindsStored(long storedNsu) {
+        given(transactionRepository.insertAllIfAbsent(anyList()))
+                .willAnswer(invocation -> new int[((List<?>) invocation.getArgument(0)).size()]);
+        TransactionEntity stored = transaction(FIRST_ID);
+        stored.setNsu(storedNsu);
+        given(transactionRepository.findByIdUsingPartitionKey(FIRST_ID)).willReturn(Optional.of(stored));
+    }
+
+    private static TransactionEntity transaction(long id) {
+        TransactionEntity transaction = createAuthorizedTransactionEntity();
+        transaction.setId(id);
+        return transaction;
+    }
+}
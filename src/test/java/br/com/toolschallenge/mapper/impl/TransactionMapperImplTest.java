@@ -1,19 +1,25 @@
 package br.com.toolschallenge.mapper.impl;
 
 import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_AMOUNT;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_AMOUNT_CENTS;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_TOKEN;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID_VALUE;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledTransactionEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,47 +28,57 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import br.com.toolschallenge.dto.DescricaoRequestDTO;
+import br.com.toolschallenge.card.CardTokenizer;
 import br.com.toolschallenge.dto.DescricaoResponseDTO;
 import br.com.toolschallenge.dto.FormaPagamentoDTO;
-import br.com.toolschallenge.dto.PagamentoRequestDTO;
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
-import br.com.toolschallenge.dto.TransacaoRequestDTO;
 import br.com.toolschallenge.dto.TransacaoResponseDTO;
 import br.com.toolschallenge.entity.TransactionEntity;
 import br.com.toolschallenge.enums.StatusTransacao;
 import br.com.toolschallenge.enums.TipoFormaPagamento;
 import br.com.toolschallenge.exception.InvalidInstallmentsForPaymentTypeException;
-import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.generator.NsuGenerator;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionMapperImplTest {
 
-    private static final String DATE_TIME_PATTERN = "dd/MM/yyyy HH:mm:ss";
-    private static final String SAMPLE_DATE_TIME = "01/05/2021 18:30:00";
+    private static final LocalDateTime SAMPLE_DATE_TIME = LocalDateTime.of(2021, 5, 1, 18, 30);
     private static final String SAMPLE_ESTABLISHMENT = "PetShop Mundo cão";
     private static final String SAMPLE_AUTH_CODE = "AUTHCODE1";
     private static final long NEXT_NSU_VALUE = 1L;
     private static final String EXPECTED_NSU = "0000000001";
+    private static final short SAMPLE_INSTALLMENTS = 3;
     private static final int EXPECTED_AUTH_CODE_LENGTH = 9;
+    private static final long SECOND_CARD_TOKEN = 2L;
+    private static final String SECOND_CARD_NUMBER = "5555********6789";
 
     private static final String DISPLAY_TO_PAYMENT_RESPONSE_NULL =
             "toPaymentResponse should return null when entity is null";
     private static final String DISPLAY_TO_PAYMENT_RESPONSE_MAP_FIELDS =
             "toPaymentResponse should map all fields from entity to DTO";
+    private static final String DISPLAY_TO_PAYMENT_RESPONSE_LEADING_ZEROS =
+            "toPaymentResponse should render id and installments with the leading zeros they were created with";
+    private static final String DISPLAY_TO_PAYMENT_RESPONSES_BULK =
+            "toPaymentResponses should resolve the card numbers of the whole page with one vault lookup";
     private static final String DISPLAY_TO_TRANSACTION_ENTITY_MAP_FIELDS =
-            "toTransactionEntityRequest should map all fields and generate NSU and authorization code";
+            "toTransactionEntityRequest should map all fields, tokenize the card and generate NSU and authorization code";
     private static final String DISPLAY_TO_TRANSACTION_ENTITY_INVALID_INSTALLMENTS =
             "toTransactionEntityRequest should throw InvalidInstallmentsForPaymentTypeException when installments lower than 2 and payment type is AVISTA";
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private NsuGenerator nsuGenerator;
+
+    @Mock
+    private CardTokenizer cardTokenizer;
+
+    @Mock
+    private PaymentMetrics paymentMetrics;
 
     @InjectMocks
     private TransactionMapperImpl mapper;
 
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN);
-
     @Test
     @DisplayName(DISPLAY_TO_PAYMENT_RESPONSE_NULL)
     void toPaymentResponse_shouldReturnNull_whenEntityIsNull() {
@@ -74,127 +90,148 @@ class TransactionMapperImplTest {
     @Test
     @DisplayName(DISPLAY_TO_PAYMENT_RESPONSE_MAP_FIELDS)
     void toPaymentResponse_shouldMapAllFields() {
-        LocalDateTime dateTime = LocalDateTime.parse(SAMPLE_DATE_TIME, formatter);
+        LocalDateTime dateTime = SAMPLE_DATE_TIME;
 
         TransactionEntity entity = TransactionEntity.builder()
-                .id(DEFAULT_TRANSACTION_ID)
-                .cardNumber(DEFAULT_CARD_NUMBER)
-                .amount(DEFAULT_AMOUNT)
+                .id(DEFAULT_TRANSACTION_ID_VALUE)
+                .cardToken(DEFAULT_CARD_TOKEN)
+                .amountCents(DEFAULT_AMOUNT_CENTS)
                 .dateTime(dateTime)
                 .establishment(SAMPLE_ESTABLISHMENT)
-                .nsu(EXPECTED_NSU)
+                .nsu(NEXT_NSU_VALUE)
                 .authorizationCode(SAMPLE_AUTH_CODE)
-                .status(StatusTransacao.AUTORIZADO.getCodigo())
-                .paymentType(TipoFormaPagamento.PARCELADO_LOJA.getCodigo())
-                .installments("3")
+                .status(StatusTransacao.AUTORIZADO)
+                .paymentType(TipoFormaPagamento.PARCELADO_LOJA)
+                .installments(SAMPLE_INSTALLMENTS)
                 .build();
 
+        given(cardTokenizer.detokenize(DEFAULT_CARD_TOKEN)).willReturn(DEFAULT_CARD_NUMBER);
+
         PagamentoResponseDTO response = mapper.toPaymentResponse(entity);
 
         assertThat(response).isNotNull();
         TransacaoResponseDTO transacao = response.getTransacao();
         assertThat(transacao).isNotNull();
-        assertThat(transacao.getId()).isEqualTo(entity.getId());
-        assertThat(transacao.getCartao()).isEqualTo(entity.getCardNumber());
+        assertThat(transacao.getId()).isEqualTo(DEFAULT_TRANSACTION_ID);
+        assertThat(transacao.getCartao()).isEqualTo(DEFAULT_CARD_NUMBER);
 
         DescricaoResponseDTO descricao = transacao.getDescricao();
         assertThat(descricao).isNotNull();
-        assertThat(descricao.getValor()).isEqualTo(entity.getAmount());
-        assertThat(descricao.getDataHora()).isEqualTo(dateTime.format(formatter));
+        assertThat(descricao.getValor()).isEqualTo(DEFAULT_AMOUNT);
+        assertThat(descricao.getDataHora()).isEqualTo(dateTime);
         assertThat(descricao.getEstabelecimento()).isEqualTo(entity.getEstablishment());
-        assertThat(descricao.getNsu()).isEqualTo(entity.getNsu());
+        assertThat(descricao.getNsu()).isEqualTo(EXPECTED_NSU);
         assertThat(descricao.getCodigoAutorizacao()).isEqualTo(entity.getAuthorizationCode());
         assertThat(descricao.getStatus())
-                .isEqualTo(StatusTransacao.fromId(entity.getStatus()));
+                .isEqualTo(StatusTransacao.AUTORIZADO);
 
         FormaPagamentoDTO formaPagamento = transacao.getFormaPagamento();
         assertThat(formaPagamento).isNotNull();
         assertThat(formaPagamento.getTipo())
-                .isEqualTo(TipoFormaPagamento.fromId(entity.getPaymentType()));
-        assertThat(formaPagamento.getParcelas()).isEqualTo(entity.getInstallments());
+                .isEqualTo(TipoFormaPagamento.PARCELADO_LOJA);
+        assertThat(formaPagamento.getParcelas()).isEqualTo("3");
     }
 
     @Test
-    @DisplayName(DISPLAY_TO_TRANSACTION_ENTITY_MAP_FIELDS)
-    void toTransactionEntityRequest_shouldMapFieldsAndGenerateValues() {
-        FormaPagamentoDTO formaPagamento = FormaPagamentoDTO.builder()
-                .tipo(TipoFormaPagamento.AVISTA)
-                .parcelas("1")
-                .build();
+    @DisplayName(DISPLAY_TO_PAYMENT_RESPONSE_LEADING_ZEROS)
+    void toPaymentResponse_shouldKeepLeadingZeros() {
+        TransactionEntity entity = createAuthorizedTransactionEntity();
+        entity.setId(7L);
+        entity.setIdLeadingZeros((short) 2);
+        entity.setInstallmentsLeadingZeros((short) 1);
 
-        DescricaoRequestDTO descricao = DescricaoRequestDTO.builder()
-                .valor(DEFAULT_AMOUNT)
-                .dataHora(SAMPLE_DATE_TIME)
-                .estabelecimento(SAMPLE_ESTABLISHMENT)
-                .build();
+        given(cardTokenizer.detokenize(DEFAULT_CARD_TOKEN)).willReturn(DEFAULT_CARD_NUMBER);
 
-        TransacaoRequestDTO transacao = TransacaoRequestDTO.builder()
-                .id(DEFAULT_TRANSACTION_ID)
-                .cartao(DEFAULT_CARD_NUMBER)
-                .descricao(descricao)
-                .formaPagamento(formaPagamento)
-                .build();
+        TransacaoResponseDTO transacao = mapper.toPaymentResponse(entity).getTransacao();
 
-        PagamentoRequestDTO request = PagamentoRequestDTO.builder()
-                .transacao(transacao)
-                .build();
+        assertThat(transacao.getId()).isEqualTo("007");
+        assertThat(transacao.getFormaPagamento().getParcelas()).isEqualTo("01");
+    }
 
-        given(transactionRepository.getNextNsu()).willReturn(NEXT_NSU_VALUE);
+    @Test
+    @DisplayName(DISPLAY_TO_PAYMENT_RESPONSES_BULK)
+    void toPaymentResponses_shouldDetokenizeInBulk() {
+        TransactionEntity authorized = createAuthorizedTransactionEntity();
+        TransactionEntity canceled = createCanceledTransactionEntity();
+        canceled.setCardToken(SECOND_CARD_TOKEN);
+
+        given(cardTokenizer.detokenizeAll(List.of(DEFAULT_CARD_TOKEN, SECOND_CARD_TOKEN)))
+                .willReturn(Map.of(DEFAULT_CARD_TOKEN, DEFAULT_CARD_NUMBER, SECOND_CARD_TOKEN, SECOND_CARD_NUMBER));
+
+        List<PagamentoResponseDTO> responses = mapper.toPaymentResponses(List.of(authorized, canceled));
+
+        assertThat(responses)
+                .extracting(response -> response.getTransacao().getCartao())
+                .containsExactly(DEFAULT_CARD_NUMBER, SECOND_CARD_NUMBER);
+        assertThat(responses)
+                .extracting(response -> response.getTransacao().getDescricao().getStatus())
+                .containsExactly(StatusTransacao.AUTORIZADO, StatusTransacao.CANCELADO);
+        verify(cardTokenizer).detokenizeAll(List.of(DEFAULT_CARD_TOKEN, SECOND_CARD_TOKEN));
+        verifyNoMoreInteractions(cardTokenizer);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_TO_TRANSACTION_ENTITY_MAP_FIELDS)
+    void toTransactionEntityRequest_shouldMapFieldsAndGenerateValues() {
+        ValidatedPaymentRequest request = new ValidatedPaymentRequest(
+                DEFAULT_TRANSACTION_ID_VALUE,
+                DEFAULT_CARD_NUMBER,
+                DEFAULT_AMOUNT_CENTS,
+                SAMPLE_DATE_TIME,
+                SAMPLE_ESTABLISHMENT,
+                TipoFormaPagamento.AVISTA,
+                (short) 1,
+                (short) 2,
+                (short) 0);
+
+        given(nsuGenerator.nextNsu()).willReturn(NEXT_NSU_VALUE);
+        given(cardTokenizer.tokenize(DEFAULT_CARD_NUMBER)).willReturn(DEFAULT_CARD_TOKEN);
 
         TransactionEntity entity = mapper.toTransactionEntityRequest(request);
 
         assertNotNull(entity);
-        assertEquals(DEFAULT_TRANSACTION_ID, entity.getId());
-        assertEquals(DEFAULT_CARD_NUMBER, entity.getCardNumber());
-        assertEquals(DEFAULT_AMOUNT, entity.getAmount());
+        assertEquals(DEFAULT_TRANSACTION_ID_VALUE, entity.getId());
+        assertEquals(DEFAULT_CARD_TOKEN, entity.getCardToken());
+        assertEquals(DEFAULT_AMOUNT_CENTS, entity.getAmountCents());
         assertEquals(SAMPLE_ESTABLISHMENT, entity.getEstablishment());
 
-        LocalDateTime expectedDateTime = LocalDateTime.parse(SAMPLE_DATE_TIME, formatter);
-        assertEquals(expectedDateTime, entity.getDateTime());
+        assertEquals(SAMPLE_DATE_TIME, entity.getDateTime());
 
-        assertEquals(EXPECTED_NSU, entity.getNsu());
+        assertEquals(NEXT_NSU_VALUE, entity.getNsu());
         assertNotNull(entity.getAuthorizationCode());
         assertEquals(EXPECTED_AUTH_CODE_LENGTH, entity.getAuthorizationCode().length());
 
-        assertEquals(StatusTransacao.AUTORIZADO.getCodigo(), entity.getStatus());
-        assertEquals(formaPagamento.getTipo().getCodigo(), entity.getPaymentType());
-        assertEquals(formaPagamento.getParcelas(), entity.getInstallments());
+        assertEquals(StatusTransacao.AUTORIZADO, entity.getStatus());
+        assertEquals(TipoFormaPagamento.AVISTA, entity.getPaymentType());
+        assertEquals((short) 1, entity.getInstallments());
+        assertEquals((short) 2, entity.getIdLeadingZeros());
+        assertEquals((short) 0, entity.getInstallmentsLeadingZeros());
 
-        verify(transactionRepository).getNextNsu();
-        verifyNoMoreInteractions(transactionRepository);
+        verify(nsuGenerator).nextNsu();
+        verifyNoMoreInteractions(nsuGenerator);
     }
 
     @Test
     @DisplayName(DISPLAY_TO_TRANSACTION_ENTITY_INVALID_INSTALLMENTS)
     void toTransactionEntityRequest_shouldThrowInvalidInstallmentsForAvista() {
-        FormaPagamentoDTO formaPagamento = FormaPagamentoDTO.builder()
-                .tipo(TipoFormaPagamento.AVISTA)
-                .parcelas("3")
-                .build();
-
-        DescricaoRequestDTO descricao = DescricaoRequestDTO.builder()
-                .valor(BigDecimal.TEN)
-                .dataHora(SAMPLE_DATE_TIME)
-                .estabelecimento(SAMPLE_ESTABLISHMENT)
-                .build();
-
-        TransacaoRequestDTO transacao = TransacaoRequestDTO.builder()
-                .id(DEFAULT_TRANSACTION_ID)
-                .cartao(DEFAULT_CARD_NUMBER)
-                .descricao(descricao)
-                .formaPagamento(formaPagamento)
-                .build();
-
-        PagamentoRequestDTO request = PagamentoRequestDTO.builder()
-                .transacao(transacao)
-                .build();
-
-        given(transactionRepository.getNextNsu()).willReturn(NEXT_NSU_VALUE);
+        ValidatedPaymentRequest request = new ValidatedPaymentRequest(
+                DEFAULT_TRANSACTION_ID_VALUE,
+                DEFAULT_CARD_NUMBER,
+                1000L,
+                SAMPLE_DATE_TIME,
+                SAMPLE_ESTABLISHMENT,
+                TipoFormaPagamento.AVISTA,
+                (short) 3,
+                (short) 0,
+                (short) 0);
+
+        given(nsuGenerator.nextNsu()).willReturn(NEXT_NSU_VALUE);
 
         assertThrows(InvalidInstallmentsForPaymentTypeException.class,
                 () -> mapper.toTransactionEntityRequest(request));
 
-        verify(transactionRepository).getNextNsu();
-        verifyNoMoreInteractions(transactionRepository);
+        verify(nsuGenerator).nextNsu();
+        verifyNoMoreInteractions(nsuGenerator);
+        verifyNoInteractions(cardTokenizer);
     }
 }
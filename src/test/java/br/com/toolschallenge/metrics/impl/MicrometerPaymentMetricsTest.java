@@ -0,0 +1,94 @@
+package br.com.toolschallenge.metrics.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.metrics.PaymentStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerPaymentMetricsTest {
+
+
+    private static final String DISPLAY_STAGE_TIMER =
+            "record should add one sample to the timer of the given stage with a percentile histogram";
+    private static final String DISPLAY_COUNTERS_REGISTERED =
+            "the constructor should register one counter per status and payment type";
+    private static final String DISPLAY_COUNT_TRANSACTION =
+            "countTransaction should increment only the counter of the given status and payment type";
+    private static final String DISPLAY_MISSING_VALUES =
+            "countTransaction should ignore a missing status or payment type";
+
+    private MeterRegistry meterRegistry;
+    private MicrometerPaymentMetrics paymentMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        paymentMetrics = new MicrometerPaymentMetrics(meterRegistry);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PaymentStage.class)
+    @DisplayName(DISPLAY_STAGE_TIMER)
+    void record_shouldTimeTheGivenStage(PaymentStage stage) {
+        long start = paymentMetrics.start();
+
+        paymentMetrics.record(stage, start);
+
+        Timer timer = meterRegistry.get(MicrometerPaymentMetrics.STAGE_TIMER)
+                .tag("stage", stage.getTag())
+                .timer();
+        assertEquals(1, timer.count());
+        assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isNotNegative();
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(meterRegistry.get(MicrometerPaymentMetrics.STAGE_TIMER).timers())
+                .filteredOn(other -> other.count() > 0)
+                .containsExactly(timer);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_COUNTERS_REGISTERED)
+    void constructor_shouldRegisterEveryStatusAndPaymentType() {
+        assertThat(meterRegistry.get(MicrometerPaymentMetrics.TRANSACTIONS_COUNTER).counters())
+                .hasSize(StatusTransacao.values().length * TipoFormaPagamento.values().length);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_COUNT_TRANSACTION)
+    void countTransaction_shouldIncrementMatchingCounter() {
+        paymentMetrics.countTransaction(StatusTransacao.CANCELADO, TipoFormaPagamento.PARCELADO_EMISSOR);
+
+        Counter counter = meterRegistry.get(MicrometerPaymentMetrics.TRANSACTIONS_COUNTER)
+                .tag("status", StatusTransacao.CANCELADO.name())
+                .tag("tipo", TipoFormaPagamento.PARCELADO_EMISSOR.name())
+                .counter();
+        assertEquals(1.0, counter.count());
+        assertThat(meterRegistry.get(MicrometerPaymentMetrics.TRANSACTIONS_COUNTER).counters())
+                .filteredOn(other -> other.count() > 0)
+                .containsExactly(counter);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_MISSING_VALUES)
+    void countTransaction_shouldIgnoreMissingValues() {
+        paymentMetrics.countTransaction(null, TipoFormaPagamento.AVISTA);
+        paymentMetrics.countTransaction(StatusTransacao.AUTORIZADO, null);
+        paymentMetrics.countTransaction(null, null);
+
+        assertThat(meterRegistry.get(MicrometerPaymentMetrics.TRANSACTIONS_COUNTER).counters())
+                .allSatisfy(counter -> assertEquals(0.0, counter.count()));
+    }
+}
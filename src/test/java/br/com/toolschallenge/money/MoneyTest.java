@@ -0,0 +1,108 @@
+package br.com.toolschallenge.money;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MoneyTest {
+
+    private static final String DISPLAY_ROUND_TRIP =
+            "format, parse, toBigDecimal and toCents should round-trip edge amounts exactly";
+    private static final String DISPLAY_ROUND_TRIP_RANDOM =
+            "format, parse, toBigDecimal and toCents should round-trip random amounts exactly";
+    private static final String DISPLAY_PARSE =
+            "parse should read the plain forms of an amount in cents";
+    private static final String DISPLAY_PARSE_NONE =
+            "parse should leave every other form to BigDecimal";
+    private static final String DISPLAY_TO_CENTS =
+            "toCents should accept values within Digits(8, 2) regardless of notation";
+    private static final String DISPLAY_TO_CENTS_NONE =
+            "toCents should reject negative values and values outside Digits(8, 2)";
+    private static final String DISPLAY_FORMAT_OFFSET =
+            "format should write at the given offset and return the end position";
+
+    private static final int RANDOM_SAMPLES = 100_000;
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, 1, 5, 9, 10, 11, 99, 100, 101, 999, 1000, 50050,
+            99_999_999L, 100_000_000L, Money.MAX_CENTS - 1, Money.MAX_CENTS })
+    @DisplayName(DISPLAY_ROUND_TRIP)
+    void edgeAmounts_shouldRoundTrip(long cents) {
+        assertRoundTrip(cents);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_ROUND_TRIP_RANDOM)
+    void randomAmounts_shouldRoundTrip() {
+        new SplittableRandom(42).longs(RANDOM_SAMPLES, 0, Money.MAX_CENTS + 1)
+                .forEach(MoneyTest::assertRoundTrip);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "0, 0", "7, 700", "0.5, 50", "0.05, 5", "500.50, 50050", "12.3, 1230",
+            "99999999.99, 9999999999" })
+    @DisplayName(DISPLAY_PARSE)
+    void parse_shouldReadPlainForms(String text, long cents) {
+        assertThat(parse(text)).isEqualTo(cents);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", ".", ".5", "5.", "-1", "+1", "01", "00.50", "1e2", "1E+2", "0.001",
+            "10.500", "123456789", "123456789.00", "1,5", "1.5a", " 1", "1 ", "1..5", "NaN" })
+    @DisplayName(DISPLAY_PARSE_NONE)
+    void parse_shouldRejectOtherForms(String text) {
+        assertThat(parse(text)).isEqualTo(Money.NONE);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "0, 0", "0.00, 0", "7, 700", "1E+2, 10000", "1.5E1, 1500", "500.5, 50050",
+            "99999999.99, 9999999999" })
+    @DisplayName(DISPLAY_TO_CENTS)
+    void toCents_shouldAcceptDigitsWithinBounds(String amount, long cents) {
+        assertThat(Money.toCents(new BigDecimal(amount))).isEqualTo(cents);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "-0.01", "-1", "0.001", "10.500", "100000000", "123456789.00", "1E+8" })
+    @DisplayName(DISPLAY_TO_CENTS_NONE)
+    void toCents_shouldRejectOutOfBounds(String amount) {
+        assertThat(Money.toCents(new BigDecimal(amount))).isEqualTo(Money.NONE);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FORMAT_OFFSET)
+    void format_shouldWriteAtOffset() {
+        char[] buffer = "xxxxxxxxxx".toCharArray();
+
+        int end = Money.format(5, buffer, 3);
+
+        assertThat(end).isEqualTo(7);
+        assertThat(new String(buffer)).isEqualTo("xxx0.05xxx");
+        assertThat(Money.parse(buffer, 3, end - 3)).isEqualTo(5);
+    }
+
+    private static void assertRoundTrip(long cents) {
+        char[] buffer = new char[Money.MAX_FORMATTED_LENGTH];
+        BigDecimal amount = Money.toBigDecimal(cents);
+
+        int length = Money.format(cents, buffer, 0);
+
+        assertThat(new String(buffer, 0, length)).isEqualTo(amount.toString());
+        assertThat(Money.parse(buffer, 0, length)).isEqualTo(cents);
+        assertThat(Money.toCents(amount)).isEqualTo(cents);
+        assertThat(amount.scale()).isEqualTo(Money.SCALE);
+        assertThat(amount.unscaledValue().longValueExact()).isEqualTo(cents);
+    }
+
+    private static long parse(String text) {
+        char[] chars = ("#" + text + "#").toCharArray();
+        return Money.parse(chars, 1, text.length());
+    }
+}
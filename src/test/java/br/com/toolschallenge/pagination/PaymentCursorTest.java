@@ -0,0 +1,79 @@
+package br.com.toolschallenge.pagination;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID_VALUE;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.exception.InvalidPaymentCursorException;
+
+class PaymentCursorTest {
+
+    private static final String NOT_BASE64 = "%%%";
+    private static final String MISSING_SEPARATOR = "2021-05-01T18:30";
+    private static final String INVALID_DATE = "not-a-date|" + DEFAULT_TRANSACTION_ID;
+    private static final String INVALID_ID = "2021-05-01T18:30|not-a-number";
+
+    private static final String DISPLAY_ROUND_TRIP =
+            "encode/decode should round trip date time and id of the last entity";
+    private static final String DISPLAY_NOT_BASE64 =
+            "decode should throw InvalidPaymentCursorException when token is not Base64";
+    private static final String DISPLAY_MISSING_SEPARATOR =
+            "decode should throw InvalidPaymentCursorException when separator is missing";
+    private static final String DISPLAY_INVALID_DATE =
+            "decode should throw InvalidPaymentCursorException when date time is invalid";
+    private static final String DISPLAY_INVALID_ID =
+            "decode should throw InvalidPaymentCursorException when id is not a number";
+
+    @Test
+    @DisplayName(DISPLAY_ROUND_TRIP)
+    void encodeDecode_shouldRoundTrip() {
+        TransactionEntity entity = createAuthorizedTransactionEntity();
+
+        PaymentCursor decoded = PaymentCursor.decode(PaymentCursor.of(entity).encode());
+
+        assertEquals(entity.getDateTime(), decoded.dateTime());
+        assertEquals(DEFAULT_TRANSACTION_ID_VALUE, decoded.id());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_NOT_BASE64)
+    void decode_shouldThrow_whenNotBase64() {
+        assertThrows(InvalidPaymentCursorException.class,
+                () -> PaymentCursor.decode(NOT_BASE64));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_MISSING_SEPARATOR)
+    void decode_shouldThrow_whenSeparatorIsMissing() {
+        assertThrows(InvalidPaymentCursorException.class,
+                () -> PaymentCursor.decode(encode(MISSING_SEPARATOR)));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_DATE)
+    void decode_shouldThrow_whenDateTimeIsInvalid() {
+        assertThrows(InvalidPaymentCursorException.class,
+                () -> PaymentCursor.decode(encode(INVALID_DATE)));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_ID)
+    void decode_shouldThrow_whenIdIsNotNumeric() {
+        assertThrows(InvalidPaymentCursorException.class,
+                () -> PaymentCursor.decode(encode(INVALID_ID)));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
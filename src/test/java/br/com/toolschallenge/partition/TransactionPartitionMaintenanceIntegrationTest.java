@@ -0,0 +1,118 @@
+package br.com.toolschallenge.partition;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.toPaymentFields;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.support.PostgresIntegrationTest;
+
+class TransactionPartitionMaintenanceIntegrationTest extends PostgresIntegrationTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String ARCHIVE_SCHEMA = "tb_transacao_archive";
+    private static final String PARTITIONED_TRANSACTION_ID = "900000000000101";
+
+    private static final String DISPLAY_MIGRATED =
+            "migrations should turn tb_transacao into a range-partitioned table with legacy and default partitions";
+    private static final String DISPLAY_CREATE_AHEAD =
+            "maintain should create monthly partitions up to months-ahead";
+    private static final String DISPLAY_ARCHIVE =
+            "maintain should detach partitions older than retention into the archive schema";
+    private static final String DISPLAY_LOOKUP =
+            "created payments should be found through the partition key lookup";
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'tb_transacao'::regclass
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName(DISPLAY_MIGRATED)
+    void migrations_shouldPartitionTable() {
+        String relkind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = 'tb_transacao'::regclass", String.class);
+
+        assertThat(relkind).isEqualTo("p");
+        assertThat(partitions()).contains("tb_transacao_legacy", "tb_transacao_default");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_AHEAD)
+    void maintain_shouldCreatePartitionsAhead() {
+        YearMonth future = YearMonth.now().plusYears(2);
+        TransactionPartitionMaintenance maintenance =
+                new TransactionPartitionMaintenance(jdbcTemplate, 2, 0, ARCHIVE_SCHEMA);
+
+        run(maintenance, future);
+
+        assertThat(partitions()).contains(
+                "tb_transacao_p" + future.format(SUFFIX),
+                "tb_transacao_p" + future.plusMonths(1).format(SUFFIX),
+                "tb_transacao_p" + future.plusMonths(2).format(SUFFIX));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_ARCHIVE)
+    void maintain_shouldArchiveExpiredPartitions() {
+        YearMonth future = YearMonth.now().plusYears(5);
+        String expired = "tb_transacao_p" + future.format(SUFFIX);
+        run(new TransactionPartitionMaintenance(jdbcTemplate, 0, 0, ARCHIVE_SCHEMA), future);
+
+        run(new TransactionPartitionMaintenance(jdbcTemplate, 0, 1, ARCHIVE_SCHEMA), future.plusMonths(2));
+
+        Integer archived = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_tables WHERE schemaname = ? AND tablename = ?",
+                Integer.class, ARCHIVE_SCHEMA, expired);
+        assertThat(partitions()).doesNotContain(expired);
+        assertThat(archived).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LOOKUP)
+    void createdPayment_shouldBeFoundByPartitionKey() {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        request.getTransacao().setId(PARTITIONED_TRANSACTION_ID);
+
+        paymentService.createPayment(toPaymentFields(request));
+
+        TransactionEntity found = transactionRepository
+                .findByIdUsingPartitionKey(Long.valueOf(PARTITIONED_TRANSACTION_ID))
+                .orElseThrow();
+        assertThat(found.getDateTime()).isEqualTo(request.getTransacao().getDescricao().getDataHora());
+    }
+
+    private void run(TransactionPartitionMaintenance maintenance, YearMonth month) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            maintenance.maintain(connection, month);
+            return null;
+        });
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+    }
+}
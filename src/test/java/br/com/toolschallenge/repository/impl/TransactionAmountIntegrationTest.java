@@ -0,0 +1,116 @@
+package br.com.toolschallenge.repository.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.money.Money;
+import br.com.toolschallenge.repository.InstallmentRepository;
+import br.com.toolschallenge.repository.ReceivableTotal;
+import br.com.toolschallenge.repository.SettlementRepository;
+import br.com.toolschallenge.repository.SettlementTotal;
+import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.repository.TransactionSearchCriteria;
+import br.com.toolschallenge.support.PostgresIntegrationTest;
+
+/**
+ * Valores em centavos gravados e lidos por todos os caminhos de
+ * {@code tb_transacao} ({@code ? / 100.0} e {@code CAST(amount * 100 AS BIGINT)})
+ * sobre a coluna {@code NUMERIC(10,2)}. Roda em uma transação desfeita ao fim
+ * de cada teste.
+ */
+@Transactional
+class TransactionAmountIntegrationTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().withDayOfMonth(1);
+    private static final long FIRST_ID = 960000000000001L;
+    private static final long FIRST_NSU = 960000001L;
+
+    private static final String DISPLAY_ROUND_TRIP =
+            "amount in cents should round-trip exactly through the numeric column on every read path";
+    private static final String DISPLAY_TOTALS =
+            "settlement and receivable totals should add up to the exact sum of the amounts in cents";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SettlementRepository settlementRepository;
+
+    @Autowired
+    private InstallmentRepository installmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0L, 1L, 5L, 10L, 99L, 100L, 50050L, 123456789L, Money.MAX_CENTS })
+    @DisplayName(DISPLAY_ROUND_TRIP)
+    void insert_shouldRoundTripAmountInCents(long cents) {
+        TransactionEntity transaction = transaction(FIRST_ID, "Centavos ida e volta", cents);
+
+        transactionRepository.insertIfAbsent(transaction);
+
+        BigDecimal column = jdbcTemplate.queryForObject(
+                "SELECT amount FROM tb_transacao WHERE id = ?", BigDecimal.class, FIRST_ID);
+        BigDecimal installments = jdbcTemplate.queryForObject(
+                "SELECT sum(amount) FROM tb_parcela WHERE transaction_id = ?", BigDecimal.class, FIRST_ID);
+        TransactionSearchCriteria byNsu = new TransactionSearchCriteria(null, null, null, null, null, FIRST_NSU);
+
+        assertThat(column).isEqualTo(Money.toBigDecimal(cents));
+        assertThat(installments).isEqualTo(Money.toBigDecimal(cents));
+        assertThat(transactionRepository.findByIdUsingPartitionKey(FIRST_ID))
+                .get().extracting(TransactionEntity::getAmountCents).isEqualTo(cents);
+        assertThat(transactionRepository.findById(FIRST_ID))
+                .get().extracting(TransactionEntity::getAmountCents).isEqualTo(cents);
+        assertThat(transactionRepository.search(byNsu, null, 1))
+                .extracting(TransactionEntity::getAmountCents).containsExactly(cents);
+        assertThat(transactionRepository.cancelIfNotCanceled(FIRST_ID))
+                .get().extracting(TransactionEntity::getAmountCents).isEqualTo(cents);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_TOTALS)
+    void totals_shouldAddUpInCents() {
+        String merchant = "Centavos totais";
+        transactionRepository.insertAllIfAbsent(List.of(
+                transaction(FIRST_ID, merchant, 1L),
+                transaction(FIRST_ID + 1, merchant, 50050L),
+                transaction(FIRST_ID + 2, merchant, Money.MAX_CENTS)));
+        long expected = 1L + 50050L + Money.MAX_CENTS;
+
+        List<SettlementTotal> settlement = settlementRepository.findDailyTotals(merchant, DATE);
+        List<ReceivableTotal> receivables =
+                installmentRepository.projectReceivables(merchant, DATE, DATE.plusMonths(1));
+
+        assertThat(settlement).extracting(SettlementTotal::amountCents).containsExactly(expected);
+        assertThat(receivables).extracting(ReceivableTotal::amountCents).containsExactly(expected);
+    }
+
+    private TransactionEntity transaction(long id, String merchant, long cents) {
+        TransactionEntity transaction = createAuthorizedTransactionEntity();
+        transaction.setId(id);
+        transaction.setNsu(FIRST_NSU + id - FIRST_ID);
+        transaction.setCardToken(jdbcTemplate.queryForObject(
+                "SELECT tb_cartao_tokenize(?)", Long.class, DEFAULT_CARD_NUMBER));
+        transaction.setEstablishment(merchant);
+        transaction.setDateTime(DATE.atTime(10, 0));
+        transaction.setPaymentType(TipoFormaPagamento.AVISTA);
+        transaction.setAmountCents(cents);
+        return transaction;
+    }
+}
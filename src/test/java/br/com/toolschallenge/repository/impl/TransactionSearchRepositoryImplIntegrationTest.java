@@ -0,0 +1,225 @@
+package br.com.toolschallenge.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.pagination.PaymentCursor;
+import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.repository.TransactionSearchCriteria;
+import br.com.toolschallenge.repository.impl.TransactionSearchRepositoryImpl.SearchQuery;
+import br.com.toolschallenge.support.PostgresIntegrationTest;
+
+/**
+ * Roda em uma transação desfeita ao fim de cada teste, para que a massa e o
+ * {@code SET LOCAL} não vazem para os demais testes.
+ */
+@Transactional
+class TransactionSearchRepositoryImplIntegrationTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 2000;
+    private static final int FILTERS = 6;
+    private static final String MERCHANT = "Busca 1";
+    private static final short CANCELED = 3;
+    private static final short AUTHORIZED = 1;
+    private static final short PAYMENT_TYPE = 2;
+    private static final long NSU = 700000042L;
+    private static final int PAGE_SIZE = 7;
+
+    private static final String DISPLAY_MATCHES_SQL =
+            "search should return exactly the filtered rows ordered by date time and id";
+    private static final String DISPLAY_PAGINATES =
+            "search should walk all filtered rows through the keyset cursor";
+    private static final String DISPLAY_INDEX_PATH =
+            "search should drive the plan by an index on one of its filters";
+
+    private static final Pattern INDEX_SCAN =
+            Pattern.compile("Index (?:Only )?Scan(?: Backward)? using (\\S+)|Bitmap Index Scan on (\\S+)");
+    private static final Pattern SORT_NODE = Pattern.compile("(?m)^\\s*(?:->\\s+)?Sort\\s+\\(");
+    private static final String CANCELED_PREDICATE = "WHERE (status = 3)";
+    private static final String ACTIVE_PREDICATE = "WHERE (status <> 3)";
+
+    /**
+     * Ids {@code 800000000000001..}, espalhados do mês corrente até seis meses
+     * à frente (partições mensais e default), em quatro estabelecimentos.
+     */
+    private static final String SEED_SQL = """
+            WITH registered AS (
+                INSERT INTO tb_transacao_id (id, transaction_date_time)
+                SELECT 800000000000000 + g,
+                       date_trunc('month', localtimestamp) + (g %% 180) * INTERVAL '1 day' + g * INTERVAL '1 second'
+                FROM generate_series(1, %d) g
+                RETURNING id, transaction_date_time
+            )
+            INSERT INTO tb_transacao (id, card_token, nsu, transaction_date_time, status, payment_type,
+                                      installments, authorization_code, amount, merchant)
+            SELECT id, (SELECT tb_cartao_tokenize('4444********1234')), id - 800000000000000 + 700000000,
+                   transaction_date_time, CASE WHEN id %% 5 = 0 THEN 3 ELSE 1 END, 1 + id %% 3,
+                   1, '000000001', 10.00, 'Busca ' || id %% 4
+            FROM registered
+            """.formatted(ROWS);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update(SEED_SQL);
+        jdbcTemplate.execute("ANALYZE tb_transacao");
+    }
+
+    @Test
+    @DisplayName(DISPLAY_MATCHES_SQL)
+    void search_shouldMatchFilteredRows() {
+        TransactionSearchCriteria criteria =
+                new TransactionSearchCriteria(MERCHANT, null, null, CANCELED, null, null);
+
+        List<TransactionEntity> rows = transactionRepository.search(criteria, null, ROWS);
+
+        List<Long> expected = jdbcTemplate.queryForList("""
+                SELECT id FROM tb_transacao
+                WHERE merchant = ? AND status = ?
+                ORDER BY transaction_date_time, id
+                """, Long.class, MERCHANT, CANCELED);
+        assertThat(expected).isNotEmpty();
+        assertThat(rows).extracting(TransactionEntity::getId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_PAGINATES)
+    void search_shouldPaginateWithCursor() {
+        LocalDateTime from = YearMonth.now().plusMonths(1).atDay(1).atStartOfDay();
+        TransactionSearchCriteria criteria =
+                new TransactionSearchCriteria(MERCHANT, from, from.plusMonths(2), AUTHORIZED, null, null);
+        List<Long> all = transactionRepository.search(criteria, null, ROWS).stream()
+                .map(TransactionEntity::getId)
+                .toList();
+
+        List<Long> paged = new ArrayList<>();
+        PaymentCursor cursor = null;
+        List<TransactionEntity> page;
+        do {
+            page = transactionRepository.search(criteria, cursor, PAGE_SIZE);
+            page.forEach(entity -> paged.add(entity.getId()));
+            cursor = page.isEmpty() ? null : PaymentCursor.of(page.get(page.size() - 1));
+        } while (page.size() == PAGE_SIZE);
+
+        assertThat(all).hasSizeGreaterThan(PAGE_SIZE);
+        assertThat(paged).containsExactlyElementsOf(all);
+    }
+
+    /**
+     * Em tabelas do tamanho do teste a varredura sequencial é de fato o plano
+     * mais barato, então ela é desligada: com {@code enable_seqscan = off} o
+     * planner só a escolhe quando nenhum índice atende à combinação de filtros.
+     * <p>
+     * Só não ter Seq Scan não basta, porque o índice de
+     * {@code (transaction_date_time, id)} percorrido inteiro na ordem da
+     * paginação também não é Seq Scan. Por isso o plano precisa usar um dos
+     * filtros presentes: um {@code Index Cond} na coluna filtrada ou um índice
+     * parcial cujo predicado é o do status pedido. O NSU, quando presente,
+     * tem que ser o {@code Index Cond}. Só a busca sem filtro nenhum é
+     * atendida, de propósito, pela varredura ordenada do índice de
+     * {@code (transaction_date_time, id)}, e nela não pode haver Sort.
+     */
+    @ParameterizedTest(name = "filters={0}")
+    @MethodSource("filterCombinations")
+    @DisplayName(DISPLAY_INDEX_PATH)
+    void search_shouldUseIndexForFilters(int filters) {
+        SearchQuery query = TransactionSearchRepositoryImpl.buildQuery(criteria(filters), cursor(filters), 51);
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate)
+                .queryForList("EXPLAIN " + query.sql(), query.params(), String.class));
+        List<String> indexDefinitions = indexDefinitions(plan);
+
+        assertThat(plan).as(query.sql()).doesNotContain("Seq Scan");
+        if (filters == 0) {
+            assertThat(indexDefinitions).as(plan).isNotEmpty()
+                    .allMatch(definition -> definition.contains("(transaction_date_time, id)"));
+            assertThat(plan).as(plan).doesNotContainPattern(SORT_NODE);
+        } else if (isSet(filters, 4)) {
+            assertThat(plan).as(plan).containsPattern(indexCond("nsu"));
+        } else {
+            assertThat(filterEvidence(filters, plan, indexDefinitions)).as(plan).contains(true);
+        }
+    }
+
+    /** Para cada filtro presente, se o plano usa um índice por ele. */
+    private static List<Boolean> filterEvidence(int filters, String plan, List<String> indexDefinitions) {
+        List<Boolean> evidence = new ArrayList<>();
+        if (isSet(filters, 0)) {
+            evidence.add(indexCond("merchant").matcher(plan).find());
+        }
+        if (isSet(filters, 1) || isSet(filters, 5)) {
+            evidence.add(indexCond("transaction_date_time").matcher(plan).find());
+        }
+        if (isSet(filters, 2)) {
+            String predicate = isSet(filters, 5) ? CANCELED_PREDICATE : ACTIVE_PREDICATE;
+            evidence.add(indexDefinitions.stream().anyMatch(definition -> definition.endsWith(predicate)));
+        }
+        if (isSet(filters, 3)) {
+            evidence.add(indexCond("payment_type").matcher(plan).find());
+        }
+        return evidence;
+    }
+
+    private static Pattern indexCond(String column) {
+        return Pattern.compile("Index Cond: .*\\b" + column + "\\b");
+    }
+
+    /** O {@code CREATE INDEX} de cada índice que aparece no plano. */
+    private List<String> indexDefinitions(String plan) {
+        List<String> definitions = new ArrayList<>();
+        Matcher matcher = INDEX_SCAN.matcher(plan);
+        while (matcher.find()) {
+            String name = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            definitions.add(jdbcTemplate.queryForObject(
+                    "SELECT indexdef FROM pg_indexes WHERE indexname = ?", String.class, name));
+        }
+        return definitions;
+    }
+
+    static IntStream filterCombinations() {
+        return IntStream.range(0, 1 << FILTERS);
+    }
+
+    private static TransactionSearchCriteria criteria(int filters) {
+        LocalDateTime from = YearMonth.now().atDay(1).atStartOfDay();
+        return new TransactionSearchCriteria(
+                isSet(filters, 0) ? MERCHANT : null,
+                isSet(filters, 1) ? from : null,
+                isSet(filters, 1) ? from.plusMonths(1) : null,
+                isSet(filters, 2) ? (isSet(filters, 5) ? CANCELED : AUTHORIZED) : null,
+                isSet(filters, 3) ? PAYMENT_TYPE : null,
+                isSet(filters, 4) ? NSU : null);
+    }
+
+    private static PaymentCursor cursor(int filters) {
+        return isSet(filters, 5) ? new PaymentCursor(YearMonth.now().atDay(3).atStartOfDay(), 0L) : null;
+    }
+
+    private static boolean isSet(int filters, int bit) {
+        return (filters & (1 << bit)) != 0;
+    }
+}
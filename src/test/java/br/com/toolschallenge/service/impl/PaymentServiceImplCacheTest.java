@@ -0,0 +1,185 @@
+package br.com.toolschallenge.service.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID_VALUE;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledTransactionEntity;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.toolschallenge.cache.PaymentJsonCache;
+import br.com.toolschallenge.card.CardTokenizer;
+import br.com.toolschallenge.config.CacheConfig;
+import br.com.toolschallenge.config.SmileConfig;
+import br.com.toolschallenge.datasource.ReplicaReadRouter;
+import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.exception.PaymentNotFoundException;
+import br.com.toolschallenge.idfilter.TransactionIdFilter;
+import br.com.toolschallenge.journal.TransactionJournal;
+import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.mapper.impl.TransactionMapperImpl;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.metrics.impl.MicrometerPaymentMetrics;
+import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.validation.PaymentRequestValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+@SpringJUnitConfig(PaymentServiceImplCacheTest.Config.class)
+class PaymentServiceImplCacheTest {
+
+    private static final String DISPLAY_FIND_CACHED =
+            "findPaymentJsonById and findPaymentSmileById should share one cache entry and one repository lookup";
+    private static final String DISPLAY_CANCEL_UPDATES_CACHE =
+            "cancelPayment should show the canceled payment in both JSON and Smile";
+    private static final String DISPLAY_NOT_FOUND_NOT_CACHED =
+            "findPaymentSmileById should not cache a missing payment";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SmileMapper smileMapper = SmileConfig.smileMapper();
+
+    @Configuration
+    @Import({ CacheConfig.class, PaymentServiceImpl.class, PaymentJsonCache.class })
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.PAYMENTS_JSON_CACHE);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        PaymentMetrics paymentMetrics() {
+            return new MicrometerPaymentMetrics(new SimpleMeterRegistry());
+        }
+
+        @Bean
+        TransactionMapper transactionMapper(PaymentMetrics paymentMetrics) {
+            return new TransactionMapperImpl(() -> 1L, new FixedCardTokenizer(), paymentMetrics);
+        }
+
+        @Bean
+        ReplicaReadRouter replicaReadRouter() {
+            return new ReplicaReadRouter(
+                    mock(PlatformTransactionManager.class), false, Duration.ofSeconds(2), 1_000);
+        }
+    }
+
+    @MockitoBean
+    private TransactionRepository transactionRepository;
+
+    @MockitoBean
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private PaymentRequestValidator paymentRequestValidator;
+
+    @MockitoBean
+    private TransactionJournal transactionJournal;
+
+    @MockitoBean
+    private TransactionIdFilter transactionIdFilter;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.PAYMENTS_JSON_CACHE).clear();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_FIND_CACHED)
+    void findPayment_shouldServeBothFormatsFromOneEntry() {
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.of(createAuthorizedTransactionEntity()));
+
+        byte[] json = paymentService.findPaymentJsonById(DEFAULT_TRANSACTION_ID);
+        byte[] smile = paymentService.findPaymentSmileById(DEFAULT_TRANSACTION_ID);
+
+        assertEquals(objectMapper.readValue(json, PagamentoResponseDTO.class),
+                smileMapper.readValue(smile, PagamentoResponseDTO.class));
+        assertArrayEquals(json, paymentService.findPaymentJsonById(DEFAULT_TRANSACTION_ID));
+        verify(transactionRepository, times(1)).findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CANCEL_UPDATES_CACHE)
+    void cancelPayment_shouldUpdateBothFormats() {
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.of(createAuthorizedTransactionEntity()));
+        given(transactionRepository.cancelIfNotCanceled(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.of(createCanceledTransactionEntity()));
+
+        paymentService.findPaymentSmileById(DEFAULT_TRANSACTION_ID);
+        paymentService.cancelPayment(DEFAULT_TRANSACTION_ID);
+
+        PagamentoResponseDTO json = objectMapper.readValue(
+                paymentService.findPaymentJsonById(DEFAULT_TRANSACTION_ID), PagamentoResponseDTO.class);
+        PagamentoResponseDTO smile = smileMapper.readValue(
+                paymentService.findPaymentSmileById(DEFAULT_TRANSACTION_ID), PagamentoResponseDTO.class);
+        assertEquals(StatusTransacao.CANCELADO, json.getTransacao().getDescricao().getStatus());
+        assertEquals(json, smile);
+        verify(transactionRepository, times(1)).findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_NOT_FOUND_NOT_CACHED)
+    void findPaymentSmileById_shouldNotCacheMissingPayment() {
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.empty());
+
+        assertThrows(PaymentNotFoundException.class,
+                () -> paymentService.findPaymentSmileById(DEFAULT_TRANSACTION_ID));
+        assertThrows(PaymentNotFoundException.class,
+                () -> paymentService.findPaymentSmileById(DEFAULT_TRANSACTION_ID));
+
+        verify(transactionRepository, times(2)).findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE);
+    }
+
+    private static final class FixedCardTokenizer implements CardTokenizer {
+
+        @Override
+        public long tokenize(String cardNumber) {
+            return 1L;
+        }
+
+        @Override
+        public String detokenize(long token) {
+            return DEFAULT_CARD_NUMBER;
+        }
+    }
+}
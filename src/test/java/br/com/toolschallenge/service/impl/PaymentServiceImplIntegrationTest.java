@@ -0,0 +1,126 @@
+package br.com.toolschallenge.service.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.toPaymentFields;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.entity.TransactionEntity;
+import br.com.toolschallenge.exception.DuplicateTransactionIdException;
+import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.support.PostgresIntegrationTest;
+
+class PaymentServiceImplIntegrationTest extends PostgresIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 16;
+    private static final String CONCURRENT_TRANSACTION_ID = "900000000000001";
+    private static final String CONCURRENT_CANCEL_TRANSACTION_ID = "900000000000002";
+    private static final short CANCELED = 3;
+
+    private static final String DISPLAY_CREATE_PAYMENT_SINGLE_WINNER =
+            "createPayment should accept exactly one of many concurrent requests with the same id";
+    private static final String DISPLAY_CANCEL_SINGLE_WINNER =
+            "cancelIfNotCanceled should update the row for exactly one of many concurrent cancellations";
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENT_SINGLE_WINNER)
+    void createPayment_shouldHaveExactlyOneWinner_whenSameIdIsConcurrent() throws Exception {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        request.getTransacao().setId(CONCURRENT_TRANSACTION_ID);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        paymentService.createPayment(toPaymentFields(request));
+                        return true;
+                    } catch (DuplicateTransactionIdException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM tb_transacao WHERE id = ?",
+                    Integer.class,
+                    Long.valueOf(CONCURRENT_TRANSACTION_ID));
+
+            assertThat(winners).isEqualTo(1);
+            assertThat(rows).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CANCEL_SINGLE_WINNER)
+    void cancelIfNotCanceled_shouldHaveExactlyOneWinner_whenCancelIsConcurrent() throws Exception {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        request.getTransacao().setId(CONCURRENT_CANCEL_TRANSACTION_ID);
+        paymentService.createPayment(toPaymentFields(request));
+        long id = Long.parseLong(CONCURRENT_CANCEL_TRANSACTION_ID);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Optional<TransactionEntity>>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return transactionRepository.cancelIfNotCanceled(id);
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Optional<TransactionEntity>> result : results) {
+                if (result.get().isPresent()) {
+                    winners++;
+                }
+            }
+
+            Short status = jdbcTemplate.queryForObject(
+                    "SELECT status FROM tb_transacao WHERE id = ?", Short.class, id);
+
+            assertThat(winners).isEqualTo(1);
+            assertThat(status).isEqualTo(CANCELED);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -3,59 +3,134 @@ package br.com.toolschallenge.service.impl;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_AMOUNT;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID_VALUE;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedPaymentResponse;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.createAuthorizedTransactionEntity;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledPaymentResponse;
 import static br.com.toolschallenge.data.PaymentTestDataFactory.createCanceledTransactionEntity;
-import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentFields;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidatedPaymentRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.cache.PaymentJsonCache;
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.datasource.ReplicaReadRouter;
+import br.com.toolschallenge.dto.FiltroPagamentosDTO;
+import br.com.toolschallenge.dto.LotePagamentoItemResponseDTO;
 import br.com.toolschallenge.dto.PagamentoResponseDTO;
+import br.com.toolschallenge.dto.PaginaPagamentosResponseDTO;
 import br.com.toolschallenge.entity.TransactionEntity;
 import br.com.toolschallenge.enums.StatusTransacao;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
 import br.com.toolschallenge.exception.DuplicateTransactionIdException;
+import br.com.toolschallenge.exception.InvalidBatchSizeException;
+import br.com.toolschallenge.exception.InvalidPaymentCursorException;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
 import br.com.toolschallenge.exception.PaymentNotFoundException;
+import br.com.toolschallenge.exception.PaymentPendingException;
+import br.com.toolschallenge.idfilter.TransactionIdFilter;
+import br.com.toolschallenge.journal.TransactionJournal;
 import br.com.toolschallenge.mapper.TransactionMapper;
+import br.com.toolschallenge.metrics.PaymentMetrics;
+import br.com.toolschallenge.pagination.PaymentCursor;
 import br.com.toolschallenge.repository.TransactionRepository;
+import br.com.toolschallenge.repository.TransactionSearchCriteria;
+import br.com.toolschallenge.validation.PaymentRequestValidator;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+import br.com.toolschallenge.validation.impl.SinglePassPaymentRequestValidator;
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceImplTest {
 
     private static final String EXPECTED_NSU = "0000000001";
+    private static final String FIELD_CARD_NUMBER = "transacao.cartao";
+    private static final String MSG_CARD_NUMBER_REQUIRED = "Card number is required";
 
     private static final String DISPLAY_CREATE_PAYMENT_UNIQUE =
             "createPayment should persist transaction and return response when id is unique";
+    private static final String DISPLAY_CREATE_PAYMENT_INVALID =
+            "createPayment should throw InvalidPaymentRequestException without mapping when the request is invalid";
     private static final String DISPLAY_CREATE_PAYMENT_DUPLICATE =
             "createPayment should throw DuplicateTransactionIdException when id already exists";
+    private static final String DISPLAY_CREATE_PAYMENT_JOURNAL =
+            "createPayment should append to the journal instead of inserting when the journal is enabled";
+    private static final String DISPLAY_CREATE_PAYMENT_JOURNAL_DUPLICATE =
+            "createPayment should throw DuplicateTransactionIdException when id is already registered in journal mode";
+    private static final String DISPLAY_CREATE_PAYMENT_JOURNAL_PENDING =
+            "createPayment should throw DuplicateTransactionIdException before mapping when the id is already reserved";
+    private static final String DISPLAY_CREATE_PAYMENT_JOURNAL_FAILURE =
+            "createPayment should release the id reservation when the journal write fails";
+    private static final String DISPLAY_CREATE_PAYMENTS_PER_ITEM =
+            "createPayments should report success or failure for each item without failing the batch";
+    private static final String DISPLAY_CREATE_PAYMENTS_EMPTY =
+            "createPayments should throw InvalidBatchSizeException when batch is empty";
     private static final String DISPLAY_FIND_PAYMENT_BY_ID_EXISTS =
             "findPaymentById should return mapped response when transaction exists";
+    private static final String DISPLAY_FIND_PAYMENT_BY_ID_JOURNAL =
+            "findPaymentById should answer from the journal before reaching the database";
     private static final String DISPLAY_FIND_PAYMENT_BY_ID_NOT_FOUND =
             "findPaymentById should throw PaymentNotFoundException when transaction does not exist";
+    private static final String DISPLAY_FIND_PAYMENT_BY_ID_LEADING_ZEROS =
+            "findPaymentById should look up an id with leading zeros by its numeric value";
+    private static final String DISPLAY_FIND_PAYMENT_BY_ID_NOT_NUMERIC =
+            "findPaymentById should throw PaymentNotFoundException without querying when id is not a positive number";
     private static final String DISPLAY_LIST_ALL_PAYMENTS =
             "listAllPayments should map all entities to DTOs";
+    private static final String DISPLAY_LIST_PAYMENTS_FIRST_PAGE =
+            "listPayments should fetch one extra row and return next cursor when more rows exist";
+    private static final String DISPLAY_LIST_PAYMENTS_AFTER_CURSOR =
+            "listPayments should seek after decoded cursor and return null cursor on last page";
+    private static final String DISPLAY_LIST_PAYMENTS_CLAMP_SIZE =
+            "listPayments should clamp page size to the maximum allowed";
+    private static final String DISPLAY_LIST_PAYMENTS_INVALID_CURSOR =
+            "listPayments should throw InvalidPaymentCursorException when cursor is malformed";
+    private static final String DISPLAY_SEARCH_PAYMENTS =
+            "searchPayments should translate the filter to entity codes and seek after the cursor";
+    private static final String DISPLAY_SEARCH_PAYMENTS_EMPTY_FILTER =
+            "searchPayments should pass null criteria and return next cursor when more rows exist";
+    private static final String DISPLAY_EXPORT_PAYMENTS =
+            "exportPayments should map the streamed entities in batches and detach them afterwards";
     private static final String DISPLAY_CANCEL_PAYMENT_AUTHORIZED =
-            "cancelPayment should update status to CANCELADO when authorized";
+            "cancelPayment should cancel with a single conditional update when authorized";
     private static final String DISPLAY_CANCEL_PAYMENT_IDEMPOTENT =
             "cancelPayment should be idempotent when transaction is already CANCELADO";
     private static final String DISPLAY_CANCEL_PAYMENT_NOT_FOUND =
             "cancelPayment should throw PaymentNotFoundException when transaction does not exist";
+    private static final String DISPLAY_CANCEL_PAYMENT_PENDING =
+            "cancelPayment should not touch the database when the journal entry is not drained in time";
 
     @Mock
     private TransactionRepository transactionRepository;
@@ -63,21 +138,41 @@ class PaymentServiceImplTest {
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private PaymentRequestValidator paymentRequestValidator = new SinglePassPaymentRequestValidator();
+
+    @Mock
+    private PaymentJsonCache paymentJsonCache;
+
+    @Mock
+    private TransactionJournal transactionJournal;
+
+    @Mock
+    private TransactionIdFilter transactionIdFilter;
+
+    @Mock
+    private PaymentMetrics paymentMetrics;
+
+    @Spy
+    private ReplicaReadRouter replicaReadRouter = new ReplicaReadRouter(
+            mock(PlatformTransactionManager.class), false, Duration.ofSeconds(2), 1_000);
+
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
     @Test
     @DisplayName(DISPLAY_CREATE_PAYMENT_UNIQUE)
     void createPayment_shouldPersist_whenIdIsUnique() {
-        PagamentoRequestDTO request = createValidPaymentRequest();
+        PaymentRequestFields request = createValidPaymentFields();
         TransactionEntity entity = createAuthorizedTransactionEntity();
         PagamentoResponseDTO mappedResponse = createAuthorizedPaymentResponse();
 
-        given(transactionRepository.existsById(DEFAULT_TRANSACTION_ID)).willReturn(false);
-        given(transactionMapper.toTransactionEntityRequest(any(PagamentoRequestDTO.class)))
-                .willReturn(entity);
-        given(transactionRepository.save(any(TransactionEntity.class)))
+        given(transactionMapper.toTransactionEntityRequest(any(ValidatedPaymentRequest.class)))
                 .willReturn(entity);
+        given(transactionRepository.insertIfAbsent(entity)).willReturn(1);
         given(transactionMapper.toPaymentResponse(entity))
                 .willReturn(mappedResponse);
 
@@ -91,25 +186,203 @@ class PaymentServiceImplTest {
         assertEquals(StatusTransacao.AUTORIZADO, response.getTransacao().getDescricao().getStatus());
         assertEquals(EXPECTED_NSU, response.getTransacao().getDescricao().getNsu());
 
-        verify(transactionRepository).existsById(DEFAULT_TRANSACTION_ID);
-        verify(transactionMapper).toTransactionEntityRequest(any(PagamentoRequestDTO.class));
-        verify(transactionRepository).save(any(TransactionEntity.class));
+        verify(transactionMapper).toTransactionEntityRequest(any(ValidatedPaymentRequest.class));
+        verify(transactionRepository).insertIfAbsent(entity);
         verify(transactionMapper).toPaymentResponse(entity);
+        verify(paymentJsonCache).put(entity);
+        verify(paymentMetrics).countTransaction(entity.getStatus(), entity.getPaymentType());
+        verify(replicaReadRouter).recordWrite(DEFAULT_TRANSACTION_ID_VALUE);
         verifyNoMoreInteractions(transactionRepository);
     }
 
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENT_INVALID)
+    void createPayment_shouldThrow_whenRequestIsInvalid() {
+        PaymentRequestFields request = createValidPaymentFields();
+        request.setCartao(null);
+
+        InvalidPaymentRequestException ex = assertThrows(InvalidPaymentRequestException.class,
+                () -> paymentService.createPayment(request));
+
+        assertEquals(FIELD_CARD_NUMBER, ex.getViolations().get(0).field());
+        assertEquals(MSG_CARD_NUMBER_REQUIRED, ex.getViolations().get(0).message());
+        verifyNoInteractions(transactionMapper, transactionRepository, transactionJournal);
+    }
+
     @Test
     @DisplayName(DISPLAY_CREATE_PAYMENT_DUPLICATE)
     void createPayment_shouldThrow_whenIdAlreadyExists() {
-        PagamentoRequestDTO request = createValidPaymentRequest();
+        PaymentRequestFields request = createValidPaymentFields();
+        TransactionEntity entity = createAuthorizedTransactionEntity();
 
-        given(transactionRepository.existsById(DEFAULT_TRANSACTION_ID)).willReturn(true);
+        given(transactionMapper.toTransactionEntityRequest(any(ValidatedPaymentRequest.class)))
+                .willReturn(entity);
+        given(transactionRepository.insertIfAbsent(entity)).willReturn(0);
 
         assertThrows(DuplicateTransactionIdException.class,
                 () -> paymentService.createPayment(request));
 
-        verify(transactionRepository).existsById(DEFAULT_TRANSACTION_ID);
+        verify(transactionRepository).insertIfAbsent(entity);
         verifyNoMoreInteractions(transactionRepository);
+        verify(transactionMapper).toTransactionEntityRequest(any(ValidatedPaymentRequest.class));
+        verifyNoMoreInteractions(transactionMapper);
+        verify(paymentMetrics, never()).countTransaction(any(), any());
+        verify(replicaReadRouter, never()).recordWrite(DEFAULT_TRANSACTION_ID_VALUE);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENT_JOURNAL)
+    void createPayment_shouldAppendToJournal_whenJournalIsEnabled() {
+        PaymentRequestFields request = createValidPaymentFields();
+        TransactionEntity entity = createAuthorizedTransactionEntity();
+        PagamentoResponseDTO mappedResponse = createAuthorizedPaymentResponse();
+
+        given(transactionMapper.toTransactionEntityRequest(any(ValidatedPaymentRequest.class)))
+                .willReturn(entity);
+        given(transactionJournal.isEnabled()).willReturn(true);
+        given(transactionJournal.reserve(DEFAULT_TRANSACTION_ID_VALUE)).willReturn(true);
+        given(transactionIdFilter.isRegistered(DEFAULT_TRANSACTION_ID_VALUE)).willReturn(false);
+        given(transactionMapper.toPaymentResponse(entity))
+                .willReturn(mappedResponse);
+
+        PagamentoResponseDTO response = paymentService.createPayment(request);
+
+        assertEquals(mappedResponse, response);
+
+        InOrder inOrder = inOrder(transactionIdFilter, transactionMapper, transactionJournal);
+        inOrder.verify(transactionJournal).reserve(DEFAULT_TRANSACTION_ID_VALUE);
+        inOrder.verify(transactionIdFilter).isRegistered(DEFAULT_TRANSACTION_ID_VALUE);
+        inOrder.verify(transactionMapper).toTransactionEntityRequest(any(ValidatedPaymentRequest.class));
+        inOrder.verify(transactionIdFilter).add(DEFAULT_TRANSACTION_ID_VALUE);
+        inOrder.verify(transactionJournal).append(entity);
+        verify(transactionJournal, never()).release(DEFAULT_TRANSACTION_ID_VALUE);
+        verify(paymentJsonCache).put(entity);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENT_JOURNAL_DUPLICATE)
+    void createPayment_shouldThrow_whenIdIsRegistered_inJournalMode() {
+        PaymentRequestFields request = createValidPaymentFields();
+
+        given(transactionJournal.isEnabled()).willReturn(true);
+        given(transactionJournal.reserve(DEFAULT_TRANSACTION_ID_VALUE)).willReturn(true);
+        given(transactionIdFilter.isRegistered(DEFAULT_TRANSACTION_ID_VALUE)).willReturn(true);
+
+        assertThrows(DuplicateTransactionIdException.class,
+                () -> paymentService.createPayment(request));
+
+        verify(transactionIdFilter).isRegistered(DEFAULT_TRANSACTION_ID_VALUE);
+        verify(transactionJournal).isEnabled();
+        verify(transactionJournal).reserve(DEFAULT_TRANSACTION_ID_VALUE);
+        verify(transactionJournal).release(DEFAULT_TRANSACTION_ID_VALUE);
+        verifyNoMoreInteractions(transactionIdFilter, transactionJournal);
+        verifyNoInteractions(transactionRepository, transactionMapper);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENT_JOURNAL_PENDING)
+    void createPayment_shouldThrow_whenIdIsReserved() {
+        PaymentRequestFields request = createValidPaymentFields();
+
+        given(transactionJournal.isEnabled()).willReturn(true);
+        given(transactionJournal.reserve(DEFAULT_TRANSACTION_ID_VALUE)).willReturn(false);
+
+        assertThrows(DuplicateTransactionIdException.class,
+                () -> paymentService.createPayment(request));
+
+        verify(transactionJournal, never()).append(any());
+        verify(transactionJournal, never()).release(DEFAULT_TRANSACTION_ID_VALUE);
+        verifyNoInteractions(transactionIdFilter, transactionRepository, transactionMapper);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENT_JOURNAL_FAILURE)
+    void createPayment_shouldReleaseReservation_whenJournalWriteFails() {
+        PaymentRequestFields request = createValidPaymentFields();
+        TransactionEntity entity = createAuthorizedTransactionEntity();
+
+        given(transactionJournal.isEnabled()).willReturn(true);
+        given(transactionJournal.reserve(DEFAULT_TRANSACTION_ID_VALUE)).willReturn(true);
+        given(transactionMapper.toTransactionEntityRequest(any(ValidatedPaymentRequest.class)))
+                .willReturn(entity);
+        willThrow(new IllegalStateException("Transaction journal write failed"))
+                .given(transactionJournal).append(entity);
+
+        assertThrows(IllegalStateException.class,
+                () -> paymentService.createPayment(request));
+
+        verify(transactionJournal).release(DEFAULT_TRANSACTION_ID_VALUE);
+        verify(paymentJsonCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENTS_PER_ITEM)
+    void createPayments_shouldReportEachItemIndependently() {
+        PaymentRequestFields valid = createPaymentFieldsWithId("1");
+        PaymentRequestFields invalid = createPaymentFieldsWithId("2");
+        invalid.setCartao(null);
+        PaymentRequestFields repeatedInBatch = createPaymentFieldsWithId("1");
+        PaymentRequestFields alreadyStored = createPaymentFieldsWithId("3");
+        PaymentRequestFields storedConcurrently = createPaymentFieldsWithId("4");
+        PaymentRequestFields reservedElsewhere = createPaymentFieldsWithId("5");
+
+        TransactionEntity validEntity = createAuthorizedTransactionEntity();
+        validEntity.setId(1L);
+        TransactionEntity concurrentEntity = createAuthorizedTransactionEntity();
+        concurrentEntity.setId(4L);
+        PagamentoResponseDTO mappedResponse = createAuthorizedPaymentResponse();
+
+        given(transactionJournal.reserve(anyLong())).willReturn(true);
+        given(transactionJournal.reserve(5L)).willReturn(false);
+        given(transactionRepository.findRegisteredIds(List.of(1L, 3L, 4L))).willReturn(List.of(3L));
+        given(transactionMapper.toTransactionEntityRequest(validatedWithId(1L))).willReturn(validEntity);
+        given(transactionMapper.toTransactionEntityRequest(validatedWithId(4L))).willReturn(concurrentEntity);
+        given(transactionRepository.insertAllIfAbsent(List.of(validEntity, concurrentEntity)))
+                .willReturn(new int[] { 1, 0 });
+        given(transactionMapper.toPaymentResponse(validEntity)).willReturn(mappedResponse);
+
+        List<LotePagamentoItemResponseDTO> results = paymentService.createPayments(
+                List.of(valid, invalid, repeatedInBatch, alreadyStored, storedConcurrently, reservedElsewhere));
+
+        assertEquals(6, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(mappedResponse, results.get(0).getPagamento());
+
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals(FIELD_CARD_NUMBER, results.get(1).getFieldErrors().get(0).get("field"));
+        assertEquals(MSG_CARD_NUMBER_REQUIRED, results.get(1).getFieldErrors().get(0).get("message"));
+
+        assertEquals(409, results.get(2).getStatus());
+        assertEquals(409, results.get(3).getStatus());
+        assertNull(results.get(3).getPagamento());
+        assertEquals(409, results.get(4).getStatus());
+        assertEquals(409, results.get(5).getStatus());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndice());
+        }
+
+        verify(transactionRepository).findRegisteredIds(List.of(1L, 3L, 4L));
+        verify(transactionRepository).insertAllIfAbsent(List.of(validEntity, concurrentEntity));
+        verifyNoMoreInteractions(transactionRepository);
+        verify(transactionMapper, never()).toTransactionEntityRequest(validatedWithId(3L));
+        verify(transactionJournal).release(1L);
+        verify(transactionJournal).release(3L);
+        verify(transactionJournal).release(4L);
+        verify(transactionJournal, never()).release(5L);
+        verify(replicaReadRouter).recordWrite(1L);
+        verify(replicaReadRouter, never()).recordWrite(4L);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_CREATE_PAYMENTS_EMPTY)
+    void createPayments_shouldThrow_whenBatchIsEmpty() {
+        List<PaymentRequestFields> empty = List.of();
+
+        assertThrows(InvalidBatchSizeException.class,
+                () -> paymentService.createPayments(empty));
+
+        verifyNoInteractions(transactionRepository, transactionMapper);
     }
 
     @Test
@@ -118,7 +391,7 @@ class PaymentServiceImplTest {
         TransactionEntity entity = createAuthorizedTransactionEntity();
         PagamentoResponseDTO mappedResponse = createAuthorizedPaymentResponse();
 
-        given(transactionRepository.findById(DEFAULT_TRANSACTION_ID))
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
                 .willReturn(Optional.of(entity));
         given(transactionMapper.toPaymentResponse(entity))
                 .willReturn(mappedResponse);
@@ -129,24 +402,65 @@ class PaymentServiceImplTest {
         assertEquals(DEFAULT_TRANSACTION_ID, response.getTransacao().getId());
         assertEquals(StatusTransacao.AUTORIZADO, response.getTransacao().getDescricao().getStatus());
 
-        verify(transactionRepository).findById(DEFAULT_TRANSACTION_ID);
+        verify(transactionRepository).findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE);
         verify(transactionMapper).toPaymentResponse(entity);
         verifyNoMoreInteractions(transactionRepository);
     }
 
+    @Test
+    @DisplayName(DISPLAY_FIND_PAYMENT_BY_ID_JOURNAL)
+    void findPaymentById_shouldReturnJournalEntry_whenNotYetDrained() {
+        TransactionEntity entity = createAuthorizedTransactionEntity();
+        PagamentoResponseDTO mappedResponse = createAuthorizedPaymentResponse();
+
+        given(transactionJournal.find(DEFAULT_TRANSACTION_ID_VALUE)).willReturn(Optional.of(entity));
+        given(transactionMapper.toPaymentResponse(entity))
+                .willReturn(mappedResponse);
+
+        PagamentoResponseDTO response = paymentService.findPaymentById(DEFAULT_TRANSACTION_ID);
+
+        assertEquals(mappedResponse, response);
+
+        verifyNoInteractions(transactionRepository);
+    }
+
     @Test
     @DisplayName(DISPLAY_FIND_PAYMENT_BY_ID_NOT_FOUND)
     void findPaymentById_shouldThrow_whenNotFound() {
-        given(transactionRepository.findById(DEFAULT_TRANSACTION_ID))
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
                 .willReturn(Optional.empty());
 
         assertThrows(PaymentNotFoundException.class,
                 () -> paymentService.findPaymentById(DEFAULT_TRANSACTION_ID));
 
-        verify(transactionRepository).findById(DEFAULT_TRANSACTION_ID);
+        verify(transactionRepository).findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE);
         verifyNoMoreInteractions(transactionRepository);
     }
 
+    @Test
+    @DisplayName(DISPLAY_FIND_PAYMENT_BY_ID_LEADING_ZEROS)
+    void findPaymentById_shouldFindByNumericValue_whenIdHasLeadingZeros() {
+        TransactionEntity entity = createAuthorizedTransactionEntity();
+        PagamentoResponseDTO mappedResponse = createAuthorizedPaymentResponse();
+
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.of(entity));
+        given(transactionMapper.toPaymentResponse(entity)).willReturn(mappedResponse);
+
+        assertEquals(mappedResponse, paymentService.findPaymentById("00" + DEFAULT_TRANSACTION_ID));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "+" + DEFAULT_TRANSACTION_ID, "-" + DEFAULT_TRANSACTION_ID, "0", "000", "", "abc",
+            "99999999999999999999" })
+    @DisplayName(DISPLAY_FIND_PAYMENT_BY_ID_NOT_NUMERIC)
+    void findPaymentById_shouldThrow_whenIdIsNotPositiveNumber(String id) {
+        assertThrows(PaymentNotFoundException.class,
+                () -> paymentService.findPaymentById(id));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
     @Test
     @DisplayName(DISPLAY_LIST_ALL_PAYMENTS)
     void listAllPayments_shouldReturnList() {
@@ -157,8 +471,7 @@ class PaymentServiceImplTest {
         PagamentoResponseDTO r2 = createCanceledPaymentResponse();
 
         given(transactionRepository.findAll()).willReturn(List.of(e1, e2));
-        given(transactionMapper.toPaymentResponse(e1)).willReturn(r1);
-        given(transactionMapper.toPaymentResponse(e2)).willReturn(r2);
+        given(transactionMapper.toPaymentResponses(List.of(e1, e2))).willReturn(List.of(r1, r2));
 
         List<PagamentoResponseDTO> result = paymentService.listAllPayments();
 
@@ -167,31 +480,167 @@ class PaymentServiceImplTest {
         assertEquals(StatusTransacao.CANCELADO, result.get(1).getTransacao().getDescricao().getStatus());
 
         verify(transactionRepository).findAll();
-        verify(transactionMapper).toPaymentResponse(e1);
-        verify(transactionMapper).toPaymentResponse(e2);
+        verify(transactionMapper).toPaymentResponses(List.of(e1, e2));
         verifyNoMoreInteractions(transactionRepository);
     }
 
+    @Test
+    @DisplayName(DISPLAY_LIST_PAYMENTS_FIRST_PAGE)
+    void listPayments_shouldReturnNextCursor_whenMoreRowsExist() {
+        TransactionEntity e1 = createAuthorizedTransactionEntity();
+        TransactionEntity e2 = createCanceledTransactionEntity();
+        PagamentoResponseDTO r1 = createAuthorizedPaymentResponse();
+
+        given(transactionRepository.findFirstPage(2)).willReturn(List.of(e1, e2));
+        given(transactionMapper.toPaymentResponses(List.of(e1))).willReturn(List.of(r1));
+
+        PaginaPagamentosResponseDTO result = paymentService.listPayments(null, 1);
+
+        assertEquals(1, result.getPagamentos().size());
+        assertEquals(PaymentCursor.of(e1).encode(), result.getProximoCursor());
+
+        verify(transactionRepository).findFirstPage(2);
+        verify(transactionMapper).toPaymentResponses(List.of(e1));
+        verifyNoMoreInteractions(transactionRepository, transactionMapper);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LIST_PAYMENTS_AFTER_CURSOR)
+    void listPayments_shouldSeekAfterCursor_andEndOnLastPage() {
+        TransactionEntity e1 = createAuthorizedTransactionEntity();
+        TransactionEntity e2 = createCanceledTransactionEntity();
+        PagamentoResponseDTO r2 = createCanceledPaymentResponse();
+        String cursor = PaymentCursor.of(e1).encode();
+
+        given(transactionRepository.findPageAfter(e1.getDateTime(), e1.getId(), 11))
+                .willReturn(List.of(e2));
+        given(transactionMapper.toPaymentResponses(List.of(e2))).willReturn(List.of(r2));
+
+        PaginaPagamentosResponseDTO result = paymentService.listPayments(cursor, 10);
+
+        assertEquals(List.of(r2), result.getPagamentos());
+        assertNull(result.getProximoCursor());
+
+        verify(transactionRepository).findPageAfter(e1.getDateTime(), e1.getId(), 11);
+        verifyNoMoreInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LIST_PAYMENTS_CLAMP_SIZE)
+    void listPayments_shouldClampPageSize() {
+        given(transactionRepository.findFirstPage(501)).willReturn(List.of());
+
+        PaginaPagamentosResponseDTO result = paymentService.listPayments(null, 10_000);
+
+        assertEquals(0, result.getPagamentos().size());
+        assertNull(result.getProximoCursor());
+
+        verify(transactionRepository).findFirstPage(501);
+        verifyNoMoreInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LIST_PAYMENTS_INVALID_CURSOR)
+    void listPayments_shouldThrow_whenCursorIsInvalid() {
+        assertThrows(InvalidPaymentCursorException.class,
+                () -> paymentService.listPayments("%%%", 10));
+
+        verifyNoMoreInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_SEARCH_PAYMENTS)
+    void searchPayments_shouldTranslateFilter_andSeekAfterCursor() {
+        TransactionEntity e1 = createAuthorizedTransactionEntity();
+        TransactionEntity e2 = createCanceledTransactionEntity();
+        PagamentoResponseDTO r2 = createCanceledPaymentResponse();
+        PaymentCursor after = PaymentCursor.of(e1);
+        LocalDateTime inicio = LocalDateTime.of(2021, 5, 1, 0, 0);
+        FiltroPagamentosDTO filtro = FiltroPagamentosDTO.builder()
+                .estabelecimento("PetShop Mundo cão")
+                .dataHoraInicio(inicio)
+                .dataHoraFim(inicio.plusMonths(1))
+                .status(StatusTransacao.CANCELADO)
+                .tipo(TipoFormaPagamento.PARCELADO_LOJA)
+                .nsu(1L)
+                .build();
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                "PetShop Mundo cão", inicio, inicio.plusMonths(1), (short) 3, (short) 2, 1L);
+
+        given(transactionRepository.search(criteria, after, 11)).willReturn(List.of(e2));
+        given(transactionMapper.toPaymentResponses(List.of(e2))).willReturn(List.of(r2));
+
+        PaginaPagamentosResponseDTO result = paymentService.searchPayments(filtro, after.encode(), 10);
+
+        assertEquals(List.of(r2), result.getPagamentos());
+        assertNull(result.getProximoCursor());
+
+        verify(transactionRepository).search(criteria, after, 11);
+        verifyNoMoreInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_SEARCH_PAYMENTS_EMPTY_FILTER)
+    void searchPayments_shouldReturnNextCursor_whenFilterIsEmpty() {
+        TransactionEntity e1 = createAuthorizedTransactionEntity();
+        TransactionEntity e2 = createCanceledTransactionEntity();
+        PagamentoResponseDTO r1 = createAuthorizedPaymentResponse();
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(null, null, null, null, null, null);
+
+        given(transactionRepository.search(criteria, null, 2)).willReturn(List.of(e1, e2));
+        given(transactionMapper.toPaymentResponses(List.of(e1))).willReturn(List.of(r1));
+
+        PaginaPagamentosResponseDTO result = paymentService.searchPayments(new FiltroPagamentosDTO(), null, 1);
+
+        assertEquals(List.of(r1), result.getPagamentos());
+        assertEquals(PaymentCursor.of(e1).encode(), result.getProximoCursor());
+
+        verify(transactionRepository).search(criteria, null, 2);
+        verifyNoMoreInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_EXPORT_PAYMENTS)
+    void exportPayments_shouldMapInBatchesAndDetach() {
+        TransactionEntity e1 = createAuthorizedTransactionEntity();
+        TransactionEntity e2 = createCanceledTransactionEntity();
+        PagamentoResponseDTO r1 = createAuthorizedPaymentResponse();
+        PagamentoResponseDTO r2 = createCanceledPaymentResponse();
+
+        given(transactionRepository.streamAll()).willReturn(Stream.of(e1, e2));
+        given(transactionMapper.toPaymentResponses(List.of(e1, e2))).willReturn(List.of(r1, r2));
+
+        List<PagamentoResponseDTO> exported = new ArrayList<>();
+        paymentService.exportPayments(exported::add);
+
+        assertEquals(List.of(r1, r2), exported);
+
+        verify(transactionRepository).streamAll();
+        verify(entityManager).detach(e1);
+        verify(entityManager).detach(e2);
+        verifyNoMoreInteractions(transactionRepository, entityManager);
+    }
+
     @Test
     @DisplayName(DISPLAY_CANCEL_PAYMENT_AUTHORIZED)
     void cancelPayment_shouldUpdateStatusToCanceled() {
-        TransactionEntity authorized = createAuthorizedTransactionEntity();
+        TransactionEntity canceled = createCanceledTransactionEntity();
         PagamentoResponseDTO canceledResponse = createCanceledPaymentResponse();
 
-        given(transactionRepository.findById(DEFAULT_TRANSACTION_ID))
-                .willReturn(Optional.of(authorized));
-        given(transactionRepository.save(any(TransactionEntity.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
-        given(transactionMapper.toPaymentResponse(any(TransactionEntity.class)))
+        given(transactionRepository.cancelIfNotCanceled(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.of(canceled));
+        given(transactionMapper.toPaymentResponse(canceled))
                 .willReturn(canceledResponse);
 
         PagamentoResponseDTO response = paymentService.cancelPayment(DEFAULT_TRANSACTION_ID);
 
         assertEquals(StatusTransacao.CANCELADO, response.getTransacao().getDescricao().getStatus());
 
-        verify(transactionRepository).findById(DEFAULT_TRANSACTION_ID);
-        verify(transactionRepository).save(any(TransactionEntity.class));
-        verify(transactionMapper).toPaymentResponse(any(TransactionEntity.class));
+        verify(transactionRepository).cancelIfNotCanceled(DEFAULT_TRANSACTION_ID_VALUE);
+        verify(transactionMapper).toPaymentResponse(canceled);
+        verify(paymentJsonCache).put(canceled);
+        verify(paymentMetrics).countTransaction(canceled.getStatus(), canceled.getPaymentType());
+        verify(replicaReadRouter).recordWrite(DEFAULT_TRANSACTION_ID_VALUE);
         verifyNoMoreInteractions(transactionRepository);
     }
 
@@ -201,7 +650,9 @@ class PaymentServiceImplTest {
         TransactionEntity canceled = createCanceledTransactionEntity();
         PagamentoResponseDTO canceledResponse = createCanceledPaymentResponse();
 
-        given(transactionRepository.findById(DEFAULT_TRANSACTION_ID))
+        given(transactionRepository.cancelIfNotCanceled(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.empty());
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
                 .willReturn(Optional.of(canceled));
         given(transactionMapper.toPaymentResponse(canceled))
                 .willReturn(canceledResponse);
@@ -210,8 +661,11 @@ class PaymentServiceImplTest {
 
         assertEquals(StatusTransacao.CANCELADO, response.getTransacao().getDescricao().getStatus());
 
-        verify(transactionRepository).findById(DEFAULT_TRANSACTION_ID);
+        verify(transactionRepository).cancelIfNotCanceled(DEFAULT_TRANSACTION_ID_VALUE);
+        verify(transactionRepository).findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE);
         verify(transactionMapper).toPaymentResponse(canceled);
+        verify(paymentMetrics, never()).countTransaction(any(), any());
+        verify(replicaReadRouter, never()).recordWrite(DEFAULT_TRANSACTION_ID_VALUE);
         verifyNoMoreInteractions(transactionRepository);
     }
     
@@ -219,14 +673,41 @@ class PaymentServiceImplTest {
     @DisplayName(DISPLAY_CANCEL_PAYMENT_NOT_FOUND)
     void cancelPayment_shouldThrow_whenNotFound() {
 
-        given(transactionRepository.findById(DEFAULT_TRANSACTION_ID))
+        given(transactionRepository.cancelIfNotCanceled(DEFAULT_TRANSACTION_ID_VALUE))
+                .willReturn(Optional.empty());
+        given(transactionRepository.findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE))
                 .willReturn(Optional.empty());
 
         assertThrows(PaymentNotFoundException.class,
                 () -> paymentService.cancelPayment(DEFAULT_TRANSACTION_ID));
 
-        verify(transactionRepository).findById(DEFAULT_TRANSACTION_ID);
+        verify(transactionRepository).cancelIfNotCanceled(DEFAULT_TRANSACTION_ID_VALUE);
+        verify(transactionRepository).findByIdUsingPartitionKey(DEFAULT_TRANSACTION_ID_VALUE);
         verifyNoMoreInteractions(transactionRepository);
     }
 
+    @Test
+    @DisplayName(DISPLAY_CANCEL_PAYMENT_PENDING)
+    void cancelPayment_shouldThrow_whenJournalEntryNotDrainedInTime() {
+        willThrow(new PaymentPendingException(DEFAULT_TRANSACTION_ID))
+                .given(transactionJournal).awaitDrained(DEFAULT_TRANSACTION_ID_VALUE);
+
+        assertThrows(PaymentPendingException.class,
+                () -> paymentService.cancelPayment(DEFAULT_TRANSACTION_ID));
+
+        verifyNoInteractions(transactionRepository, paymentJsonCache);
+    }
+
+    private static PaymentRequestFields createPaymentFieldsWithId(String id) {
+        PaymentRequestFields request = createValidPaymentFields();
+        request.setId(id);
+        return request;
+    }
+
+    private static ValidatedPaymentRequest validatedWithId(long id) {
+        ValidatedPaymentRequest request = createValidatedPaymentRequest();
+        return new ValidatedPaymentRequest(id, request.cardNumber(), request.amountCents(), request.dateTime(),
+                request.establishment(), request.paymentType(), request.installments(),
+                request.idLeadingZeros(), request.installmentsLeadingZeros());
+    }
 }
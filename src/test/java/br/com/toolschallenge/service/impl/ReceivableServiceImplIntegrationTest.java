@@ -0,0 +1,116 @@
+package br.com.toolschallenge.service.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.toPaymentFields;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.dto.FormaPagamentoDTO;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.dto.RecebiveisResponseDTO;
+import br.com.toolschallenge.dto.RecebivelDiarioDTO;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.service.ReceivableService;
+import br.com.toolschallenge.support.PostgresIntegrationTest;
+
+class ReceivableServiceImplIntegrationTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().withDayOfMonth(1);
+    private static final LocalDateTime DATE_TIME = DATE.atTime(10, 0);
+
+    private static final String DISPLAY_PLAN =
+            "createPayment should store one row per installment adding up to the amount";
+    private static final String DISPLAY_PROJECTION =
+            "projectReceivables should sum the installments due per day and drop canceled plans";
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ReceivableService receivableService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName(DISPLAY_PLAN)
+    void createPayment_shouldStoreInstallmentPlan() {
+        paymentService.createPayment(request("930000000000001", "Recebiveis plano", "100.00",
+                TipoFormaPagamento.PARCELADO_LOJA, "3"));
+
+        List<BigDecimal> amounts = jdbcTemplate.queryForList(
+                "SELECT amount FROM tb_parcela WHERE transaction_id = ? ORDER BY installment_number",
+                BigDecimal.class, 930000000000001L);
+        List<LocalDate> dueDates = jdbcTemplate.queryForList(
+                "SELECT due_date FROM tb_parcela WHERE transaction_id = ? ORDER BY installment_number",
+                LocalDate.class, 930000000000001L);
+
+        assertThat(amounts).containsExactly(
+                new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33"));
+        assertThat(dueDates).containsExactly(DATE.plusMonths(1), DATE.plusMonths(2), DATE.plusMonths(3));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_PROJECTION)
+    void projectReceivables_shouldFollowAuthorizationsAndCancellations() {
+        String merchant = "Recebiveis projecao";
+        paymentService.createPayment(request("940000000000001", merchant, "100.00",
+                TipoFormaPagamento.PARCELADO_LOJA, "3"));
+        paymentService.createPayment(request("940000000000002", merchant, "50.00",
+                TipoFormaPagamento.AVISTA, "1"));
+        paymentService.createPayments(List.of(request("940000000000003", merchant, "10.01",
+                TipoFormaPagamento.PARCELADO_EMISSOR, "2")));
+
+        RecebiveisResponseDTO projection = project(merchant);
+
+        assertThat(projection.getQuantidade()).isEqualTo(6);
+        assertThat(projection.getValor()).isEqualByComparingTo("160.01");
+        assertThat(projection.getRecebiveis()).containsExactly(
+                receivable(DATE.plusMonths(1), 3, "88.35"),
+                receivable(DATE.plusMonths(2), 2, "38.33"),
+                receivable(DATE.plusMonths(3), 1, "33.33"));
+
+        paymentService.cancelPayment("940000000000001");
+
+        assertThat(project(merchant).getRecebiveis()).containsExactly(
+                receivable(DATE.plusMonths(1), 2, "55.01"),
+                receivable(DATE.plusMonths(2), 1, "5.00"));
+    }
+
+    private RecebiveisResponseDTO project(String merchant) {
+        return receivableService.projectReceivables(merchant, DATE, DATE.plusMonths(3));
+    }
+
+    private static PaymentRequestFields request(String id, String merchant, String amount,
+            TipoFormaPagamento tipo, String parcelas) {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        request.getTransacao().setId(id);
+        request.getTransacao().getDescricao().setEstabelecimento(merchant);
+        request.getTransacao().getDescricao().setValor(new BigDecimal(amount));
+        request.getTransacao().getDescricao().setDataHora(DATE_TIME);
+        request.getTransacao().setFormaPagamento(FormaPagamentoDTO.builder()
+                .tipo(tipo)
+                .parcelas(parcelas)
+                .build());
+        return toPaymentFields(request);
+    }
+
+    private static RecebivelDiarioDTO receivable(LocalDate vencimento, long quantidade, String valor) {
+        return RecebivelDiarioDTO.builder()
+                .vencimento(vencimento)
+                .quantidade(quantidade)
+                .valor(new BigDecimal(valor))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.toolschallenge.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.toolschallenge.dto.RecebiveisResponseDTO;
+import br.com.toolschallenge.dto.RecebivelDiarioDTO;
+import br.com.toolschallenge.exception.InvalidDateRangeException;
+import br.com.toolschallenge.repository.InstallmentRepository;
+import br.com.toolschallenge.repository.ReceivableTotal;
+
+@ExtendWith(MockitoExtension.class)
+class ReceivableServiceImplTest {
+
+    private static final String MERCHANT = "PetShop Mundo cão";
+    private static final LocalDate FROM = LocalDate.of(2021, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2021, 8, 31);
+
+    private static final String DISPLAY_PROJECTION =
+            "projectReceivables should return the daily totals in order and their sum";
+    private static final String DISPLAY_EMPTY =
+            "projectReceivables should return zero totals when nothing is due in the range";
+    private static final String DISPLAY_INVALID_RANGE =
+            "projectReceivables should throw InvalidDateRangeException when fim is before inicio";
+    private static final String DISPLAY_RANGE_TOO_LONG =
+            "projectReceivables should throw InvalidDateRangeException when the range is longer than the maximum";
+    private static final String DISPLAY_MAX_RANGE =
+            "projectReceivables should accept a range of exactly the maximum number of days";
+
+    @Mock
+    private InstallmentRepository installmentRepository;
+
+    @InjectMocks
+    private ReceivableServiceImpl receivableService;
+
+    @Test
+    @DisplayName(DISPLAY_PROJECTION)
+    void projectReceivables_shouldSumDailyTotals() {
+        given(installmentRepository.projectReceivables(MERCHANT, FROM, TO)).willReturn(List.of(
+                new ReceivableTotal(LocalDate.of(2021, 6, 1), 2, 8334L),
+                new ReceivableTotal(LocalDate.of(2021, 7, 1), 1, 3333L)));
+
+        RecebiveisResponseDTO response = receivableService.projectReceivables(MERCHANT, FROM, TO);
+
+        assertEquals(MERCHANT, response.getEstabelecimento());
+        assertEquals(FROM, response.getInicio());
+        assertEquals(TO, response.getFim());
+        assertEquals(3, response.getQuantidade());
+        assertEquals(new BigDecimal("116.67"), response.getValor());
+        assertEquals(List.of(
+                receivable(LocalDate.of(2021, 6, 1), 2, "83.34"),
+                receivable(LocalDate.of(2021, 7, 1), 1, "33.33")),
+                response.getRecebiveis());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_EMPTY)
+    void projectReceivables_shouldReturnZeroWhenNothingIsDue() {
+        given(installmentRepository.projectReceivables(MERCHANT, FROM, TO)).willReturn(List.of());
+
+        RecebiveisResponseDTO response = receivableService.projectReceivables(MERCHANT, FROM, TO);
+
+        assertEquals(0, response.getQuantidade());
+        assertEquals(new BigDecimal("0.00"), response.getValor());
+        assertEquals(List.of(), response.getRecebiveis());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_RANGE)
+    void projectReceivables_shouldRejectInvertedRange() {
+        assertThrows(InvalidDateRangeException.class,
+                () -> receivableService.projectReceivables(MERCHANT, TO, FROM));
+
+        verifyNoInteractions(installmentRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_RANGE_TOO_LONG)
+    void projectReceivables_shouldRejectRangeLongerThanMaximum() {
+        LocalDate fim = FROM.plusDays(ReceivableServiceImpl.MAX_RANGE_DAYS);
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> receivableService.projectReceivables(MERCHANT, FROM, fim));
+
+        verifyNoInteractions(installmentRepository);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_MAX_RANGE)
+    void projectReceivables_shouldAcceptMaximumRange() {
+        LocalDate fim = FROM.plusDays(ReceivableServiceImpl.MAX_RANGE_DAYS - 1);
+        given(installmentRepository.projectReceivables(MERCHANT, FROM, fim)).willReturn(List.of());
+
+        RecebiveisResponseDTO response = receivableService.projectReceivables(MERCHANT, FROM, fim);
+
+        assertEquals(fim, response.getFim());
+    }
+
+    private static RecebivelDiarioDTO receivable(LocalDate vencimento, long quantidade, String valor) {
+        return RecebivelDiarioDTO.builder()
+                .vencimento(vencimento)
+                .quantidade(quantidade)
+                .valor(new BigDecimal(valor))
+                .build();
+    }
+}
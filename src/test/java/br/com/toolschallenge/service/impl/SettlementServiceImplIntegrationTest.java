@@ -0,0 +1,108 @@
+package br.com.toolschallenge.service.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.toPaymentFields;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.toolschallenge.dto.FormaPagamentoDTO;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.dto.TotalLiquidacaoDTO;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.service.PaymentService;
+import br.com.toolschallenge.service.SettlementService;
+import br.com.toolschallenge.support.PostgresIntegrationTest;
+
+class SettlementServiceImplIntegrationTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().withDayOfMonth(1);
+    private static final LocalDateTime DATE_TIME = DATE.atTime(10, 0);
+
+    private static final String DISPLAY_INCREMENTAL =
+            "authorizations should add to and cancellations should subtract from the daily totals";
+    private static final String DISPLAY_REBUILD =
+            "rebuild should recompute the daily totals from tb_transacao";
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName(DISPLAY_INCREMENTAL)
+    void totals_shouldFollowAuthorizationsAndCancellations() {
+        String merchant = "Liquidacao incremental";
+        authorize("910000000000001", merchant, "10.00", TipoFormaPagamento.AVISTA, "1");
+        authorize("910000000000002", merchant, "20.50", TipoFormaPagamento.AVISTA, "1");
+        authorize("910000000000003", merchant, "300.00", TipoFormaPagamento.PARCELADO_LOJA, "3");
+
+        assertThat(totals(merchant)).containsExactly(
+                total(TipoFormaPagamento.AVISTA, 2, "30.50"),
+                total(TipoFormaPagamento.PARCELADO_LOJA, 1, "300.00"),
+                total(TipoFormaPagamento.PARCELADO_EMISSOR, 0, "0.00"));
+
+        paymentService.cancelPayment("910000000000002");
+        paymentService.cancelPayment("910000000000002");
+
+        assertThat(totals(merchant)).containsExactly(
+                total(TipoFormaPagamento.AVISTA, 1, "10.00"),
+                total(TipoFormaPagamento.PARCELADO_LOJA, 1, "300.00"),
+                total(TipoFormaPagamento.PARCELADO_EMISSOR, 0, "0.00"));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_REBUILD)
+    void rebuild_shouldRecomputeFromTransactions() {
+        String merchant = "Liquidacao recalculo";
+        authorize("920000000000001", merchant, "40.00", TipoFormaPagamento.PARCELADO_EMISSOR, "2");
+        authorize("920000000000002", merchant, "60.00", TipoFormaPagamento.PARCELADO_EMISSOR, "4");
+        paymentService.cancelPayment("920000000000001");
+        List<TotalLiquidacaoDTO> incremental = totals(merchant);
+
+        jdbcTemplate.update("UPDATE tb_liquidacao_diaria SET transaction_count = 99, amount = 0 WHERE merchant = ?",
+                merchant);
+        settlementService.rebuild();
+
+        assertThat(totals(merchant))
+                .isEqualTo(incremental)
+                .contains(total(TipoFormaPagamento.PARCELADO_EMISSOR, 1, "60.00"));
+    }
+
+    private void authorize(String id, String merchant, String amount, TipoFormaPagamento tipo, String parcelas) {
+        PagamentoRequestDTO request = createValidPaymentRequest();
+        request.getTransacao().setId(id);
+        request.getTransacao().getDescricao().setEstabelecimento(merchant);
+        request.getTransacao().getDescricao().setValor(new BigDecimal(amount));
+        request.getTransacao().getDescricao().setDataHora(DATE_TIME);
+        request.getTransacao().setFormaPagamento(FormaPagamentoDTO.builder()
+                .tipo(tipo)
+                .parcelas(parcelas)
+                .build());
+        paymentService.createPayment(toPaymentFields(request));
+    }
+
+    private List<TotalLiquidacaoDTO> totals(String merchant) {
+        return settlementService.findDailyTotals(merchant, DATE).getTotais();
+    }
+
+    private static TotalLiquidacaoDTO total(TipoFormaPagamento tipo, long quantidade, String valor) {
+        return TotalLiquidacaoDTO.builder()
+                .tipo(tipo)
+                .quantidade(quantidade)
+                .valor(new BigDecimal(valor))
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.toolschallenge.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.toolschallenge.dto.LiquidacaoDiariaResponseDTO;
+import br.com.toolschallenge.dto.RecalculoLiquidacaoResponseDTO;
+import br.com.toolschallenge.dto.TotalLiquidacaoDTO;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.exception.SettlementRebuildInProgressException;
+import br.com.toolschallenge.repository.SettlementChunk;
+import br.com.toolschallenge.repository.SettlementRepository;
+import br.com.toolschallenge.repository.SettlementTotal;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementServiceImplTest {
+
+    private static final String MERCHANT = "PetShop Mundo cão";
+    private static final LocalDate DATE = LocalDate.of(2021, 5, 1);
+    private static final int PARALLELISM = 2;
+
+    private static final SettlementChunk LEGACY = new SettlementChunk("tb_transacao_legacy", null, DATE);
+    private static final SettlementChunk MONTH =
+            new SettlementChunk("tb_transacao_p202106", LocalDate.of(2021, 6, 1), LocalDate.of(2021, 7, 1));
+    private static final SettlementChunk DEFAULT = new SettlementChunk("tb_transacao_default", null, null);
+
+    private static final String DISPLAY_DAILY_TOTALS =
+            "findDailyTotals should return one total per payment type in enum order, with zero for missing types";
+    private static final String DISPLAY_REBUILD =
+            "rebuild should rebuild every partition and report the rows written";
+    private static final String DISPLAY_REBUILD_IN_PROGRESS =
+            "rebuild should throw SettlementRebuildInProgressException while another rebuild is running";
+    private static final String DISPLAY_REBUILD_FAILURE =
+            "rebuild should finish the remaining partitions and rethrow when one of them fails";
+
+    @Mock
+    private SettlementRepository settlementRepository;
+
+    private SettlementServiceImpl settlementService;
+
+    @BeforeEach
+    void setUp() {
+        settlementService = new SettlementServiceImpl(settlementRepository, Runnable::run, PARALLELISM);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_DAILY_TOTALS)
+    void findDailyTotals_shouldFillEveryPaymentType() {
+        given(settlementRepository.findDailyTotals(MERCHANT, DATE)).willReturn(List.of(
+                new SettlementTotal(TipoFormaPagamento.PARCELADO_EMISSOR.getCodigo().shortValue(), 2, 15000L)));
+
+        LiquidacaoDiariaResponseDTO response = settlementService.findDailyTotals(MERCHANT, DATE);
+
+        assertEquals(MERCHANT, response.getEstabelecimento());
+        assertEquals(DATE, response.getData());
+        assertEquals(List.of(
+                total(TipoFormaPagamento.AVISTA, 0, "0.00"),
+                total(TipoFormaPagamento.PARCELADO_LOJA, 0, "0.00"),
+                total(TipoFormaPagamento.PARCELADO_EMISSOR, 2, "150.00")),
+                response.getTotais());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_REBUILD)
+    void rebuild_shouldRebuildEveryChunk() {
+        given(settlementRepository.listChunks()).willReturn(List.of(LEGACY, MONTH, DEFAULT));
+        given(settlementRepository.rebuildChunk(LEGACY)).willReturn(10);
+        given(settlementRepository.rebuildChunk(MONTH)).willReturn(5);
+        given(settlementRepository.rebuildChunk(DEFAULT)).willReturn(0);
+
+        RecalculoLiquidacaoResponseDTO response = settlementService.rebuild();
+
+        assertEquals(3, response.getParticoes());
+        assertEquals(15, response.getLinhas());
+        verify(settlementRepository).rebuildChunk(LEGACY);
+        verify(settlementRepository).rebuildChunk(MONTH);
+        verify(settlementRepository).rebuildChunk(DEFAULT);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_REBUILD_IN_PROGRESS)
+    void rebuild_shouldRejectConcurrentRebuild() {
+        given(settlementRepository.listChunks()).willReturn(List.of(MONTH));
+        given(settlementRepository.rebuildChunk(MONTH)).willAnswer(invocation -> {
+            assertThrows(SettlementRebuildInProgressException.class, settlementService::rebuild);
+            return 1;
+        });
+
+        RecalculoLiquidacaoResponseDTO response = settlementService.rebuild();
+
+        assertEquals(1, response.getLinhas());
+    }
+
+    @Test
+    @DisplayName(DISPLAY_REBUILD_FAILURE)
+    void rebuild_shouldRethrowAfterRemainingChunks() {
+        IllegalStateException failure = new IllegalStateException("lock timeout");
+        given(settlementRepository.listChunks()).willReturn(List.of(LEGACY, MONTH, DEFAULT));
+        given(settlementRepository.rebuildChunk(any(SettlementChunk.class))).willThrow(failure).willReturn(1);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, settlementService::rebuild);
+
+        assertEquals(failure, thrown);
+        verify(settlementRepository).rebuildChunk(MONTH);
+        verify(settlementRepository).rebuildChunk(DEFAULT);
+    }
+
+    private static TotalLiquidacaoDTO total(TipoFormaPagamento tipo, long quantidade, String valor) {
+        return TotalLiquidacaoDTO.builder()
+                .tipo(tipo)
+                .quantidade(quantidade)
+                .valor(new BigDecimal(valor))
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.toolschallenge.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Base para testes contra um PostgreSQL real. O schema é criado pelo mesmo
+ * {@code init.sql} usado no Docker e as migrações versionadas são aplicadas
+ * pelo Flyway em cima do baseline. Ignorado quando não há Docker disponível.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    protected static final PostgreSQLContainer POSTGRES =
+            new PostgreSQLContainer("postgres:16")
+                    .withInitScript("db/migration/init.sql");
+}
@@ -0,0 +1,267 @@
+package br.com.toolschallenge.validation.impl;
+
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_AMOUNT_CENTS;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_CARD_NUMBER;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_ESTABLISHMENT;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_LOCAL_DATE_TIME;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.DEFAULT_TRANSACTION_ID_VALUE;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentFields;
+import static br.com.toolschallenge.data.PaymentTestDataFactory.createValidPaymentRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.validator.HibernateValidator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import br.com.toolschallenge.codec.PaymentRequestFields;
+import br.com.toolschallenge.dto.PagamentoRequestDTO;
+import br.com.toolschallenge.enums.TipoFormaPagamento;
+import br.com.toolschallenge.exception.InvalidPaymentRequestException;
+import br.com.toolschallenge.validation.FieldViolation;
+import br.com.toolschallenge.validation.ValidatedPaymentRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import tools.jackson.databind.ObjectMapper;
+
+class SinglePassPaymentRequestValidatorTest {
+
+    private static final String DISPLAY_VALID =
+            "validate should return the parsed id and installments for a valid request";
+    private static final String DISPLAY_LEADING_ZEROS =
+            "validate should accept id and installments with leading zeros and parse them as numbers";
+    private static final String DISPLAY_MISSING_TRANSACAO =
+            "validate should report only transacao when the root object is absent";
+    private static final String DISPLAY_MISSING_NESTED =
+            "validate should report absent descricao and formaPagamento without their fields";
+    private static final String DISPLAY_ALL_VIOLATIONS =
+            "validate should report every failing field, not just the first one";
+    private static final String DISPLAY_INVALID_ID_TEXT =
+            "validate should report pattern, min and max for non-numeric id text";
+    private static final String DISPLAY_ID_OVERFLOW =
+            "validate should report max when the id does not fit in a long";
+    private static final String DISPLAY_INVALID_DATA_HORA =
+            "validate should report malformed or nonexistent dataHora as a field violation alongside the others";
+    private static final String DISPLAY_PARITY =
+            "validate should report the same field and message pairs as Hibernate Validator on the DTO";
+
+    private static final String LONG_ESTABLISHMENT = "x".repeat(101);
+    private static final String MAX_LONG_MESSAGE = "must be less than or equal to " + Long.MAX_VALUE;
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator beanValidator;
+
+    private final SinglePassPaymentRequestValidator validator = new SinglePassPaymentRequestValidator();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUpBeanValidator() {
+        validatorFactory = Validation.byProvider(HibernateValidator.class)
+                .configure()
+                .defaultLocale(Locale.ENGLISH)
+                .buildValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeBeanValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_VALID)
+    void validate_shouldReturnParsedRequest() {
+        PaymentRequestFields fields = createValidPaymentFields();
+        fields.setTipo(TipoFormaPagamento.PARCELADO_LOJA);
+        fields.setParcelas("12");
+
+        ValidatedPaymentRequest request = validator.validate(fields);
+
+        assertThat(request.id()).isEqualTo(DEFAULT_TRANSACTION_ID_VALUE);
+        assertThat(request.cardNumber()).isEqualTo(DEFAULT_CARD_NUMBER);
+        assertThat(request.amountCents()).isEqualTo(DEFAULT_AMOUNT_CENTS);
+        assertThat(request.dateTime()).isEqualTo(DEFAULT_LOCAL_DATE_TIME);
+        assertThat(request.establishment()).isEqualTo(DEFAULT_ESTABLISHMENT);
+        assertThat(request.paymentType()).isEqualTo(TipoFormaPagamento.PARCELADO_LOJA);
+        assertThat(request.installments()).isEqualTo((short) 12);
+        assertThat(request.idLeadingZeros()).isZero();
+        assertThat(request.installmentsLeadingZeros()).isZero();
+    }
+
+    @Test
+    @DisplayName(DISPLAY_LEADING_ZEROS)
+    void validate_shouldAcceptLeadingZeros() {
+        PaymentRequestFields fields = createValidPaymentFields();
+        fields.setId("007");
+        fields.setTipo(TipoFormaPagamento.PARCELADO_LOJA);
+        fields.setParcelas("012");
+
+        ValidatedPaymentRequest request = validator.validate(fields);
+
+        assertThat(request.id()).isEqualTo(7L);
+        assertThat(request.installments()).isEqualTo((short) 12);
+        assertThat(request.idLeadingZeros()).isEqualTo((short) 2);
+        assertThat(request.installmentsLeadingZeros()).isEqualTo((short) 1);
+    }
+
+    @Test
+    @DisplayName(DISPLAY_MISSING_TRANSACAO)
+    void validate_shouldReportOnlyTransacao_whenAbsent() {
+        assertThat(violationsOf(new PaymentRequestFields()))
+                .containsExactly(new FieldViolation(SinglePassPaymentRequestValidator.TRANSACAO,
+                        "Transaction is required"));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_MISSING_NESTED)
+    void validate_shouldReportAbsentNestedObjects() {
+        PaymentRequestFields fields = new PaymentRequestFields();
+        fields.setTransacaoPresent(true);
+        fields.setCartao(DEFAULT_CARD_NUMBER);
+        fields.setId("1");
+
+        assertThat(violationsOf(fields)).containsExactly(
+                new FieldViolation(SinglePassPaymentRequestValidator.DESCRICAO, "Description is required"),
+                new FieldViolation(SinglePassPaymentRequestValidator.FORMA_PAGAMENTO, "payment type is required"));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_ALL_VIOLATIONS)
+    void validate_shouldReportEveryFailingField() {
+        PaymentRequestFields fields = createValidPaymentFields();
+        fields.setCartao(" ");
+        fields.setValor(new BigDecimal("0.001"));
+        fields.setEstabelecimento(LONG_ESTABLISHMENT);
+        fields.setTipo(null);
+
+        assertThat(violationsOf(fields)).containsExactlyInAnyOrder(
+                new FieldViolation(SinglePassPaymentRequestValidator.CARTAO, "Card number is required"),
+                new FieldViolation(SinglePassPaymentRequestValidator.VALOR,
+                        "must be greater than or equal to 0.01"),
+                new FieldViolation(SinglePassPaymentRequestValidator.VALOR,
+                        "Amount must have at most 10 digits with 2 decimal places"),
+                new FieldViolation(SinglePassPaymentRequestValidator.ESTABELECIMENTO,
+                        "Establishment name must be at most 100 characters long"),
+                new FieldViolation(SinglePassPaymentRequestValidator.TIPO, "Type is required"));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_INVALID_ID_TEXT)
+    void validate_shouldReportPatternMinAndMax_forNonNumericId() {
+        PaymentRequestFields fields = createValidPaymentFields();
+        fields.setId("abc");
+
+        assertThat(violationsOf(fields)).containsExactlyInAnyOrder(
+                new FieldViolation(SinglePassPaymentRequestValidator.ID,
+                        "id must contain only numeric digits"),
+                new FieldViolation(SinglePassPaymentRequestValidator.ID, "must be greater than or equal to 1"),
+                new FieldViolation(SinglePassPaymentRequestValidator.ID, MAX_LONG_MESSAGE));
+    }
+
+    @Test
+    @DisplayName(DISPLAY_ID_OVERFLOW)
+    void validate_shouldReportMax_whenIdOverflowsLong() {
+        PaymentRequestFields fields = createValidPaymentFields();
+        fields.setId("9223372036854775808");
+
+        assertThat(violationsOf(fields))
+                .containsExactly(new FieldViolation(SinglePassPaymentRequestValidator.ID, MAX_LONG_MESSAGE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "2021-05-01T18:30:00", "31/02/2021 18:30:00", "01/05/2021", "" })
+    @DisplayName(DISPLAY_INVALID_DATA_HORA)
+    void validate_shouldReportInvalidDataHora(String dataHora) {
+        PaymentRequestFields fields = createValidPaymentFields();
+        fields.setDataHora(dataHora);
+        fields.setCartao(null);
+
+        assertThat(violationsOf(fields)).containsExactlyInAnyOrder(
+                new FieldViolation(SinglePassPaymentRequestValidator.CARTAO, "Card number is required"),
+                new FieldViolation(SinglePassPaymentRequestValidator.DATA_HORA,
+                        "dataHora must be in the format dd/MM/yyyy HH:mm:ss"));
+    }
+
+    static Stream<PagamentoRequestDTO> invalidRequests() {
+        return Stream.<Consumer<PagamentoRequestDTO>>of(
+                request -> request.setTransacao(null),
+                request -> request.getTransacao().setCartao(null),
+                request -> request.getTransacao().setCartao("   "),
+                request -> request.getTransacao().setId(null),
+                request -> request.getTransacao().setId(""),
+                request -> request.getTransacao().setId(" 1"),
+                request -> request.getTransacao().setId("0"),
+                request -> request.getTransacao().setId("000"),
+                request -> request.getTransacao().setId("-5"),
+                request -> request.getTransacao().setId("1.5"),
+                request -> request.getTransacao().setId("abc"),
+                request -> request.getTransacao().setId("9223372036854775808"),
+                request -> request.getTransacao().setDescricao(null),
+                request -> request.getTransacao().getDescricao().setValor(null),
+                request -> request.getTransacao().getDescricao().setValor(BigDecimal.ZERO),
+                request -> request.getTransacao().getDescricao().setValor(new BigDecimal("0.001")),
+                request -> request.getTransacao().getDescricao().setValor(new BigDecimal("10.500")),
+                request -> request.getTransacao().getDescricao().setValor(new BigDecimal("123456789.00")),
+                request -> request.getTransacao().getDescricao().setValor(new BigDecimal("-1")),
+                request -> request.getTransacao().getDescricao().setDataHora(null),
+                request -> request.getTransacao().getDescricao().setEstabelecimento(null),
+                request -> request.getTransacao().getDescricao().setEstabelecimento(""),
+                request -> request.getTransacao().getDescricao().setEstabelecimento(LONG_ESTABLISHMENT),
+                request -> request.getTransacao().getDescricao().setEstabelecimento(" ".repeat(101)),
+                request -> request.getTransacao().setFormaPagamento(null),
+                request -> request.getTransacao().getFormaPagamento().setTipo(null),
+                request -> request.getTransacao().getFormaPagamento().setParcelas(null),
+                request -> request.getTransacao().getFormaPagamento().setParcelas("0"),
+                request -> request.getTransacao().getFormaPagamento().setParcelas("13"),
+                request -> request.getTransacao().getFormaPagamento().setParcelas("013"),
+                request -> request.getTransacao().getFormaPagamento().setParcelas("32768"),
+                request -> request.getTransacao().getFormaPagamento().setParcelas("00"),
+                request -> request.getTransacao().getFormaPagamento().setParcelas("032768"),
+                request -> request.getTransacao().getFormaPagamento().setParcelas("x"),
+                request -> {
+                    request.getTransacao().setCartao("");
+                    request.getTransacao().setId("0");
+                    request.getTransacao().getDescricao().setDataHora(null);
+                    request.getTransacao().getFormaPagamento().setParcelas("");
+                })
+                .map(mutation -> {
+                    PagamentoRequestDTO request = createValidPaymentRequest();
+                    mutation.accept(request);
+                    return request;
+                });
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidRequests")
+    @DisplayName(DISPLAY_PARITY)
+    void validate_shouldMatchHibernateValidator(PagamentoRequestDTO request) {
+        List<FieldViolation> expected = beanValidator.validate(request).stream()
+                .map(violation -> new FieldViolation(violation.getPropertyPath().toString(), violation.getMessage()))
+                .collect(Collectors.toList());
+        PaymentRequestFields fields =
+                objectMapper.readValue(objectMapper.writeValueAsBytes(request), PaymentRequestFields.class);
+
+        assertThat(expected).isNotEmpty();
+        assertThat(violationsOf(fields)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private List<FieldViolation> violationsOf(PaymentRequestFields fields) {
+        InvalidPaymentRequestException ex = catchThrowableOfType(InvalidPaymentRequestException.class,
+                () -> validator.validate(fields));
+        assertThat(ex).isNotNull();
+        return ex.getViolations();
+    }
+}